@@ -0,0 +1,252 @@
+package com.example.modulith.poc.channel.web.controller.cart;
+
+import com.example.modulith.poc.channel.web.dto.cart.AddToCartRequest;
+import com.example.modulith.poc.channel.web.dto.cart.CartIssueResponse;
+import com.example.modulith.poc.channel.web.dto.cart.CartItemResponse;
+import com.example.modulith.poc.channel.web.dto.cart.CartResponse;
+import com.example.modulith.poc.channel.web.dto.cart.CartValidationResponse;
+import com.example.modulith.poc.channel.web.dto.cart.UpdateCartItemRequest;
+import com.example.modulith.poc.channel.web.exception.ResourceNotFoundException;
+import com.example.modulith.poc.channel.web.service.RequestAuthenticator;
+import com.example.modulith.poc.model.cart.Cart;
+import com.example.modulith.poc.model.cart.CartIssue;
+import com.example.modulith.poc.model.cart.CartItem;
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.cart.CartService;
+import com.example.modulith.poc.model.cart.CartValidation;
+import com.example.modulith.poc.model.cart.CartValidationService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+
+/**
+ * カートコントローラー
+ * <p>
+ * カート操作のAPIエンドポイントを提供する。
+ * カートがメモリに無い場合はDBから読み込むため、ブロッキング処理用のスケジューラで実行する。
+ * カートの所有者はBearerトークンで認証したユーザーとし、未ログインの場合のみセッションIDのゲストカートを使用する。
+ */
+@RestController
+@RequestMapping("/v1/cart")
+public class CartController {
+
+    private static final String SESSION_ID_HEADER = "X-Session-Id";
+
+    private final CartService cartService;
+    private final CartValidationService cartValidationService;
+    private final RequestAuthenticator authenticator;
+
+    @Autowired
+    public CartController(CartService cartService, CartValidationService cartValidationService,
+                          RequestAuthenticator authenticator) {
+        this.cartService = cartService;
+        this.cartValidationService = cartValidationService;
+        this.authenticator = authenticator;
+    }
+
+    /**
+     * カート取得
+     *
+     * @param authorization Bearerトークン（ログイン中の場合）
+     * @param sessionId     ゲストのセッションID（未ログインの場合）
+     * @return カート
+     */
+    @GetMapping
+    public Mono<CartResponse> getCart(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(name = SESSION_ID_HEADER, required = false) String sessionId) {
+        return Mono.fromCallable(() -> toResponse(cartService.getCart(owner(authorization, sessionId))))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * カートクリア
+     *
+     * @param authorization Bearerトークン（ログイン中の場合）
+     * @param sessionId     ゲストのセッションID（未ログインの場合）
+     * @return 完了
+     */
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> clearCart(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(name = SESSION_ID_HEADER, required = false) String sessionId) {
+        return Mono.fromRunnable(() -> cartService.clear(owner(authorization, sessionId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * カートに商品を追加（同じSKUが既にある場合は数量を加算する）
+     *
+     * @param authorization Bearerトークン（ログイン中の場合）
+     * @param sessionId     ゲストのセッションID（未ログインの場合）
+     * @param request       カート追加リクエスト
+     * @return 変更後のカート
+     */
+    @PostMapping("/items")
+    public Mono<CartResponse> addToCart(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(name = SESSION_ID_HEADER, required = false) String sessionId,
+            @Valid @RequestBody AddToCartRequest request) {
+        return Mono.fromCallable(() -> toResponse(cartService.addItem(owner(authorization, sessionId),
+                        request.skuId(), request.quantity())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * カート明細の数量更新
+     *
+     * @param authorization Bearerトークン（ログイン中の場合）
+     * @param sessionId     ゲストのセッションID（未ログインの場合）
+     * @param itemId        カート明細ID
+     * @param request       数量更新リクエスト
+     * @return 変更後のカート
+     */
+    @PutMapping("/items/{itemId}")
+    public Mono<CartResponse> updateCartItem(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(name = SESSION_ID_HEADER, required = false) String sessionId,
+            @PathVariable UUID itemId,
+            @Valid @RequestBody UpdateCartItemRequest request) {
+        return Mono.fromCallable(() -> cartService.updateItemQuantity(owner(authorization, sessionId),
+                                itemId, request.quantity())
+                        .map(this::toResponse)
+                        .orElseThrow(() -> new ResourceNotFoundException("カート明細が見つかりません: " + itemId)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * カートから商品を削除
+     *
+     * @param authorization Bearerトークン（ログイン中の場合）
+     * @param sessionId     ゲストのセッションID（未ログインの場合）
+     * @param itemId        カート明細ID
+     * @return 変更後のカート
+     */
+    @DeleteMapping("/items/{itemId}")
+    public Mono<CartResponse> removeCartItem(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(name = SESSION_ID_HEADER, required = false) String sessionId,
+            @PathVariable UUID itemId) {
+        return Mono.fromCallable(() -> cartService.removeItem(owner(authorization, sessionId), itemId)
+                        .map(this::toResponse)
+                        .orElseThrow(() -> new ResourceNotFoundException("カート明細が見つかりません: " + itemId)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * ゲストのカートをログインしたユーザーのカートに統合（ログイン直後に呼び出す。再試行しても重複して統合されない）
+     * <p>
+     * 統合先のユーザーはBearerトークンで認証したユーザーとし、クライアントが指定したユーザーIDは受け付けない。
+     *
+     * @param authorization Bearerトークン
+     * @param sessionId     ログイン前のセッションID
+     * @return 統合後のカート
+     */
+    @PostMapping("/merge")
+    public Mono<CartResponse> mergeCart(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(SESSION_ID_HEADER) @NotBlank String sessionId) {
+        return Mono.fromCallable(() -> {
+                    UUID userId = authenticator.requireSession(authorization).userId();
+                    return toResponse(cartService.merge(sessionId, userId));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * カート検証（全明細の価格変更・販売状況・在庫を確認する）
+     *
+     * @param authorization Bearerトークン（ログイン中の場合）
+     * @param sessionId     ゲストのセッションID（未ログインの場合）
+     * @return 検証結果
+     */
+    @PostMapping("/validate")
+    public Mono<CartValidationResponse> validateCart(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(name = SESSION_ID_HEADER, required = false) String sessionId) {
+        return Mono.fromCallable(() -> {
+                    CartOwner owner = owner(authorization, sessionId);
+                    CartValidation validation = cartValidationService.validate(owner);
+                    return new CartValidationResponse(
+                            validation.valid(),
+                            validation.issues().stream().map(CartController::toResponse).toList(),
+                            toResponse(cartService.getCart(owner))
+                    );
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * ログイン中は認証済みのユーザー、未ログインはセッションをカートの所有者とする
+     */
+    private CartOwner owner(String authorization, String sessionId) {
+        return authenticator.cartOwner(authorization, sessionId);
+    }
+
+    private CartResponse toResponse(Cart cart) {
+        return new CartResponse(
+                cart.cartId(),
+                cart.userId(),
+                cart.items().stream().map(this::toResponse).toList(),
+                cart.subtotal(),
+                cart.subtotal(),
+                cart.createdAt(),
+                cart.updatedAt(),
+                cart.expiresAt()
+        );
+    }
+
+    private CartItemResponse toResponse(CartItem item) {
+        return new CartItemResponse(
+                item.cartItemId(),
+                item.skuId(),
+                item.productId(),
+                item.productName(),
+                item.size(),
+                item.color(),
+                item.quantity(),
+                item.unitPrice(),
+                item.subtotal(),
+                item.addedAt()
+        );
+    }
+
+    private static CartIssueResponse toResponse(CartIssue issue) {
+        String message = switch (issue.type()) {
+            case OUT_OF_STOCK -> "在庫切れです";
+            case INSUFFICIENT_STOCK -> "在庫が不足しています（要求: " + issue.quantity()
+                    + ", 利用可能: " + issue.availableQuantity() + "）";
+            case PRICE_CHANGED -> "価格が変更されました（" + issue.cartUnitPrice()
+                    + " → " + issue.currentUnitPrice() + "）";
+            case PRODUCT_UNAVAILABLE -> "この商品は現在購入できません";
+        };
+        return new CartIssueResponse(
+                issue.type().name(),
+                issue.cartItemId(),
+                issue.skuId(),
+                issue.quantity(),
+                issue.availableQuantity(),
+                issue.cartUnitPrice(),
+                issue.currentUnitPrice(),
+                message
+        );
+    }
+}
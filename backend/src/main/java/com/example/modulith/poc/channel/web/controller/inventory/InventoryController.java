@@ -0,0 +1,102 @@
+package com.example.modulith.poc.channel.web.controller.inventory;
+
+import com.example.modulith.poc.channel.web.dto.inventory.SkuInventoryResponse;
+import com.example.modulith.poc.channel.web.dto.inventory.StockLevelChangeResponse;
+import com.example.modulith.poc.channel.web.exception.ResourceNotFoundException;
+import com.example.modulith.poc.model.inventory.InventoryAvailabilityService;
+import com.example.modulith.poc.model.inventory.StockLevelChange;
+import com.example.modulith.poc.model.inventory.StockLevelFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 在庫コントローラー
+ * <p>
+ * 在庫参照のAPIエンドポイントを提供する。
+ */
+@RestController
+@RequestMapping("/v1/inventory")
+public class InventoryController {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final InventoryAvailabilityService availabilityService;
+    private final StockLevelFeed stockLevelFeed;
+
+    @Autowired
+    public InventoryController(InventoryAvailabilityService availabilityService, StockLevelFeed stockLevelFeed) {
+        this.availabilityService = availabilityService;
+        this.stockLevelFeed = stockLevelFeed;
+    }
+
+    /**
+     * SKU在庫参照
+     * <p>
+     * キャッシュに無い場合はDBを参照するため、ブロッキング処理用のスケジューラで実行する。
+     *
+     * @param skuId SKU ID
+     * @return SKU在庫レスポンス
+     * @throws ResourceNotFoundException SKUが存在しない場合
+     */
+    @GetMapping("/skus/{skuId}")
+    public Mono<SkuInventoryResponse> getSkuInventory(@PathVariable UUID skuId) {
+        return Mono.fromCallable(() -> {
+                    int quantity = availabilityService.findAvailableQuantity(skuId)
+                            .orElseThrow(() -> new ResourceNotFoundException("SKUが見つかりません: " + skuId));
+                    return new SkuInventoryResponse(skuId, availabilityService.getStockLevel(skuId, quantity));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 在庫変化の購読（Server-Sent Events）
+     * <p>
+     * 接続を維持するため、一定間隔でコメントのみのイベントを送信する。
+     *
+     * @param levelChangesOnly trueの場合、在庫レベルが変化した通知のみを配信する
+     * @param skuIds           配信対象のSKU ID（省略時は全SKU）
+     * @return 在庫変化のイベントストリーム
+     */
+    @GetMapping(path = "/stock-levels/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<StockLevelChangeResponse>> streamStockLevels(
+            @RequestParam(defaultValue = "false") boolean levelChangesOnly,
+            @RequestParam(required = false) List<UUID> skuIds) {
+        Flux<StockLevelChange> changes = stockLevelFeed.subscribe(levelChangesOnly);
+        if (skuIds != null && !skuIds.isEmpty()) {
+            Set<UUID> targets = new HashSet<>(skuIds);
+            changes = changes.filter(change -> targets.contains(change.skuId()));
+        }
+
+        Flux<ServerSentEvent<StockLevelChangeResponse>> events = changes
+                .map(change -> ServerSentEvent.builder(toResponse(change))
+                        .event("stock-level")
+                        .build());
+        Flux<ServerSentEvent<StockLevelChangeResponse>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<StockLevelChangeResponse>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeats);
+    }
+
+    private StockLevelChangeResponse toResponse(StockLevelChange change) {
+        return new StockLevelChangeResponse(
+                change.skuId(),
+                change.stockLevel(),
+                change.previousStockLevel(),
+                change.changedAt()
+        );
+    }
+}
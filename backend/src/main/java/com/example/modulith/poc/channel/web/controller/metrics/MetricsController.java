@@ -0,0 +1,44 @@
+package com.example.modulith.poc.channel.web.controller.metrics;
+
+import com.example.modulith.poc.core.metrics.MetricsSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 運用統計コントローラー
+ * <p>
+ * 登録された {@link MetricsSource} の統計を統計名順にまとめて返す。
+ * 監視システムからの取得を想定した内部向けのエンドポイントで、公開APIには含めない。
+ */
+@RestController
+@RequestMapping("/v1/internal/metrics")
+public class MetricsController {
+
+    private final ObjectProvider<MetricsSource> sources;
+
+    @Autowired
+    public MetricsController(ObjectProvider<MetricsSource> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * 運用統計の取得
+     *
+     * @return 統計名をキーとした統計値
+     */
+    @GetMapping
+    public Mono<Map<String, Number>> getMetrics() {
+        return Mono.fromSupplier(() -> {
+            Map<String, Number> metrics = new TreeMap<>();
+            sources.orderedStream().forEach(source -> source.collect(metrics));
+            return metrics;
+        });
+    }
+}
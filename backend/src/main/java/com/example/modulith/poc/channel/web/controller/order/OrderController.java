@@ -1,20 +1,26 @@
 package com.example.modulith.poc.channel.web.controller.order;
 
 import com.example.modulith.poc.channel.web.controller.EventCoordinatingController;
+import com.example.modulith.poc.channel.web.dto.order.CreateOrderFromCartRequest;
 import com.example.modulith.poc.channel.web.dto.order.CreateOrderRequest;
 import com.example.modulith.poc.channel.web.dto.order.OrderItemResponse;
 import com.example.modulith.poc.channel.web.dto.order.OrderResponse;
 import com.example.modulith.poc.channel.web.exception.EventErrorException;
 import com.example.modulith.poc.channel.web.service.EventCoordinatingService;
+import com.example.modulith.poc.channel.web.service.RequestAuthenticator;
 import com.example.modulith.poc.core.event.EventBase;
 import com.example.modulith.poc.core.event.EventHeader;
 import com.example.modulith.poc.event.order.OrderCreate;
 import com.example.modulith.poc.event.order.OrderCreateComplete;
 import com.example.modulith.poc.core.service.IdempotencyService;
+import com.example.modulith.poc.model.cart.CartCheckout;
+import com.example.modulith.poc.model.cart.CartCheckoutService;
+import com.example.modulith.poc.model.cart.CartOwner;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.stream.Collectors;
 
@@ -36,17 +43,25 @@ import java.util.stream.Collectors;
 @RequestMapping("/v1/orders")
 public class OrderController extends EventCoordinatingController {
 
+    private final CartCheckoutService cartCheckoutService;
+    private final RequestAuthenticator authenticator;
+
     @Autowired
-    public OrderController(EventCoordinatingService eventCoordinatingService, IdempotencyService idempotencyService) {
+    public OrderController(EventCoordinatingService eventCoordinatingService, IdempotencyService idempotencyService,
+                           CartCheckoutService cartCheckoutService, RequestAuthenticator authenticator) {
         super(eventCoordinatingService);
+        this.cartCheckoutService = cartCheckoutService;
+        this.authenticator = authenticator;
     }
 
     /**
      * 注文作成
      * <p>
      * カートから注文を作成し、在庫を引き当てる。
+     * 注文するユーザーはBearerトークンで認証したユーザーとする。
      *
      * @param idempotencyKey 冪等性キー
+     * @param authorization  Bearerトークン
      * @param request        注文作成リクエスト
      * @return 注文レスポンス
      */
@@ -55,26 +70,81 @@ public class OrderController extends EventCoordinatingController {
     @Transactional
     public Mono<OrderResponse> createOrder(
             @RequestHeader("Idempotency-Key") @NotBlank String idempotencyKey,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
             @Valid @RequestBody CreateOrderRequest request) {
 
         // TODO: 冪等性関連の実装
 
-        // OrderCreateイベント作成・発行
-        var event = new OrderCreate(
-                new EventHeader("user1"), // TODO: 認証情報から取得
-                idempotencyKey,
-                request.items().stream()
-                        .map(item -> new OrderCreate.OrderItemData(item.skuId(), item.quantity()))
-                        .collect(Collectors.toList()),
-                request.shippingAddressId(),
-                request.billingAddressId(),
-                request.paymentMethod(),
-                request.couponCode(),
-                request.notes()
-        );
+        return Mono.fromCallable(() -> authenticator.requireSession(authorization))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(session -> {
+                    // OrderCreateイベント作成・発行
+                    var event = new OrderCreate(
+                            new EventHeader(session.userId().toString()),
+                            idempotencyKey,
+                            session.userId(),
+                            request.items().stream()
+                                    .map(item -> new OrderCreate.OrderItemData(item.skuId(), item.quantity()))
+                                    .collect(Collectors.toList()),
+                            request.shippingAddressId(),
+                            request.billingAddressId(),
+                            request.paymentMethod(),
+                            request.couponCode(),
+                            request.notes()
+                    );
+                    return super.<OrderCreateComplete>publishEvent(event).asMono();
+                })
+                .doOnError(EventErrorException.class, e -> {
+                    throw e;
+                })
+                .map(this::toResponse);
+    }
+
+    /**
+     * カートから注文作成
+     * <p>
+     * カートを検証・価格確定した明細で注文を作成し、在庫を引き当てる。注文では価格を再取得しない。
+     * 注文の作成が完了するとカートは注文に変換済みとなる。
+     * 注文するユーザーはBearerトークンで認証したユーザーとし、そのユーザーのカートを使用する。
+     * ゲストカートはログイン時にユーザーのカートへ統合されるため、未ログインでは注文できない。
+     *
+     * @param idempotencyKey 冪等性キー
+     * @param authorization  Bearerトークン
+     * @param request        カートからの注文作成リクエスト
+     * @return 注文レスポンス
+     */
+    @PostMapping("/from-cart")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<OrderResponse> createOrderFromCart(
+            @RequestHeader("Idempotency-Key") @NotBlank String idempotencyKey,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @Valid @RequestBody CreateOrderFromCartRequest request) {
 
-        return super.<OrderCreateComplete>publishEvent(event)
-                .asMono()
+        // TODO: 冪等性関連の実装
+
+        return Mono.fromCallable(() -> cartCheckoutService.checkout(
+                        CartOwner.user(authenticator.requireSession(authorization).userId())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(checkout -> {
+                    // OrderCreateイベント作成・発行
+                    var event = new OrderCreate(
+                            new EventHeader(checkout.userId().toString()),
+                            idempotencyKey,
+                            checkout.userId(),
+                            checkout.cartId(),
+                            checkout.lines().stream()
+                                    .map(OrderController::toItemData)
+                                    .collect(Collectors.toList()),
+                            request.shippingAddressId(),
+                            request.billingAddressId(),
+                            request.paymentMethod(),
+                            request.couponCode(),
+                            request.notes()
+                    );
+                    // 完了通知の前に失敗した場合（イベント処理中の例外を含む）は、カートの変換を取り消す
+                    return Mono.defer(() -> super.<OrderCreateComplete>publishEvent(event).asMono())
+                            .doOnError(e -> cartCheckoutService.cancelCheckout(checkout.cartId()));
+                })
                 .doOnError(EventErrorException.class, e -> {
                     throw e;
                 })
@@ -89,6 +159,12 @@ public class OrderController extends EventCoordinatingController {
         emitResponse(event);
     }
 
+    private static OrderCreate.OrderItemData toItemData(CartCheckout.Line line) {
+        return new OrderCreate.OrderItemData(line.skuId(), line.quantity(), new OrderCreate.PricedItem(
+                line.productName(), line.skuCode(), line.color(), line.size(), line.unitPrice(),
+                line.productId(), line.category()));
+    }
+
     /**
      * OrderCreateCompleteイベントをOrderResponseに変換
      */
@@ -0,0 +1,327 @@
+package com.example.modulith.poc.channel.web.controller.product;
+
+import com.example.modulith.poc.channel.web.dto.common.PageResponse;
+import com.example.modulith.poc.channel.web.dto.common.PaginationMeta;
+import com.example.modulith.poc.channel.web.dto.product.ProductDetailResponse;
+import com.example.modulith.poc.channel.web.dto.product.ProductFacetsResponse;
+import com.example.modulith.poc.channel.web.dto.product.ProductListResponse;
+import com.example.modulith.poc.channel.web.dto.product.ProductResponse;
+import com.example.modulith.poc.channel.web.dto.product.ProductSkusResponse;
+import com.example.modulith.poc.channel.web.dto.product.ProductStatisticsResponse;
+import com.example.modulith.poc.channel.web.dto.product.SkuResponse;
+import com.example.modulith.poc.channel.web.exception.ResourceNotFoundException;
+import com.example.modulith.poc.model.product.ProductDetail;
+import com.example.modulith.poc.model.product.ProductDetailService;
+import com.example.modulith.poc.model.product.ProductFacets;
+import com.example.modulith.poc.model.product.ProductListingQuery;
+import com.example.modulith.poc.model.product.ProductListingResult;
+import com.example.modulith.poc.model.product.ProductListingService;
+import com.example.modulith.poc.model.product.ProductSearchResult;
+import com.example.modulith.poc.model.product.ProductSearchService;
+import com.example.modulith.poc.model.product.ProductSort;
+import com.example.modulith.poc.model.product.ProductStatistics;
+import com.example.modulith.poc.model.product.ProductStatisticsService;
+import com.example.modulith.poc.model.product.ProductSummary;
+import com.example.modulith.poc.model.product.SkuDetail;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 商品コントローラー
+ * <p>
+ * 商品参照のAPIエンドポイントを提供する。
+ */
+@RestController
+@RequestMapping("/v1/products")
+public class ProductController {
+
+    private static final String SORT_PATTERN =
+            "^(createdAt|price|name):(asc|desc)(,(createdAt|price|name):(asc|desc))*$";
+    private static final String CURSOR_PATTERN = "^[A-Za-z0-9_-]{1,2048}$";
+
+    private final ProductSearchService productSearchService;
+    private final ProductListingService productListingService;
+    private final ProductDetailService productDetailService;
+    private final ProductStatisticsService productStatisticsService;
+
+    @Autowired
+    public ProductController(ProductSearchService productSearchService, ProductListingService productListingService,
+                             ProductDetailService productDetailService,
+                             ProductStatisticsService productStatisticsService) {
+        this.productSearchService = productSearchService;
+        this.productListingService = productListingService;
+        this.productDetailService = productDetailService;
+        this.productStatisticsService = productStatisticsService;
+    }
+
+    /**
+     * 商品一覧取得
+     * <p>
+     * 同じ項目を複数指定した場合はいずれかに該当する商品を返す。
+     * cursorを指定した場合は、前のページの最後の商品より後ろから返す（ページ番号による読み飛ばしを行わない）。
+     * 該当ページの商品をDBから取得するため、ブロッキング処理用のスケジューラで実行する。
+     *
+     * @param page     ページ番号（1から始まる）
+     * @param pageSize 1ページあたりのアイテム数
+     * @param sort     ソート順（field:order のカンマ区切り）
+     * @param category カテゴリでフィルタ
+     * @param brand    ブランドでフィルタ
+     * @param minPrice 最低価格
+     * @param maxPrice 最高価格
+     * @param cursor   前のページのレスポンスで返されたカーソル
+     * @return 商品一覧とファセット
+     */
+    @GetMapping
+    public Mono<ProductListResponse> getProducts(
+            @RequestParam(defaultValue = "1") @Min(1) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int pageSize,
+            @RequestParam(required = false) @Pattern(regexp = SORT_PATTERN) String sort,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> brand,
+            @RequestParam(required = false) @DecimalMin("0") BigDecimal minPrice,
+            @RequestParam(required = false) @DecimalMin("0") BigDecimal maxPrice,
+            @RequestParam(required = false) @Pattern(regexp = CURSOR_PATTERN) String cursor) {
+        ProductListingQuery query = new ProductListingQuery(category, brand, minPrice, maxPrice,
+                parseSort(sort), page, pageSize, cursor);
+        return Mono.fromCallable(() -> {
+                    ProductListingResult result = productListingService.listProducts(query);
+                    return new ProductListResponse(
+                            result.items().stream().map(this::toResponse).toList(),
+                            PaginationMeta.of(page, pageSize, result.totalItems()),
+                            toResponse(result.facets()),
+                            result.nextCursor()
+                    );
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 商品検索
+     * <p>
+     * 該当ページの商品をDBから取得するため、ブロッキング処理用のスケジューラで実行する。
+     *
+     * @param q        検索キーワード
+     * @param category カテゴリでフィルタ
+     * @param page     ページ番号（1から始まる）
+     * @param pageSize 1ページあたりのアイテム数
+     * @return 商品一覧
+     */
+    @GetMapping("/search")
+    public Mono<PageResponse<ProductResponse>> searchProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "1") @Min(1) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int pageSize) {
+        return Mono.fromCallable(() -> {
+                    ProductSearchResult result = productSearchService.search(q, category, page, pageSize);
+                    return new PageResponse<>(
+                            result.items().stream().map(this::toResponse).toList(),
+                            PaginationMeta.of(page, pageSize, result.totalItems())
+                    );
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 商品集計取得
+     * <p>
+     * 価格スライダー用の価格分布と、カテゴリ・ブランドごとの商品ステータス別件数を返す。
+     * メモリ上の集計から返すため、スケジューラを切り替えずに実行する。
+     *
+     * @param category 価格分布を求めるカテゴリ（省略時は全カテゴリ）
+     * @return 商品集計
+     */
+    @GetMapping("/statistics")
+    public Mono<ProductStatisticsResponse> getStatistics(@RequestParam(required = false) String category) {
+        return Mono.fromSupplier(() -> toResponse(productStatisticsService.getStatistics(category)));
+    }
+
+    /**
+     * 商品詳細取得
+     * <p>
+     * 商品・SKU・在庫レベルから求めたETagを返し、If-None-Matchが一致する場合は本文を返さない（304 Not Modified）。
+     * 同じ商品への同時のリクエストは1回の読み込みの結果を共有する。
+     *
+     * @param productId   商品ID
+     * @param ifNoneMatch If-None-Matchヘッダ
+     * @return 商品詳細
+     */
+    @GetMapping("/{productId}")
+    public Mono<ResponseEntity<ProductDetailResponse>> getProductDetail(
+            @PathVariable UUID productId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getDetail(productId, ifNoneMatch, this::toResponse);
+    }
+
+    /**
+     * 商品SKU一覧取得
+     * <p>
+     * 商品詳細と同じキャッシュ・ETagを使用する。
+     *
+     * @param productId   商品ID
+     * @param ifNoneMatch If-None-Matchヘッダ
+     * @return 販売中のSKU一覧
+     */
+    @GetMapping("/{productId}/skus")
+    public Mono<ResponseEntity<ProductSkusResponse>> getProductSkus(
+            @PathVariable UUID productId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getDetail(productId, ifNoneMatch,
+                detail -> new ProductSkusResponse(detail.skus().stream().map(this::toResponse).toList()));
+    }
+
+    private <T> Mono<ResponseEntity<T>> getDetail(UUID productId, String ifNoneMatch,
+                                                  Function<ProductDetail, T> mapper) {
+        return productDetailService.getProductDetailAsync(productId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("商品が見つかりません: " + productId)))
+                .map(detail -> {
+                    // 在庫レベルを含むため、キャッシュした場合も毎回再検証させる
+                    if (matchesETag(ifNoneMatch, detail.etag())) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(detail.etag())
+                                .cacheControl(CacheControl.noCache())
+                                .<T>build();
+                    }
+                    return ResponseEntity.ok()
+                            .eTag(detail.etag())
+                            .cacheControl(CacheControl.noCache())
+                            .body(mapper.apply(detail));
+                });
+    }
+
+    /**
+     * If-None-Matchヘッダ（カンマ区切り、弱いETag・* を含む）にETagが含まれるか
+     */
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<ProductSort> parseSort(String sort) {
+        if (sort == null) {
+            return ProductSort.DEFAULT;
+        }
+        List<ProductSort> orders = new ArrayList<>();
+        for (String order : sort.split(",")) {
+            String[] parts = order.split(":");
+            ProductSort.Field field = switch (parts[0]) {
+                case "price" -> ProductSort.Field.PRICE;
+                case "name" -> ProductSort.Field.NAME;
+                default -> ProductSort.Field.CREATED_AT;
+            };
+            orders.add(new ProductSort(field, "desc".equals(parts[1])));
+        }
+        return orders;
+    }
+
+    private ProductFacetsResponse toResponse(ProductFacets facets) {
+        return new ProductFacetsResponse(
+                facets.categories().stream()
+                        .map(count -> new ProductFacetsResponse.FacetCountResponse(count.value(), count.count()))
+                        .toList(),
+                facets.brands().stream()
+                        .map(count -> new ProductFacetsResponse.FacetCountResponse(count.value(), count.count()))
+                        .toList(),
+                facets.priceRanges().stream()
+                        .map(range -> new ProductFacetsResponse.PriceRangeCountResponse(
+                                range.minPrice(), range.maxPrice(), range.count()))
+                        .toList()
+        );
+    }
+
+    private ProductStatisticsResponse toResponse(ProductStatistics statistics) {
+        ProductStatistics.PriceHistogram histogram = statistics.priceHistogram();
+        return new ProductStatisticsResponse(
+                new ProductStatisticsResponse.PriceHistogramResponse(
+                        histogram.minPrice(),
+                        histogram.maxPrice(),
+                        histogram.skuCount(),
+                        histogram.buckets().stream()
+                                .map(bucket -> new ProductStatisticsResponse.PriceBucketResponse(
+                                        bucket.minPrice(), bucket.maxPrice(), bucket.count()))
+                                .toList()),
+                statistics.categories().stream().map(this::toResponse).toList(),
+                statistics.brands().stream().map(this::toResponse).toList()
+        );
+    }
+
+    private ProductStatisticsResponse.StatusCountsResponse toResponse(ProductStatistics.StatusCounts counts) {
+        return new ProductStatisticsResponse.StatusCountsResponse(counts.value(), counts.total(), counts.byStatus());
+    }
+
+    private ProductResponse toResponse(ProductSummary product) {
+        return new ProductResponse(
+                product.productId(),
+                product.productName(),
+                product.description(),
+                product.category(),
+                product.brand(),
+                product.price(),
+                product.currency(),
+                product.productStatus(),
+                product.createdAt(),
+                product.updatedAt()
+        );
+    }
+
+    private ProductDetailResponse toResponse(ProductDetail product) {
+        return new ProductDetailResponse(
+                product.productId(),
+                product.productName(),
+                product.description(),
+                product.category(),
+                product.brand(),
+                product.price(),
+                product.currency(),
+                product.productStatus(),
+                product.skus().stream().map(this::toResponse).toList(),
+                product.createdAt(),
+                product.updatedAt()
+        );
+    }
+
+    private SkuResponse toResponse(SkuDetail sku) {
+        return new SkuResponse(
+                sku.skuId(),
+                sku.productId(),
+                sku.skuCode(),
+                sku.size(),
+                sku.color(),
+                sku.material(),
+                sku.price(),
+                sku.stockLevel()
+        );
+    }
+}
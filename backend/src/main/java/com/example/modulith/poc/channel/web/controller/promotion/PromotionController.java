@@ -0,0 +1,77 @@
+package com.example.modulith.poc.channel.web.controller.promotion;
+
+import com.example.modulith.poc.channel.web.dto.promotion.CouponResponse;
+import com.example.modulith.poc.channel.web.dto.promotion.ValidateCouponRequest;
+import com.example.modulith.poc.channel.web.dto.promotion.ValidateCouponResponse;
+import com.example.modulith.poc.model.promotion.Coupon;
+import com.example.modulith.poc.model.promotion.CouponCheck;
+import com.example.modulith.poc.model.promotion.CouponService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+
+/**
+ * プロモーションコントローラー
+ * <p>
+ * クーポン関連のAPIエンドポイントを提供する。
+ * 索引に無いコードはDBへ問い合わせるため、ブロッキング処理用のスケジューラで実行する。
+ */
+@RestController
+@RequestMapping("/v1/promotions")
+public class PromotionController {
+
+    private final CouponService couponService;
+
+    @Autowired
+    public PromotionController(CouponService couponService) {
+        this.couponService = couponService;
+    }
+
+    /**
+     * クーポン検証
+     *
+     * @param request クーポン検証リクエスト
+     * @return 有効な場合は200、無効な場合は400の検証結果
+     */
+    @PostMapping("/validate-coupon")
+    public Mono<ResponseEntity<ValidateCouponResponse>> validateCoupon(
+            @Valid @RequestBody ValidateCouponRequest request) {
+        return Mono.fromCallable(() -> toResponse(couponService.check(request.couponCode(), OffsetDateTime.now()),
+                        request.cartTotal()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static ResponseEntity<ValidateCouponResponse> toResponse(CouponCheck check, BigDecimal cartTotal) {
+        if (!check.valid()) {
+            String message = switch (check.reason()) {
+                case NOT_FOUND -> "このクーポンは存在しません";
+                case EXPIRED -> "このクーポンは有効期限が切れています";
+                case NOT_APPLICABLE -> "このクーポンはまだ使用できません";
+            };
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ValidateCouponResponse(false, null, null, check.reason().name(), message));
+        }
+        Coupon coupon = check.coupon();
+        BigDecimal discountAmount = cartTotal == null ? null : cartTotal
+                .multiply(BigDecimal.valueOf(coupon.discountPercentage()))
+                .divide(BigDecimal.valueOf(100), 0, RoundingMode.DOWN);
+        return ResponseEntity.ok(new ValidateCouponResponse(
+                true,
+                new CouponResponse(coupon.couponCode(), coupon.discountPercentage(), coupon.validUntil()),
+                discountAmount,
+                null,
+                "クーポンが適用されました"
+        ));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.modulith.poc.channel.web.dto.cart;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * カート追加リクエスト
+ */
+public record AddToCartRequest(
+        @NotNull(message = "SKU IDは必須です")
+        UUID skuId,
+
+        @NotNull(message = "数量は必須です")
+        @Min(value = 1, message = "数量は1以上である必要があります")
+        @Max(value = 999, message = "数量は999以下である必要があります")
+        Integer quantity
+) {
+}
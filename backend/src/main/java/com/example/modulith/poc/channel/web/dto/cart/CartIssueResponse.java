@@ -0,0 +1,19 @@
+package com.example.modulith.poc.channel.web.dto.cart;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * カート検証の問題レスポンス
+ */
+public record CartIssueResponse(
+        String type,
+        UUID cartItemId,
+        UUID skuId,
+        Integer quantity,
+        Integer availableQuantity,
+        BigDecimal cartUnitPrice,
+        BigDecimal currentUnitPrice,
+        String message
+) {
+}
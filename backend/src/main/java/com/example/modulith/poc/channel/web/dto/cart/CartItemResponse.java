@@ -0,0 +1,22 @@
+package com.example.modulith.poc.channel.web.dto.cart;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * カート明細レスポンス
+ */
+public record CartItemResponse(
+        UUID cartItemId,
+        UUID skuId,
+        UUID productId,
+        String productName,
+        String size,
+        String color,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal,
+        OffsetDateTime addedAt
+) {
+}
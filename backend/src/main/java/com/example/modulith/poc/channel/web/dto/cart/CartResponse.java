@@ -0,0 +1,21 @@
+package com.example.modulith.poc.channel.web.dto.cart;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * カートレスポンス
+ */
+public record CartResponse(
+        UUID cartId,
+        UUID userId,
+        List<CartItemResponse> items,
+        BigDecimal subtotal,
+        BigDecimal totalAmount,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        OffsetDateTime expiresAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.modulith.poc.channel.web.dto.cart;
+
+import java.util.List;
+
+/**
+ * カート検証レスポンス
+ */
+public record CartValidationResponse(
+        Boolean valid,
+        List<CartIssueResponse> issues,
+        CartResponse cart
+) {
+}
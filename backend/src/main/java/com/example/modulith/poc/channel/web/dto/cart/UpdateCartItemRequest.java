@@ -0,0 +1,16 @@
+package com.example.modulith.poc.channel.web.dto.cart;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * カート明細の数量更新リクエスト
+ */
+public record UpdateCartItemRequest(
+        @NotNull(message = "数量は必須です")
+        @Min(value = 1, message = "数量は1以上である必要があります")
+        @Max(value = 999, message = "数量は999以下である必要があります")
+        Integer quantity
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.modulith.poc.channel.web.dto.common;
+
+import java.util.List;
+
+/**
+ * ページ単位のレスポンス
+ */
+public record PageResponse<T>(
+        List<T> data,
+        PaginationMeta meta
+) {
+}
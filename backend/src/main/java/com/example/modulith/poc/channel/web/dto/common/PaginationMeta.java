@@ -0,0 +1,26 @@
+package com.example.modulith.poc.channel.web.dto.common;
+
+/**
+ * ページネーション情報
+ */
+public record PaginationMeta(
+        Integer page,
+        Integer pageSize,
+        Long totalItems,
+        Integer totalPages,
+        Boolean hasNext,
+        Boolean hasPrevious
+) {
+    /**
+     * 総件数からページネーション情報を生成する
+     *
+     * @param page       ページ番号（1から始まる）
+     * @param pageSize   1ページあたりのアイテム数
+     * @param totalItems 総アイテム数
+     * @return ページネーション情報
+     */
+    public static PaginationMeta of(int page, int pageSize, long totalItems) {
+        int totalPages = (int) ((totalItems + pageSize - 1) / pageSize);
+        return new PaginationMeta(page, pageSize, totalItems, totalPages, page < totalPages, page > 1);
+    }
+}
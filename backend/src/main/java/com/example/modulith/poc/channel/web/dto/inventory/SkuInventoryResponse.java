@@ -0,0 +1,14 @@
+package com.example.modulith.poc.channel.web.dto.inventory;
+
+import com.example.modulith.poc.model.inventory.StockLevel;
+
+import java.util.UUID;
+
+/**
+ * SKU在庫レスポンス
+ */
+public record SkuInventoryResponse(
+        UUID skuId,
+        StockLevel stockLevel
+) {
+}
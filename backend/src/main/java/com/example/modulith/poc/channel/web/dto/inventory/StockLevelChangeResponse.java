@@ -0,0 +1,17 @@
+package com.example.modulith.poc.channel.web.dto.inventory;
+
+import com.example.modulith.poc.model.inventory.StockLevel;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 在庫変化レスポンス（SSE）
+ */
+public record StockLevelChangeResponse(
+        UUID skuId,
+        StockLevel stockLevel,
+        StockLevel previousStockLevel,
+        OffsetDateTime changedAt
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.modulith.poc.channel.web.dto.order;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * カートからの注文作成リクエスト（注文アイテムはカートの明細を使用する）
+ */
+public record CreateOrderFromCartRequest(
+        @NotNull(message = "配送先住所IDは必須です")
+        UUID shippingAddressId,
+
+        UUID billingAddressId,
+
+        @NotNull(message = "支払い方法は必須です")
+        String paymentMethod,
+
+        String couponCode,
+
+        String notes
+) {
+}
@@ -0,0 +1,24 @@
+package com.example.modulith.poc.channel.web.dto.product;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 商品詳細レスポンス
+ */
+public record ProductDetailResponse(
+        UUID productId,
+        String name,
+        String description,
+        String category,
+        String brand,
+        BigDecimal price,
+        String currency,
+        String status,
+        List<SkuResponse> availableSkus,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
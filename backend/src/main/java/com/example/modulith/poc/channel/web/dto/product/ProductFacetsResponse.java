@@ -0,0 +1,32 @@
+package com.example.modulith.poc.channel.web.dto.product;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 商品一覧のファセットレスポンス
+ */
+public record ProductFacetsResponse(
+        List<FacetCountResponse> categories,
+        List<FacetCountResponse> brands,
+        List<PriceRangeCountResponse> priceRanges
+) {
+    /**
+     * 値ごとの件数
+     */
+    public record FacetCountResponse(
+            String value,
+            Integer count
+    ) {
+    }
+
+    /**
+     * 価格帯ごとの件数
+     */
+    public record PriceRangeCountResponse(
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer count
+    ) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.modulith.poc.channel.web.dto.product;
+
+import com.example.modulith.poc.channel.web.dto.common.PaginationMeta;
+
+import java.util.List;
+
+/**
+ * 商品一覧レスポンス
+ */
+public record ProductListResponse(
+        List<ProductResponse> data,
+        PaginationMeta meta,
+        ProductFacetsResponse facets,
+        String nextCursor
+) {
+}
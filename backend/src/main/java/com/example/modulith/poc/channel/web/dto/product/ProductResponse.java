@@ -0,0 +1,22 @@
+package com.example.modulith.poc.channel.web.dto.product;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 商品レスポンス
+ */
+public record ProductResponse(
+        UUID productId,
+        String name,
+        String description,
+        String category,
+        String brand,
+        BigDecimal price,
+        String currency,
+        String status,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.modulith.poc.channel.web.dto.product;
+
+import java.util.List;
+
+/**
+ * 商品SKU一覧レスポンス
+ */
+public record ProductSkusResponse(
+        List<SkuResponse> skus
+) {
+}
@@ -0,0 +1,45 @@
+package com.example.modulith.poc.channel.web.dto.product;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 商品集計レスポンス
+ */
+public record ProductStatisticsResponse(
+        PriceHistogramResponse priceHistogram,
+        List<StatusCountsResponse> categories,
+        List<StatusCountsResponse> brands
+) {
+    /**
+     * 価格分布
+     */
+    public record PriceHistogramResponse(
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Long skuCount,
+            List<PriceBucketResponse> buckets
+    ) {
+    }
+
+    /**
+     * 価格帯ごとのSKU数
+     */
+    public record PriceBucketResponse(
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Long count
+    ) {
+    }
+
+    /**
+     * 値ごとの商品ステータス別件数
+     */
+    public record StatusCountsResponse(
+            String value,
+            Integer total,
+            Map<String, Integer> byStatus
+    ) {
+    }
+}
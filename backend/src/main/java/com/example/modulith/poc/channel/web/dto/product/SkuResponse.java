@@ -0,0 +1,21 @@
+package com.example.modulith.poc.channel.web.dto.product;
+
+import com.example.modulith.poc.model.inventory.StockLevel;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * SKUレスポンス
+ */
+public record SkuResponse(
+        UUID skuId,
+        UUID productId,
+        String skuCode,
+        String size,
+        String color,
+        String material,
+        BigDecimal price,
+        StockLevel stockLevel
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.modulith.poc.channel.web.dto.promotion;
+
+import java.time.OffsetDateTime;
+
+/**
+ * クーポンレスポンス
+ */
+public record CouponResponse(
+        String couponCode,
+        Integer discountPercentage,
+        OffsetDateTime validUntil
+) {
+}
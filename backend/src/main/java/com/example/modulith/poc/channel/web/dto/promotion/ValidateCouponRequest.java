@@ -0,0 +1,16 @@
+package com.example.modulith.poc.channel.web.dto.promotion;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.math.BigDecimal;
+
+/**
+ * クーポン検証リクエスト
+ */
+public record ValidateCouponRequest(
+        @NotBlank(message = "クーポンコードは必須です")
+        String couponCode,
+
+        BigDecimal cartTotal
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.modulith.poc.channel.web.dto.promotion;
+
+import java.math.BigDecimal;
+
+/**
+ * クーポン検証レスポンス
+ */
+public record ValidateCouponResponse(
+        Boolean valid,
+        CouponResponse coupon,
+        BigDecimal discountAmount,
+        String reason,
+        String message
+) {
+}
@@ -2,6 +2,12 @@ package com.example.modulith.poc.channel.web.exception;
 
 import com.example.modulith.poc.channel.web.dto.common.ErrorDetail;
 import com.example.modulith.poc.channel.web.dto.common.ErrorResponse;
+import com.example.modulith.poc.model.cart.CartCheckoutException;
+import com.example.modulith.poc.model.cart.CartIssue;
+import com.example.modulith.poc.model.cart.CartSkuUnavailableException;
+import com.example.modulith.poc.model.product.InvalidProductCursorException;
+import com.example.modulith.poc.model.product.ProductIndexNotReadyException;
+import com.example.modulith.poc.model.user.PasswordHashRejectedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +66,166 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * 商品一覧カーソルの不正例外を処理
+     *
+     * @param ex      カーソルの不正例外
+     * @param request HTTPリクエスト
+     * @return 400 Bad Requestレスポンス
+     */
+    @ExceptionHandler(InvalidProductCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+            InvalidProductCursorException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse error = new ErrorResponse(
+                "VALIDATION_ERROR",
+                "入力値が正しくありません",
+                request.getRequestURI(),
+                List.of(new ErrorDetail("cursor", ex.getMessage()))
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * 購入できないSKUのカート追加例外を処理
+     *
+     * @param ex      購入できないSKUのカート追加例外
+     * @param request HTTPリクエスト
+     * @return 409 Conflictレスポンス
+     */
+    @ExceptionHandler(CartSkuUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleCartSkuUnavailableException(
+            CartSkuUnavailableException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse error = new ErrorResponse(
+                "PRODUCT_UNAVAILABLE",
+                "購入できない商品です",
+                request.getRequestURI(),
+                List.of(new ErrorDetail("skuId", ex.getMessage()))
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * カートの注文変換例外を処理
+     *
+     * @param ex      カートの注文変換例外
+     * @param request HTTPリクエスト
+     * @return 409 Conflictレスポンス
+     */
+    @ExceptionHandler(CartCheckoutException.class)
+    public ResponseEntity<ErrorResponse> handleCartCheckoutException(
+            CartCheckoutException ex,
+            HttpServletRequest request) {
+
+        List<CartIssue> issues = ex.getValidation().issues();
+        ErrorResponse error = new ErrorResponse(
+                issues.isEmpty() ? "CART_EMPTY" : "CART_INVALID",
+                issues.isEmpty() ? "カートが空です" : "カートの内容を確認してください",
+                request.getRequestURI(),
+                issues.stream()
+                        .map(issue -> new ErrorDetail("skuId", issue.type().name() + ": " + issue.skuId()))
+                        .toList()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * パスワードハッシュの受付拒否例外を処理（ログインの集中時）
+     *
+     * @param ex      パスワードハッシュの受付拒否例外
+     * @param request HTTPリクエスト
+     * @return 503 Service Unavailableレスポンス
+     */
+    @ExceptionHandler(PasswordHashRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashRejectedException(
+            PasswordHashRejectedException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse error = new ErrorResponse(
+                "AUTH_BUSY",
+                "混雑しています。しばらくしてから再度お試しください",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(error);
+    }
+
+    /**
+     * 商品インデックスの構築中例外を処理（起動直後）
+     *
+     * @param ex      商品インデックスの構築中例外
+     * @param request HTTPリクエスト
+     * @return 503 Service Unavailableレスポンス
+     */
+    @ExceptionHandler(ProductIndexNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleProductIndexNotReadyException(
+            ProductIndexNotReadyException ex,
+            HttpServletRequest request) {
+
+        LOGGER.warn(ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                "SERVICE_UNAVAILABLE",
+                "商品情報を準備中です。しばらくしてから再度お試しください",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(error);
+    }
+
+    /**
+     * 認証例外を処理
+     *
+     * @param ex      認証例外
+     * @param request HTTPリクエスト
+     * @return 401 Unauthorizedレスポンス
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<ErrorResponse> handleUnauthorizedException(
+            UnauthorizedException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse error = new ErrorResponse(
+                "UNAUTHORIZED",
+                "認証が必要です。ログインしてください",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header("WWW-Authenticate", "Bearer")
+                .body(error);
+    }
+
+    /**
+     * リソース未検出例外を処理
+     *
+     * @param ex      リソース未検出例外
+     * @param request HTTPリクエスト
+     * @return 404 Not Foundレスポンス
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFoundException(
+            ResourceNotFoundException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse error = new ErrorResponse(
+                "NOT_FOUND",
+                "指定されたリソースが見つかりません",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
     /**
      * その他の例外を処理
      *
@@ -0,0 +1,11 @@
+package com.example.modulith.poc.channel.web.exception;
+
+/**
+ * 指定されたリソースが存在しない場合にThrowする例外
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
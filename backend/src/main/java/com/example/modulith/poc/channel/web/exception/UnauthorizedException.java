@@ -0,0 +1,11 @@
+package com.example.modulith.poc.channel.web.exception;
+
+/**
+ * 認証情報が無い、または無効な場合にThrowする例外
+ */
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
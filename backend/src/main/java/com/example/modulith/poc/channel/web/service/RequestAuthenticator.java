@@ -0,0 +1,82 @@
+package com.example.modulith.poc.channel.web.service;
+
+import com.example.modulith.poc.channel.web.exception.UnauthorizedException;
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.user.AuthenticatedSession;
+import com.example.modulith.poc.model.user.SessionAuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * リクエストの認証
+ * <p>
+ * {@code Authorization: Bearer <アクセストークン>} ヘッダーを {@link SessionAuthService} で認証する。
+ * ユーザーIDは必ず認証済みのセッションから取得し、クライアントが指定した値は使用しない。
+ * トークンの認証はキャッシュに無い場合にDBを参照するため、ブロッキング処理用のスケジューラから呼び出すこと。
+ */
+@Service
+public class RequestAuthenticator {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionAuthService sessionAuthService;
+
+    @Autowired
+    public RequestAuthenticator(SessionAuthService sessionAuthService) {
+        this.sessionAuthService = sessionAuthService;
+    }
+
+    /**
+     * Authorizationヘッダーを認証する
+     *
+     * @param authorization Authorizationヘッダーの値
+     * @return 認証済みのセッション。ヘッダーが無い場合は空
+     * @throws UnauthorizedException ヘッダーの形式が不正、またはトークンが無効な場合
+     */
+    public Optional<AuthenticatedSession> authenticate(String authorization) {
+        if (authorization == null || authorization.isBlank()) {
+            return Optional.empty();
+        }
+        if (!authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            throw new UnauthorizedException("Bearerトークンを指定してください");
+        }
+        String accessToken = authorization.substring(BEARER_PREFIX.length()).trim();
+        return Optional.of(sessionAuthService.authenticate(accessToken)
+                .orElseThrow(() -> new UnauthorizedException("アクセストークンが無効です")));
+    }
+
+    /**
+     * 認証済みのセッションを取得する（ログインを必須とする操作で使用する）
+     *
+     * @param authorization Authorizationヘッダーの値
+     * @return 認証済みのセッション
+     * @throws UnauthorizedException ヘッダーが無い、またはトークンが無効な場合
+     */
+    public AuthenticatedSession requireSession(String authorization) {
+        return authenticate(authorization)
+                .orElseThrow(() -> new UnauthorizedException("ログインが必要です"));
+    }
+
+    /**
+     * カートの所有者を決定する
+     * <p>
+     * ログイン中は認証済みのユーザー、未ログインはセッションIDのゲストを所有者とする。
+     *
+     * @param authorization Authorizationヘッダーの値
+     * @param sessionId     ゲストのセッションID
+     * @return カートの所有者
+     * @throws UnauthorizedException トークンが無効な場合、または未ログインでセッションIDも無い場合
+     */
+    public CartOwner cartOwner(String authorization, String sessionId) {
+        Optional<AuthenticatedSession> session = authenticate(authorization);
+        if (session.isPresent()) {
+            return CartOwner.user(session.get().userId());
+        }
+        if (sessionId == null || sessionId.isBlank()) {
+            throw new UnauthorizedException("ログインするか、セッションIDを指定してください");
+        }
+        return CartOwner.guest(sessionId);
+    }
+}
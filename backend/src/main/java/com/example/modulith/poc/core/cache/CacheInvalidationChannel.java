@@ -0,0 +1,27 @@
+package com.example.modulith.poc.core.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 2次キャッシュの無効化を他ノードへ伝えるチャネル
+ * <p>
+ * 既定はプロセス内で配信する {@link LocalCacheInvalidationChannel}。複数ノードで運用する場合は、
+ * Redisのpub/subなどノード間で配信する実装をBeanとして定義して置き換える。
+ * 配信は少なくとも1回（重複してもよい）であればよく、順序は問わない（受信側はエントリを破棄するだけのため）。
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * 無効化を配信する
+     *
+     * @param message 無効化
+     */
+    void publish(CacheInvalidationMessage message);
+
+    /**
+     * 無効化を購読する（自ノードが配信したものも受け取る）
+     *
+     * @param subscriber 無効化を受け取る処理
+     */
+    void subscribe(Consumer<CacheInvalidationMessage> subscriber);
+}
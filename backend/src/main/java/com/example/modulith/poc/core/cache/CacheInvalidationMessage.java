@@ -0,0 +1,18 @@
+package com.example.modulith.poc.core.cache;
+
+import java.io.Serializable;
+
+/**
+ * 2次キャッシュの無効化
+ * <p>
+ * ノード間で送受信するためシリアライズ可能とする。エンティティ名がnullの場合はクエリキャッシュのみを無効化する。
+ * 2次キャッシュ以外のキャッシュも、エンティティ名の代わりにキャッシュ名を設定して同じチャネルで配信できる
+ * （2次キャッシュの無効化はエンティティとして登録されていない名前を無視する）。
+ *
+ * @param sourceNodeId 配信したノードのID
+ * @param entityName   エンティティ名（完全修飾クラス名）またはキャッシュ名
+ * @param id           エンティティのID（nullの場合はエンティティ名の全件）
+ */
+public record CacheInvalidationMessage(String sourceNodeId, String entityName, Serializable id)
+        implements Serializable {
+}
@@ -0,0 +1,37 @@
+package com.example.modulith.poc.core.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * プロセス内で配信する無効化チャネル
+ * <p>
+ * 配信した無効化を同じプロセスの購読者へ同期的に渡す。単一ノードでの運用と開発用の既定の実装。
+ */
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(LocalCacheInvalidationChannel.class);
+
+    private final List<Consumer<CacheInvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        for (Consumer<CacheInvalidationMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                // 他の購読者への配信は継続する
+                LOGGER.warn("failed to deliver cache invalidation: {}", message, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.modulith.poc.core.cache;
+
+import com.example.modulith.poc.core.metrics.MetricsSource;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * プロセス内の2次キャッシュ
+ * <p>
+ * Hibernateの2次キャッシュ・クエリキャッシュのリージョンを {@link LocalRegionStorage} で保持する。
+ * リージョンごとに最大件数と有効期間を設定できる。更新日時リージョン（クエリキャッシュの無効化に使用する）は
+ * 破棄されるとクエリ結果が古いまま有効と判定されるため、件数・期間を制限しない。
+ * <p>
+ * ノード間の無効化は {@link SecondLevelCacheInvalidator} が行う。
+ * リージョンごとの統計は {@code cache.region.<リージョン名>.*} として運用統計に公開する。
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate implements MetricsSource {
+
+    private final Function<String, RegionSettings> settings;
+    private final Map<String, LocalRegionStorage> storages = new ConcurrentHashMap<>();
+
+    /**
+     * @param settings リージョン名からリージョンの設定を返す関数
+     */
+    public LocalRegionFactory(Function<String, RegionSettings> settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * リージョンごとの統計（リージョン名順）
+     */
+    public List<RegionStats> regionStats() {
+        return storages.values().stream()
+                .map(LocalRegionStorage::stats)
+                .sorted(Comparator.comparing(RegionStats::region))
+                .toList();
+    }
+
+    @Override
+    public void collect(Map<String, Number> metrics) {
+        for (RegionStats stats : regionStats()) {
+            String prefix = "cache.region." + stats.region() + ".";
+            metrics.put(prefix + "size", stats.size());
+            metrics.put(prefix + "hits", stats.hits());
+            metrics.put(prefix + "misses", stats.misses());
+            metrics.put(prefix + "puts", stats.puts());
+            metrics.put(prefix + "evictions", stats.evictions());
+            metrics.put(prefix + "hit-ratio", stats.hitRatio());
+        }
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return storage(regionConfig.getRegionName(), settings.apply(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return storage(regionName, settings.apply(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return storage(regionName, RegionSettings.UNBOUNDED);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+        // 設定はSpringから受け取るため、Hibernateの設定値は使用しない
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        storages.values().forEach(LocalRegionStorage::release);
+        storages.clear();
+    }
+
+    private LocalRegionStorage storage(String regionName, RegionSettings regionSettings) {
+        return storages.computeIfAbsent(regionName, name -> new LocalRegionStorage(name, regionSettings));
+    }
+}
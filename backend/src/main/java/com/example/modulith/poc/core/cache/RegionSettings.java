@@ -0,0 +1,17 @@
+package com.example.modulith.poc.core.cache;
+
+import java.time.Duration;
+
+/**
+ * 2次キャッシュのリージョンの設定
+ *
+ * @param maxEntries 最大件数（0の場合は制限しない）
+ * @param ttl        エントリの有効期間（0の場合は期限なし）
+ */
+public record RegionSettings(int maxEntries, Duration ttl) {
+
+    /**
+     * 件数・期間を制限しない設定（更新日時リージョン用）
+     */
+    public static final RegionSettings UNBOUNDED = new RegionSettings(0, Duration.ZERO);
+}
@@ -0,0 +1,22 @@
+package com.example.modulith.poc.core.cache;
+
+/**
+ * 2次キャッシュのリージョンの統計
+ *
+ * @param region    リージョン名
+ * @param size      保持している件数（期限切れのエントリを含む）
+ * @param hits      ヒット数
+ * @param misses    ミス数（期限切れを含む）
+ * @param puts      格納数
+ * @param evictions 件数の上限・期限切れにより破棄した数
+ */
+public record RegionStats(String region, int size, long hits, long misses, long puts, long evictions) {
+
+    /**
+     * ヒット率（参照が無い場合は0）
+     */
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.modulith.poc.core.cache;
+
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 2次キャッシュの設定
+ * <p>
+ * {@code @Cache} を付与したエンティティ（更新の少ない参照系）のみをキャッシュし、注文・在庫など更新の多い集約はキャッシュしない。
+ * リージョンごとの最大件数・有効期間は {@code poc.cache.regions.<リージョン名>} で設定し、
+ * 未設定のリージョンは {@code poc.cache.regions.default} を使用する。
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    private static final String REGIONS_PREFIX = "poc.cache.regions.";
+
+    @Bean
+    public LocalRegionFactory localRegionFactory(Environment environment) {
+        RegionSettings defaults = new RegionSettings(
+                environment.getProperty(REGIONS_PREFIX + "default.max-entries", Integer.class, 10000),
+                environment.getProperty(REGIONS_PREFIX + "default.ttl", Duration.class, Duration.ofMinutes(10)));
+        return new LocalRegionFactory(region -> new RegionSettings(
+                environment.getProperty(REGIONS_PREFIX + region + ".max-entries", Integer.class, defaults.maxEntries()),
+                environment.getProperty(REGIONS_PREFIX + region + ".ttl", Duration.class, defaults.ttl())));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationChannel.class)
+    public CacheInvalidationChannel localCacheInvalidationChannel() {
+        return new LocalCacheInvalidationChannel();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(LocalRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+        };
+    }
+}
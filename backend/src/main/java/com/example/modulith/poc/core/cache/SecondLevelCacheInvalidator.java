@@ -0,0 +1,129 @@
+package com.example.modulith.poc.core.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * 2次キャッシュのノード間の無効化
+ * <p>
+ * キャッシュ対象のエンティティの登録・更新・削除がコミットされたら {@link CacheInvalidationChannel} へ配信し、
+ * 他ノードから受信した場合は該当するエンティティとクエリキャッシュを破棄する。
+ * 自ノードのキャッシュはHibernateがトランザクションに合わせて更新するため、自ノードが配信したものは無視する。
+ * <p>
+ * クエリキャッシュは対象のテーブルを特定せずに全て破棄する（キャッシュ対象は更新の少ない参照系のエンティティのため）。
+ */
+@Component
+public class SecondLevelCacheInvalidator implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationChannel channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheInvalidationChannel channel) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        channel.subscribe(this::onMessage);
+    }
+
+    /**
+     * JDBCで直接書き込んだ場合など、Hibernateを経由しない変更の後にクエリキャッシュを破棄する（他ノードへも配信する）
+     */
+    public void invalidateQueries() {
+        sessionFactory.getCache().evictQueryRegions();
+        channel.publish(new CacheInvalidationMessage(nodeId, null, null));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // コミットされていないため配信しない
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // コミットされていないため配信しない
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // コミットされていないため配信しない
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        try {
+            channel.publish(new CacheInvalidationMessage(nodeId, persister.getEntityName(), (Serializable) id));
+        } catch (RuntimeException e) {
+            // コミット済みの処理は失敗させない（他ノードのキャッシュは有効期間で更新される）
+            LOGGER.warn("failed to publish cache invalidation: entity={}, id={}", persister.getEntityName(), id, e);
+        }
+    }
+
+    private void onMessage(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.sourceNodeId())) {
+            return;
+        }
+        if (message.entityName() != null) {
+            if (sessionFactory.getMappingMetamodel().findEntityDescriptor(message.entityName()) == null) {
+                // 2次キャッシュ以外のキャッシュの無効化
+                return;
+            }
+            if (message.id() != null) {
+                sessionFactory.getCache().evictEntityData(message.entityName(), message.id());
+            } else {
+                sessionFactory.getCache().evictEntityData(message.entityName());
+            }
+        }
+        sessionFactory.getCache().evictQueryRegions();
+    }
+}
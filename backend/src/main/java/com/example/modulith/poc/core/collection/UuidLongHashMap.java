@@ -0,0 +1,266 @@
+package com.example.modulith.poc.core.collection;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * UUIDをキー、longを値とするオープンアドレス法のハッシュマップ
+ * <p>
+ * UUIDを上位・下位の2つのlongとして保持し、エントリごとのオブジェクト生成（UUID・Long・Entry）を避ける。
+ * 大量のSKUを扱う集計・キャッシュで、ヒープ使用量とGC負荷を抑える目的で使用する。
+ * <p>
+ * スレッドセーフではない。並行アクセスする場合は呼び出し側で排他制御すること。
+ */
+public class UuidLongHashMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] msbs;
+    private long[] lsbs;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+    private int resizeThreshold;
+
+    public UuidLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public UuidLongHashMap(int expectedSize) {
+        allocate(tableSizeFor(Math.max(expectedSize, 1)));
+    }
+
+    /**
+     * 値を取得する
+     *
+     * @param key          キー
+     * @param defaultValue キーが存在しない場合の値
+     * @return 値
+     */
+    public long get(UUID key, long defaultValue) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits(), defaultValue);
+    }
+
+    /**
+     * 値を取得する
+     *
+     * @param msb          キーの上位64bit
+     * @param lsb          キーの下位64bit
+     * @param defaultValue キーが存在しない場合の値
+     * @return 値
+     */
+    public long get(long msb, long lsb, long defaultValue) {
+        int slot = findSlot(msb, lsb);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * キーが存在するか
+     *
+     * @param key キー
+     * @return 存在する場合true
+     */
+    public boolean containsKey(UUID key) {
+        return findSlot(key.getMostSignificantBits(), key.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * 値を設定する
+     *
+     * @param key   キー
+     * @param value 値
+     */
+    public void put(UUID key, long value) {
+        put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    /**
+     * 値を設定する
+     *
+     * @param msb   キーの上位64bit
+     * @param lsb   キーの下位64bit
+     * @param value 値
+     */
+    public void put(long msb, long lsb, long value) {
+        int slot = insertionSlot(msb, lsb);
+        values[slot] = value;
+    }
+
+    /**
+     * 値に加算する（キーが存在しない場合は0に加算する）
+     *
+     * @param key   キー
+     * @param delta 加算値
+     * @return 加算後の値
+     */
+    public long addTo(UUID key, long delta) {
+        return addTo(key.getMostSignificantBits(), key.getLeastSignificantBits(), delta);
+    }
+
+    /**
+     * 値に加算する（キーが存在しない場合は0に加算する）
+     *
+     * @param msb   キーの上位64bit
+     * @param lsb   キーの下位64bit
+     * @param delta 加算値
+     * @return 加算後の値
+     */
+    public long addTo(long msb, long lsb, long delta) {
+        int slot = insertionSlot(msb, lsb);
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    /**
+     * キーを削除する
+     *
+     * @param key キー
+     * @return 削除した場合true
+     */
+    public boolean remove(UUID key) {
+        int slot = findSlot(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        if (slot < 0) {
+            return false;
+        }
+        // 線形探索の連続性を保つため、後続のエントリを前に詰める
+        int mask = used.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int home = hash(msbs[next], lsbs[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                msbs[hole] = msbs[next];
+                lsbs[hole] = lsbs[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        values[hole] = 0L;
+        size--;
+        return true;
+    }
+
+    /**
+     * 他のマップの値を加算して統合する
+     *
+     * @param other 統合するマップ
+     */
+    public void addAll(UuidLongHashMap other) {
+        other.forEach((msb, lsb, value) -> addTo(msb, lsb, value));
+    }
+
+    /**
+     * すべてのエントリを走査する
+     *
+     * @param consumer エントリの処理
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                consumer.accept(msbs[i], lsbs[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(values, 0L);
+        size = 0;
+    }
+
+    private int findSlot(long msb, long lsb) {
+        // 並行更新中に読まれた場合でも無限ループしないよう、探索回数をテーブルサイズで打ち切る
+        boolean[] used = this.used;
+        long[] msbs = this.msbs;
+        long[] lsbs = this.lsbs;
+        int mask = used.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        for (int probes = 0; probes < used.length && used[slot]; probes++) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int insertionSlot(long msb, long lsb) {
+        int mask = used.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (used[slot]) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size + 1 > resizeThreshold) {
+            resize();
+            return insertionSlot(msb, lsb);
+        }
+        used[slot] = true;
+        msbs[slot] = msb;
+        lsbs[slot] = lsb;
+        values[slot] = 0L;
+        size++;
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldMsbs = msbs;
+        long[] oldLsbs = lsbs;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldUsed.length * 2);
+        int mask = used.length - 1;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = hash(oldMsbs[i], oldLsbs[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                msbs[slot] = oldMsbs[i];
+                lsbs[slot] = oldLsbs[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expectedSize / LOAD_FACTOR), DEFAULT_CAPACITY) - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * エントリの処理
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long msb, long lsb, long value);
+    }
+}
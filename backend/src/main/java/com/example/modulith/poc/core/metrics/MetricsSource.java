@@ -0,0 +1,19 @@
+package com.example.modulith.poc.core.metrics;
+
+import java.util.Map;
+
+/**
+ * 運用統計の提供元
+ * <p>
+ * 各モジュールのキャッシュ・実行器などの統計をBeanとして登録すると、
+ * Webチャネルの {@code GET /v1/internal/metrics} でまとめて参照できる。
+ */
+public interface MetricsSource {
+
+    /**
+     * 現在の統計値を書き出す
+     *
+     * @param metrics 書き出し先。キーはドット区切りの統計名（例: {@code cache.region.<リージョン名>.hit-ratio}）
+     */
+    void collect(Map<String, Number> metrics);
+}
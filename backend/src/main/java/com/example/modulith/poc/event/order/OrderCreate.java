@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,6 +16,7 @@ import java.util.UUID;
  * <p>
  * カートから注文を作成する際に発行されるイベント。
  * 複数SKUの注文アイテム、配送先情報、支払い方法などを含む。
+ * カートから変換する場合は変換元のカートIDと、カートで検証・価格確定済みの商品情報を含み、注文では価格を再取得しない。
  */
 public final class OrderCreate extends EventBase {
 
@@ -23,6 +25,16 @@ public final class OrderCreate extends EventBase {
      */
     private final @NotBlank String idempotencyKey;
 
+    /**
+     * 注文するユーザーのID（認証済みのセッションから取得する）
+     */
+    private final @NotNull UUID userId;
+
+    /**
+     * 変換元のカートID（カートから注文する場合）
+     */
+    private final UUID cartId;
+
     /**
      * 注文アイテムリスト
      */
@@ -58,6 +70,23 @@ public final class OrderCreate extends EventBase {
     public OrderCreate(
             EventHeader header,
             String idempotencyKey,
+            UUID userId,
+            List<OrderItemData> items,
+            UUID shippingAddressId,
+            UUID billingAddressId,
+            String paymentMethod,
+            String couponCode,
+            String notes
+    ) {
+        this(header, idempotencyKey, userId, null, items, shippingAddressId, billingAddressId, paymentMethod, couponCode,
+                notes);
+    }
+
+    public OrderCreate(
+            EventHeader header,
+            String idempotencyKey,
+            UUID userId,
+            UUID cartId,
             List<OrderItemData> items,
             UUID shippingAddressId,
             UUID billingAddressId,
@@ -67,6 +96,8 @@ public final class OrderCreate extends EventBase {
     ) {
         super(header);
         this.idempotencyKey = idempotencyKey;
+        this.userId = userId;
+        this.cartId = cartId;
         this.items = items;
         this.shippingAddressId = shippingAddressId;
         this.billingAddressId = billingAddressId;
@@ -79,6 +110,14 @@ public final class OrderCreate extends EventBase {
         return idempotencyKey;
     }
 
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getCartId() {
+        return cartId;
+    }
+
     public List<OrderItemData> getItems() {
         return items;
     }
@@ -105,10 +144,40 @@ public final class OrderCreate extends EventBase {
 
     /**
      * 注文アイテムデータ
+     *
+     * @param skuId    SKU ID
+     * @param quantity 数量
+     * @param priced   価格確定済みの商品情報（カートから注文する場合。無い場合は注文作成時に取得する）
      */
     public record OrderItemData(
             @NotNull UUID skuId,
-            @NotNull Integer quantity
+            @NotNull Integer quantity,
+            PricedItem priced
+    ) {
+        public OrderItemData(UUID skuId, Integer quantity) {
+            this(skuId, quantity, null);
+        }
+    }
+
+    /**
+     * 価格確定済みの商品情報
+     *
+     * @param productName 商品名
+     * @param skuCode     SKUコード
+     * @param color       カラー
+     * @param size        サイズ
+     * @param unitPrice   販売価格（税抜）
+     * @param productId   商品ID（プロモーションの対象判定に使用する）
+     * @param category    カテゴリ（プロモーションの対象判定に使用する）
+     */
+    public record PricedItem(
+            String productName,
+            String skuCode,
+            String color,
+            String size,
+            BigDecimal unitPrice,
+            UUID productId,
+            String category
     ) {
     }
 }
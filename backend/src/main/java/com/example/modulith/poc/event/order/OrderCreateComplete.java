@@ -19,6 +19,7 @@ public final class OrderCreateComplete extends EventBase {
     private final UUID orderId;
     private final String orderNumber;
     private final UUID userId;
+    private final UUID cartId;
     private final String orderStatus;
     private final String paymentStatus;
     private final List<OrderItemData> items;
@@ -45,6 +46,7 @@ public final class OrderCreateComplete extends EventBase {
             UUID orderId,
             String orderNumber,
             UUID userId,
+            UUID cartId,
             String orderStatus,
             String paymentStatus,
             List<OrderItemData> items,
@@ -70,6 +72,7 @@ public final class OrderCreateComplete extends EventBase {
         this.orderId = orderId;
         this.orderNumber = orderNumber;
         this.userId = userId;
+        this.cartId = cartId;
         this.orderStatus = orderStatus;
         this.paymentStatus = paymentStatus;
         this.items = items;
@@ -104,6 +107,13 @@ public final class OrderCreateComplete extends EventBase {
         return userId;
     }
 
+    /**
+     * 変換元のカートID（カートから注文した場合）
+     */
+    public UUID getCartId() {
+        return cartId;
+    }
+
     public String getOrderStatus() {
         return orderStatus;
     }
@@ -0,0 +1,36 @@
+package com.example.modulith.poc.model.cart;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * カート
+ *
+ * @param cartId    カートID
+ * @param userId    ユーザーID（ゲストの場合はnull）
+ * @param sessionId セッションID（ログイン中のユーザーの場合はnull）
+ * @param items     カート明細（追加した順）
+ * @param createdAt 作成日時
+ * @param updatedAt 更新日時
+ * @param expiresAt 有効期限（最終更新から一定期間）
+ */
+public record Cart(
+        UUID cartId,
+        UUID userId,
+        String sessionId,
+        List<CartItem> items,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        OffsetDateTime expiresAt
+) {
+    /**
+     * 小計（税抜）
+     */
+    public BigDecimal subtotal() {
+        return items.stream()
+                .map(CartItem::subtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
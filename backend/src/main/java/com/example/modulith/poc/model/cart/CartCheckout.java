@@ -0,0 +1,45 @@
+package com.example.modulith.poc.model.cart;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 注文に変換するカートの内容（検証・価格確定済み）
+ *
+ * @param cartId カートID
+ * @param userId カートを所有するユーザーのID（注文するユーザー）
+ * @param lines  明細（明細の順）
+ */
+public record CartCheckout(
+        UUID cartId,
+        UUID userId,
+        List<Line> lines
+) {
+
+    /**
+     * 価格確定済みの明細
+     *
+     * @param skuId       SKU ID
+     * @param quantity    数量
+     * @param unitPrice   販売価格（税抜）
+     * @param productName 商品名
+     * @param skuCode     SKUコード
+     * @param color       カラー
+     * @param size        サイズ
+     * @param productId   商品ID
+     * @param category    カテゴリ
+     */
+    public record Line(
+            UUID skuId,
+            int quantity,
+            BigDecimal unitPrice,
+            String productName,
+            String skuCode,
+            String color,
+            String size,
+            UUID productId,
+            String category
+    ) {
+    }
+}
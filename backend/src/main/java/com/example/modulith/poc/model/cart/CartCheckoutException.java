@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.cart;
+
+/**
+ * カートの注文変換例外
+ * <p>
+ * カートが空の場合、または明細に価格変更・在庫不足・販売終了などの問題がある場合にスローされる。
+ */
+public class CartCheckoutException extends RuntimeException {
+
+    private final CartValidation validation;
+
+    public CartCheckoutException(CartValidation validation) {
+        super(validation.issues().isEmpty()
+                ? "cart is empty: " + validation.cartId()
+                : "cart has issues: " + validation.cartId());
+        this.validation = validation;
+    }
+
+    public CartValidation getValidation() {
+        return validation;
+    }
+}
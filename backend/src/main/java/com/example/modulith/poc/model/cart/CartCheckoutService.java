@@ -0,0 +1,40 @@
+package com.example.modulith.poc.model.cart;
+
+import java.util.UUID;
+
+/**
+ * カートの注文変換サービスインターフェース
+ * <p>
+ * カートモジュールの公開API。カートを検証・価格確定して注文作成イベントに渡す内容を作成し、
+ * 注文の作成が完了したらカートを注文に変換済みとする。
+ */
+public interface CartCheckoutService {
+
+    /**
+     * カートを検証し、価格確定済みの内容を返す
+     * <p>
+     * SKUの価格・販売状況と在庫の引当可能数は、カートの全SKUについてそれぞれ1回で一括取得する。
+     *
+     * @param owner 所有者
+     * @return 価格確定済みのカートの内容
+     * @throws CartCheckoutException カートが空、または明細に問題がある場合
+     */
+    CartCheckout checkout(CartOwner owner);
+
+    /**
+     * カートを注文に変換済みとする（注文の作成完了時に呼ばれる）
+     * <p>
+     * カートが既に変換済み、または見つからない場合は何もしない。
+     *
+     * @param cartId  カートID
+     * @param orderId 注文ID
+     */
+    void markConverted(UUID cartId, UUID orderId);
+
+    /**
+     * 注文の作成に失敗したカートの変換を取り消す（カートは有効なまま残る）
+     *
+     * @param cartId カートID
+     */
+    void cancelCheckout(UUID cartId);
+}
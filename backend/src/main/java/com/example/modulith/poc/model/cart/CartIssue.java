@@ -0,0 +1,26 @@
+package com.example.modulith.poc.model.cart;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * カート検証で見つかった明細の問題
+ *
+ * @param type              問題の種類
+ * @param cartItemId        カート明細ID
+ * @param skuId             SKU ID
+ * @param quantity          カートの数量
+ * @param availableQuantity 引当可能数（在庫の問題の場合）
+ * @param cartUnitPrice     カートに追加した時点の単価
+ * @param currentUnitPrice  現在の単価（SKUが存在しない場合はnull）
+ */
+public record CartIssue(
+        CartIssueType type,
+        UUID cartItemId,
+        UUID skuId,
+        int quantity,
+        int availableQuantity,
+        BigDecimal cartUnitPrice,
+        BigDecimal currentUnitPrice
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.modulith.poc.model.cart;
+
+/**
+ * カート検証で見つかった問題の種類
+ */
+public enum CartIssueType {
+    /**
+     * 在庫切れ
+     */
+    OUT_OF_STOCK,
+    /**
+     * 在庫不足（在庫はあるが数量に満たない）
+     */
+    INSUFFICIENT_STOCK,
+    /**
+     * カートに追加した時点から価格が変わった
+     */
+    PRICE_CHANGED,
+    /**
+     * SKUが存在しない、またはSKU・商品が販売中でない
+     */
+    PRODUCT_UNAVAILABLE
+}
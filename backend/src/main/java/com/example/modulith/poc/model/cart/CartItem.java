@@ -0,0 +1,37 @@
+package com.example.modulith.poc.model.cart;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * カート明細
+ *
+ * @param cartItemId  カート明細ID
+ * @param skuId       SKU ID
+ * @param productId   商品ID（SKUが存在しない場合はnull）
+ * @param productName 商品名（SKUが存在しない場合はnull）
+ * @param color       カラー
+ * @param size        サイズ
+ * @param quantity    数量
+ * @param unitPrice   カートに追加した時点の単価（税抜）
+ * @param addedAt     カート追加日時
+ */
+public record CartItem(
+        UUID cartItemId,
+        UUID skuId,
+        UUID productId,
+        String productName,
+        String color,
+        String size,
+        int quantity,
+        BigDecimal unitPrice,
+        OffsetDateTime addedAt
+) {
+    /**
+     * 小計（税抜）
+     */
+    public BigDecimal subtotal() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.modulith.poc.model.cart;
+
+import java.util.UUID;
+
+/**
+ * カートの所有者
+ * <p>
+ * ログイン中のユーザー（ユーザーID）またはゲスト（セッションID）のいずれか一方を持つ。
+ *
+ * @param userId    ユーザーID（ゲストの場合はnull）
+ * @param sessionId セッションID（ログイン中の場合はnull）
+ */
+public record CartOwner(UUID userId, String sessionId) {
+
+    public CartOwner {
+        if ((userId == null) == (sessionId == null)) {
+            throw new IllegalArgumentException("either userId or sessionId must be specified");
+        }
+    }
+
+    /**
+     * ログイン中のユーザー
+     */
+    public static CartOwner user(UUID userId) {
+        return new CartOwner(userId, null);
+    }
+
+    /**
+     * ゲスト
+     */
+    public static CartOwner guest(String sessionId) {
+        return new CartOwner(null, sessionId);
+    }
+
+    /**
+     * ゲストか
+     */
+    public boolean isGuest() {
+        return userId == null;
+    }
+
+    /**
+     * 所有者を一意に表すキー（ユーザーとゲストで重複しない）
+     */
+    public String key() {
+        return userId != null ? "u:" + userId : "s:" + sessionId;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.modulith.poc.model.cart;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * カートサービスインターフェース
+ * <p>
+ * カートモジュールの公開API。カートの変更はメモリ上で反映し、DBへは一定間隔でまとめて書き込む。
+ */
+public interface CartService {
+
+    /**
+     * カートを取得する
+     *
+     * @param owner 所有者
+     * @return カート。カートが無い場合は明細の無いカート
+     */
+    Cart getCart(CartOwner owner);
+
+    /**
+     * カートに商品を追加する（同じSKUが既にある場合は数量を加算する）
+     *
+     * @param owner    所有者
+     * @param skuId    SKU ID
+     * @param quantity 数量
+     * @return 変更後のカート
+     * @throws CartSkuUnavailableException SKUが存在しない、または購入できない場合
+     */
+    Cart addItem(CartOwner owner, UUID skuId, int quantity);
+
+    /**
+     * カート明細の数量を変更する
+     *
+     * @param owner      所有者
+     * @param cartItemId カート明細ID
+     * @param quantity   変更後の数量
+     * @return 変更後のカート。明細が無い場合は空
+     */
+    Optional<Cart> updateItemQuantity(CartOwner owner, UUID cartItemId, int quantity);
+
+    /**
+     * カート明細を削除する
+     *
+     * @param owner      所有者
+     * @param cartItemId カート明細ID
+     * @return 変更後のカート。明細が無い場合は空
+     */
+    Optional<Cart> removeItem(CartOwner owner, UUID cartItemId);
+
+    /**
+     * カートの明細を全て削除する
+     *
+     * @param owner 所有者
+     */
+    void clear(CartOwner owner);
+
+    /**
+     * ゲストのカートをユーザーのカートに統合する（ログイン時に使用する）
+     * <p>
+     * 同じSKUの明細は数量を加算する。統合したゲストのカートは統合済みとし、以後はゲストのカートとして参照されない。
+     * ゲストのカートが無い、または統合済みの場合は何もしないため、ログインの再試行で重複して統合されることはない。
+     *
+     * @param sessionId ゲストのセッションID
+     * @param userId    ログインしたユーザーID
+     * @return 統合後のユーザーのカート
+     */
+    Cart merge(String sessionId, UUID userId);
+}
@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.cart;
+
+import java.util.UUID;
+
+/**
+ * 購入できないSKUのカート追加例外
+ * <p>
+ * SKUが存在しない、またはSKU・商品が販売中でない場合にスローされる。
+ */
+public class CartSkuUnavailableException extends RuntimeException {
+
+    private final UUID skuId;
+
+    public CartSkuUnavailableException(UUID skuId) {
+        super("SKU is not available: " + skuId);
+        this.skuId = skuId;
+    }
+
+    public UUID getSkuId() {
+        return skuId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.cart;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * カートの検証結果
+ *
+ * @param cartId カートID
+ * @param issues 明細の問題（明細の順）
+ */
+public record CartValidation(
+        UUID cartId,
+        List<CartIssue> issues
+) {
+    /**
+     * 問題が無いか
+     */
+    public boolean valid() {
+        return issues.isEmpty();
+    }
+}
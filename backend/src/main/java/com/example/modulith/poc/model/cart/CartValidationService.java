@@ -0,0 +1,32 @@
+package com.example.modulith.poc.model.cart;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * カート検証サービスインターフェース
+ * <p>
+ * カートモジュールの公開API。カートの全明細を現在のSKUの価格・販売状況と在庫の引当可能数で検証する。
+ * 明細ごとに参照せず、カート（または複数のカート）の全SKUを価格・在庫それぞれ1回の一括取得で解決する。
+ */
+public interface CartValidationService {
+
+    /**
+     * カートを検証する（注文確定前の確認に使用する）
+     *
+     * @param owner 所有者
+     * @return 検証結果
+     */
+    CartValidation validate(CartOwner owner);
+
+    /**
+     * 複数のカートを検証する（放棄カートへの案内などの一括処理に使用する）
+     * <p>
+     * 書き込み待ちの変更をDBへ書き込んでから、DBのカートを一定件数ごとに並行して検証する。
+     *
+     * @param cartIds カートIDリスト
+     * @return 検証結果（明細の無いカート・存在しないカートは含まない）
+     */
+    List<CartValidation> validateCarts(Collection<UUID> cartIds);
+}
@@ -1,5 +1,5 @@
 package com.example.modulith.poc.model.cart.entity;
 
 public enum CartStatus {
-    ACTIVE, ABANDONED, CONVERTED
+    ACTIVE, ABANDONED, CONVERTED, MERGED
 }
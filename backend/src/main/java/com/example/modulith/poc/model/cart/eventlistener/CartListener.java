@@ -0,0 +1,40 @@
+package com.example.modulith.poc.model.cart.eventlistener;
+
+import com.example.modulith.poc.event.order.OrderCreateComplete;
+import com.example.modulith.poc.model.cart.CartCheckoutService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * カートイベントリスナー
+ * <p>
+ * カートから作成した注文のドメインイベントを処理する。
+ */
+@Component
+public class CartListener {
+
+    private final CartCheckoutService cartCheckoutService;
+
+    @Autowired
+    public CartListener(CartCheckoutService cartCheckoutService) {
+        this.cartCheckoutService = cartCheckoutService;
+    }
+
+    /**
+     * 注文作成完了イベントのListener
+     * <p>
+     * カートから作成した注文が確定した場合はカートを注文に変換済みとし、失敗した場合はカートを有効なまま残す。
+     */
+    @ApplicationModuleListener
+    public void onOrderCreateComplete(OrderCreateComplete event) {
+        if (event.getCartId() == null) {
+            return;
+        }
+        if (event.getHeader().isError()) {
+            cartCheckoutService.cancelCheckout(event.getCartId());
+            return;
+        }
+        cartCheckoutService.markConverted(event.getCartId(), event.getOrderId());
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.modulith.poc.model.cart.repository;
+
+import com.example.modulith.poc.model.cart.entity.CartStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * カート一括書き込みリポジトリ
+ * <p>
+ * メモリ上で変更したカートをまとめてDBへ書き込む処理で、エンティティを生成せずJDBCのバッチで書き込む。
+ * IDはメモリ上で採番済みのものを使用する。JPAと同一のトランザクション（コネクション）で実行される。
+ */
+@Repository
+public class CartBulkWriteRepository {
+
+    private static final String INSERT_CART_SQL =
+            "INSERT INTO carts (cart_id, user_id, session_id, cart_status, created_at, updated_at, expires_at, " +
+                    "converted_order_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_CART_SQL =
+            "UPDATE carts SET user_id = ?, session_id = ?, cart_status = ?, updated_at = ?, expires_at = ?, " +
+                    "converted_order_id = ? WHERE cart_id = ?";
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO cart_items (cart_item_id, cart_id, sku_id, quantity, unit_price, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE cart_items SET quantity = ?, unit_price = ?, updated_at = ? WHERE cart_item_id = ?";
+
+    private static final String DELETE_ITEM_SQL = "DELETE FROM cart_items WHERE cart_item_id = ?";
+
+    /**
+     * 有効期限切れのカート（idx_carts_expires を使用する。注文に変換したカートは注文の追跡のため残す）
+     */
+    private static final String EXPIRED_CART_CONDITION =
+            "expires_at < ? AND cart_status <> 'CONVERTED'";
+
+    private static final String FIND_EXPIRED_CART_IDS_SQL =
+            "SELECT cart_id FROM carts WHERE " + EXPIRED_CART_CONDITION + " ORDER BY expires_at FETCH FIRST ? ROWS ONLY";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CartBulkWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * カートを一括登録する
+     *
+     * @param carts カート
+     */
+    public void insertCarts(List<CartRow> carts) {
+        if (carts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_CART_SQL, carts, carts.size(), (ps, row) -> {
+            ps.setObject(1, row.cartId());
+            ps.setObject(2, row.userId());
+            ps.setString(3, row.sessionId());
+            ps.setString(4, row.cartStatus().name());
+            ps.setObject(5, row.createdAt());
+            ps.setObject(6, row.updatedAt());
+            ps.setObject(7, row.expiresAt());
+            ps.setObject(8, row.convertedOrderId());
+        });
+    }
+
+    /**
+     * カートを一括更新する
+     *
+     * @param carts カート
+     */
+    public void updateCarts(List<CartRow> carts) {
+        if (carts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CART_SQL, carts, carts.size(), (ps, row) -> {
+            ps.setObject(1, row.userId());
+            ps.setString(2, row.sessionId());
+            ps.setString(3, row.cartStatus().name());
+            ps.setObject(4, row.updatedAt());
+            ps.setObject(5, row.expiresAt());
+            ps.setObject(6, row.convertedOrderId());
+            ps.setObject(7, row.cartId());
+        });
+    }
+
+    /**
+     * カート明細を一括登録する
+     *
+     * @param items カート明細
+     */
+    public void insertItems(List<CartItemRow> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items, items.size(), (ps, row) -> {
+            ps.setObject(1, row.cartItemId());
+            ps.setObject(2, row.cartId());
+            ps.setObject(3, row.skuId());
+            ps.setInt(4, row.quantity());
+            ps.setBigDecimal(5, row.unitPrice());
+            ps.setObject(6, row.createdAt());
+            ps.setObject(7, row.updatedAt());
+        });
+    }
+
+    /**
+     * カート明細を一括更新する
+     *
+     * @param items カート明細
+     */
+    public void updateItems(List<CartItemRow> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, items, items.size(), (ps, row) -> {
+            ps.setInt(1, row.quantity());
+            ps.setBigDecimal(2, row.unitPrice());
+            ps.setObject(3, row.updatedAt());
+            ps.setObject(4, row.cartItemId());
+        });
+    }
+
+    /**
+     * カート明細を一括削除する
+     *
+     * @param cartItemIds カート明細ID
+     */
+    public void deleteItems(List<UUID> cartItemIds) {
+        if (cartItemIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_ITEM_SQL, cartItemIds, cartItemIds.size(),
+                (ps, cartItemId) -> ps.setObject(1, cartItemId));
+    }
+
+    /**
+     * 有効期限切れのカートIDを有効期限の古い順に取得する
+     *
+     * @param expiredBefore この日時より前に有効期限が切れたカートを対象とする
+     * @param limit         最大件数
+     * @return カートID
+     */
+    public List<UUID> findExpiredCartIds(OffsetDateTime expiredBefore, int limit) {
+        return jdbcTemplate.queryForList(FIND_EXPIRED_CART_IDS_SQL, UUID.class, expiredBefore, limit);
+    }
+
+    /**
+     * 有効期限切れのカートを明細ごと削除する（カート・明細それぞれ1回のDELETEで削除する）
+     * <p>
+     * 削除までの間に更新され、有効期限が延びたカートは削除しない。
+     *
+     * @param cartIds       カートID
+     * @param expiredBefore この日時より前に有効期限が切れたカートを対象とする
+     * @return 削除したカート数
+     */
+    public int deleteExpiredCarts(Collection<UUID> cartIds, OffsetDateTime expiredBefore) {
+        if (cartIds.isEmpty()) {
+            return 0;
+        }
+        String condition = "cart_id IN (" + String.join(", ", Collections.nCopies(cartIds.size(), "?")) + ") AND "
+                + EXPIRED_CART_CONDITION;
+        List<Object> args = new ArrayList<>(cartIds);
+        args.add(expiredBefore);
+        Object[] params = args.toArray();
+        jdbcTemplate.update("DELETE FROM cart_items WHERE cart_id IN (SELECT cart_id FROM carts WHERE "
+                + condition + ")", params);
+        return jdbcTemplate.update("DELETE FROM carts WHERE " + condition, params);
+    }
+
+    /**
+     * 書き込むカートの行
+     */
+    public record CartRow(
+            UUID cartId,
+            UUID userId,
+            String sessionId,
+            CartStatus cartStatus,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt,
+            OffsetDateTime expiresAt,
+            UUID convertedOrderId
+    ) {
+    }
+
+    /**
+     * 書き込むカート明細の行
+     */
+    public record CartItemRow(
+            UUID cartItemId,
+            UUID cartId,
+            UUID skuId,
+            int quantity,
+            BigDecimal unitPrice,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt
+    ) {
+    }
+}
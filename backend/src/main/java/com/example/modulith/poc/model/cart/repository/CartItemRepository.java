@@ -0,0 +1,40 @@
+package com.example.modulith.poc.model.cart.repository;
+
+import com.example.modulith.poc.model.cart.entity.CartItemEntity;
+import com.example.modulith.poc.model.cart.validation.CartValidationLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * カート明細リポジトリ
+ */
+@Repository
+public interface CartItemRepository extends JpaRepository<CartItemEntity, UUID> {
+
+    /**
+     * カートの明細を取得（idx_cart_items_cart_id を使用する）
+     *
+     * @param cartId カートID
+     * @return 明細リスト（追加した順）
+     */
+    @Query("SELECT i FROM CartItemEntity i WHERE i.cart.cartId = :cartId ORDER BY i.createdAt, i.cartItemId")
+    List<CartItemEntity> findByCartId(@Param("cartId") UUID cartId);
+
+    /**
+     * 複数カートの検証する明細を一括取得（idx_cart_items_cart_id を使用する）
+     *
+     * @param cartIds カートIDリスト
+     * @return 明細リスト（カート・追加した順）
+     */
+    @Query("SELECT new com.example.modulith.poc.model.cart.validation.CartValidationLine("
+            + "i.cart.cartId, i.cartItemId, i.skuId, i.quantity, i.unitPrice) "
+            + "FROM CartItemEntity i WHERE i.cart.cartId IN :cartIds "
+            + "ORDER BY i.cart.cartId, i.createdAt, i.cartItemId")
+    List<CartValidationLine> findValidationLines(@Param("cartIds") Collection<UUID> cartIds);
+}
@@ -0,0 +1,52 @@
+package com.example.modulith.poc.model.cart.repository;
+
+import com.example.modulith.poc.model.cart.entity.CartEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * カートリポジトリ
+ */
+@Repository
+public interface CartRepository extends JpaRepository<CartEntity, UUID> {
+
+    /**
+     * ユーザーの有効なカートを取得（idx_carts_user_id を使用する）
+     *
+     * @param userId ユーザーID
+     * @return カートリスト（更新日時の新しい順）
+     */
+    @Query("SELECT c FROM CartEntity c WHERE c.userId = :userId " +
+            "AND c.cartStatus = com.example.modulith.poc.model.cart.entity.CartStatus.ACTIVE " +
+            "ORDER BY c.updatedAt DESC")
+    List<CartEntity> findActiveByUserId(@Param("userId") UUID userId);
+
+    /**
+     * ゲストの有効なカートを取得（idx_carts_session_id を使用する）
+     *
+     * @param sessionId セッションID
+     * @return カートリスト（更新日時の新しい順）
+     */
+    @Query("SELECT c FROM CartEntity c WHERE c.sessionId = :sessionId AND c.userId IS NULL " +
+            "AND c.cartStatus = com.example.modulith.poc.model.cart.entity.CartStatus.ACTIVE " +
+            "ORDER BY c.updatedAt DESC")
+    List<CartEntity> findActiveBySessionId(@Param("sessionId") String sessionId);
+
+    /**
+     * ユーザーとゲストの有効なカートを明細とともに1回で取得（ログイン時のカートの統合に使用する）
+     *
+     * @param userId    ユーザーID
+     * @param sessionId セッションID
+     * @return カートと明細の組（明細の無いカートは明細がnull）。カートの更新日時の新しい順、明細は追加した順
+     */
+    @Query("SELECT c, i FROM CartEntity c LEFT JOIN CartItemEntity i ON i.cart = c " +
+            "WHERE (c.userId = :userId OR (c.sessionId = :sessionId AND c.userId IS NULL)) " +
+            "AND c.cartStatus = com.example.modulith.poc.model.cart.entity.CartStatus.ACTIVE " +
+            "ORDER BY c.updatedAt DESC, c.cartId, i.createdAt, i.cartItemId")
+    List<Object[]> findActiveWithItemsForMerge(@Param("userId") UUID userId, @Param("sessionId") String sessionId);
+}
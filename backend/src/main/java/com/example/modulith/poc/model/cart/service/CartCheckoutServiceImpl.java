@@ -0,0 +1,143 @@
+package com.example.modulith.poc.model.cart.service;
+
+import com.example.modulith.poc.model.cart.CartCheckout;
+import com.example.modulith.poc.model.cart.CartCheckoutException;
+import com.example.modulith.poc.model.cart.CartCheckoutService;
+import com.example.modulith.poc.model.cart.CartIssue;
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.cart.CartValidation;
+import com.example.modulith.poc.model.cart.entity.CartEntity;
+import com.example.modulith.poc.model.cart.entity.CartStatus;
+import com.example.modulith.poc.model.cart.repository.CartRepository;
+import com.example.modulith.poc.model.cart.store.CartSnapshot;
+import com.example.modulith.poc.model.cart.store.CartState;
+import com.example.modulith.poc.model.cart.store.CartStore;
+import com.example.modulith.poc.model.cart.validation.CartValidationLine;
+import com.example.modulith.poc.model.cart.validation.CartValidator;
+import com.example.modulith.poc.model.inventory.InventoryAvailabilityService;
+import com.example.modulith.poc.model.product.SkuCatalog;
+import com.example.modulith.poc.model.product.SkuInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * カートの注文変換サービス実装
+ * <p>
+ * 注文作成イベントには検証時に取得したSKUの情報で価格確定済みの明細を渡し、注文では価格を再取得しない。
+ * 注文の作成完了時にカートを所有者から特定できるよう、変換中のカートの所有者を保持する
+ * （再起動などで保持していない場合はDBのカートから特定する）。
+ * 注文の作成が完了・失敗の通知なく終わった場合に備え、{@code owner-ttl} を過ぎた所有者は定期的に破棄する。
+ */
+@Service
+public class CartCheckoutServiceImpl implements CartCheckoutService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CartCheckoutServiceImpl.class);
+
+    private final CartStore cartStore;
+    private final CartRepository cartRepository;
+    private final SkuCatalog skuCatalog;
+    private final InventoryAvailabilityService availabilityService;
+    private final Map<UUID, PendingCheckout> checkoutOwners = new ConcurrentHashMap<>();
+    private final long ownerTtlNanos;
+
+    @Autowired
+    public CartCheckoutServiceImpl(CartStore cartStore,
+                                   CartRepository cartRepository,
+                                   SkuCatalog skuCatalog,
+                                   InventoryAvailabilityService availabilityService,
+                                   @Value("${poc.cart.checkout.owner-ttl:PT10M}") Duration ownerTtl) {
+        this.cartStore = cartStore;
+        this.cartRepository = cartRepository;
+        this.skuCatalog = skuCatalog;
+        this.availabilityService = availabilityService;
+        this.ownerTtlNanos = ownerTtl.toNanos();
+    }
+
+    @Override
+    public CartCheckout checkout(CartOwner owner) {
+        CartSnapshot snapshot = cartStore.read(owner, CartState::snapshot);
+        List<CartValidationLine> lines = CartValidationLine.of(snapshot);
+        if (lines.isEmpty()) {
+            throw new CartCheckoutException(new CartValidation(snapshot.cartId(), List.of()));
+        }
+        Set<UUID> skuIds = new LinkedHashSet<>();
+        for (CartValidationLine line : lines) {
+            skuIds.add(line.skuId());
+        }
+        Map<UUID, SkuInfo> skus = skuCatalog.getAll(skuIds);
+        Map<UUID, Integer> availables = availabilityService.getAvailableQuantities(skuIds);
+        List<CartIssue> issues = CartValidator.validate(lines, skus, availables);
+        if (!issues.isEmpty()) {
+            throw new CartCheckoutException(new CartValidation(snapshot.cartId(), issues));
+        }
+
+        List<CartCheckout.Line> checkoutLines = new ArrayList<>(lines.size());
+        for (CartValidationLine line : lines) {
+            SkuInfo sku = skus.get(line.skuId());
+            checkoutLines.add(new CartCheckout.Line(line.skuId(), line.quantity(), sku.unitPrice(),
+                    sku.productName(), sku.skuCode(), sku.color(), sku.size(), sku.productId(), sku.category()));
+        }
+        checkoutOwners.put(snapshot.cartId(), new PendingCheckout(owner, System.nanoTime()));
+        return new CartCheckout(snapshot.cartId(), snapshot.userId(), checkoutLines);
+    }
+
+    @Override
+    public void markConverted(UUID cartId, UUID orderId) {
+        PendingCheckout pending = checkoutOwners.remove(cartId);
+        CartOwner owner = pending != null ? pending.owner() : null;
+        if (owner == null) {
+            owner = cartRepository.findById(cartId).map(CartCheckoutServiceImpl::toOwner).orElse(null);
+            if (owner == null) {
+                LOGGER.warn("cart to convert not found: cart={}, order={}", cartId, orderId);
+                return;
+            }
+        }
+        CartSnapshot converted = cartStore.update(owner, state -> {
+            if (!state.getCartId().equals(cartId) || state.getCartStatus() != CartStatus.ACTIVE) {
+                return false;
+            }
+            state.setCartStatus(CartStatus.CONVERTED, orderId);
+            return true;
+        });
+        if (converted == null) {
+            LOGGER.info("cart already converted or replaced: cart={}, order={}", cartId, orderId);
+        }
+    }
+
+    @Override
+    public void cancelCheckout(UUID cartId) {
+        checkoutOwners.remove(cartId);
+    }
+
+    /**
+     * 保持期間を過ぎた変換中のカートの所有者を破棄する（破棄後に完了しても、カートはDBから特定する）
+     */
+    @Scheduled(fixedDelayString = "${poc.cart.checkout.owner-ttl:PT10M}")
+    public void purgeExpiredCheckouts() {
+        long now = System.nanoTime();
+        checkoutOwners.values().removeIf(pending -> now - pending.startedAtNanos() > ownerTtlNanos);
+    }
+
+    private static CartOwner toOwner(CartEntity cart) {
+        return cart.getUserId() != null ? CartOwner.user(cart.getUserId()) : CartOwner.guest(cart.getSessionId());
+    }
+
+    /**
+     * 変換中のカートの所有者
+     */
+    private record PendingCheckout(CartOwner owner, long startedAtNanos) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.modulith.poc.model.cart.service;
+
+import com.example.modulith.poc.model.cart.Cart;
+import com.example.modulith.poc.model.cart.CartItem;
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.cart.CartService;
+import com.example.modulith.poc.model.cart.CartSkuUnavailableException;
+import com.example.modulith.poc.model.cart.store.CartLine;
+import com.example.modulith.poc.model.cart.store.CartSnapshot;
+import com.example.modulith.poc.model.cart.store.CartState;
+import com.example.modulith.poc.model.cart.store.CartStore;
+import com.example.modulith.poc.model.product.SkuCatalog;
+import com.example.modulith.poc.model.product.SkuInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * カートサービス実装
+ * <p>
+ * カートの変更は {@link CartStore} のメモリ上のカートに反映し、DBへの書き込みは {@link CartStore} がまとめて行う。
+ * 商品名などの表示項目は、SKUカタログから明細のSKUを一括で取得して付与する。
+ */
+@Service
+public class CartServiceImpl implements CartService {
+
+    private final CartStore cartStore;
+    private final SkuCatalog skuCatalog;
+
+    @Autowired
+    public CartServiceImpl(CartStore cartStore, SkuCatalog skuCatalog) {
+        this.cartStore = cartStore;
+        this.skuCatalog = skuCatalog;
+    }
+
+    @Override
+    public Cart getCart(CartOwner owner) {
+        return toCart(cartStore.read(owner, CartState::snapshot));
+    }
+
+    @Override
+    public Cart addItem(CartOwner owner, UUID skuId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be positive: " + quantity);
+        }
+        // 価格はカートのロックの外で取得する
+        SkuInfo sku = skuCatalog.get(skuId)
+                .filter(SkuInfo::purchasable)
+                .orElseThrow(() -> new CartSkuUnavailableException(skuId));
+        CartSnapshot snapshot = cartStore.update(owner, state -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            CartLine line = state.lineBySku(skuId);
+            if (line == null) {
+                state.putLine(new CartLine(UUID.randomUUID(), skuId, quantity, sku.unitPrice(), now, now));
+            } else {
+                state.putLine(line.withQuantity(Math.addExact(line.quantity(), quantity), now));
+            }
+            return true;
+        });
+        return toCart(snapshot);
+    }
+
+    @Override
+    public Optional<Cart> updateItemQuantity(CartOwner owner, UUID cartItemId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be positive: " + quantity);
+        }
+        CartSnapshot snapshot = cartStore.update(owner, state -> {
+            CartLine line = state.line(cartItemId);
+            if (line == null) {
+                return false;
+            }
+            if (line.quantity() != quantity) {
+                state.putLine(line.withQuantity(quantity, OffsetDateTime.now()));
+            }
+            return true;
+        });
+        return Optional.ofNullable(snapshot).map(this::toCart);
+    }
+
+    @Override
+    public Optional<Cart> removeItem(CartOwner owner, UUID cartItemId) {
+        CartSnapshot snapshot = cartStore.update(owner, state -> state.removeLine(cartItemId));
+        return Optional.ofNullable(snapshot).map(this::toCart);
+    }
+
+    @Override
+    public void clear(CartOwner owner) {
+        cartStore.update(owner, state -> {
+            state.clearLines();
+            return true;
+        });
+    }
+
+    @Override
+    public Cart merge(String sessionId, UUID userId) {
+        CartSnapshot snapshot = cartStore.merge(CartOwner.guest(sessionId), CartOwner.user(userId), (guest, user) -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            for (CartLine line : guest.lines()) {
+                CartLine existing = user.lineBySku(line.skuId());
+                if (existing == null) {
+                    // ゲストのカートの明細は削除するため、別の明細IDで追加する
+                    user.putLine(new CartLine(UUID.randomUUID(), line.skuId(), line.quantity(), line.unitPrice(),
+                            line.createdAt(), now));
+                } else {
+                    user.putLine(existing.withQuantity(Math.addExact(existing.quantity(), line.quantity()), now));
+                }
+            }
+        });
+        return toCart(snapshot);
+    }
+
+    private Cart toCart(CartSnapshot snapshot) {
+        Map<UUID, SkuInfo> skus = skuCatalog.getAll(snapshot.lines().stream().map(CartLine::skuId).toList());
+        List<CartItem> items = new ArrayList<>(snapshot.lines().size());
+        for (CartLine line : snapshot.lines()) {
+            SkuInfo sku = skus.get(line.skuId());
+            items.add(new CartItem(
+                    line.cartItemId(),
+                    line.skuId(),
+                    sku != null ? sku.productId() : null,
+                    sku != null ? sku.productName() : null,
+                    sku != null ? sku.color() : null,
+                    sku != null ? sku.size() : null,
+                    line.quantity(),
+                    line.unitPrice(),
+                    line.createdAt()
+            ));
+        }
+        return new Cart(snapshot.cartId(), snapshot.userId(), snapshot.sessionId(), items, snapshot.createdAt(),
+                snapshot.updatedAt(), snapshot.expiresAt());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.modulith.poc.model.cart.service;
+
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.cart.CartValidation;
+import com.example.modulith.poc.model.cart.CartValidationService;
+import com.example.modulith.poc.model.cart.repository.CartItemRepository;
+import com.example.modulith.poc.model.cart.store.CartSnapshot;
+import com.example.modulith.poc.model.cart.store.CartState;
+import com.example.modulith.poc.model.cart.store.CartStore;
+import com.example.modulith.poc.model.cart.validation.CartValidationLine;
+import com.example.modulith.poc.model.cart.validation.CartValidator;
+import com.example.modulith.poc.model.inventory.InventoryAvailabilityService;
+import com.example.modulith.poc.model.product.SkuCatalog;
+import com.example.modulith.poc.model.product.SkuInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * カート検証サービス実装
+ * <p>
+ * カートの全SKUの価格・販売状況はSKUカタログ、引当可能数は在庫モジュールからそれぞれ1回で一括取得する。
+ * 複数カートの検証は一定件数ごとに分割し、分割ごとに明細・価格・在庫を一括取得して並列に検証する。
+ */
+@Service
+public class CartValidationServiceImpl implements CartValidationService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CartValidationServiceImpl.class);
+
+    private final CartStore cartStore;
+    private final CartItemRepository cartItemRepository;
+    private final SkuCatalog skuCatalog;
+    private final InventoryAvailabilityService availabilityService;
+    private final int batchSize;
+    private final int parallelism;
+
+    @Autowired
+    public CartValidationServiceImpl(CartStore cartStore,
+                                     CartItemRepository cartItemRepository,
+                                     SkuCatalog skuCatalog,
+                                     InventoryAvailabilityService availabilityService,
+                                     @Value("${poc.cart.validation.batch-size:500}") int batchSize,
+                                     @Value("${poc.cart.validation.parallelism:4}") int parallelism) {
+        this.cartStore = cartStore;
+        this.cartItemRepository = cartItemRepository;
+        this.skuCatalog = skuCatalog;
+        this.availabilityService = availabilityService;
+        this.batchSize = Math.max(batchSize, 1);
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    @Override
+    public CartValidation validate(CartOwner owner) {
+        CartSnapshot snapshot = cartStore.read(owner, CartState::snapshot);
+        List<CartValidationLine> lines = CartValidationLine.of(snapshot);
+        Set<UUID> skuIds = skuIds(lines);
+        Map<UUID, SkuInfo> skus = skuCatalog.getAll(skuIds);
+        Map<UUID, Integer> availables = availabilityService.getAvailableQuantities(skuIds);
+        return new CartValidation(snapshot.cartId(), CartValidator.validate(lines, skus, availables));
+    }
+
+    @Override
+    public List<CartValidation> validateCarts(Collection<UUID> cartIds) {
+        if (cartIds.isEmpty()) {
+            return List.of();
+        }
+        // メモリ上の未書き込みの変更をDBに反映してから読み込む
+        cartStore.flush();
+
+        List<List<UUID>> batches = new ArrayList<>();
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(cartIds));
+        for (int from = 0; from < distinctIds.size(); from += batchSize) {
+            batches.add(distinctIds.subList(from, Math.min(from + batchSize, distinctIds.size())));
+        }
+        if (batches.size() == 1 || parallelism == 1) {
+            List<CartValidation> results = new ArrayList<>();
+            for (List<UUID> batch : batches) {
+                results.addAll(validateBatch(batch));
+            }
+            return results;
+        }
+
+        long startedAt = System.nanoTime();
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, batches.size()),
+                runnable -> new Thread(runnable, "cart-validation-" + threadNo.incrementAndGet()));
+        try {
+            List<Future<List<CartValidation>>> futures = new ArrayList<>(batches.size());
+            for (List<UUID> batch : batches) {
+                futures.add(executor.submit(() -> validateBatch(batch)));
+            }
+            // 指定された順で返す
+            List<CartValidation> results = new ArrayList<>();
+            for (Future<List<CartValidation>> future : futures) {
+                results.addAll(future.get());
+            }
+            LOGGER.info("validated carts: carts={}, batches={}, elapsed={}ms", results.size(), batches.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("カートの検証が中断されました", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("カートの検証に失敗しました", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 分割したカートを明細・価格・在庫それぞれ1回の一括取得で検証する
+     */
+    private List<CartValidation> validateBatch(List<UUID> cartIds) {
+        Map<UUID, List<CartValidationLine>> linesByCart = new LinkedHashMap<>();
+        for (UUID cartId : cartIds) {
+            linesByCart.put(cartId, new ArrayList<>());
+        }
+        List<CartValidationLine> lines = cartItemRepository.findValidationLines(cartIds);
+        for (CartValidationLine line : lines) {
+            linesByCart.get(line.cartId()).add(line);
+        }
+        Set<UUID> skuIds = skuIds(lines);
+        Map<UUID, SkuInfo> skus = skuCatalog.getAll(skuIds);
+        Map<UUID, Integer> availables = availabilityService.getAvailableQuantities(skuIds);
+
+        List<CartValidation> results = new ArrayList<>(linesByCart.size());
+        for (Map.Entry<UUID, List<CartValidationLine>> entry : linesByCart.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                results.add(new CartValidation(entry.getKey(),
+                        CartValidator.validate(entry.getValue(), skus, availables)));
+            }
+        }
+        return results;
+    }
+
+    private static Set<UUID> skuIds(List<CartValidationLine> lines) {
+        Set<UUID> skuIds = new LinkedHashSet<>();
+        for (CartValidationLine line : lines) {
+            skuIds.add(line.skuId());
+        }
+        return skuIds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.modulith.poc.model.cart.store;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * メモリ上のカート明細（変更時は新しいインスタンスに置き換える）
+ *
+ * @param cartItemId カート明細ID
+ * @param skuId      SKU ID
+ * @param quantity   数量
+ * @param unitPrice  単価（税抜）
+ * @param createdAt  作成日時
+ * @param updatedAt  更新日時
+ */
+public record CartLine(
+        UUID cartItemId,
+        UUID skuId,
+        int quantity,
+        BigDecimal unitPrice,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+    /**
+     * 数量を変更した明細
+     */
+    public CartLine withQuantity(int quantity, OffsetDateTime now) {
+        return new CartLine(cartItemId, skuId, quantity, unitPrice, createdAt, now);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.modulith.poc.model.cart.store;
+
+import com.example.modulith.poc.model.cart.entity.CartStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ある時点のカートの内容（ロックの外で参照・書き込みに使用する）
+ *
+ * @param cartId           カートID
+ * @param userId           ユーザーID
+ * @param sessionId        セッションID
+ * @param cartStatus       カートステータス
+ * @param lines            明細（追加した順）
+ * @param createdAt        作成日時
+ * @param updatedAt        更新日時
+ * @param expiresAt        有効期限
+ * @param convertedOrderId 変換した注文ID
+ * @param version          変更のたびに増える番号
+ */
+public record CartSnapshot(
+        UUID cartId,
+        UUID userId,
+        String sessionId,
+        CartStatus cartStatus,
+        List<CartLine> lines,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        OffsetDateTime expiresAt,
+        UUID convertedOrderId,
+        long version
+) {
+}
@@ -0,0 +1,259 @@
+package com.example.modulith.poc.model.cart.store;
+
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.cart.entity.CartStatus;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * メモリ上のカート
+ * <p>
+ * {@link CartStore} が所有者ごとに1つ保持し、インスタンスのロック（synchronized）の中でのみ参照・変更する。
+ * 変更は {@link CartStore#update} に渡した処理の中で行い、DBへの書き込みは {@link CartStore} がまとめて行う。
+ * <p>
+ * DBに書き込み済みの内容（カートの行の有無と明細）を保持し、書き込み時は差分の行のみを書き込む。
+ */
+public class CartState {
+
+    private final UUID cartId;
+    private final OffsetDateTime createdAt;
+    private final Map<UUID, CartLine> lines = new LinkedHashMap<>();
+    private UUID userId;
+    private String sessionId;
+    private CartStatus cartStatus;
+    private OffsetDateTime updatedAt;
+    private OffsetDateTime expiresAt;
+    private UUID convertedOrderId;
+
+    // 書き込みの管理（CartStoreのみが使用する）
+    private long version;
+    private boolean modified;
+    private boolean dirty;
+    private boolean detached;
+    private boolean persisted;
+    private Map<UUID, CartLine> persistedLines = Map.of();
+
+    /**
+     * 新しいカート（DBには未登録）
+     */
+    CartState(CartOwner owner, OffsetDateTime now, OffsetDateTime expiresAt) {
+        this.cartId = UUID.randomUUID();
+        this.userId = owner.userId();
+        this.sessionId = owner.sessionId();
+        this.cartStatus = CartStatus.ACTIVE;
+        this.createdAt = now;
+        this.updatedAt = now;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * DBから読み込んだカート
+     */
+    CartState(CartSnapshot loaded) {
+        this.cartId = loaded.cartId();
+        this.userId = loaded.userId();
+        this.sessionId = loaded.sessionId();
+        this.cartStatus = loaded.cartStatus();
+        this.createdAt = loaded.createdAt();
+        this.updatedAt = loaded.updatedAt();
+        this.expiresAt = loaded.expiresAt();
+        this.convertedOrderId = loaded.convertedOrderId();
+        for (CartLine line : loaded.lines()) {
+            lines.put(line.cartItemId(), line);
+        }
+        this.persisted = true;
+        this.persistedLines = Map.copyOf(lines);
+    }
+
+    public UUID getCartId() {
+        return cartId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public CartStatus getCartStatus() {
+        return cartStatus;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public UUID getConvertedOrderId() {
+        return convertedOrderId;
+    }
+
+    /**
+     * 明細（追加した順）
+     */
+    public List<CartLine> lines() {
+        return new ArrayList<>(lines.values());
+    }
+
+    /**
+     * 明細を取得する
+     *
+     * @param cartItemId カート明細ID
+     * @return 明細。無い場合はnull
+     */
+    public CartLine line(UUID cartItemId) {
+        return lines.get(cartItemId);
+    }
+
+    /**
+     * SKUの明細を取得する
+     *
+     * @param skuId SKU ID
+     * @return 明細。無い場合はnull
+     */
+    public CartLine lineBySku(UUID skuId) {
+        for (CartLine line : lines.values()) {
+            if (line.skuId().equals(skuId)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 明細を追加する（同じカート明細IDがある場合は置き換える）
+     *
+     * @param line 明細
+     */
+    public void putLine(CartLine line) {
+        lines.put(line.cartItemId(), line);
+        modified = true;
+    }
+
+    /**
+     * 明細を削除する
+     *
+     * @param cartItemId カート明細ID
+     * @return 削除したか
+     */
+    public boolean removeLine(UUID cartItemId) {
+        if (lines.remove(cartItemId) == null) {
+            return false;
+        }
+        modified = true;
+        return true;
+    }
+
+    /**
+     * 明細を全て削除する
+     */
+    public void clearLines() {
+        if (!lines.isEmpty()) {
+            lines.clear();
+            modified = true;
+        }
+    }
+
+    /**
+     * カートステータスを変更する
+     *
+     * @param cartStatus       カートステータス
+     * @param convertedOrderId 変換した注文ID（注文に変換した場合）
+     */
+    public void setCartStatus(CartStatus cartStatus, UUID convertedOrderId) {
+        this.cartStatus = cartStatus;
+        this.convertedOrderId = convertedOrderId;
+        modified = true;
+    }
+
+    /**
+     * 有効期限切れか（有効期限は変更のたびに更新日時から算出して保持しているため、比較のみで判定できる）
+     *
+     * @param now 現在日時
+     * @return 有効なカートで、有効期限を過ぎているか
+     */
+    public boolean isExpired(OffsetDateTime now) {
+        return cartStatus == CartStatus.ACTIVE && expiresAt.isBefore(now);
+    }
+
+    /**
+     * 現在の内容
+     */
+    public CartSnapshot snapshot() {
+        return new CartSnapshot(cartId, userId, sessionId, cartStatus, lines(), createdAt, updatedAt, expiresAt,
+                convertedOrderId, version);
+    }
+
+    /**
+     * 変更があれば更新日時・有効期限・版を進める
+     *
+     * @return 変更があったか
+     */
+    boolean commitModification(OffsetDateTime now, OffsetDateTime expiresAt) {
+        if (!modified) {
+            return false;
+        }
+        modified = false;
+        this.updatedAt = now;
+        this.expiresAt = expiresAt;
+        version++;
+        return true;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    boolean isDetached() {
+        return detached;
+    }
+
+    void setDetached(boolean detached) {
+        this.detached = detached;
+    }
+
+    boolean isPersisted() {
+        return persisted;
+    }
+
+    Map<UUID, CartLine> persistedLines() {
+        return persistedLines;
+    }
+
+    /**
+     * 書き込みが完了した内容を記録する
+     *
+     * @return 書き込み後に変更が無く、書き込み待ちでなくなったか
+     */
+    boolean markFlushed(CartSnapshot flushed) {
+        persisted = true;
+        Map<UUID, CartLine> flushedLines = new LinkedHashMap<>();
+        for (CartLine line : flushed.lines()) {
+            flushedLines.put(line.cartItemId(), line);
+        }
+        persistedLines = flushedLines;
+        if (version == flushed.version()) {
+            dirty = false;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,667 @@
+package com.example.modulith.poc.model.cart.store;
+
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.cart.entity.CartEntity;
+import com.example.modulith.poc.model.cart.entity.CartItemEntity;
+import com.example.modulith.poc.model.cart.entity.CartStatus;
+import com.example.modulith.poc.model.cart.repository.CartBulkWriteRepository;
+import com.example.modulith.poc.model.cart.repository.CartItemRepository;
+import com.example.modulith.poc.model.cart.repository.CartRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * カートストア（ライトビハインド）
+ * <p>
+ * 有効なカートを所有者（ユーザーID・セッションID）のハッシュで分けたセグメントごとのLRUで件数を制限して保持し、
+ * 変更はメモリ上のカートに反映して書き込み待ちとして記録する。書き込み待ちのカートは {@code flush-interval} ごとに
+ * 専用の単一スレッドでまとめて1トランザクションで書き込むため、同じカートへの連続した変更は1回の書き込みに集約される。
+ * 書き込みはDBに書き込み済みの内容との差分（カートの行と、追加・変更・削除された明細の行）のみを行う。
+ * <p>
+ * メモリに無いカートは、参照時に carts・cart_items から読み込む。書き込み待ちのカートはLRUから追い出さないため、
+ * 読み込み時にDBの古い内容を読むことはない。プロセスが異常終了した場合、最大で {@code flush-interval} の間の変更が失われる。
+ * <p>
+ * 有効期限（最終更新日時 + {@code ttl}）を過ぎたカートは参照時に比較のみで判定して破棄し、明細の無い新しいカートとする。
+ * 破棄したカートと、DBに残った有効期限切れのカートは、定期実行のジョブを使わず、参照の処理の中で
+ * {@code compaction-interval} ごとに最大 {@code compaction-limit} 件ずつ、カート・明細それぞれ1回のDELETEで削除する。
+ * <p>
+ * カートの内容はノードのメモリにあるため、同じ所有者のリクエストは同じノードへ振り分ける（スティッキーセッション）ことを前提とする。
+ */
+@Component
+public class CartStore {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CartStore.class);
+
+    private static final int SEGMENT_COUNT = 16;
+    /**
+     * 追い出す際に確認する古いカートの最大数（書き込み待ちのカートは追い出せないため）
+     */
+    private static final int EVICTION_SCAN_LIMIT = 8;
+    /**
+     * DBの有効期限切れのカートを削除するまでの猶予（書き込み待ちの更新で有効期限が延びる場合があるため）
+     */
+    private static final Duration COMPACTION_GRACE = Duration.ofMinutes(5);
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final CartBulkWriteRepository bulkWriteRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final Duration ttl;
+    private final int flushBatchSize;
+    private final long compactionIntervalNanos;
+    private final int compactionLimit;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final Set<CartState> dirtyCarts = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong flushFailureCount = new AtomicLong();
+    private final Set<UUID> expiredCartIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextCompactionAt;
+    private final AtomicLong compactedCount = new AtomicLong();
+    private final ScheduledExecutorService executor;
+
+    @Autowired
+    public CartStore(CartRepository cartRepository,
+                     CartItemRepository cartItemRepository,
+                     CartBulkWriteRepository bulkWriteRepository,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${poc.cart.ttl:P7D}") Duration ttl,
+                     @Value("${poc.cart.store.max-carts:100000}") int maxCarts,
+                     @Value("${poc.cart.store.flush-interval:PT1S}") Duration flushInterval,
+                     @Value("${poc.cart.store.flush-batch-size:500}") int flushBatchSize,
+                     @Value("${poc.cart.expiration.compaction-interval:PT1M}") Duration compactionInterval,
+                     @Value("${poc.cart.expiration.compaction-limit:200}") int compactionLimit) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.bulkWriteRepository = bulkWriteRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.flushBatchSize = Math.max(flushBatchSize, 1);
+        this.compactionIntervalNanos = compactionInterval.toNanos();
+        this.compactionLimit = Math.max(compactionLimit, 1);
+        this.nextCompactionAt = new AtomicLong(System.nanoTime());
+        int segmentMaxSize = Math.max(maxCarts / SEGMENT_COUNT, 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(flushInterval.toMillis(), 1);
+        executor.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * カートを参照する（メモリに無い場合はDBから読み込む。DBにも無い場合・有効期限切れの場合は明細の無いカートを返す）
+     *
+     * @param owner  所有者
+     * @param reader カートを参照する処理（カートのロックの中で実行する）
+     * @return 処理の結果
+     */
+    public <R> R read(CartOwner owner, Function<CartState, R> reader) {
+        compactExpiredIfDue();
+        while (true) {
+            CartState state = acquire(owner);
+            synchronized (state) {
+                if (usable(state)) {
+                    return reader.apply(state);
+                }
+            }
+            // 参照前に追い出された、または有効期限切れで破棄したため、取得し直す
+            release(owner, state);
+        }
+    }
+
+    /**
+     * カートを変更する
+     * <p>
+     * 処理の中でカートを変更した場合は更新日時・有効期限を更新し、書き込み待ちとして記録する。
+     * 例外をスローする場合は、カートを変更する前にスローすること。
+     *
+     * @param owner    所有者
+     * @param mutation カートを変更する処理（カートのロックの中で実行する）。対象が無い場合はfalseを返す
+     * @return 変更後のカートの内容。処理がfalseを返した場合はnull
+     */
+    public CartSnapshot update(CartOwner owner, Predicate<CartState> mutation) {
+        compactExpiredIfDue();
+        while (true) {
+            CartState state = acquire(owner);
+            synchronized (state) {
+                if (usable(state)) {
+                    boolean applied;
+                    try {
+                        applied = mutation.test(state);
+                    } finally {
+                        OffsetDateTime now = OffsetDateTime.now();
+                        if (state.commitModification(now, now.plus(ttl)) && !state.isDirty()) {
+                            state.setDirty(true);
+                            dirtyCarts.add(state);
+                        }
+                    }
+                    return applied ? state.snapshot() : null;
+                }
+            }
+            release(owner, state);
+        }
+    }
+
+    /**
+     * ゲストのカートをユーザーのカートに統合する
+     * <p>
+     * 両方のカートがメモリに無い場合は1回の問い合わせで読み込む。統合後のユーザーのカートと統合済みとしたゲストのカートは
+     * 書き込み待ちにせず、その場で1トランザクションでまとめて書き込む（書き込みに失敗した場合は通常の書き込みで再試行する）。
+     * 統合済みのゲストのカートは書き込み後の参照時にメモリから除くため、以後のゲストの参照では新しいカートとなる。
+     *
+     * @param guest  ゲスト
+     * @param user   ユーザー
+     * @param merger ゲストのカートの明細をユーザーのカートに反映する処理（両方のカートのロックの中で実行する）。
+     *               ゲストのカートの明細の削除と統合済みへの変更はこのメソッドで行う
+     * @return 統合後のユーザーのカートの内容
+     */
+    public CartSnapshot merge(CartOwner guest, CartOwner user, BiConsumer<CartState, CartState> merger) {
+        compactExpiredIfDue();
+        loadForMerge(guest, user);
+        while (true) {
+            CartState guestState = acquire(guest);
+            CartState userState = acquire(user);
+            // 同じカートの組を同時に統合する場合にデッドロックしないよう、カートIDの順でロックする
+            boolean guestFirst = guestState.getCartId().compareTo(userState.getCartId()) < 0;
+            CartState first = guestFirst ? guestState : userState;
+            CartState second = guestFirst ? userState : guestState;
+            CartSnapshot merged = null;
+            boolean usable;
+            synchronized (first) {
+                synchronized (second) {
+                    // 有効期限切れの判定で破棄するため、両方のカートを判定する
+                    usable = usable(guestState) & usable(userState);
+                    if (usable) {
+                        if (guestState.lines().isEmpty()) {
+                            // 統合するものが無い（ログインの再試行を含む）
+                            return userState.snapshot();
+                        }
+                        merger.accept(guestState, userState);
+                        guestState.clearLines();
+                        guestState.setCartStatus(CartStatus.MERGED, null);
+                        OffsetDateTime now = OffsetDateTime.now();
+                        for (CartState state : List.of(guestState, userState)) {
+                            if (state.commitModification(now, now.plus(ttl)) && !state.isDirty()) {
+                                state.setDirty(true);
+                                dirtyCarts.add(state);
+                            }
+                        }
+                        merged = userState.snapshot();
+                    }
+                }
+            }
+            if (!usable) {
+                release(guest, guestState);
+                release(user, userState);
+                continue;
+            }
+            flushNow(List.of(userState, guestState));
+            return merged;
+        }
+    }
+
+    /**
+     * 指定したカートを書き込み待ちから除き、1トランザクションで書き込む
+     */
+    private void flushNow(List<CartState> states) {
+        flushLock.lock();
+        try {
+            List<CartState> batch = new ArrayList<>(states.size());
+            for (CartState state : states) {
+                if (dirtyCarts.remove(state)) {
+                    batch.add(state);
+                }
+            }
+            if (!batch.isEmpty()) {
+                flushBatch(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 書き込み待ちのカートをDBへ書き込む（専用スレッドから定期的に呼ばれる。終了時にも呼ばれる）
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (!dirtyCarts.isEmpty()) {
+                List<CartState> batch = new ArrayList<>(Math.min(dirtyCarts.size(), flushBatchSize));
+                for (Iterator<CartState> iterator = dirtyCarts.iterator();
+                     iterator.hasNext() && batch.size() < flushBatchSize; ) {
+                    batch.add(iterator.next());
+                    iterator.remove();
+                }
+                if (!flushBatch(batch)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // 定期実行を止めないよう、例外はここで止める
+            LOGGER.error("failed to flush carts", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 有効期限切れのカートを削除する（参照の処理から前回の実行後 {@code compaction-interval} 経過ごとに呼ばれる）
+     *
+     * @return 削除したカート数
+     */
+    public int compactExpired() {
+        if (!flushLock.tryLock()) {
+            // 書き込み中は次の機会に行う
+            return 0;
+        }
+        try {
+            Set<UUID> cartIds = new LinkedHashSet<>();
+            for (Iterator<UUID> iterator = expiredCartIds.iterator();
+                 iterator.hasNext() && cartIds.size() < compactionLimit; ) {
+                cartIds.add(iterator.next());
+                iterator.remove();
+            }
+            OffsetDateTime now = OffsetDateTime.now();
+            Integer deleted = transaction.execute(status -> {
+                if (cartIds.size() < compactionLimit) {
+                    cartIds.addAll(bulkWriteRepository.findExpiredCartIds(now.minus(COMPACTION_GRACE),
+                            compactionLimit - cartIds.size()));
+                }
+                return bulkWriteRepository.deleteExpiredCarts(cartIds, now);
+            });
+            if (deleted != null && deleted > 0) {
+                compactedCount.addAndGet(deleted);
+                LOGGER.debug("compacted expired carts: carts={}", deleted);
+            }
+            return deleted != null ? deleted : 0;
+        } catch (RuntimeException e) {
+            // 削除できなかったカートは有効期限切れのままDBに残るため、次回の実行で削除される
+            LOGGER.warn("failed to compact expired carts", e);
+            return 0;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * メモリ上のカート数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.carts.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 書き込み待ちのカート数
+     */
+    public int getDirtyCount() {
+        return dirtyCarts.size();
+    }
+
+    /**
+     * DBへ書き込んだカートの累計
+     */
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    /**
+     * 書き込みに失敗した回数の累計
+     */
+    public long getFlushFailureCount() {
+        return flushFailureCount.get();
+    }
+
+    /**
+     * 有効期限切れで削除したカートの累計
+     */
+    public long getCompactedCount() {
+        return compactedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        // 正常終了時は書き込み待ちの変更を失わないよう書き込む
+        flush();
+        if (!dirtyCarts.isEmpty()) {
+            LOGGER.warn("carts not flushed on shutdown: carts={}", dirtyCarts.size());
+        }
+    }
+
+    /**
+     * カートが参照・変更できるかを判定し、有効期限切れ・有効でなくなったカートは破棄する（カートのロックの中で呼ぶ）
+     */
+    private boolean usable(CartState state) {
+        if (state.isDetached()) {
+            return false;
+        }
+        if (state.getCartStatus() != CartStatus.ACTIVE && !state.isDirty()) {
+            // 統合済み・注文に変換済みのカートは、書き込み後に新しいカートに置き換える
+            state.setDetached(true);
+            return false;
+        }
+        if (!state.isExpired(OffsetDateTime.now())) {
+            return true;
+        }
+        state.setDetached(true);
+        if (state.isDirty()) {
+            // 書き込み中の場合はDBに有効期限切れのまま書き込まれ、DBからの削除の対象になる
+            dirtyCarts.remove(state);
+            state.setDirty(false);
+        }
+        if (state.isPersisted()) {
+            expiredCartIds.add(state.getCartId());
+        }
+        return false;
+    }
+
+    /**
+     * 破棄したカートをメモリから除く（カートのロックの外で呼ぶ）
+     */
+    private void release(CartOwner owner, CartState state) {
+        String key = owner.key();
+        segmentFor(key).remove(key, state);
+    }
+
+    /**
+     * 前回の実行から {@code compaction-interval} 経過していれば、有効期限切れのカートを削除する
+     */
+    private void compactExpiredIfDue() {
+        long now = System.nanoTime();
+        long next = nextCompactionAt.get();
+        if (now - next < 0 || !nextCompactionAt.compareAndSet(next, now + compactionIntervalNanos)) {
+            return;
+        }
+        compactExpired();
+    }
+
+    private CartState acquire(CartOwner owner) {
+        String key = owner.key();
+        Segment segment = segmentFor(key);
+        CartState state = segment.get(key);
+        if (state != null) {
+            return state;
+        }
+        // DBからの読み込み中はセグメントをロックしない（同時に読み込んだ場合は先に登録された方を使う）
+        return segment.putIfAbsent(key, load(owner));
+    }
+
+    private CartState load(CartOwner owner) {
+        CartSnapshot loaded = readOnlyTransaction.execute(status -> {
+            List<CartEntity> carts = owner.isGuest()
+                    ? cartRepository.findActiveBySessionId(owner.sessionId())
+                    : cartRepository.findActiveByUserId(owner.userId());
+            if (carts.isEmpty()) {
+                return null;
+            }
+            CartEntity cart = carts.get(0);
+            if (discardIfExpired(cart)) {
+                return null;
+            }
+            List<CartLine> lines = new ArrayList<>();
+            for (CartItemEntity item : cartItemRepository.findByCartId(cart.getCartId())) {
+                lines.add(toLine(item));
+            }
+            return toSnapshot(cart, lines);
+        });
+        return toState(owner, loaded);
+    }
+
+    /**
+     * メモリに無いゲストとユーザーのカートを、明細とともに1回の問い合わせで読み込んで登録する
+     */
+    private void loadForMerge(CartOwner guest, CartOwner user) {
+        Segment guestSegment = segmentFor(guest.key());
+        Segment userSegment = segmentFor(user.key());
+        boolean loadGuest = guestSegment.get(guest.key()) == null;
+        boolean loadUser = userSegment.get(user.key()) == null;
+        if (!loadGuest && !loadUser) {
+            return;
+        }
+        Map<UUID, CartEntity> carts = new LinkedHashMap<>();
+        Map<UUID, List<CartLine>> lines = new LinkedHashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            for (Object[] row : cartRepository.findActiveWithItemsForMerge(user.userId(), guest.sessionId())) {
+                CartEntity cart = (CartEntity) row[0];
+                CartItemEntity item = (CartItemEntity) row[1];
+                carts.putIfAbsent(cart.getCartId(), cart);
+                List<CartLine> cartLines = lines.computeIfAbsent(cart.getCartId(), id -> new ArrayList<>());
+                if (item != null) {
+                    cartLines.add(toLine(item));
+                }
+            }
+        });
+        // 所有者ごとに更新日時の最も新しいカートを使用する
+        CartSnapshot guestCart = null;
+        CartSnapshot userCart = null;
+        for (CartEntity cart : carts.values()) {
+            boolean isUserCart = cart.getUserId() != null;
+            if ((isUserCart ? userCart : guestCart) != null || discardIfExpired(cart)) {
+                continue;
+            }
+            CartSnapshot snapshot = toSnapshot(cart, lines.get(cart.getCartId()));
+            if (isUserCart) {
+                userCart = snapshot;
+            } else {
+                guestCart = snapshot;
+            }
+        }
+        if (loadGuest) {
+            guestSegment.putIfAbsent(guest.key(), toState(guest, guestCart));
+        }
+        if (loadUser) {
+            userSegment.putIfAbsent(user.key(), toState(user, userCart));
+        }
+    }
+
+    /**
+     * 有効期限切れのカートは明細を読み込まずに破棄する
+     */
+    private boolean discardIfExpired(CartEntity cart) {
+        if (!cart.getExpiresAt().isBefore(OffsetDateTime.now())) {
+            return false;
+        }
+        expiredCartIds.add(cart.getCartId());
+        return true;
+    }
+
+    private CartState toState(CartOwner owner, CartSnapshot loaded) {
+        if (loaded == null) {
+            OffsetDateTime now = OffsetDateTime.now();
+            return new CartState(owner, now, now.plus(ttl));
+        }
+        return new CartState(loaded);
+    }
+
+    private static CartSnapshot toSnapshot(CartEntity cart, List<CartLine> lines) {
+        return new CartSnapshot(cart.getCartId(), cart.getUserId(), cart.getSessionId(), cart.getCartStatus(),
+                lines, cart.getCreatedAt(), cart.getUpdatedAt(), cart.getExpiresAt(), cart.getConvertedOrderId(), 0);
+    }
+
+    private static CartLine toLine(CartItemEntity item) {
+        return new CartLine(item.getCartItemId(), item.getSkuId(), item.getQuantity(), item.getUnitPrice(),
+                item.getCreatedAt(), item.getUpdatedAt());
+    }
+
+    private boolean flushBatch(List<CartState> batch) {
+        List<CartSnapshot> snapshots = new ArrayList<>(batch.size());
+        List<CartBulkWriteRepository.CartRow> insertCarts = new ArrayList<>();
+        List<CartBulkWriteRepository.CartRow> updateCarts = new ArrayList<>();
+        List<CartBulkWriteRepository.CartItemRow> insertItems = new ArrayList<>();
+        List<CartBulkWriteRepository.CartItemRow> updateItems = new ArrayList<>();
+        List<UUID> deleteItems = new ArrayList<>();
+
+        for (CartState state : batch) {
+            CartSnapshot snapshot;
+            boolean persisted;
+            Map<UUID, CartLine> persistedLines;
+            synchronized (state) {
+                snapshot = state.snapshot();
+                persisted = state.isPersisted();
+                persistedLines = state.persistedLines();
+            }
+            snapshots.add(snapshot);
+
+            CartBulkWriteRepository.CartRow cartRow = new CartBulkWriteRepository.CartRow(snapshot.cartId(),
+                    snapshot.userId(), snapshot.sessionId(), snapshot.cartStatus(), snapshot.createdAt(),
+                    snapshot.updatedAt(), snapshot.expiresAt(), snapshot.convertedOrderId());
+            (persisted ? updateCarts : insertCarts).add(cartRow);
+
+            Map<UUID, CartLine> removed = new LinkedHashMap<>(persistedLines);
+            for (CartLine line : snapshot.lines()) {
+                CartLine previous = removed.remove(line.cartItemId());
+                if (previous == null) {
+                    insertItems.add(toRow(snapshot.cartId(), line));
+                } else if (!previous.equals(line)) {
+                    updateItems.add(toRow(snapshot.cartId(), line));
+                }
+            }
+            deleteItems.addAll(removed.keySet());
+        }
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                bulkWriteRepository.insertCarts(insertCarts);
+                bulkWriteRepository.updateCarts(updateCarts);
+                bulkWriteRepository.deleteItems(deleteItems);
+                bulkWriteRepository.insertItems(insertItems);
+                bulkWriteRepository.updateItems(updateItems);
+            });
+        } catch (RuntimeException e) {
+            // 書き込み待ちに戻し、次回の書き込みで再試行する
+            dirtyCarts.addAll(batch);
+            flushFailureCount.incrementAndGet();
+            LOGGER.warn("failed to flush carts: carts={}", batch.size(), e);
+            return false;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            CartState state = batch.get(i);
+            synchronized (state) {
+                if (!state.markFlushed(snapshots.get(i))) {
+                    // 書き込み中に変更されたため、次回の書き込みで差分を書き込む
+                    dirtyCarts.add(state);
+                }
+            }
+        }
+        flushedCount.addAndGet(batch.size());
+        return true;
+    }
+
+    private static CartBulkWriteRepository.CartItemRow toRow(UUID cartId, CartLine line) {
+        return new CartBulkWriteRepository.CartItemRow(line.cartItemId(), cartId, line.skuId(), line.quantity(),
+                line.unitPrice(), line.createdAt(), line.updatedAt());
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, CartState> carts = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        CartState get(String key) {
+            lock.lock();
+            try {
+                return carts.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        CartState putIfAbsent(String key, CartState state) {
+            lock.lock();
+            try {
+                CartState existing = carts.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+                carts.put(key, state);
+                evict(state);
+                return state;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key, CartState state) {
+            lock.lock();
+            try {
+                carts.remove(key, state);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 最も長く参照されていないカートから、書き込み待ちでないものを追い出す
+         */
+        private void evict(CartState added) {
+            int scanned = 0;
+            for (Iterator<CartState> iterator = carts.values().iterator();
+                 carts.size() > maxSize && iterator.hasNext() && scanned < EVICTION_SCAN_LIMIT; scanned++) {
+                CartState eldest = iterator.next();
+                if (eldest == added) {
+                    break;
+                }
+                synchronized (eldest) {
+                    if (!eldest.isDirty()) {
+                        eldest.setDetached(true);
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.modulith.poc.model.cart.validation;
+
+import com.example.modulith.poc.model.cart.store.CartLine;
+import com.example.modulith.poc.model.cart.store.CartSnapshot;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 検証するカート明細
+ *
+ * @param cartId     カートID
+ * @param cartItemId カート明細ID
+ * @param skuId      SKU ID
+ * @param quantity   数量
+ * @param unitPrice  カートに追加した時点の単価
+ */
+public record CartValidationLine(
+        UUID cartId,
+        UUID cartItemId,
+        UUID skuId,
+        int quantity,
+        BigDecimal unitPrice
+) {
+
+    /**
+     * メモリ上のカートの明細を検証する明細にする
+     *
+     * @param snapshot カートの内容
+     * @return 明細リスト（明細の順）
+     */
+    public static List<CartValidationLine> of(CartSnapshot snapshot) {
+        List<CartValidationLine> lines = new ArrayList<>(snapshot.lines().size());
+        for (CartLine line : snapshot.lines()) {
+            lines.add(new CartValidationLine(snapshot.cartId(), line.cartItemId(), line.skuId(), line.quantity(),
+                    line.unitPrice()));
+        }
+        return lines;
+    }
+}
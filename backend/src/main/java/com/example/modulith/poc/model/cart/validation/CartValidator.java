@@ -0,0 +1,63 @@
+package com.example.modulith.poc.model.cart.validation;
+
+import com.example.modulith.poc.model.cart.CartIssue;
+import com.example.modulith.poc.model.cart.CartIssueType;
+import com.example.modulith.poc.model.product.SkuInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * カート明細の検証
+ * <p>
+ * 一括取得済みのSKU情報と引当可能数で明細を判定する（DBへはアクセスしない）。
+ * 同じSKUの明細が複数ある場合、在庫は明細の数量の合計で判定する。
+ */
+public final class CartValidator {
+
+    private CartValidator() {
+    }
+
+    /**
+     * 1カートの明細を検証する
+     *
+     * @param lines      カートの明細
+     * @param skus       SKU IDをキーとしたSKU情報
+     * @param availables SKU IDをキーとした引当可能数
+     * @return 明細の問題（明細の順）
+     */
+    public static List<CartIssue> validate(List<CartValidationLine> lines, Map<UUID, SkuInfo> skus,
+                                           Map<UUID, Integer> availables) {
+        Map<UUID, Integer> requested = new HashMap<>();
+        for (CartValidationLine line : lines) {
+            requested.merge(line.skuId(), line.quantity(), Integer::sum);
+        }
+
+        List<CartIssue> issues = new ArrayList<>();
+        for (CartValidationLine line : lines) {
+            SkuInfo sku = skus.get(line.skuId());
+            if (sku == null || !sku.purchasable()) {
+                issues.add(issue(CartIssueType.PRODUCT_UNAVAILABLE, line, 0, sku));
+                continue;
+            }
+            int available = availables.getOrDefault(line.skuId(), 0);
+            if (available <= 0) {
+                issues.add(issue(CartIssueType.OUT_OF_STOCK, line, 0, sku));
+            } else if (available < requested.get(line.skuId())) {
+                issues.add(issue(CartIssueType.INSUFFICIENT_STOCK, line, available, sku));
+            }
+            if (line.unitPrice().compareTo(sku.unitPrice()) != 0) {
+                issues.add(issue(CartIssueType.PRICE_CHANGED, line, available, sku));
+            }
+        }
+        return issues;
+    }
+
+    private static CartIssue issue(CartIssueType type, CartValidationLine line, int available, SkuInfo sku) {
+        return new CartIssue(type, line.cartItemId(), line.skuId(), line.quantity(), available, line.unitPrice(),
+                sku != null ? sku.unitPrice() : null);
+    }
+}
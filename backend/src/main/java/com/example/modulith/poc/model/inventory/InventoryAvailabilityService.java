@@ -0,0 +1,74 @@
+package com.example.modulith.poc.model.inventory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * 在庫引当可能数の参照サービスインターフェース
+ * <p>
+ * 在庫モジュールの公開API。読み取りはキャッシュから行い、キャッシュに無いSKUのみ一括でDBから読み込む。
+ */
+public interface InventoryAvailabilityService {
+
+    /**
+     * SKUの在庫状況を取得する（正確な在庫数は含まない）
+     *
+     * @param skuId SKU ID
+     * @return 在庫状況
+     */
+    SkuAvailability getAvailability(UUID skuId);
+
+    /**
+     * 複数SKUの在庫状況を一括取得する（正確な在庫数は含まない）
+     *
+     * @param skuIds SKU IDリスト
+     * @return SKU IDをキーとした在庫状況。在庫レコードが無いSKUは在庫切れとして返す
+     */
+    Map<UUID, SkuAvailability> getAvailabilities(Collection<UUID> skuIds);
+
+    /**
+     * SKUの引当可能数を取得する
+     *
+     * @param skuId SKU ID
+     * @return 引当可能数。在庫レコードが無い場合は0
+     */
+    int getAvailableQuantity(UUID skuId);
+
+    /**
+     * SKUの引当可能数を取得する（SKUの存在を区別する）
+     *
+     * @param skuId SKU ID
+     * @return 引当可能数。在庫レコードが無い場合は0、SKUが存在しない場合は空
+     */
+    OptionalInt findAvailableQuantity(UUID skuId);
+
+    /**
+     * 複数SKUの引当可能数を一括取得する
+     *
+     * @param skuIds SKU IDリスト
+     * @return SKU IDをキーとした引当可能数。在庫レコードが無いSKUは0
+     */
+    Map<UUID, Integer> getAvailableQuantities(Collection<UUID> skuIds);
+
+    /**
+     * 在庫数から在庫レベルを判定する（SKUごとの在庫僅少しきい値を使用する）
+     *
+     * @param skuId    SKU ID
+     * @param quantity 引当可能数
+     * @return 在庫レベル
+     */
+    StockLevel getStockLevel(UUID skuId, int quantity);
+
+    /**
+     * SKUの在庫僅少しきい値を設定する
+     * <p>
+     * しきい値は在庫レコードに保存され、他ノードにはキャッシュの有効期限内に反映される。
+     *
+     * @param skuId     SKU ID
+     * @param threshold しきい値。nullの場合は既定値を使用する
+     * @return 在庫レコードが無く設定できなかった場合はfalse
+     */
+    boolean setLowStockThreshold(UUID skuId, Integer threshold);
+}
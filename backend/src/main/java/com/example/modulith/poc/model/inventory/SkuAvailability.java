@@ -0,0 +1,23 @@
+package com.example.modulith.poc.model.inventory;
+
+import java.util.UUID;
+
+/**
+ * SKUの在庫状況
+ *
+ * @param skuId      SKU ID
+ * @param stockLevel 在庫レベル
+ */
+public record SkuAvailability(
+        UUID skuId,
+        StockLevel stockLevel
+) {
+    /**
+     * 購入可能か
+     *
+     * @return 在庫がある場合true
+     */
+    public boolean isPurchasable() {
+        return stockLevel != StockLevel.OUT_OF_STOCK;
+    }
+}
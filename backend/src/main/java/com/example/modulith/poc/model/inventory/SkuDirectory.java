@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.inventory;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 在庫モジュールが参照するSKUの存在確認インターフェース
+ * <p>
+ * 在庫モジュールの公開API。SKUを管理する商品モジュールが実装する
+ * （商品モジュールは在庫モジュールに依存しているため、在庫モジュールからは商品モジュールを参照しない）。
+ */
+public interface SkuDirectory {
+
+    /**
+     * 存在するSKUを取得する
+     *
+     * @param skuIds SKU IDリスト
+     * @return 存在するSKU ID
+     */
+    Set<UUID> findExisting(Collection<UUID> skuIds);
+}
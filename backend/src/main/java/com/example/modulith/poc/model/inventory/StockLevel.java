@@ -0,0 +1,10 @@
+package com.example.modulith.poc.model.inventory;
+
+/**
+ * 在庫レベル
+ * <p>
+ * 商品ページなど、正確な在庫数を公開しない用途で使用する。
+ */
+public enum StockLevel {
+    IN_STOCK, LOW_STOCK, OUT_OF_STOCK
+}
@@ -0,0 +1,32 @@
+package com.example.modulith.poc.model.inventory;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * SKUの在庫変化
+ * <p>
+ * 配信間隔内の変更をSKUごとに集約した最新値、または配信間隔内に在庫レベルが変化した時点の値。
+ *
+ * @param skuId              SKU ID
+ * @param availableQuantity  引当可能数
+ * @param stockLevel         在庫レベル
+ * @param previousStockLevel 直前に配信した在庫レベル。不明な場合はnull
+ * @param changedAt          配信日時
+ */
+public record StockLevelChange(
+        UUID skuId,
+        int availableQuantity,
+        StockLevel stockLevel,
+        StockLevel previousStockLevel,
+        OffsetDateTime changedAt
+) {
+    /**
+     * 在庫レベルが変化したか（在庫切れ・在庫僅少のしきい値をまたいだか）
+     *
+     * @return 変化した場合、または前回の在庫レベルが不明な場合true
+     */
+    public boolean isLevelChanged() {
+        return stockLevel != previousStockLevel;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.modulith.poc.model.inventory;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * 在庫変化フィード
+ * <p>
+ * 在庫モジュールの公開API。確定した在庫の増減をSKUごとに一定間隔で集約し、最新値と間隔内の在庫レベルの変化を配信する。
+ * 購読者ごとのバッファは上限付きで、処理が追いつかない購読者には古い通知から破棄する。
+ */
+public interface StockLevelFeed {
+
+    /**
+     * 在庫変化を購読する
+     *
+     * @param levelChangesOnly trueの場合、在庫レベルが変化した通知のみを受け取る
+     * @return 在庫変化のストリーム
+     */
+    Flux<StockLevelChange> subscribe(boolean levelChangesOnly);
+}
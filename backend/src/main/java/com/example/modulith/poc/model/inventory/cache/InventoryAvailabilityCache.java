@@ -0,0 +1,211 @@
+package com.example.modulith.poc.model.inventory.cache;
+
+import com.example.modulith.poc.core.collection.UuidLongHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 在庫引当可能数キャッシュ
+ * <p>
+ * SKUごとの引当可能数をUUIDキーのプリミティブマップで保持する。
+ * 値は「在庫数(上位32bit)」と「読み込み時刻(下位32bit、キャッシュ起動からの秒数)」を1つのlongに詰めて格納する。
+ * <p>
+ * 在庫モジュール自身のロック・解放・入庫の確定後に差分が反映されるため、通常は最新値を返す。
+ * 他ノードでの更新など差分が届かない変更は、最大 {@code maxStaleness} で再読み込みされる。
+ * 読み取りはセグメント単位の楽観的読み取りで行い、書き込みと競合した場合のみ読み取りロックを取得する。
+ */
+@Component
+public class InventoryAvailabilityCache {
+
+    /**
+     * キャッシュに存在しない、または期限切れを表す値
+     */
+    public static final int MISSING = -1;
+
+    /**
+     * SKUマスタに存在しないSKUを表す値（在庫0とは区別してキャッシュする）
+     */
+    public static final int UNKNOWN = -2;
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long epochMillis = System.currentTimeMillis();
+    private final long maxStalenessSeconds;
+
+    @Autowired
+    public InventoryAvailabilityCache(
+            @Value("${poc.inventory.availability.max-staleness:PT30S}") Duration maxStaleness) {
+        this.maxStalenessSeconds = Math.max(maxStaleness.toSeconds(), 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * 引当可能数を取得する
+     *
+     * @param skuId SKU ID
+     * @return 引当可能数。存在しない・期限切れの場合は {@link #MISSING}、存在しないSKUの場合は {@link #UNKNOWN}
+     */
+    public int get(UUID skuId) {
+        long packed = segmentFor(skuId).get(skuId);
+        if (packed == Segment.ABSENT) {
+            return MISSING;
+        }
+        long loadedAt = packed & 0xFFFFFFFFL;
+        if (nowSeconds() - loadedAt > maxStalenessSeconds) {
+            return MISSING;
+        }
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * DBから読み込んだ引当可能数を設定する
+     *
+     * @param skuId    SKU ID
+     * @param quantity 引当可能数。存在しないSKUの場合は {@link #UNKNOWN}
+     */
+    public void put(UUID skuId, int quantity) {
+        Segment segment = segmentFor(skuId);
+        long stamp = segment.lock.writeLock();
+        try {
+            segment.quantities.put(skuId, pack(quantity, nowSeconds()));
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 確定した在庫増減を反映する
+     * <p>
+     * キャッシュに存在するSKUのみ更新し、読み込み時刻は維持する（差分の取りこぼしを期限切れで回収するため）。
+     * 存在しないSKUとしてキャッシュしていた場合は、在庫が作成されたとみなして破棄し再読み込みさせる。
+     *
+     * @param skuId SKU ID
+     * @param delta 増減量
+     * @return 反映後の引当可能数。キャッシュに存在しない場合は {@link #MISSING}
+     */
+    public int adjust(UUID skuId, int delta) {
+        Segment segment = segmentFor(skuId);
+        long stamp = segment.lock.writeLock();
+        try {
+            long packed = segment.quantities.get(skuId, Segment.ABSENT);
+            if (packed == Segment.ABSENT) {
+                return MISSING;
+            }
+            if ((int) (packed >> 32) == UNKNOWN) {
+                segment.quantities.remove(skuId);
+                return MISSING;
+            }
+            int quantity = Math.max((int) (packed >> 32) + delta, 0);
+            segment.quantities.put(skuId, pack(quantity, packed & 0xFFFFFFFFL));
+            return quantity;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * キャッシュを無効化する
+     *
+     * @param skuId SKU ID
+     */
+    public void invalidate(UUID skuId) {
+        Segment segment = segmentFor(skuId);
+        long stamp = segment.lock.writeLock();
+        try {
+            segment.quantities.remove(skuId);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 在庫僅少しきい値を取得する
+     *
+     * @param skuId SKU ID
+     * @return しきい値。未設定の場合は {@link #MISSING}
+     */
+    public int getLowStockThreshold(UUID skuId) {
+        Segment segment = segmentFor(skuId);
+        long stamp = segment.lock.readLock();
+        try {
+            return (int) segment.thresholds.get(skuId, MISSING);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 在庫僅少しきい値を設定する
+     *
+     * @param skuId     SKU ID
+     * @param threshold しきい値。nullの場合は設定を解除する
+     */
+    public void setLowStockThreshold(UUID skuId, Integer threshold) {
+        Segment segment = segmentFor(skuId);
+        long stamp = segment.lock.writeLock();
+        try {
+            if (threshold == null) {
+                segment.thresholds.remove(skuId);
+            } else {
+                segment.thresholds.put(skuId, threshold);
+            }
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    private Segment segmentFor(UUID skuId) {
+        long h = skuId.getMostSignificantBits() ^ skuId.getLeastSignificantBits();
+        return segments[(int) (h ^ (h >>> 32)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private long nowSeconds() {
+        return (System.currentTimeMillis() - epochMillis) / 1000;
+    }
+
+    private static long pack(int quantity, long loadedAtSeconds) {
+        return ((long) quantity << 32) | (loadedAtSeconds & 0xFFFFFFFFL);
+    }
+
+    /**
+     * キャッシュのセグメント
+     */
+    private static final class Segment {
+        /**
+         * 在庫数には0以上または {@link #UNKNOWN} のみを格納するため、それ以外の負数を不在の印として使用する
+         */
+        static final long ABSENT = Long.MIN_VALUE;
+
+        final StampedLock lock = new StampedLock();
+        final UuidLongHashMap quantities = new UuidLongHashMap(1024);
+        final UuidLongHashMap thresholds = new UuidLongHashMap();
+
+        long get(UUID skuId) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                try {
+                    long packed = quantities.get(skuId, ABSENT);
+                    if (lock.validate(stamp)) {
+                        return packed;
+                    }
+                } catch (RuntimeException e) {
+                    // 書き込み中（リサイズ中）の配列を読んだ場合は読み取りロックでやり直す
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return quantities.get(skuId, ABSENT);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
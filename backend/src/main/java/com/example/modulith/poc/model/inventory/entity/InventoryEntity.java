@@ -31,6 +31,18 @@ public class InventoryEntity {
     @Column(nullable = false)
     private Integer version = 1;
 
+    /**
+     * 在庫バケット数。1の場合は通常モード、2以上の場合は在庫を inventory_buckets に分割して保持する。
+     */
+    @Column(name = "bucket_count", nullable = false)
+    private Integer bucketCount = 1;
+
+    /**
+     * 在庫僅少しきい値。nullの場合は既定値を使用する。
+     */
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -73,6 +85,31 @@ public class InventoryEntity {
         this.version = version;
     }
 
+    public Integer getBucketCount() {
+        return bucketCount;
+    }
+
+    public void setBucketCount(Integer bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    /**
+     * 在庫がバケットに分割されているか
+     *
+     * @return シャーディングモードの場合true
+     */
+    public boolean isSharded() {
+        return bucketCount != null && bucketCount > 1;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
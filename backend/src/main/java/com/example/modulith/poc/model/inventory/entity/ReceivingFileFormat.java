@@ -0,0 +1,15 @@
+package com.example.modulith.poc.model.inventory.entity;
+
+/**
+ * 入庫ファイル形式
+ */
+public enum ReceivingFileFormat {
+    /**
+     * CSV（sku_id,quantity,reference_id,reason）
+     */
+    CSV,
+    /**
+     * JSON Lines（1行1オブジェクト: skuId, quantity, referenceId, reason）
+     */
+    JSON_LINES
+}
@@ -0,0 +1,79 @@
+package com.example.modulith.poc.model.inventory.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 入庫取込エラーエンティティ
+ * <p>
+ * 入庫ファイルの取込で反映できなかった行と理由を記録する。
+ * 登録はバッチ単位の一括INSERTで行う。
+ */
+@Entity
+@Table(name = "inventory_receiving_errors", indexes = {
+        @Index(name = "idx_inventory_receiving_errors_import", columnList = "import_id, line_no")
+})
+public class ReceivingImportErrorEntity {
+    @Id
+    @Column(name = "error_id")
+    private UUID errorId;
+
+    @Column(name = "import_id", nullable = false)
+    private UUID importId;
+
+    @Column(name = "line_no", nullable = false)
+    private Long lineNo;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    // Getters and Setters
+    public UUID getErrorId() {
+        return errorId;
+    }
+
+    public void setErrorId(UUID errorId) {
+        this.errorId = errorId;
+    }
+
+    public UUID getImportId() {
+        return importId;
+    }
+
+    public void setImportId(UUID importId) {
+        this.importId = importId;
+    }
+
+    public Long getLineNo() {
+        return lineNo;
+    }
+
+    public void setLineNo(Long lineNo) {
+        this.lineNo = lineNo;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
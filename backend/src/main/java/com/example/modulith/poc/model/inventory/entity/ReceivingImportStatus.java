@@ -0,0 +1,5 @@
+package com.example.modulith.poc.model.inventory.entity;
+
+public enum ReceivingImportStatus {
+    RUNNING, COMPLETED, FAILED
+}
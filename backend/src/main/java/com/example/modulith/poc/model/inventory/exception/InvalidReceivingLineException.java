@@ -0,0 +1,20 @@
+package com.example.modulith.poc.model.inventory.exception;
+
+/**
+ * 入庫ファイル行の不正例外
+ * <p>
+ * 入庫ファイルの行を解析できない場合にスローされる。取込は該当行をエラーとして記録し、次の行から継続する。
+ */
+public class InvalidReceivingLineException extends RuntimeException {
+
+    private final long lineNo;
+
+    public InvalidReceivingLineException(long lineNo, String message) {
+        super(String.format("入庫ファイルの%d行目が不正です: %s", lineNo, message));
+        this.lineNo = lineNo;
+    }
+
+    public long getLineNo() {
+        return lineNo;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.modulith.poc.model.inventory.exception;
+
+import java.util.UUID;
+
+/**
+ * 入庫取込のチェックポイント競合例外
+ * <p>
+ * 同じ入庫取込を別の処理が再開し、先にバッチを反映してチェックポイントを進めた場合にスローされる。
+ * 同じ行を二重に反映しないよう、後から反映しようとした処理は中断する。取込の状態は変更しない。
+ */
+public class ReceivingCheckpointConflictException extends RuntimeException {
+
+    public ReceivingCheckpointConflictException(UUID importId, long byteOffset, long lineNo) {
+        super(String.format("入庫取込のチェックポイントが他の処理で更新されています: %s (offset=%d, line=%d)",
+                importId, byteOffset, lineNo));
+    }
+}
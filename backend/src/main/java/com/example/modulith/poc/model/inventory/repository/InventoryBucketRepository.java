@@ -0,0 +1,138 @@
+package com.example.modulith.poc.model.inventory.repository;
+
+import com.example.modulith.poc.model.inventory.entity.InventoryBucketEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 在庫バケットリポジトリ
+ * <p>
+ * シャーディングされたSKUの在庫バケットを管理する。
+ * ホットパスでは条件付きUPDATEを使用し、バケット単位で非負制約を保証する。
+ */
+@Repository
+public interface InventoryBucketRepository extends JpaRepository<InventoryBucketEntity, UUID> {
+
+    /**
+     * SKU IDでバケットを検索（バケット番号順）
+     *
+     * @param skuId SKU ID
+     * @return バケットエンティティリスト
+     */
+    List<InventoryBucketEntity> findBySkuIdOrderByBucketNo(UUID skuId);
+
+    /**
+     * SKU IDでバケットを検索（悲観ロック付き、バケット番号順）
+     * <p>
+     * リバランス・シャーディング解除など、バケット全体を書き換える処理で使用する。
+     *
+     * @param skuId SKU ID
+     * @return バケットエンティティリスト
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM InventoryBucketEntity b WHERE b.skuId = :skuId ORDER BY b.bucketNo")
+    List<InventoryBucketEntity> findBySkuIdForUpdate(@Param("skuId") UUID skuId);
+
+    /**
+     * SKU IDでバケットの在庫数を取得（バケット番号順）
+     * <p>
+     * 永続化コンテキストを経由せず、常にDBの最新値を返す。
+     *
+     * @param skuId SKU ID
+     * @return バケット在庫数リスト
+     */
+    @Query("SELECT b.bucketNo AS bucketNo, b.quantity AS quantity FROM InventoryBucketEntity b " +
+            "WHERE b.skuId = :skuId ORDER BY b.bucketNo")
+    List<BucketQuantity> findQuantitiesBySkuId(@Param("skuId") UUID skuId);
+
+    /**
+     * 単一バケットの在庫数を取得
+     *
+     * @param skuId    SKU ID
+     * @param bucketNo バケット番号
+     * @return 在庫数
+     */
+    @Query("SELECT b.quantity FROM InventoryBucketEntity b WHERE b.skuId = :skuId AND b.bucketNo = :bucketNo")
+    Integer findQuantity(@Param("skuId") UUID skuId, @Param("bucketNo") Integer bucketNo);
+
+    /**
+     * SKUの全バケット合計在庫数を取得
+     *
+     * @param skuId SKU ID
+     * @return 合計在庫数
+     */
+    @Query("SELECT COALESCE(SUM(b.quantity), 0) FROM InventoryBucketEntity b WHERE b.skuId = :skuId")
+    Long sumQuantityBySkuId(@Param("skuId") UUID skuId);
+
+    /**
+     * 複数SKUの全バケット合計在庫数を取得
+     *
+     * @param skuIds SKU IDリスト
+     * @return SKUごとの合計在庫数
+     */
+    @Query("SELECT b.skuId AS skuId, SUM(b.quantity) AS quantity FROM InventoryBucketEntity b " +
+            "WHERE b.skuId IN :skuIds GROUP BY b.skuId")
+    List<SkuQuantity> sumQuantityBySkuIdIn(@Param("skuIds") Collection<UUID> skuIds);
+
+    /**
+     * 全SKUのバケット合計在庫数を取得
+     *
+     * @return SKUごとの合計在庫数
+     */
+    @Query("SELECT b.skuId AS skuId, SUM(b.quantity) AS quantity FROM InventoryBucketEntity b GROUP BY b.skuId")
+    List<SkuQuantity> sumQuantityGroupBySkuId();
+
+    /**
+     * 在庫が足りる場合のみバケットの在庫を減算する
+     *
+     * @param skuId    SKU ID
+     * @param bucketNo バケット番号
+     * @param amount   減算量
+     * @return 更新件数（0の場合は在庫不足）
+     */
+    @Modifying
+    @Query("UPDATE InventoryBucketEntity b SET b.quantity = b.quantity - :amount, b.version = b.version + 1 " +
+            "WHERE b.skuId = :skuId AND b.bucketNo = :bucketNo AND b.quantity >= :amount")
+    int decreaseIfAvailable(@Param("skuId") UUID skuId, @Param("bucketNo") Integer bucketNo,
+                            @Param("amount") Integer amount);
+
+    /**
+     * バケットの在庫を加算する
+     *
+     * @param skuId    SKU ID
+     * @param bucketNo バケット番号
+     * @param amount   加算量
+     * @return 更新件数
+     */
+    @Modifying
+    @Query("UPDATE InventoryBucketEntity b SET b.quantity = b.quantity + :amount, b.version = b.version + 1 " +
+            "WHERE b.skuId = :skuId AND b.bucketNo = :bucketNo")
+    int increase(@Param("skuId") UUID skuId, @Param("bucketNo") Integer bucketNo, @Param("amount") Integer amount);
+
+    /**
+     * バケット番号と在庫数のプロジェクション
+     */
+    interface BucketQuantity {
+        Integer getBucketNo();
+
+        Integer getQuantity();
+    }
+
+    /**
+     * SKUごとの合計在庫数のプロジェクション
+     */
+    interface SkuQuantity {
+        UUID getSkuId();
+
+        Long getQuantity();
+    }
+}
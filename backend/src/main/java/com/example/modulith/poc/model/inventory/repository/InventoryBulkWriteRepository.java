@@ -0,0 +1,160 @@
+package com.example.modulith.poc.model.inventory.repository;
+
+import com.example.modulith.poc.model.inventory.entity.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 在庫一括書き込みリポジトリ
+ * <p>
+ * 入庫ファイルの取込など大量の行を扱う処理で、エンティティを生成せずJDBCで一括して読み書きする。
+ * JPAと同一のトランザクション（コネクション）で実行される。
+ */
+@Repository
+public class InventoryBulkWriteRepository {
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO inventory_transactions (transaction_id, sku_id, transaction_type, quantity_change, " +
+                    "quantity_before, quantity_after, reference_type, reference_id, reason, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_RECEIVING_ERROR_SQL =
+            "INSERT INTO inventory_receiving_errors (error_id, import_id, line_no, message, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public InventoryBulkWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 複数SKUの在庫を行ロック付きで取得する
+     *
+     * @param skuIds SKU IDリスト
+     * @return 在庫数とバケット数。在庫レコードが無いSKUは含まない
+     */
+    public List<LockedInventory> findForUpdate(Collection<UUID> skuIds) {
+        if (skuIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String sql = "SELECT sku_id, quantity, bucket_count FROM inventory WHERE sku_id IN (" +
+                placeholders(skuIds.size()) + ") FOR UPDATE";
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new LockedInventory(rs.getObject("sku_id", UUID.class),
+                        rs.getInt("quantity"), rs.getInt("bucket_count")),
+                skuIds.toArray());
+    }
+
+    /**
+     * 複数SKUの在庫を1文で加算する（在庫レコードが無いSKUは作成する）
+     * <p>
+     * SKUは重複させないこと。楽観ロックで読み込み済みの処理と競合させるため、バージョンも更新する。
+     *
+     * @param increments SKUごとの加算数
+     * @return 更新・作成した行数
+     */
+    public int upsertQuantities(List<QuantityIncrement> increments) {
+        if (increments.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("MERGE INTO inventory i USING (VALUES ");
+        List<Object> args = new ArrayList<>(increments.size() * 2);
+        for (int i = 0; i < increments.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(CAST(? AS UUID), CAST(? AS INTEGER))");
+            args.add(increments.get(i).skuId());
+            args.add(increments.get(i).quantity());
+        }
+        sql.append(") AS s (sku_id, quantity) ON i.sku_id = s.sku_id ")
+                .append("WHEN MATCHED THEN UPDATE SET quantity = i.quantity + s.quantity, ")
+                .append("version = i.version + 1, updated_at = CURRENT_TIMESTAMP ")
+                .append("WHEN NOT MATCHED THEN INSERT (sku_id, quantity, version, bucket_count, created_at, updated_at) ")
+                .append("VALUES (s.sku_id, s.quantity, 1, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * 在庫トランザクション履歴を一括登録する
+     *
+     * @param entries 在庫トランザクション
+     */
+    public void insertTransactions(List<TransactionRow> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Object[]> batchArgs = new ArrayList<>(entries.size());
+        for (TransactionRow entry : entries) {
+            batchArgs.add(new Object[]{
+                    UUID.randomUUID(), entry.skuId(), entry.transactionType().name(), entry.quantityChange(),
+                    entry.quantityBefore(), entry.quantityAfter(), entry.referenceType(), entry.referenceId(),
+                    entry.reason(), now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, batchArgs);
+    }
+
+    /**
+     * 入庫取込のエラー行を一括登録する
+     *
+     * @param importId 取込ID
+     * @param errors   エラー行
+     */
+    public void insertReceivingErrors(UUID importId, List<LineError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Object[]> batchArgs = new ArrayList<>(errors.size());
+        for (LineError error : errors) {
+            batchArgs.add(new Object[]{UUID.randomUUID(), importId, error.lineNo(), error.message(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_RECEIVING_ERROR_SQL, batchArgs);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * 行ロックを取得した在庫
+     */
+    public record LockedInventory(UUID skuId, int quantity, int bucketCount) {
+    }
+
+    /**
+     * SKUごとの加算数
+     */
+    public record QuantityIncrement(UUID skuId, int quantity) {
+    }
+
+    /**
+     * 在庫トランザクション履歴の行
+     */
+    public record TransactionRow(
+            UUID skuId,
+            TransactionType transactionType,
+            int quantityChange,
+            int quantityBefore,
+            int quantityAfter,
+            String referenceType,
+            UUID referenceId,
+            String reason
+    ) {
+    }
+
+    /**
+     * 取込エラー行
+     */
+    public record LineError(long lineNo, String message) {
+    }
+}
@@ -2,15 +2,21 @@ package com.example.modulith.poc.model.inventory.repository;
 
 import com.example.modulith.poc.model.inventory.entity.InventoryEntity;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * 在庫リポジトリ
@@ -48,4 +54,75 @@ public interface InventoryRepository extends JpaRepository<InventoryEntity, UUID
     @Lock(LockModeType.OPTIMISTIC)
     @Query("SELECT i FROM InventoryEntity i WHERE i.skuId IN :skuIds")
     List<InventoryEntity> findBySkuIdInWithLock(@Param("skuIds") List<UUID> skuIds);
+
+    /**
+     * 複数のSKU IDで在庫数を取得
+     * <p>
+     * エンティティを生成せず、在庫数・バケット数・在庫僅少しきい値のみを取得する。
+     *
+     * @param skuIds SKU IDリスト
+     * @return 在庫数リスト
+     */
+    @Query("SELECT i.skuId AS skuId, i.quantity AS quantity, i.bucketCount AS bucketCount, " +
+            "i.lowStockThreshold AS lowStockThreshold FROM InventoryEntity i WHERE i.skuId IN :skuIds")
+    List<InventoryQuantity> findQuantitiesBySkuIdIn(@Param("skuIds") Collection<UUID> skuIds);
+
+    /**
+     * 全SKUの在庫数をストリームで取得
+     * <p>
+     * 呼び出し側はトランザクション内で使用し、必ずクローズすること。
+     *
+     * @return 在庫数のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i.skuId AS skuId, i.quantity AS quantity, i.bucketCount AS bucketCount, " +
+            "i.lowStockThreshold AS lowStockThreshold FROM InventoryEntity i")
+    Stream<InventoryQuantity> streamAllQuantities();
+
+    /**
+     * SKU IDで在庫を検索（悲観ロック付き）
+     * <p>
+     * シャーディングの有効化・解除など、在庫の保持形態を切り替える処理で使用する。
+     *
+     * @param skuId SKU ID
+     * @return 在庫エンティティ
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryEntity i WHERE i.skuId = :skuId")
+    Optional<InventoryEntity> findBySkuIdForUpdate(@Param("skuId") UUID skuId);
+
+    /**
+     * シャーディングが有効なSKUのIDを取得
+     *
+     * @return SKU IDリスト
+     */
+    @Query("SELECT i.skuId FROM InventoryEntity i WHERE i.bucketCount > 1")
+    List<UUID> findShardedSkuIds();
+
+    /**
+     * 在庫僅少しきい値を更新する
+     *
+     * @param skuId     SKU ID
+     * @param threshold しきい値。nullの場合は既定値を使用する
+     * @return 更新件数（在庫レコードが無い場合は0）
+     */
+    @Modifying
+    @Query("UPDATE InventoryEntity i SET i.lowStockThreshold = :threshold WHERE i.skuId = :skuId")
+    int updateLowStockThreshold(@Param("skuId") UUID skuId, @Param("threshold") Integer threshold);
+
+    /**
+     * 在庫数のプロジェクション
+     */
+    interface InventoryQuantity {
+        UUID getSkuId();
+
+        Integer getQuantity();
+
+        Integer getBucketCount();
+
+        Integer getLowStockThreshold();
+    }
 }
@@ -1,11 +1,18 @@
 package com.example.modulith.poc.model.inventory.repository;
 
 import com.example.modulith.poc.model.inventory.entity.InventoryTransactionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * 在庫トランザクションリポジトリ
@@ -31,4 +38,54 @@ public interface InventoryTransactionRepository extends JpaRepository<InventoryT
      * @return 在庫トランザクションリスト
      */
     List<InventoryTransactionEntity> findByReferenceTypeAndReferenceId(String referenceType, UUID referenceId);
+
+    /**
+     * 期間内の在庫増減をストリームで取得（作成日時の範囲で在庫トランザクションのパーティションを指定する）
+     * <p>
+     * カーソルで順方向に読み進めるため、呼び出し側はトランザクション内で使用し、必ずクローズすること。
+     *
+     * @param from 開始日時（含む）
+     * @param to   終了日時（含まない）
+     * @return 在庫増減のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t.skuId AS skuId, t.quantityChange AS quantityChange FROM InventoryTransactionEntity t " +
+            "WHERE t.createdAt >= :from AND t.createdAt < :to")
+    Stream<QuantityChange> streamQuantityChanges(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    /**
+     * 指定日時以降の在庫増減をストリームで取得
+     *
+     * @param from 開始日時（含む）
+     * @return 在庫増減のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t.skuId AS skuId, t.quantityChange AS quantityChange FROM InventoryTransactionEntity t " +
+            "WHERE t.createdAt >= :from")
+    Stream<QuantityChange> streamQuantityChangesSince(@Param("from") OffsetDateTime from);
+
+    /**
+     * 最も古い在庫トランザクションの作成日時を取得
+     *
+     * @return 作成日時。履歴が無い場合はnull
+     */
+    @Query("SELECT MIN(t.createdAt) FROM InventoryTransactionEntity t")
+    OffsetDateTime findOldestCreatedAt();
+
+    /**
+     * 在庫増減のプロジェクション
+     */
+    interface QuantityChange {
+        UUID getSkuId();
+
+        Integer getQuantityChange();
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.modulith.poc.model.inventory.repository;
+
+import com.example.modulith.poc.model.inventory.entity.ReceivingImportEntity;
+import com.example.modulith.poc.model.inventory.entity.ReceivingImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 入庫取込リポジトリ
+ * <p>
+ * 入庫ファイル取込の進捗とチェックポイントを管理する。
+ */
+@Repository
+public interface ReceivingImportRepository extends JpaRepository<ReceivingImportEntity, UUID> {
+
+    /**
+     * チェックポイントがバッチの読み込み開始位置のままの場合のみ、チェックポイントを進める
+     * <p>
+     * 同じ取込を別の処理が再開して先にバッチを反映した場合は0件となる。
+     * 更新した行はトランザクションの終了までロックされるため、並行するバッチは先のコミットを待ってから比較される。
+     *
+     * @param importId       取込ID
+     * @param byteOffset     バッチの読み込みを開始したバイト位置
+     * @param lineNo         バッチの読み込みを開始した時点の読み込み済みの行数
+     * @param nextByteOffset 次に読み込む行の先頭バイト位置
+     * @param nextLineNo     読み込み済みの行数
+     * @param status         実行中のステータス
+     * @param now            更新日時
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReceivingImportEntity r SET r.byteOffset = :nextByteOffset, r.lineNo = :nextLineNo, " +
+            "r.version = r.version + 1, r.updatedAt = :now " +
+            "WHERE r.importId = :importId AND r.byteOffset = :byteOffset AND r.lineNo = :lineNo " +
+            "AND r.status = :status")
+    int advanceCheckpoint(@Param("importId") UUID importId,
+                          @Param("byteOffset") long byteOffset,
+                          @Param("lineNo") long lineNo,
+                          @Param("nextByteOffset") long nextByteOffset,
+                          @Param("nextLineNo") long nextLineNo,
+                          @Param("status") ReceivingImportStatus status,
+                          @Param("now") OffsetDateTime now);
+
+    /**
+     * バッチの反映結果を取込の進捗に加算する
+     *
+     * @param importId 取込ID
+     * @param lines    反映した行数
+     * @param quantity 反映した入庫数の合計
+     * @param errors   エラー行数
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReceivingImportEntity r SET r.receivedLines = r.receivedLines + :lines, " +
+            "r.receivedQuantity = r.receivedQuantity + :quantity, r.errorLines = r.errorLines + :errors " +
+            "WHERE r.importId = :importId")
+    int addProgress(@Param("importId") UUID importId,
+                    @Param("lines") long lines,
+                    @Param("quantity") long quantity,
+                    @Param("errors") long errors);
+}
@@ -0,0 +1,181 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.model.inventory.InventoryAvailabilityService;
+import com.example.modulith.poc.model.inventory.SkuAvailability;
+import com.example.modulith.poc.model.inventory.SkuDirectory;
+import com.example.modulith.poc.model.inventory.StockLevel;
+import com.example.modulith.poc.model.inventory.cache.InventoryAvailabilityCache;
+import com.example.modulith.poc.model.inventory.repository.InventoryBucketRepository;
+import com.example.modulith.poc.model.inventory.repository.InventoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 在庫引当可能数の参照サービス実装
+ * <p>
+ * キャッシュヒット時にDB接続を取得しないよう、参照系のメソッドにはトランザクションを付与しない。
+ */
+@Service
+public class InventoryAvailabilityServiceImpl implements InventoryAvailabilityService {
+
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBucketRepository bucketRepository;
+    private final SkuDirectory skuDirectory;
+    private final InventoryAvailabilityCache cache;
+    private final int defaultLowStockThreshold;
+
+    @Autowired
+    public InventoryAvailabilityServiceImpl(InventoryRepository inventoryRepository,
+                                            InventoryBucketRepository bucketRepository,
+                                            SkuDirectory skuDirectory,
+                                            InventoryAvailabilityCache cache,
+                                            @Value("${poc.inventory.availability.low-stock-threshold:5}") int defaultLowStockThreshold) {
+        this.inventoryRepository = inventoryRepository;
+        this.bucketRepository = bucketRepository;
+        this.skuDirectory = skuDirectory;
+        this.cache = cache;
+        this.defaultLowStockThreshold = defaultLowStockThreshold;
+    }
+
+    @Override
+    public SkuAvailability getAvailability(UUID skuId) {
+        return toAvailability(skuId, getAvailableQuantity(skuId));
+    }
+
+    @Override
+    public Map<UUID, SkuAvailability> getAvailabilities(Collection<UUID> skuIds) {
+        Map<UUID, SkuAvailability> result = new HashMap<>();
+        getAvailableQuantities(skuIds).forEach((skuId, quantity) -> result.put(skuId, toAvailability(skuId, quantity)));
+        return result;
+    }
+
+    @Override
+    public int getAvailableQuantity(UUID skuId) {
+        return Math.max(lookup(skuId), 0);
+    }
+
+    @Override
+    public OptionalInt findAvailableQuantity(UUID skuId) {
+        int quantity = lookup(skuId);
+        return quantity == InventoryAvailabilityCache.UNKNOWN ? OptionalInt.empty() : OptionalInt.of(quantity);
+    }
+
+    @Override
+    public Map<UUID, Integer> getAvailableQuantities(Collection<UUID> skuIds) {
+        Map<UUID, Integer> result = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID skuId : skuIds) {
+            int quantity = cache.get(skuId);
+            if (quantity == InventoryAvailabilityCache.MISSING) {
+                misses.add(skuId);
+            } else {
+                result.put(skuId, Math.max(quantity, 0));
+            }
+        }
+        if (!misses.isEmpty()) {
+            load(misses).forEach((skuId, quantity) -> result.put(skuId, Math.max(quantity, 0)));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public boolean setLowStockThreshold(UUID skuId, Integer threshold) {
+        if (threshold != null && threshold < 0) {
+            throw new IllegalArgumentException("在庫僅少しきい値は0以上で指定してください: " + threshold);
+        }
+        if (inventoryRepository.updateLowStockThreshold(skuId, threshold) == 0) {
+            return false;
+        }
+        cache.setLowStockThreshold(skuId, threshold);
+        return true;
+    }
+
+    @Override
+    public StockLevel getStockLevel(UUID skuId, int quantity) {
+        int threshold = cache.getLowStockThreshold(skuId);
+        if (threshold == InventoryAvailabilityCache.MISSING) {
+            threshold = defaultLowStockThreshold;
+        }
+
+        if (quantity <= 0) {
+            return StockLevel.OUT_OF_STOCK;
+        } else if (quantity <= threshold) {
+            return StockLevel.LOW_STOCK;
+        }
+        return StockLevel.IN_STOCK;
+    }
+
+    /**
+     * キャッシュまたはDBから引当可能数を取得する
+     *
+     * @return 引当可能数。SKUが存在しない場合は {@link InventoryAvailabilityCache#UNKNOWN}
+     */
+    private int lookup(UUID skuId) {
+        int quantity = cache.get(skuId);
+        if (quantity != InventoryAvailabilityCache.MISSING) {
+            return quantity;
+        }
+        return load(List.of(skuId)).get(skuId);
+    }
+
+    /**
+     * キャッシュに無いSKUの引当可能数と在庫僅少しきい値をまとめてDBから読み込み、キャッシュに格納する
+     * <p>
+     * 読み込みと並行して確定した差分が上書きされる可能性があるが、キャッシュの有効期限内で解消される。
+     * 他ノードで変更されたしきい値も、この再読み込みで反映される。
+     *
+     * @return SKU IDをキーとした引当可能数。SKUが存在しない場合は {@link InventoryAvailabilityCache#UNKNOWN}
+     */
+    private Map<UUID, Integer> load(List<UUID> skuIds) {
+        Map<UUID, Integer> loaded = new HashMap<>();
+        for (int from = 0; from < skuIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<UUID> chunk = skuIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, skuIds.size()));
+            List<UUID> shardedSkuIds = new ArrayList<>();
+            for (InventoryRepository.InventoryQuantity row : inventoryRepository.findQuantitiesBySkuIdIn(chunk)) {
+                cache.setLowStockThreshold(row.getSkuId(), row.getLowStockThreshold());
+                if (row.getBucketCount() > 1) {
+                    shardedSkuIds.add(row.getSkuId());
+                } else {
+                    loaded.put(row.getSkuId(), row.getQuantity());
+                }
+            }
+            if (!shardedSkuIds.isEmpty()) {
+                for (InventoryBucketRepository.SkuQuantity row : bucketRepository.sumQuantityBySkuIdIn(shardedSkuIds)) {
+                    loaded.put(row.getSkuId(), row.getQuantity().intValue());
+                }
+            }
+        }
+
+        // 在庫レコードが無いSKUは、商品モジュールのSKUカタログに存在すれば0、存在しなければUNKNOWNとしてキャッシュし、
+        // 存在しないSKUへの問い合わせがDBに届かないようにする
+        List<UUID> withoutInventory = skuIds.stream().filter(skuId -> !loaded.containsKey(skuId)).toList();
+        for (int from = 0; from < withoutInventory.size(); from += LOAD_CHUNK_SIZE) {
+            List<UUID> chunk = withoutInventory.subList(from, Math.min(from + LOAD_CHUNK_SIZE, withoutInventory.size()));
+            Set<UUID> existing = skuDirectory.findExisting(chunk);
+            for (UUID skuId : chunk) {
+                loaded.put(skuId, existing.contains(skuId) ? 0 : InventoryAvailabilityCache.UNKNOWN);
+            }
+        }
+
+        loaded.forEach(cache::put);
+        return loaded;
+    }
+
+    private SkuAvailability toAvailability(UUID skuId, int quantity) {
+        return new SkuAvailability(skuId, getStockLevel(skuId, quantity));
+    }
+}
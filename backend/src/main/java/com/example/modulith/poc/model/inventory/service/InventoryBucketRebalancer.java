@@ -0,0 +1,42 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 在庫バケットのリバランスジョブ
+ * <p>
+ * シャーディングが有効なSKUについて、バケット間の在庫の偏りを定期的に解消する。
+ * SKUごとに個別のトランザクションで処理し、ロック処理の待ち時間を短く保つ。
+ */
+@Component
+public class InventoryBucketRebalancer {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(InventoryBucketRebalancer.class);
+
+    private final InventoryShardingService shardingService;
+
+    @Autowired
+    public InventoryBucketRebalancer(InventoryShardingService shardingService) {
+        this.shardingService = shardingService;
+    }
+
+    @Scheduled(fixedDelayString = "${poc.inventory.sharding.rebalance-interval:PT5S}")
+    public void rebalanceAll() {
+        for (UUID skuId : shardingService.findShardedSkuIds()) {
+            try {
+                if (shardingService.rebalance(skuId)) {
+                    LOGGER.debug("inventory buckets rebalanced: sku={}", skuId);
+                }
+            } catch (RuntimeException e) {
+                // 次回の実行で再試行する
+                LOGGER.warn("failed to rebalance inventory buckets: sku={}", skuId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.model.inventory.cache.InventoryAvailabilityCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * 在庫数変更の通知
+ * <p>
+ * 在庫の増減をトランザクションのコミット後に在庫引当可能数キャッシュと在庫変化フィードへ反映する。
+ * ロールバックされた変更は反映しない。
+ */
+@Component
+public class InventoryChangeNotifier {
+
+    private final InventoryAvailabilityCache availabilityCache;
+    private final StockLevelFeedImpl stockLevelFeed;
+
+    @Autowired
+    public InventoryChangeNotifier(InventoryAvailabilityCache availabilityCache, StockLevelFeedImpl stockLevelFeed) {
+        this.availabilityCache = availabilityCache;
+        this.stockLevelFeed = stockLevelFeed;
+    }
+
+    /**
+     * 在庫数の増減を通知する
+     *
+     * @param skuId SKU ID
+     * @param delta 増減量
+     */
+    public void quantityChanged(UUID skuId, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyChange(skuId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyChange(skuId, delta);
+            }
+        });
+    }
+
+    private void applyChange(UUID skuId, int delta) {
+        // 反映後の在庫数をフィードに渡し、配信間隔内の在庫レベルの変化を記録させる
+        int quantity = availabilityCache.adjust(skuId, delta);
+        stockLevelFeed.quantityChanged(skuId, quantity);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.core.collection.UuidLongHashMap;
+import com.example.modulith.poc.model.inventory.repository.InventoryBucketRepository;
+import com.example.modulith.poc.model.inventory.repository.InventoryRepository;
+import com.example.modulith.poc.model.inventory.repository.InventoryTransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * 在庫照合用の読み取り処理
+ * <p>
+ * 在庫トランザクション履歴をカーソルで順方向に読み、SKUごとの増減合計をプリミティブマップに集計する。
+ * 読み取り件数に関わらず、メモリ使用量はSKU数にのみ比例する。
+ */
+@Component
+public class InventoryLedgerScanner {
+
+    /**
+     * スロットルの枠を確保する単位（行数）
+     */
+    private static final int THROTTLE_BATCH_SIZE = 500;
+
+    private final InventoryTransactionRepository transactionRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBucketRepository bucketRepository;
+
+    @Autowired
+    public InventoryLedgerScanner(InventoryTransactionRepository transactionRepository,
+                                  InventoryRepository inventoryRepository,
+                                  InventoryBucketRepository bucketRepository) {
+        this.transactionRepository = transactionRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.bucketRepository = bucketRepository;
+    }
+
+    /**
+     * 1パーティション分の在庫トランザクション履歴を集計する
+     *
+     * @param from     開始日時（含む）
+     * @param to       終了日時（含まない）
+     * @param throttle 読み取り件数のスロットル
+     * @return 集計結果
+     */
+    @Transactional(readOnly = true)
+    public LedgerTotals sumPartition(OffsetDateTime from, OffsetDateTime to, ThroughputThrottle throttle)
+            throws InterruptedException {
+        return sum(transactionRepository.streamQuantityChanges(from, to), throttle);
+    }
+
+    /**
+     * 終端日時以降の在庫トランザクション履歴と現在の在庫数を同一スナップショットで取得する
+     * <p>
+     * 終端日時以降の増減を {@code ledger} に加算した上で、SKUごとの在庫数を {@code onHand} に渡す。
+     * 在庫数の更新と履歴の記録は同一トランザクションで行われるため、
+     * 同じスナップショットで読めば照合中の在庫ロック等による誤検出が起きない。
+     *
+     * @param cutoff   終端日時
+     * @param throttle 読み取り件数のスロットル
+     * @param ledger   終端日時までの集計結果
+     * @param onHand   SKUごとの在庫数を受け取る処理（シャーディング中のSKUはバケット合計を含む）
+     * @return 終端日時以降に読み取った在庫トランザクション件数
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long snapshot(OffsetDateTime cutoff, ThroughputThrottle throttle, UuidLongHashMap ledger,
+                         ObjLongConsumer<UUID> onHand) throws InterruptedException {
+        LedgerTotals tail = sum(transactionRepository.streamQuantityChangesSince(cutoff), throttle);
+        ledger.addAll(tail.totals());
+
+        UuidLongHashMap bucketTotals = new UuidLongHashMap();
+        for (InventoryBucketRepository.SkuQuantity bucket : bucketRepository.sumQuantityGroupBySkuId()) {
+            bucketTotals.put(bucket.getSkuId(), bucket.getQuantity());
+        }
+
+        try (Stream<InventoryRepository.InventoryQuantity> stream = inventoryRepository.streamAllQuantities()) {
+            Iterator<InventoryRepository.InventoryQuantity> iterator = stream.iterator();
+            int pending = 0;
+            while (iterator.hasNext()) {
+                InventoryRepository.InventoryQuantity inventory = iterator.next();
+                onHand.accept(inventory.getSkuId(),
+                        inventory.getQuantity() + bucketTotals.get(inventory.getSkuId(), 0L));
+                if (++pending == THROTTLE_BATCH_SIZE) {
+                    throttle.acquire(pending);
+                    pending = 0;
+                }
+            }
+        }
+        return tail.rows();
+    }
+
+    private LedgerTotals sum(Stream<InventoryTransactionRepository.QuantityChange> changes,
+                             ThroughputThrottle throttle) throws InterruptedException {
+        UuidLongHashMap totals = new UuidLongHashMap();
+        long rows = 0;
+        try (Stream<InventoryTransactionRepository.QuantityChange> stream = changes) {
+            Iterator<InventoryTransactionRepository.QuantityChange> iterator = stream.iterator();
+            int pending = 0;
+            while (iterator.hasNext()) {
+                InventoryTransactionRepository.QuantityChange change = iterator.next();
+                totals.addTo(change.getSkuId(), change.getQuantityChange());
+                rows++;
+                if (++pending == THROTTLE_BATCH_SIZE) {
+                    throttle.acquire(pending);
+                    pending = 0;
+                }
+            }
+        }
+        return new LedgerTotals(totals, rows);
+    }
+
+    /**
+     * SKUごとの増減合計
+     *
+     * @param totals SKU IDをキーとした増減合計
+     * @param rows   読み取った件数
+     */
+    public record LedgerTotals(UuidLongHashMap totals, long rows) {
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.core.collection.UuidLongHashMap;
+import com.example.modulith.poc.model.inventory.SkuDirectory;
+import com.example.modulith.poc.model.inventory.entity.ReceivingFileFormat;
+import com.example.modulith.poc.model.inventory.entity.ReceivingImportEntity;
+import com.example.modulith.poc.model.inventory.entity.ReceivingImportStatus;
+import com.example.modulith.poc.model.inventory.entity.TransactionType;
+import com.example.modulith.poc.model.inventory.exception.ReceivingCheckpointConflictException;
+import com.example.modulith.poc.model.inventory.repository.InventoryBulkWriteRepository;
+import com.example.modulith.poc.model.inventory.repository.ReceivingImportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 入庫取込のバッチ書き込み
+ * <p>
+ * 1バッチ分の入庫行を1トランザクションで反映する。
+ * 在庫の加算（複数行MERGE）、在庫トランザクション履歴とエラー行の一括INSERT、チェックポイントの更新を同時にコミットするため、
+ * 中断後に再開しても同じ行が二重に反映されることはない。
+ * チェックポイントは在庫を書き込む前に、バッチの読み込み開始位置と比較して更新する。
+ * 同じ取込を複数の処理が並行して再開した場合も、先に反映した処理以外は {@link ReceivingCheckpointConflictException} で中断する。
+ * SKUマスタに存在しないSKUの行はエラー行として記録し、バッチの他の行は反映する。
+ */
+@Component
+public class InventoryReceivingBatchWriter {
+
+    private static final String RECEIVING_REFERENCE_TYPE = "RECEIVING";
+
+    private final ReceivingImportRepository importRepository;
+    private final InventoryBulkWriteRepository bulkWriteRepository;
+    private final InventoryShardingService shardingService;
+    private final InventoryChangeNotifier changeNotifier;
+    private final SkuDirectory skuDirectory;
+
+    @Autowired
+    public InventoryReceivingBatchWriter(ReceivingImportRepository importRepository,
+                                         InventoryBulkWriteRepository bulkWriteRepository,
+                                         InventoryShardingService shardingService,
+                                         InventoryChangeNotifier changeNotifier,
+                                         SkuDirectory skuDirectory) {
+        this.importRepository = importRepository;
+        this.bulkWriteRepository = bulkWriteRepository;
+        this.shardingService = shardingService;
+        this.changeNotifier = changeNotifier;
+        this.skuDirectory = skuDirectory;
+    }
+
+    /**
+     * 入庫取込を登録する
+     *
+     * @param fileName ファイルパス
+     * @param format   ファイル形式
+     * @param fileSize ファイルサイズ
+     * @return 入庫取込
+     */
+    @Transactional
+    public ReceivingImportEntity create(String fileName, ReceivingFileFormat format, long fileSize) {
+        ReceivingImportEntity receivingImport = new ReceivingImportEntity();
+        receivingImport.setFileName(fileName);
+        receivingImport.setFileFormat(format);
+        receivingImport.setFileSize(fileSize);
+        return importRepository.save(receivingImport);
+    }
+
+    /**
+     * 1バッチ分の入庫行を反映し、チェックポイントを進める
+     *
+     * @param importId       取込ID
+     * @param byteOffset     バッチの読み込みを開始したバイト位置（読み込み開始時のチェックポイント）
+     * @param lineNo         バッチの読み込みを開始した時点の読み込み済みの行数
+     * @param lines          入庫行
+     * @param errors         エラー行（読み込み時に検出したもの）
+     * @param nextByteOffset 次に読み込む行の先頭バイト位置
+     * @param nextLineNo     読み込み済みの行数
+     * @return 更新後の入庫取込
+     * @throws ReceivingCheckpointConflictException チェックポイントが他の処理で進められていた場合
+     */
+    @Transactional
+    public ReceivingImportEntity writeBatch(UUID importId, long byteOffset, long lineNo,
+                                           List<ReceivingFileReader.ReceivingLine> lines,
+                                           List<InventoryBulkWriteRepository.LineError> errors,
+                                           long nextByteOffset, long nextLineNo) {
+        // 在庫を書き込む前にチェックポイントを進め、同じバッチを別の処理が反映済みの場合は中断する
+        if (importRepository.advanceCheckpoint(importId, byteOffset, lineNo, nextByteOffset, nextLineNo,
+                ReceivingImportStatus.RUNNING, OffsetDateTime.now()) == 0) {
+            throw new ReceivingCheckpointConflictException(importId, byteOffset, lineNo);
+        }
+
+        // 在庫行をSKU ID順にまとめてロックし、取込前の在庫数を取得する
+        List<UUID> skuIds = lines.stream().map(ReceivingFileReader.ReceivingLine::skuId).distinct().sorted().toList();
+        Map<UUID, Integer> bucketCounts = new HashMap<>();
+        UuidLongHashMap running = new UuidLongHashMap(skuIds.size());
+        for (InventoryBulkWriteRepository.LockedInventory inventory : bulkWriteRepository.findForUpdate(skuIds)) {
+            bucketCounts.put(inventory.skuId(), inventory.bucketCount());
+            running.put(inventory.skuId(), inventory.quantity());
+        }
+
+        // 在庫レコードが無いSKUは商品モジュールのSKUカタログで存在を確認し、存在しないSKUの行はエラー行に振り分ける
+        // （1行の不正なSKUでバッチ全体が外部キー違反となり、再開のたびに同じ行で失敗するのを防ぐ）
+        Set<UUID> knownSkuIds = new HashSet<>(bucketCounts.keySet());
+        knownSkuIds.addAll(skuDirectory.findExisting(
+                skuIds.stream().filter(skuId -> !bucketCounts.containsKey(skuId)).toList()));
+        List<InventoryBulkWriteRepository.LineError> lineErrors = new ArrayList<>(errors);
+        List<ReceivingFileReader.ReceivingLine> accepted = new ArrayList<>(lines.size());
+        for (ReceivingFileReader.ReceivingLine line : lines) {
+            if (knownSkuIds.contains(line.skuId())) {
+                accepted.add(line);
+            } else {
+                lineErrors.add(new InventoryBulkWriteRepository.LineError(line.lineNo(),
+                        "SKUが存在しません: " + line.skuId()));
+            }
+        }
+
+        Map<UUID, Integer> increments = new LinkedHashMap<>();
+        List<InventoryBulkWriteRepository.TransactionRow> transactions = new ArrayList<>(accepted.size());
+        long receivedQuantity = 0;
+        for (ReceivingFileReader.ReceivingLine line : accepted) {
+            UUID skuId = line.skuId();
+            String reason = line.reason() != null ? line.reason()
+                    : "入庫取込: " + importId + " (line=" + line.lineNo() + ")";
+            int bucketCount = bucketCounts.getOrDefault(skuId, 1);
+            if (bucketCount > 1) {
+                // シャーディング中のSKUはバケットへ加算する（件数が少ないため1行ずつ処理する）
+                UUID routingKey = line.referenceId() != null ? line.referenceId() : importId;
+                InventoryShardingService.BucketAllocation allocation =
+                        shardingService.addToBucket(routingKey, skuId, bucketCount, line.quantity());
+                transactions.add(new InventoryBulkWriteRepository.TransactionRow(skuId, TransactionType.RECEIVE,
+                        line.quantity(), allocation.quantityBefore(), allocation.quantityAfter(),
+                        RECEIVING_REFERENCE_TYPE, line.referenceId(),
+                        reason + " (bucket=" + allocation.bucketNo() + ")"));
+            } else {
+                int quantityBefore = (int) running.get(skuId, 0L);
+                int quantityAfter = (int) running.addTo(skuId, line.quantity());
+                increments.merge(skuId, line.quantity(), Integer::sum);
+                transactions.add(new InventoryBulkWriteRepository.TransactionRow(skuId, TransactionType.RECEIVE,
+                        line.quantity(), quantityBefore, quantityAfter,
+                        RECEIVING_REFERENCE_TYPE, line.referenceId(), reason));
+            }
+            receivedQuantity += line.quantity();
+        }
+
+        bulkWriteRepository.upsertQuantities(increments.entrySet().stream()
+                .map(e -> new InventoryBulkWriteRepository.QuantityIncrement(e.getKey(), e.getValue()))
+                .toList());
+        bulkWriteRepository.insertTransactions(transactions);
+        bulkWriteRepository.insertReceivingErrors(importId, lineErrors);
+
+        importRepository.addProgress(importId, accepted.size(), receivedQuantity, lineErrors.size());
+
+        Map<UUID, Integer> changes = new HashMap<>();
+        for (ReceivingFileReader.ReceivingLine line : accepted) {
+            changes.merge(line.skuId(), line.quantity(), Integer::sum);
+        }
+        changes.forEach(changeNotifier::quantityChanged);
+        return importRepository.findById(importId)
+                .orElseThrow(() -> new IllegalArgumentException("入庫取込が見つかりません: " + importId));
+    }
+
+    /**
+     * 入庫取込を完了にする
+     *
+     * @param importId 取込ID
+     * @return 更新後の入庫取込
+     */
+    @Transactional
+    public ReceivingImportEntity complete(UUID importId) {
+        return updateStatus(importId, ReceivingImportStatus.COMPLETED, null);
+    }
+
+    /**
+     * 入庫取込を失敗にする（反映済みのバッチはそのまま残り、チェックポイントから再開できる）
+     *
+     * @param importId 取込ID
+     * @param error    エラー内容
+     * @return 更新後の入庫取込
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ReceivingImportEntity fail(UUID importId, String error) {
+        return updateStatus(importId, ReceivingImportStatus.FAILED, error);
+    }
+
+    /**
+     * 入庫取込を再開する
+     * <p>
+     * 処理が停止して実行中のまま残った取込も再開できる。
+     * 実行中の処理が残っていた場合も、チェックポイントの比較によりバッチはどちらか一方のみが反映する。
+     *
+     * @param importId 取込ID
+     * @return 更新後の入庫取込
+     */
+    @Transactional
+    public ReceivingImportEntity restart(UUID importId) {
+        ReceivingImportEntity receivingImport = importRepository.findById(importId)
+                .orElseThrow(() -> new IllegalArgumentException("入庫取込が見つかりません: " + importId));
+        if (receivingImport.getStatus() == ReceivingImportStatus.COMPLETED) {
+            throw new IllegalStateException("入庫取込は完了しています: " + importId);
+        }
+        receivingImport.setStatus(ReceivingImportStatus.RUNNING);
+        receivingImport.setLastError(null);
+        return importRepository.save(receivingImport);
+    }
+
+    private ReceivingImportEntity updateStatus(UUID importId, ReceivingImportStatus status, String error) {
+        ReceivingImportEntity receivingImport = importRepository.findById(importId)
+                .orElseThrow(() -> new IllegalArgumentException("入庫取込が見つかりません: " + importId));
+        receivingImport.setStatus(status);
+        receivingImport.setLastError(error);
+        return importRepository.save(receivingImport);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.model.inventory.entity.ReceivingFileFormat;
+import com.example.modulith.poc.model.inventory.entity.ReceivingImportEntity;
+import com.example.modulith.poc.model.inventory.exception.ReceivingCheckpointConflictException;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 入庫取込サービスインターフェース
+ * <p>
+ * 倉庫から届く入庫ファイル（数十万SKU行）を一括で在庫に反映する。
+ * ファイルを先頭から順に読み込み、一定行数ごとのバッチで在庫・在庫トランザクション履歴に書き込む。
+ */
+public interface InventoryReceivingService {
+
+    /**
+     * 入庫ファイルを取り込む
+     *
+     * @param file   入庫ファイル
+     * @param format ファイル形式
+     * @return 入庫取込（進捗・エラー行数を含む）
+     */
+    ReceivingImportEntity importFile(Path file, ReceivingFileFormat format);
+
+    /**
+     * 中断・失敗した入庫取込をチェックポイントから再開する
+     *
+     * @param importId 取込ID
+     * @return 入庫取込
+     * @throws IllegalStateException                取込が完了している場合、またはファイルが変更されている場合
+     * @throws ReceivingCheckpointConflictException 同じ取込を別の処理が並行して反映している場合
+     */
+    ReceivingImportEntity resumeImport(UUID importId);
+
+    /**
+     * 入庫取込の進捗を取得する
+     *
+     * @param importId 取込ID
+     * @return 入庫取込
+     */
+    Optional<ReceivingImportEntity> findImport(UUID importId);
+}
@@ -0,0 +1,137 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.model.inventory.entity.ReceivingFileFormat;
+import com.example.modulith.poc.model.inventory.entity.ReceivingImportEntity;
+import com.example.modulith.poc.model.inventory.exception.InvalidReceivingLineException;
+import com.example.modulith.poc.model.inventory.exception.ReceivingCheckpointConflictException;
+import com.example.modulith.poc.model.inventory.repository.InventoryBulkWriteRepository;
+import com.example.modulith.poc.model.inventory.repository.ReceivingImportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 入庫取込サービス実装
+ * <p>
+ * バッチごとに個別のトランザクションでコミットするため、本クラス自体はトランザクションを持たない。
+ */
+@Service
+public class InventoryReceivingServiceImpl implements InventoryReceivingService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(InventoryReceivingServiceImpl.class);
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    private final ReceivingImportRepository importRepository;
+    private final InventoryReceivingBatchWriter batchWriter;
+    private final int batchSize;
+
+    @Autowired
+    public InventoryReceivingServiceImpl(ReceivingImportRepository importRepository,
+                                         InventoryReceivingBatchWriter batchWriter,
+                                         @Value("${poc.inventory.receiving.batch-size:500}") int batchSize) {
+        this.importRepository = importRepository;
+        this.batchWriter = batchWriter;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Override
+    public ReceivingImportEntity importFile(Path file, ReceivingFileFormat format) {
+        long fileSize;
+        try {
+            fileSize = Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("入庫ファイルを読み込めません: " + file, e);
+        }
+        ReceivingImportEntity receivingImport = batchWriter.create(file.toAbsolutePath().toString(), format, fileSize);
+        LOGGER.info("receiving import started: importId={}, file={}, size={}",
+                receivingImport.getImportId(), receivingImport.getFileName(), fileSize);
+        return run(receivingImport);
+    }
+
+    @Override
+    public ReceivingImportEntity resumeImport(UUID importId) {
+        ReceivingImportEntity receivingImport = batchWriter.restart(importId);
+        LOGGER.info("receiving import resumed: importId={}, line={}, offset={}",
+                importId, receivingImport.getLineNo(), receivingImport.getByteOffset());
+        return run(receivingImport);
+    }
+
+    @Override
+    public Optional<ReceivingImportEntity> findImport(UUID importId) {
+        return importRepository.findById(importId);
+    }
+
+    private ReceivingImportEntity run(ReceivingImportEntity receivingImport) {
+        UUID importId = receivingImport.getImportId();
+        Path file = Path.of(receivingImport.getFileName());
+        try {
+            if (Files.size(file) != receivingImport.getFileSize()) {
+                // チェックポイントのバイト位置が別の内容を指すことになるため再開しない
+                throw new IllegalStateException("入庫ファイルが変更されています: " + file);
+            }
+            try (ReceivingFileReader reader = new ReceivingFileReader(file, receivingImport.getFileFormat(),
+                    receivingImport.getByteOffset(), receivingImport.getLineNo())) {
+                List<ReceivingFileReader.ReceivingLine> lines = new ArrayList<>(batchSize);
+                List<InventoryBulkWriteRepository.LineError> errors = new ArrayList<>();
+                boolean endOfFile = false;
+                while (!endOfFile) {
+                    try {
+                        ReceivingFileReader.ReceivingLine line = reader.next();
+                        if (line == null) {
+                            endOfFile = true;
+                        } else {
+                            lines.add(line);
+                        }
+                    } catch (InvalidReceivingLineException e) {
+                        errors.add(new InventoryBulkWriteRepository.LineError(e.getLineNo(), truncate(e.getMessage())));
+                    }
+                    if (endOfFile || lines.size() + errors.size() >= batchSize) {
+                        receivingImport = batchWriter.writeBatch(importId, receivingImport.getByteOffset(),
+                                receivingImport.getLineNo(), lines, errors, reader.position(), reader.lineNo());
+                        LOGGER.debug("receiving import progress: importId={}, line={}, received={}, errors={}",
+                                importId, receivingImport.getLineNo(), receivingImport.getReceivedLines(),
+                                receivingImport.getErrorLines());
+                        lines.clear();
+                        errors.clear();
+                    }
+                }
+            }
+            receivingImport = batchWriter.complete(importId);
+            LOGGER.info("receiving import completed: importId={}, lines={}, received={}, quantity={}, errors={}",
+                    importId, receivingImport.getLineNo(), receivingImport.getReceivedLines(),
+                    receivingImport.getReceivedQuantity(), receivingImport.getErrorLines());
+            return receivingImport;
+        } catch (ReceivingCheckpointConflictException e) {
+            // 同じ取込を先に反映した処理が継続しているため、取込の状態は変更しない
+            LOGGER.warn("receiving import aborted: importId={}, reason={}", importId, e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            LOGGER.error("receiving import failed: importId={}", importId, e);
+            batchWriter.fail(importId, truncate(e.getMessage()));
+            throw new UncheckedIOException("入庫ファイルを読み込めません: " + file, e);
+        } catch (RuntimeException e) {
+            LOGGER.error("receiving import failed: importId={}", importId, e);
+            batchWriter.fail(importId, truncate(e.getMessage()));
+            throw e;
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message;
+    }
+}
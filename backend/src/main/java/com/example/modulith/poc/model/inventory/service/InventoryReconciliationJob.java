@@ -0,0 +1,35 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 在庫照合ジョブ
+ * <p>
+ * 在庫トランザクション履歴と在庫数の照合を定期的に実行する。差異は照合サービスがログに出力する。
+ */
+@Component
+public class InventoryReconciliationJob {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(InventoryReconciliationJob.class);
+
+    private final InventoryReconciliationService reconciliationService;
+
+    @Autowired
+    public InventoryReconciliationJob(InventoryReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @Scheduled(cron = "${poc.inventory.reconciliation.cron:-}")
+    public void reconcile() {
+        try {
+            reconciliationService.reconcile();
+        } catch (RuntimeException e) {
+            // 次回の実行で再試行する
+            LOGGER.error("failed to reconcile inventory", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 在庫照合サービスインターフェース
+ * <p>
+ * 在庫トランザクション履歴の増減合計と現在の在庫数（バケット分を含む）をSKUごとに突き合わせ、差異を検出する。
+ */
+public interface InventoryReconciliationService {
+
+    /**
+     * 在庫照合を実行する
+     * <p>
+     * 既に実行中の場合は実行せずnullを返す。
+     *
+     * @return 照合結果
+     */
+    ReconciliationReport reconcile();
+
+    /**
+     * 照合結果
+     *
+     * @param cutoff           パーティション走査の終端日時（これ以降の履歴は在庫数と同一スナップショットで集計）
+     * @param partitionCount   走査したパーティション数
+     * @param ledgerRows       走査した在庫トランザクション件数
+     * @param skuCount         照合したSKU数
+     * @param discrepancyCount 差異のあったSKU数
+     * @param discrepancies    差異の明細（最大件数まで）
+     * @param elapsed          所要時間
+     */
+    record ReconciliationReport(
+            OffsetDateTime cutoff,
+            int partitionCount,
+            long ledgerRows,
+            long skuCount,
+            long discrepancyCount,
+            List<Discrepancy> discrepancies,
+            Duration elapsed
+    ) {
+        public boolean hasDiscrepancies() {
+            return discrepancyCount > 0;
+        }
+    }
+
+    /**
+     * SKUごとの差異
+     *
+     * @param skuId            SKU ID
+     * @param ledgerQuantity   在庫トランザクション履歴の増減合計
+     * @param onHandQuantity   現在の在庫数
+     */
+    record Discrepancy(
+            UUID skuId,
+            long ledgerQuantity,
+            long onHandQuantity
+    ) {
+        public long difference() {
+            return onHandQuantity - ledgerQuantity;
+        }
+    }
+}
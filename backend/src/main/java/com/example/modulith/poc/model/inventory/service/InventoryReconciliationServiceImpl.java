@@ -0,0 +1,185 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.core.collection.UuidLongHashMap;
+import com.example.modulith.poc.model.inventory.repository.InventoryTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在庫照合サービス実装
+ * <p>
+ * 在庫トランザクション履歴を月次パーティション単位で並列に走査し、SKUごとの増減合計を集計する。
+ * 走査は読み取り件数のスロットル付きで行い、営業時間中の本番環境でも実行できるようにする。
+ * 直近の履歴（終端日時以降）は在庫数と同一スナップショットで集計し、照合中の更新による誤検出を防ぐ。
+ */
+@Service
+public class InventoryReconciliationServiceImpl implements InventoryReconciliationService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(InventoryReconciliationServiceImpl.class);
+
+    private final InventoryTransactionRepository transactionRepository;
+    private final InventoryLedgerScanner ledgerScanner;
+    private final int parallelism;
+    private final long maxRowsPerSecond;
+    private final Duration cutoffGrace;
+    private final int maxReportedDiscrepancies;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public InventoryReconciliationServiceImpl(
+            InventoryTransactionRepository transactionRepository,
+            InventoryLedgerScanner ledgerScanner,
+            @Value("${poc.inventory.reconciliation.parallelism:2}") int parallelism,
+            @Value("${poc.inventory.reconciliation.max-rows-per-second:20000}") long maxRowsPerSecond,
+            @Value("${poc.inventory.reconciliation.cutoff-grace:PT5M}") Duration cutoffGrace,
+            @Value("${poc.inventory.reconciliation.max-reported-discrepancies:1000}") int maxReportedDiscrepancies) {
+        this.transactionRepository = transactionRepository;
+        this.ledgerScanner = ledgerScanner;
+        this.parallelism = Math.max(parallelism, 1);
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.cutoffGrace = cutoffGrace;
+        this.maxReportedDiscrepancies = maxReportedDiscrepancies;
+    }
+
+    @Override
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.info("inventory reconciliation is already running");
+            return null;
+        }
+        try {
+            ReconciliationReport report = doReconcile();
+            LOGGER.info("inventory reconciliation finished: partitions={}, ledgerRows={}, skus={}, discrepancies={}, elapsed={}",
+                    report.partitionCount(), report.ledgerRows(), report.skuCount(), report.discrepancyCount(),
+                    report.elapsed());
+            for (Discrepancy discrepancy : report.discrepancies()) {
+                LOGGER.warn("inventory discrepancy: sku={}, ledger={}, onHand={}, difference={}",
+                        discrepancy.skuId(), discrepancy.ledgerQuantity(), discrepancy.onHandQuantity(),
+                        discrepancy.difference());
+            }
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("在庫照合が中断されました", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport doReconcile() throws InterruptedException {
+        long startedAt = System.nanoTime();
+        // コミット前の履歴を走査済みパーティションで取りこぼさないよう、終端日時に猶予を持たせる
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(cutoffGrace);
+        ThroughputThrottle throttle = new ThroughputThrottle(maxRowsPerSecond);
+
+        List<Partition> partitions = partitions(cutoff);
+        InventoryLedgerScanner.LedgerTotals ledger = scanPartitions(partitions, throttle);
+        UuidLongHashMap totals = ledger.totals();
+
+        List<Discrepancy> discrepancies = new ArrayList<>();
+        long[] counts = new long[2]; // [0]: SKU数, [1]: 差異数
+        long tailRows = ledgerScanner.snapshot(cutoff, throttle, totals, (skuId, onHand) -> {
+            long expected = totals.get(skuId, 0L);
+            totals.remove(skuId);
+            counts[0]++;
+            if (expected != onHand) {
+                counts[1]++;
+                if (discrepancies.size() < maxReportedDiscrepancies) {
+                    discrepancies.add(new Discrepancy(skuId, expected, onHand));
+                }
+            }
+        });
+
+        // 在庫レコードが存在しないSKUの履歴
+        counts[0] += totals.size();
+        totals.forEach((msb, lsb, expected) -> {
+            if (expected != 0L) {
+                counts[1]++;
+                if (discrepancies.size() < maxReportedDiscrepancies) {
+                    discrepancies.add(new Discrepancy(new UUID(msb, lsb), expected, 0L));
+                }
+            }
+        });
+
+        return new ReconciliationReport(cutoff, partitions.size(), ledger.rows() + tailRows, counts[0], counts[1],
+                List.copyOf(discrepancies), Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * 在庫トランザクション履歴のパーティション（月次）に合わせて走査範囲を分割する
+     */
+    private List<Partition> partitions(OffsetDateTime cutoff) {
+        OffsetDateTime oldest = transactionRepository.findOldestCreatedAt();
+        List<Partition> partitions = new ArrayList<>();
+        if (oldest == null) {
+            return partitions;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        ZonedDateTime from = oldest.atZoneSameInstant(zone).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+        while (from.toOffsetDateTime().isBefore(cutoff)) {
+            ZonedDateTime to = from.plusMonths(1);
+            OffsetDateTime end = to.toOffsetDateTime().isBefore(cutoff) ? to.toOffsetDateTime() : cutoff;
+            partitions.add(new Partition(from.toOffsetDateTime(), end));
+            from = to;
+        }
+        return partitions;
+    }
+
+    /**
+     * パーティションを並列に走査し、完了したものから順に集計結果を統合する
+     */
+    private InventoryLedgerScanner.LedgerTotals scanPartitions(List<Partition> partitions, ThroughputThrottle throttle)
+            throws InterruptedException {
+        UuidLongHashMap totals = new UuidLongHashMap();
+        long rows = 0;
+        if (partitions.isEmpty()) {
+            return new InventoryLedgerScanner.LedgerTotals(totals, rows);
+        }
+
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, partitions.size()),
+                runnable -> new Thread(runnable, "inventory-reconciliation-" + threadNo.incrementAndGet()));
+        try {
+            CompletionService<InventoryLedgerScanner.LedgerTotals> completionService =
+                    new ExecutorCompletionService<>(executor);
+            for (Partition partition : partitions) {
+                completionService.submit(() -> ledgerScanner.sumPartition(partition.from(), partition.to(), throttle));
+            }
+            for (int i = 0; i < partitions.size(); i++) {
+                InventoryLedgerScanner.LedgerTotals partitionTotals = completionService.take().get();
+                totals.addAll(partitionTotals.totals());
+                rows += partitionTotals.rows();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("在庫トランザクション履歴の集計に失敗しました", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new InventoryLedgerScanner.LedgerTotals(totals, rows);
+    }
+
+    /**
+     * 走査範囲
+     */
+    private record Partition(OffsetDateTime from, OffsetDateTime to) {
+    }
+}
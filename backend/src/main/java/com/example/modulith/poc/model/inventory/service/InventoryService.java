@@ -42,6 +42,26 @@ public interface InventoryService {
      */
     void unlockInventory(UUID orderId, UUID skuId, Integer quantity);
 
+    /**
+     * 在庫を入庫する（単一SKU）
+     *
+     * @param skuId       SKU ID
+     * @param quantity    入庫数量
+     * @param referenceId 参照ID（入庫伝票など）
+     * @param reason      理由
+     */
+    void receiveInventory(UUID skuId, Integer quantity, UUID referenceId, String reason);
+
+    /**
+     * 利用可能在庫数を取得する
+     * <p>
+     * シャーディングが有効なSKUは全バケットの合計を返す。
+     *
+     * @param skuId SKU ID
+     * @return 利用可能在庫数
+     */
+    int getAvailableQuantity(UUID skuId);
+
     /**
      * 在庫トランザクションを記録する
      *
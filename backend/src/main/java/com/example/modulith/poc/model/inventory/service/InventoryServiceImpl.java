@@ -22,14 +22,23 @@ import java.util.UUID;
 @Service
 public class InventoryServiceImpl implements InventoryService {
 
+    private static final String ORDER_REFERENCE_TYPE = "ORDER";
+    private static final String RECEIVING_REFERENCE_TYPE = "RECEIVING";
+
     private final InventoryRepository inventoryRepository;
     private final InventoryTransactionRepository transactionRepository;
+    private final InventoryShardingService shardingService;
+    private final InventoryChangeNotifier changeNotifier;
 
     @Autowired
     public InventoryServiceImpl(InventoryRepository inventoryRepository,
-                                InventoryTransactionRepository transactionRepository) {
+                                InventoryTransactionRepository transactionRepository,
+                                InventoryShardingService shardingService,
+                                InventoryChangeNotifier changeNotifier) {
         this.inventoryRepository = inventoryRepository;
         this.transactionRepository = transactionRepository;
+        this.shardingService = shardingService;
+        this.changeNotifier = changeNotifier;
     }
 
     @Override
@@ -40,6 +49,11 @@ public class InventoryServiceImpl implements InventoryService {
             InventoryEntity inventory = inventoryRepository.findBySkuIdWithLock(skuId)
                     .orElseThrow(() -> new IllegalArgumentException("在庫が見つかりません: SKU=" + skuId));
 
+            // シャーディング有効時はバケットから確保する
+            if (inventory.isSharded()) {
+                return lockShardedInventory(orderId, inventory, quantity);
+            }
+
             // 在庫チェック
             if (inventory.getQuantity() < quantity) {
                 throw new InsufficientInventoryException(skuId, quantity, inventory.getQuantity());
@@ -55,6 +69,7 @@ public class InventoryServiceImpl implements InventoryService {
             UUID lockId = UUID.randomUUID();
             recordTransaction(skuId, "LOCK", -quantity, quantityBefore, quantityAfter, orderId,
                     "注文による在庫ロック: " + orderId);
+            changeNotifier.quantityChanged(skuId, -quantity);
 
             return new InventoryLockResult(skuId, lockId, quantity, true, null, null);
 
@@ -97,6 +112,15 @@ public class InventoryServiceImpl implements InventoryService {
         InventoryEntity inventory = inventoryRepository.findById(skuId)
                 .orElseThrow(() -> new IllegalArgumentException("在庫が見つかりません: SKU=" + skuId));
 
+        if (inventory.isSharded()) {
+            InventoryShardingService.BucketAllocation allocation =
+                    shardingService.addToBucket(orderId, skuId, inventory.getBucketCount(), quantity);
+            recordTransaction(skuId, "UNLOCK", quantity, allocation.quantityBefore(), allocation.quantityAfter(),
+                    orderId, "注文キャンセルによる在庫解放: " + orderId + " (bucket=" + allocation.bucketNo() + ")");
+            changeNotifier.quantityChanged(skuId, quantity);
+            return;
+        }
+
         Integer quantityBefore = inventory.getQuantity();
         inventory.increaseQuantity(quantity);
         inventoryRepository.save(inventory);
@@ -104,12 +128,56 @@ public class InventoryServiceImpl implements InventoryService {
 
         recordTransaction(skuId, "UNLOCK", quantity, quantityBefore, quantityAfter, orderId,
                 "注文キャンセルによる在庫解放: " + orderId);
+        changeNotifier.quantityChanged(skuId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void receiveInventory(UUID skuId, Integer quantity, UUID referenceId, String reason) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("入庫数は1以上を指定してください: " + quantity);
+        }
+        InventoryEntity inventory = inventoryRepository.findBySkuIdWithLock(skuId)
+                .orElseThrow(() -> new IllegalArgumentException("在庫が見つかりません: SKU=" + skuId));
+
+        if (inventory.isSharded()) {
+            UUID routingKey = referenceId != null ? referenceId : UUID.randomUUID();
+            InventoryShardingService.BucketAllocation allocation =
+                    shardingService.addToBucket(routingKey, skuId, inventory.getBucketCount(), quantity);
+            recordTransaction(skuId, "RECEIVE", quantity, allocation.quantityBefore(), allocation.quantityAfter(),
+                    RECEIVING_REFERENCE_TYPE, referenceId, reason + " (bucket=" + allocation.bucketNo() + ")");
+        } else {
+            Integer quantityBefore = inventory.getQuantity();
+            inventory.increaseQuantity(quantity);
+            inventoryRepository.save(inventory);
+            recordTransaction(skuId, "RECEIVE", quantity, quantityBefore, inventory.getQuantity(),
+                    RECEIVING_REFERENCE_TYPE, referenceId, reason);
+        }
+        changeNotifier.quantityChanged(skuId, quantity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getAvailableQuantity(UUID skuId) {
+        InventoryEntity inventory = inventoryRepository.findById(skuId)
+                .orElseThrow(() -> new IllegalArgumentException("在庫が見つかりません: SKU=" + skuId));
+        if (inventory.isSharded()) {
+            return shardingService.getAvailableQuantity(skuId);
+        }
+        return inventory.getQuantity();
     }
 
     @Override
     @Transactional
     public void recordTransaction(UUID skuId, String transactionType, Integer quantityChange,
                                   Integer quantityBefore, Integer quantityAfter, UUID referenceId, String reason) {
+        recordTransaction(skuId, transactionType, quantityChange, quantityBefore, quantityAfter,
+                ORDER_REFERENCE_TYPE, referenceId, reason);
+    }
+
+    private void recordTransaction(UUID skuId, String transactionType, Integer quantityChange,
+                                   Integer quantityBefore, Integer quantityAfter, String referenceType,
+                                   UUID referenceId, String reason) {
         InventoryTransactionEntity transaction = new InventoryTransactionEntity();
         transaction.setSkuId(skuId);
         transaction.setTransactionType(
@@ -118,10 +186,30 @@ public class InventoryServiceImpl implements InventoryService {
         transaction.setQuantityChange(quantityChange);
         transaction.setQuantityBefore(quantityBefore);
         transaction.setQuantityAfter(quantityAfter);
-        transaction.setReferenceType("ORDER");
+        transaction.setReferenceType(referenceType);
         transaction.setReferenceId(referenceId);
         transaction.setReason(reason);
 
         transactionRepository.save(transaction);
     }
+
+    /**
+     * シャーディングされたSKUの在庫をロックする
+     * <p>
+     * 在庫テーブルの行は更新せず、バケット単位で確保する。トランザクション記録はバケットごとに行う。
+     */
+    private InventoryLockResult lockShardedInventory(UUID orderId, InventoryEntity inventory, Integer quantity) {
+        UUID skuId = inventory.getSkuId();
+        List<InventoryShardingService.BucketAllocation> allocations =
+                shardingService.lockFromBuckets(orderId, skuId, inventory.getBucketCount(), quantity);
+
+        UUID lockId = UUID.randomUUID();
+        for (InventoryShardingService.BucketAllocation allocation : allocations) {
+            recordTransaction(skuId, "LOCK", -allocation.quantity(), allocation.quantityBefore(),
+                    allocation.quantityAfter(), orderId,
+                    "注文による在庫ロック: " + orderId + " (bucket=" + allocation.bucketNo() + ")");
+        }
+        changeNotifier.quantityChanged(skuId, -quantity);
+        return new InventoryLockResult(skuId, lockId, quantity, true, null, null);
+    }
 }
@@ -0,0 +1,92 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 在庫シャーディングサービスインターフェース
+ * <p>
+ * 限定商品など注文が集中するSKUの在庫を複数のバケットに分割し、
+ * 在庫ロックの書き込みを分散させる。
+ */
+public interface InventoryShardingService {
+
+    /**
+     * SKUの在庫シャーディングを有効化する
+     * <p>
+     * 現在の在庫数をバケットに均等分配する。
+     *
+     * @param skuId       SKU ID
+     * @param bucketCount バケット数（2以上）
+     */
+    void enableSharding(UUID skuId, int bucketCount);
+
+    /**
+     * SKUの在庫シャーディングを解除する
+     * <p>
+     * 全バケットの在庫を集約して在庫テーブルに戻す。
+     *
+     * @param skuId SKU ID
+     */
+    void disableSharding(UUID skuId);
+
+    /**
+     * バケットから在庫をロックする
+     * <p>
+     * 注文IDのハッシュで決まるバケットから順に確保を試み、不足する場合は他のバケットから融通する。
+     * 単一バケットで確保できない場合は複数バケットに分割して確保する。
+     *
+     * @param orderId     注文ID
+     * @param skuId       SKU ID
+     * @param bucketCount バケット数
+     * @param quantity    ロック数量
+     * @return バケットごとの確保結果
+     * @throws com.example.modulith.poc.model.inventory.exception.InsufficientInventoryException 合計在庫が不足する場合
+     */
+    List<BucketAllocation> lockFromBuckets(UUID orderId, UUID skuId, int bucketCount, Integer quantity);
+
+    /**
+     * バケットへ在庫を加算する（ロック解放・入庫）
+     *
+     * @param routingKey  加算先バケットを決めるキー（注文ID・入庫伝票IDなど）
+     * @param skuId       SKU ID
+     * @param bucketCount バケット数
+     * @param quantity    加算数量
+     * @return 加算先バケットの結果
+     */
+    BucketAllocation addToBucket(UUID routingKey, UUID skuId, int bucketCount, Integer quantity);
+
+    /**
+     * 全バケットの合計在庫数を取得する
+     *
+     * @param skuId SKU ID
+     * @return 合計在庫数
+     */
+    int getAvailableQuantity(UUID skuId);
+
+    /**
+     * バケット間の在庫の偏りを解消する
+     *
+     * @param skuId SKU ID
+     * @return リバランスを実施した場合true
+     */
+    boolean rebalance(UUID skuId);
+
+    /**
+     * シャーディングが有効なSKUのIDを取得する
+     *
+     * @return SKU IDリスト
+     */
+    List<UUID> findShardedSkuIds();
+
+    /**
+     * バケット単位の在庫増減結果
+     */
+    record BucketAllocation(
+            Integer bucketNo,
+            Integer quantity,
+            Integer quantityBefore,
+            Integer quantityAfter
+    ) {
+    }
+}
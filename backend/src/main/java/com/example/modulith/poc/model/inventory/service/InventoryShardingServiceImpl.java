@@ -0,0 +1,197 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.model.inventory.entity.InventoryBucketEntity;
+import com.example.modulith.poc.model.inventory.entity.InventoryEntity;
+import com.example.modulith.poc.model.inventory.exception.InsufficientInventoryException;
+import com.example.modulith.poc.model.inventory.repository.InventoryBucketRepository;
+import com.example.modulith.poc.model.inventory.repository.InventoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 在庫シャーディングサービス実装
+ */
+@Service
+public class InventoryShardingServiceImpl implements InventoryShardingService {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBucketRepository bucketRepository;
+    private final double rebalanceThreshold;
+
+    @Autowired
+    public InventoryShardingServiceImpl(InventoryRepository inventoryRepository,
+                                        InventoryBucketRepository bucketRepository,
+                                        @Value("${poc.inventory.sharding.rebalance-threshold:0.5}") double rebalanceThreshold) {
+        this.inventoryRepository = inventoryRepository;
+        this.bucketRepository = bucketRepository;
+        this.rebalanceThreshold = rebalanceThreshold;
+    }
+
+    @Override
+    @Transactional
+    public void enableSharding(UUID skuId, int bucketCount) {
+        if (bucketCount < 2) {
+            throw new IllegalArgumentException("バケット数は2以上を指定してください: " + bucketCount);
+        }
+        InventoryEntity inventory = inventoryRepository.findBySkuIdForUpdate(skuId)
+                .orElseThrow(() -> new IllegalArgumentException("在庫が見つかりません: SKU=" + skuId));
+        if (inventory.isSharded()) {
+            throw new IllegalStateException("既にシャーディングが有効です: SKU=" + skuId);
+        }
+
+        // 現在の在庫数をバケットに均等分配
+        int[] shares = distribute(inventory.getQuantity(), bucketCount);
+        List<InventoryBucketEntity> buckets = new ArrayList<>(bucketCount);
+        for (int bucketNo = 0; bucketNo < bucketCount; bucketNo++) {
+            InventoryBucketEntity bucket = new InventoryBucketEntity();
+            bucket.setSkuId(skuId);
+            bucket.setBucketNo(bucketNo);
+            bucket.setQuantity(shares[bucketNo]);
+            buckets.add(bucket);
+        }
+        bucketRepository.saveAll(buckets);
+
+        // バージョンを更新することで、切り替え前の状態を読んだロック処理を楽観ロックで失敗させる
+        inventory.setQuantity(0);
+        inventory.setBucketCount(bucketCount);
+        inventoryRepository.save(inventory);
+    }
+
+    @Override
+    @Transactional
+    public void disableSharding(UUID skuId) {
+        InventoryEntity inventory = inventoryRepository.findBySkuIdForUpdate(skuId)
+                .orElseThrow(() -> new IllegalArgumentException("在庫が見つかりません: SKU=" + skuId));
+        if (!inventory.isSharded()) {
+            return;
+        }
+
+        List<InventoryBucketEntity> buckets = bucketRepository.findBySkuIdForUpdate(skuId);
+        int total = buckets.stream().mapToInt(InventoryBucketEntity::getQuantity).sum();
+        bucketRepository.deleteAll(buckets);
+
+        inventory.setQuantity(total);
+        inventory.setBucketCount(1);
+        inventoryRepository.save(inventory);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InsufficientInventoryException.class)
+    public List<BucketAllocation> lockFromBuckets(UUID orderId, UUID skuId, int bucketCount, Integer quantity) {
+        List<BucketAllocation> allocations = new ArrayList<>();
+        int homeBucket = route(orderId, bucketCount);
+
+        // 1. ホームバケットから順に、単一バケットでの確保を試みる（不足時は隣のバケットから融通）
+        for (int i = 0; i < bucketCount; i++) {
+            int bucketNo = (homeBucket + i) % bucketCount;
+            if (bucketRepository.decreaseIfAvailable(skuId, bucketNo, quantity) == 1) {
+                allocations.add(toAllocation(skuId, bucketNo, quantity));
+                return allocations;
+            }
+        }
+
+        // 2. 単一バケットで確保できない場合、バケット番号順に分割して確保する（ロック順序を固定しデッドロックを防ぐ）
+        int remaining = quantity;
+        for (InventoryBucketRepository.BucketQuantity bucket : bucketRepository.findQuantitiesBySkuId(skuId)) {
+            if (remaining == 0) {
+                break;
+            }
+            int amount = Math.min(remaining, bucket.getQuantity());
+            if (amount > 0 && bucketRepository.decreaseIfAvailable(skuId, bucket.getBucketNo(), amount) == 1) {
+                allocations.add(toAllocation(skuId, bucket.getBucketNo(), amount));
+                remaining -= amount;
+            }
+        }
+
+        if (remaining > 0) {
+            // 確保済みの分を戻してから在庫不足とする（呼び出し元のトランザクションはロールバック対象にしない）
+            for (BucketAllocation allocation : allocations) {
+                bucketRepository.increase(skuId, allocation.bucketNo(), allocation.quantity());
+            }
+            throw new InsufficientInventoryException(skuId, quantity, getAvailableQuantity(skuId));
+        }
+        return allocations;
+    }
+
+    @Override
+    @Transactional
+    public BucketAllocation addToBucket(UUID routingKey, UUID skuId, int bucketCount, Integer quantity) {
+        int bucketNo = route(routingKey, bucketCount);
+        if (bucketRepository.increase(skuId, bucketNo, quantity) == 0) {
+            // シャーディング解除と競合した場合は在庫を失わないよう失敗させ、呼び出し元で再試行する
+            throw new IllegalStateException("在庫バケットが見つかりません: SKU=" + skuId + ", bucket=" + bucketNo);
+        }
+        Integer quantityAfter = bucketRepository.findQuantity(skuId, bucketNo);
+        return new BucketAllocation(bucketNo, quantity, quantityAfter - quantity, quantityAfter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getAvailableQuantity(UUID skuId) {
+        return bucketRepository.sumQuantityBySkuId(skuId).intValue();
+    }
+
+    @Override
+    @Transactional
+    public boolean rebalance(UUID skuId) {
+        List<InventoryBucketEntity> buckets = bucketRepository.findBySkuIdForUpdate(skuId);
+        if (buckets.size() < 2) {
+            return false;
+        }
+
+        int total = buckets.stream().mapToInt(InventoryBucketEntity::getQuantity).sum();
+        int min = buckets.stream().mapToInt(InventoryBucketEntity::getQuantity).min().orElse(0);
+        int fairShare = total / buckets.size();
+        if (fairShare == 0 || min >= fairShare * rebalanceThreshold) {
+            return false;
+        }
+
+        int[] shares = distribute(total, buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            buckets.get(i).setQuantity(shares[i]);
+        }
+        bucketRepository.saveAll(buckets);
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findShardedSkuIds() {
+        return inventoryRepository.findShardedSkuIds();
+    }
+
+    /**
+     * ルーティングキー（注文IDなど）からホームバケットを決定する
+     */
+    private int route(UUID routingKey, int bucketCount) {
+        return Math.floorMod(routingKey.hashCode(), bucketCount);
+    }
+
+    /**
+     * 条件付きUPDATE後のバケット在庫数を取得する。
+     * 更新した行は自トランザクションがロックしているため、取得値は他の更新の影響を受けない。
+     */
+    private BucketAllocation toAllocation(UUID skuId, int bucketNo, int amount) {
+        Integer quantityAfter = bucketRepository.findQuantity(skuId, bucketNo);
+        return new BucketAllocation(bucketNo, amount, quantityAfter + amount, quantityAfter);
+    }
+
+    /**
+     * 合計数をバケットに均等分配する（端数は先頭のバケットから1つずつ割り当てる）
+     */
+    private int[] distribute(int total, int bucketCount) {
+        int[] shares = new int[bucketCount];
+        int base = total / bucketCount;
+        int remainder = total % bucketCount;
+        for (int i = 0; i < bucketCount; i++) {
+            shares[i] = base + (i < remainder ? 1 : 0);
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.model.inventory.entity.ReceivingFileFormat;
+import com.example.modulith.poc.model.inventory.exception.InvalidReceivingLineException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 入庫ファイルの読み込み
+ * <p>
+ * FileChannelから固定サイズのバッファで順に読み込み、1行ずつ解析する。
+ * ファイル全体をメモリに展開しないため、行数に関わらずメモリ使用量は一定となる。
+ * 行の区切りはバイト列の改行（LF）で判定し、次に読み込む行の先頭バイト位置をチェックポイントとして返す。
+ * <p>
+ * スレッドセーフではない。
+ */
+public class ReceivingFileReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 16 * 1024;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final FileChannel channel;
+    private final ReceivingFileFormat format;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] lineBytes = new byte[256];
+    private int lineLength;
+    private boolean lineTooLong;
+    private boolean endOfFile;
+    private long position;
+    private long lineNo;
+
+    /**
+     * 入庫ファイルを開く
+     *
+     * @param path       ファイルパス
+     * @param format     ファイル形式
+     * @param byteOffset 読み込みを開始するバイト位置（チェックポイント）
+     * @param lineNo     開始位置までに読み込み済みの行数
+     */
+    public ReceivingFileReader(Path path, ReceivingFileFormat format, long byteOffset, long lineNo) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.channel.position(byteOffset);
+        this.format = format;
+        this.position = byteOffset;
+        this.lineNo = lineNo;
+        buffer.flip();
+    }
+
+    /**
+     * 次の行を読み込む
+     * <p>
+     * 空行とCSVのヘッダー行は読み飛ばす。不正な行の場合は例外をスローするが、読み込み位置は次の行へ進む。
+     *
+     * @return 入庫行。ファイルの終端に達した場合はnull
+     * @throws InvalidReceivingLineException 行を解析できない場合
+     */
+    public ReceivingLine next() throws IOException {
+        while (readLine()) {
+            lineNo++;
+            if (lineTooLong) {
+                throw new InvalidReceivingLineException(lineNo, "行が長すぎます");
+            }
+            String line = decodeLine();
+            if (line.isBlank() || (format == ReceivingFileFormat.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            return format == ReceivingFileFormat.CSV ? parseCsv(line) : parseJson(line);
+        }
+        return null;
+    }
+
+    /**
+     * 次に読み込む行の先頭バイト位置
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * 読み込み済みの行数
+     */
+    public long lineNo() {
+        return lineNo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 改行までのバイト列を lineBytes に読み込む
+     */
+    private boolean readLine() throws IOException {
+        if (endOfFile) {
+            return false;
+        }
+        lineLength = 0;
+        lineTooLong = false;
+        boolean read = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int n = channel.read(buffer);
+                buffer.flip();
+                if (n <= 0) {
+                    endOfFile = true;
+                    return read;
+                }
+            }
+            byte[] array = buffer.array();
+            int start = buffer.position();
+            int limit = buffer.limit();
+            for (int i = start; i < limit; i++) {
+                if (array[i] == '\n') {
+                    append(array, start, i - start);
+                    buffer.position(i + 1);
+                    position += i + 1 - start;
+                    return true;
+                }
+            }
+            append(array, start, limit - start);
+            buffer.position(limit);
+            position += limit - start;
+            read = true;
+        }
+    }
+
+    private void append(byte[] source, int offset, int length) {
+        if (lineTooLong || lineLength + length > MAX_LINE_LENGTH) {
+            // 上限を超えた行は内容を保持せず、行末まで読み飛ばす
+            lineTooLong = true;
+            return;
+        }
+        if (lineLength + length > lineBytes.length) {
+            lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, lineLength + length));
+        }
+        System.arraycopy(source, offset, lineBytes, lineLength, length);
+        lineLength += length;
+    }
+
+    private String decodeLine() {
+        int length = lineLength;
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        String line = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+        // 先頭行のBOMを除去
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private boolean isCsvHeader(String line) {
+        return line.regionMatches(true, 0, "sku_id", 0, "sku_id".length());
+    }
+
+    private ReceivingLine parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 2) {
+            throw new InvalidReceivingLineException(lineNo, "列数が不足しています");
+        }
+        return toLine(fields.get(0), fields.get(1),
+                fields.size() > 2 ? fields.get(2) : null,
+                fields.size() > 3 ? fields.get(3) : null);
+    }
+
+    private ReceivingLine parseJson(String line) {
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidReceivingLineException(lineNo, "JSONとして解析できません");
+        }
+        if (node == null || !node.isObject()) {
+            throw new InvalidReceivingLineException(lineNo, "JSONオブジェクトではありません");
+        }
+        return toLine(text(node, "skuId"), text(node, "quantity"), text(node, "referenceId"), text(node, "reason"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private ReceivingLine toLine(String skuId, String quantity, String referenceId, String reason) {
+        UUID parsedSkuId = parseUuid(skuId, "SKU ID");
+        if (parsedSkuId == null) {
+            throw new InvalidReceivingLineException(lineNo, "SKU IDは必須です");
+        }
+        int parsedQuantity;
+        try {
+            parsedQuantity = Integer.parseInt(quantity == null ? "" : quantity.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidReceivingLineException(lineNo, "入庫数が数値ではありません: " + quantity);
+        }
+        if (parsedQuantity <= 0) {
+            throw new InvalidReceivingLineException(lineNo, "入庫数は1以上を指定してください: " + parsedQuantity);
+        }
+        String trimmedReason = reason == null || reason.isBlank() ? null : reason.trim();
+        return new ReceivingLine(lineNo, parsedSkuId, parsedQuantity, parseUuid(referenceId, "参照ID"), trimmedReason);
+    }
+
+    private UUID parseUuid(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReceivingLineException(lineNo, name + "がUUIDではありません: " + value);
+        }
+    }
+
+    /**
+     * CSVの1行を列に分割する（ダブルクォートで囲んだ列と "" によるエスケープに対応）
+     */
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidReceivingLineException(lineNo, "ダブルクォートが閉じられていません");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * 入庫行
+     *
+     * @param lineNo      行番号
+     * @param skuId       SKU ID
+     * @param quantity    入庫数
+     * @param referenceId 参照ID（入庫伝票など、任意）
+     * @param reason      理由（任意）
+     */
+    public record ReceivingLine(long lineNo, UUID skuId, int quantity, UUID referenceId, String reason) {
+    }
+}
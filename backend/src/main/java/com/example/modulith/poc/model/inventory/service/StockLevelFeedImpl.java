@@ -0,0 +1,212 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import com.example.modulith.poc.core.collection.UuidLongHashMap;
+import com.example.modulith.poc.model.inventory.InventoryAvailabilityService;
+import com.example.modulith.poc.model.inventory.StockLevel;
+import com.example.modulith.poc.model.inventory.StockLevelChange;
+import com.example.modulith.poc.model.inventory.StockLevelFeed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 在庫変化フィード実装
+ * <p>
+ * 在庫の増減を反映した時点で、在庫レベルが変わった場合のみその在庫数を記録し、
+ * 配信間隔ごとに記録した在庫レベルの変化と、変更のあったSKUの最新の引当可能数をまとめて配信する。
+ * 同一SKUへの連続した変更は最新値1件に集約するが、配信間隔内にしきい値をまたいだ変化（5→0→5など）は個別に通知する。
+ * 前回配信時と在庫数・在庫レベルが同じSKUは通知しない。
+ * 集約・配信は専用の単一スレッドで行うため、前回配信した値は排他制御なしで保持する。
+ */
+@Service
+public class StockLevelFeedImpl implements StockLevelFeed {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(StockLevelFeedImpl.class);
+
+    private static final long UNKNOWN_LEVEL = -1L;
+    private static final StockLevel[] LEVELS = StockLevel.values();
+
+    /**
+     * 1配信間隔でSKUごとに記録する在庫レベル変化の上限（超えた分は最後の変化を上書きする）
+     */
+    private static final int MAX_TRANSITIONS_PER_WINDOW = 8;
+
+    private final InventoryAvailabilityService availabilityService;
+    private final int subscriberBufferSize;
+    private final ConcurrentHashMap<UUID, Transitions> pending = new ConcurrentHashMap<>();
+    /**
+     * 前回配信した値（在庫数(上位32bit)と在庫レベルの序数(下位32bit)）
+     */
+    private final UuidLongHashMap lastEmitted = new UuidLongHashMap(1024);
+    private final Sinks.Many<StockLevelChange> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final ScheduledExecutorService executor;
+
+    @Autowired
+    public StockLevelFeedImpl(InventoryAvailabilityService availabilityService,
+                              @Value("${poc.inventory.feed.window:PT0.2S}") Duration window,
+                              @Value("${poc.inventory.feed.subscriber-buffer-size:1024}") int subscriberBufferSize) {
+        this.availabilityService = availabilityService;
+        this.subscriberBufferSize = Math.max(subscriberBufferSize, 1);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-stock-level-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMillis = Math.max(window.toMillis(), 1);
+        executor.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Flux<StockLevelChange> subscribe(boolean levelChangesOnly) {
+        Flux<StockLevelChange> changes = sink.asFlux();
+        if (levelChangesOnly) {
+            changes = changes.filter(StockLevelChange::isLevelChanged);
+        }
+        return changes.onBackpressureBuffer(subscriberBufferSize,
+                dropped -> droppedCount.incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * 確定した在庫の変更を記録する（次の配信で最新値を通知する）
+     * <p>
+     * 在庫レベルが直前の記録から変わった場合のみ在庫数を記録し、配信間隔内のしきい値の通過を取りこぼさないようにする。
+     *
+     * @param skuId    SKU ID
+     * @param quantity 反映後の引当可能数。不明な場合は負数（配信時に読み込む）
+     */
+    public void quantityChanged(UUID skuId, int quantity) {
+        StockLevel stockLevel = quantity >= 0 ? availabilityService.getStockLevel(skuId, quantity) : null;
+        pending.compute(skuId, (id, transitions) -> {
+            Transitions result = transitions != null ? transitions : new Transitions();
+            if (stockLevel != null) {
+                result.record(quantity, stockLevel);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 処理が追いつかず破棄した通知の件数
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        sink.tryEmitComplete();
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<UUID, Transitions> batch = new HashMap<>();
+        for (UUID skuId : pending.keySet()) {
+            Transitions transitions = pending.remove(skuId);
+            if (transitions != null) {
+                batch.put(skuId, transitions);
+            }
+        }
+
+        if (sink.currentSubscriberCount() == 0) {
+            // 購読者がいない間は在庫を読まない。前回配信した値は不明として扱う
+            batch.keySet().forEach(lastEmitted::remove);
+            return;
+        }
+
+        Map<UUID, Integer> quantities;
+        try {
+            quantities = availabilityService.getAvailableQuantities(batch.keySet());
+        } catch (RuntimeException e) {
+            // 記録した変化を戻し、次回の配信で再試行する
+            batch.forEach((skuId, transitions) -> pending.merge(skuId, transitions,
+                    (newer, failed) -> failed.appendAll(newer)));
+            LOGGER.warn("failed to load stock levels for feed: skus={}", batch.size(), e);
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        batch.forEach((skuId, transitions) -> {
+            int quantity = quantities.getOrDefault(skuId, 0);
+            transitions.record(quantity, availabilityService.getStockLevel(skuId, quantity));
+            emit(skuId, transitions, now);
+        });
+    }
+
+    /**
+     * 記録した在庫レベルの変化のうち、前回配信した値から実際に変わったものを配信する
+     * <p>
+     * 途中の変化は在庫レベルが変わった場合のみ、最後（最新値）は在庫数が変わった場合も配信する。
+     */
+    private void emit(UUID skuId, Transitions transitions, OffsetDateTime now) {
+        long previous = lastEmitted.get(skuId, UNKNOWN_LEVEL);
+        for (int i = 0; i < transitions.count; i++) {
+            int quantity = transitions.quantities[i];
+            StockLevel stockLevel = transitions.levels[i];
+            boolean last = i == transitions.count - 1;
+            StockLevel previousLevel = previous == UNKNOWN_LEVEL ? null : LEVELS[(int) (previous & 0xFFFFFFFFL)];
+            boolean changed = stockLevel != previousLevel
+                    || (last && quantity != (int) (previous >> 32));
+            if (changed) {
+                sink.tryEmitNext(new StockLevelChange(skuId, quantity, stockLevel, previousLevel, now));
+                previous = ((long) quantity << 32) | stockLevel.ordinal();
+            }
+        }
+        if (previous != UNKNOWN_LEVEL) {
+            lastEmitted.put(skuId, previous);
+        }
+    }
+
+    /**
+     * 配信間隔内に記録したSKUの在庫レベルの変化
+     * <p>
+     * 連続する同じ在庫レベルの記録は最新の在庫数で上書きするため、隣り合う要素の在庫レベルは常に異なる。
+     * {@link ConcurrentHashMap#compute} の中、または配信スレッドが取り出した後にのみ操作する。
+     */
+    private static final class Transitions {
+        final int[] quantities = new int[MAX_TRANSITIONS_PER_WINDOW];
+        final StockLevel[] levels = new StockLevel[MAX_TRANSITIONS_PER_WINDOW];
+        int count;
+
+        void record(int quantity, StockLevel stockLevel) {
+            if (count > 0 && (levels[count - 1] == stockLevel || count == MAX_TRANSITIONS_PER_WINDOW)) {
+                quantities[count - 1] = quantity;
+                levels[count - 1] = stockLevel;
+                return;
+            }
+            quantities[count] = quantity;
+            levels[count] = stockLevel;
+            count++;
+        }
+
+        /**
+         * 配信に失敗した変化の後ろに、その後に記録された変化を追加する
+         */
+        Transitions appendAll(Transitions newer) {
+            for (int i = 0; i < newer.count; i++) {
+                record(newer.quantities[i], newer.levels[i]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.modulith.poc.model.inventory.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 処理件数のスロットル
+ * <p>
+ * 複数スレッドで共有し、合計の処理件数が毎秒の上限を超えないよう待機させる。
+ */
+public final class ThroughputThrottle {
+
+    private final long nanosPerPermit;
+    private final AtomicLong nextFreeAt = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param permitsPerSecond 毎秒の上限件数。0以下の場合は制限しない
+     */
+    public ThroughputThrottle(long permitsPerSecond) {
+        this.nanosPerPermit = permitsPerSecond > 0 ? Math.max(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond, 1) : 0;
+    }
+
+    /**
+     * 指定件数分の枠を確保する（先に予約された枠が空くまで待機する）
+     *
+     * @param permits 件数
+     */
+    public void acquire(int permits) throws InterruptedException {
+        if (nanosPerPermit == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long cost = permits * nanosPerPermit;
+        long reservedAt = nextFreeAt.getAndUpdate(next -> Math.max(next, now) + cost);
+        long waitNanos = reservedAt - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -30,6 +30,12 @@ public class OrderEntity {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
+    @Column(name = "cart_id")
+    private UUID cartId;
+
+    @Column(name = "coupon_id")
+    private UUID couponId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "order_status", nullable = false, length = 30)
     private OrderStatus orderStatus = OrderStatus.PENDING;
@@ -147,6 +153,22 @@ public class OrderEntity {
         this.userId = userId;
     }
 
+    public UUID getCartId() {
+        return cartId;
+    }
+
+    public void setCartId(UUID cartId) {
+        this.cartId = cartId;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public void setCouponId(UUID couponId) {
+        this.couponId = couponId;
+    }
+
     public OrderStatus getOrderStatus() {
         return orderStatus;
     }
@@ -11,14 +11,27 @@ import com.example.modulith.poc.model.order.entity.OrderStatus;
 import com.example.modulith.poc.model.order.entity.PaymentStatus;
 import com.example.modulith.poc.model.order.repository.OrderLineRepository;
 import com.example.modulith.poc.model.order.repository.OrderRepository;
+import com.example.modulith.poc.model.product.SkuCatalog;
+import com.example.modulith.poc.model.promotion.BasketItem;
+import com.example.modulith.poc.model.promotion.BasketPricing;
+import com.example.modulith.poc.model.promotion.Coupon;
+import com.example.modulith.poc.model.promotion.CouponService;
+import com.example.modulith.poc.model.promotion.CouponUsageService;
+import com.example.modulith.poc.model.promotion.PromotionService;
+import com.example.modulith.poc.model.product.SkuInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -31,23 +44,46 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderLineRepository orderLineRepository;
+    private final SkuCatalog skuCatalog;
+    private final CouponService couponService;
+    private final CouponUsageService couponUsageService;
+    private final PromotionService promotionService;
     private final AtomicInteger orderSequence = new AtomicInteger(1);
 
     @Autowired
-    public OrderServiceImpl(OrderRepository orderRepository, OrderLineRepository orderLineRepository) {
+    public OrderServiceImpl(OrderRepository orderRepository, OrderLineRepository orderLineRepository,
+                            SkuCatalog skuCatalog, CouponService couponService,
+                            CouponUsageService couponUsageService, PromotionService promotionService) {
         this.orderRepository = orderRepository;
         this.orderLineRepository = orderLineRepository;
+        this.skuCatalog = skuCatalog;
+        this.couponService = couponService;
+        this.couponUsageService = couponUsageService;
+        this.promotionService = promotionService;
     }
 
     @Override
     @Transactional
     public OrderEntity createOrder(OrderCreate event) {
+        // 価格確定済みでない明細のSKU情報をまとめて取得（明細ごとに問い合わせない）
+        // カートから変換する場合はカートで検証・価格確定済みのため取得しない
+        Set<UUID> unpricedSkuIds = event.getItems().stream()
+                .filter(item -> item.priced() == null)
+                .map(OrderCreate.OrderItemData::skuId)
+                .collect(Collectors.toSet());
+        Map<UUID, SkuInfo> skus = unpricedSkuIds.isEmpty() ? Map.of() : skuCatalog.getAll(unpricedSkuIds);
+        for (UUID skuId : unpricedSkuIds) {
+            SkuInfo sku = skus.get(skuId);
+            if (sku == null || !sku.purchasable()) {
+                throw new IllegalArgumentException("購入できないSKUです: " + skuId);
+            }
+        }
+
         // 注文エンティティを作成
         OrderEntity order = new OrderEntity();
         order.setOrderNumber(generateOrderNumber());
-        // TODO: 実際は認証情報から取得したユーザーIDを使用
-        // 暫定的にランダムUUIDを設定（テスト用）
-        order.setUserId(UUID.randomUUID());
+        order.setUserId(event.getUserId());
+        order.setCartId(event.getCartId());
         order.setOrderStatus(OrderStatus.PENDING);
         order.setPaymentStatus(PaymentStatus.PENDING);
 
@@ -82,36 +118,56 @@ public class OrderServiceImpl implements OrderService {
         // 保存
         order = orderRepository.save(order);
 
-        // 注文明細を作成
+        // 明細の価格を確定し、プロモーションを全明細まとめて評価する（明細ごとに問い合わせない）
+        List<OrderCreate.OrderItemData> items = event.getItems();
+        List<OrderCreate.PricedItem> pricedItems = new ArrayList<>(items.size());
+        List<BasketItem> basket = new ArrayList<>(items.size());
+        for (OrderCreate.OrderItemData item : items) {
+            OrderCreate.PricedItem priced = item.priced() != null ? item.priced() : toPricedItem(skus.get(item.skuId()));
+            pricedItems.add(priced);
+            basket.add(new BasketItem(item.skuId(), priced.productId(), priced.category(),
+                    item.quantity(), priced.unitPrice()));
+        }
+        BasketPricing pricing = promotionService.price(basket, order.getOrderedAt());
+
+        // 注文明細を作成（明細金額はプロモーションの割引後）
         BigDecimal subtotal = BigDecimal.ZERO;
-        int lineNumber = 1;
-        for (OrderCreate.OrderItemData item : event.getItems()) {
+        for (int i = 0; i < items.size(); i++) {
+            OrderCreate.OrderItemData item = items.get(i);
+            OrderCreate.PricedItem priced = pricedItems.get(i);
             OrderLineEntity orderLine = new OrderLineEntity();
             orderLine.setOrder(order);
-            orderLine.setLineNumber(lineNumber++);
+            orderLine.setLineNumber(i + 1);
             orderLine.setSkuId(item.skuId());
-
-            // TODO: 実際はSKUマスタから商品情報を取得
-            orderLine.setProductName("商品名");
-            orderLine.setSkuCode("SKU-CODE");
-            orderLine.setColor("色");
-            orderLine.setSize("サイズ");
+            orderLine.setProductName(priced.productName());
+            orderLine.setSkuCode(priced.skuCode());
+            orderLine.setColor(priced.color());
+            orderLine.setSize(priced.size());
             orderLine.setQuantity(item.quantity());
 
-            // 仮の価格設定
-            BigDecimal unitPrice = BigDecimal.valueOf(5000);
+            BigDecimal unitPrice = priced.unitPrice();
+            BigDecimal lineDiscount = pricing.lines().get(i).discountAmount();
             orderLine.setUnitPrice(unitPrice);
-            orderLine.setDiscountAmount(BigDecimal.ZERO);
-            orderLine.setLineTotal(unitPrice.multiply(BigDecimal.valueOf(item.quantity())));
+            orderLine.setDiscountAmount(lineDiscount);
+            orderLine.setLineTotal(unitPrice.multiply(BigDecimal.valueOf(item.quantity())).subtract(lineDiscount));
 
             orderLineRepository.save(orderLine);
 
             subtotal = subtotal.add(orderLine.getLineTotal());
         }
 
+        // クーポン割引（使用できないクーポン・使用回数の上限に達したクーポンは無視して注文を続ける）
+        // 注文がロールバックされた場合、使用は取り消される
+        UUID orderId = order.getOrderId();
+        Optional<Coupon> coupon = couponService.findApplicable(event.getCouponCode(), order.getOrderedAt())
+                .filter(applicable -> couponUsageService.tryUse(applicable.couponId(), orderId));
+        BigDecimal discount = coupon.isPresent() ? calculateDiscount(subtotal, coupon.get()) : BigDecimal.ZERO;
+        order.setDiscountAmount(discount);
+        order.setCouponId(coupon.map(Coupon::couponId).orElse(null));
+
         // 金額再計算
         BigDecimal taxRate = BigDecimal.valueOf(0.10); // 10%
-        BigDecimal tax = subtotal.multiply(taxRate);
+        BigDecimal tax = subtotal.subtract(discount).multiply(taxRate);
         BigDecimal total = calculateTotalAmount(subtotal, tax, order.getShippingFee(), order.getDiscountAmount());
 
         order.setSubtotalAmount(subtotal);
@@ -155,6 +211,11 @@ public class OrderServiceImpl implements OrderService {
         order.setCancellationReason("在庫不足");
         orderRepository.save(order);
 
+        // クーポンの使用を取り消す
+        if (order.getCouponId() != null) {
+            couponUsageService.cancelUse(order.getCouponId(), order.getOrderId());
+        }
+
         // エラーフラグをtrueにした状態でCompleteイベント発行
         EventHeader errorHeader = new EventHeader(true, event.getHeader().getTxId(), event.getHeader().getUserId());
         List<OrderLineEntity> orderLines = orderLineRepository.findByOrder_OrderIdOrderByLineNumber(event.getOrderId());
@@ -176,6 +237,16 @@ public class OrderServiceImpl implements OrderService {
     }
 
 
+    private static OrderCreate.PricedItem toPricedItem(SkuInfo sku) {
+        return new OrderCreate.PricedItem(sku.productName(), sku.skuCode(), sku.color(), sku.size(), sku.unitPrice(),
+                sku.productId(), sku.category());
+    }
+
+    private static BigDecimal calculateDiscount(BigDecimal subtotal, Coupon coupon) {
+        return subtotal.multiply(BigDecimal.valueOf(coupon.discountPercentage()))
+                .divide(BigDecimal.valueOf(100), 0, RoundingMode.DOWN);
+    }
+
     private BigDecimal calculateTotalAmount(BigDecimal subtotal, BigDecimal tax, BigDecimal shippingFee, BigDecimal discount) {
         return subtotal.add(tax).add(shippingFee).subtract(discount);
     }
@@ -202,6 +273,7 @@ public class OrderServiceImpl implements OrderService {
                 order.getOrderId(),
                 order.getOrderNumber(),
                 order.getUserId(),
+                order.getCartId(),
                 order.getOrderStatus().name(),
                 order.getPaymentStatus().name(),
                 items,
@@ -0,0 +1,13 @@
+package com.example.modulith.poc.model.product;
+
+/**
+ * 商品一覧カーソルの不正例外
+ * <p>
+ * 商品一覧のカーソルを解析できない場合、または検索条件の並び順と一致しない場合にスローされる。
+ */
+public class InvalidProductCursorException extends RuntimeException {
+
+    public InvalidProductCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.modulith.poc.model.product;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 商品詳細（販売中のSKUと在庫状況を含む）
+ *
+ * @param productId     商品ID
+ * @param productCode   商品コード
+ * @param productName   商品名
+ * @param description   商品説明
+ * @param brand         ブランド
+ * @param category      カテゴリ
+ * @param price         基本価格（税抜）
+ * @param currency      通貨コード
+ * @param productStatus 商品ステータス
+ * @param skus          販売中のSKU（SKUコード順）
+ * @param createdAt     作成日時
+ * @param updatedAt     更新日時
+ * @param etag          商品・SKU・在庫レベルから求めたエンティティタグ（いずれかが変わると変わる）
+ */
+public record ProductDetail(
+        UUID productId,
+        String productCode,
+        String productName,
+        String description,
+        String brand,
+        String category,
+        BigDecimal price,
+        String currency,
+        String productStatus,
+        List<SkuDetail> skus,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        String etag
+) {
+}
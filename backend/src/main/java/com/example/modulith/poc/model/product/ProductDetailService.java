@@ -0,0 +1,32 @@
+package com.example.modulith.poc.model.product;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 商品詳細サービスインターフェース
+ * <p>
+ * 商品モジュールの公開API。商品・SKUはキャッシュから読み、在庫状況は在庫モジュールからSKUをまとめて取得する。
+ */
+public interface ProductDetailService {
+
+    /**
+     * 商品詳細を取得する
+     *
+     * @param productId 商品ID
+     * @return 商品詳細。存在しない・論理削除された場合は空
+     */
+    Optional<ProductDetail> getProductDetail(UUID productId);
+
+    /**
+     * 商品詳細を非同期で取得する
+     * <p>
+     * 同じ商品の読み込みが実行中の場合は、スレッドを占有せずにその完了を待って同じ結果を受け取る。
+     *
+     * @param productId 商品ID
+     * @return 商品詳細。存在しない・論理削除された場合は空
+     */
+    Mono<ProductDetail> getProductDetailAsync(UUID productId);
+}
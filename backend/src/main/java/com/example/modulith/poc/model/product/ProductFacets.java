@@ -0,0 +1,38 @@
+package com.example.modulith.poc.model.product;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 商品一覧のファセット（絞り込み候補と件数）
+ * <p>
+ * 各項目の件数は、その項目以外の条件で絞り込んだ商品を数える（選択中の値以外を追加選択した場合の件数がわかる）。
+ *
+ * @param categories  カテゴリごとの件数（件数の多い順）
+ * @param brands      ブランドごとの件数（件数の多い順）
+ * @param priceRanges 価格帯ごとの件数（価格の低い順）
+ */
+public record ProductFacets(
+        List<FacetCount> categories,
+        List<FacetCount> brands,
+        List<PriceRangeCount> priceRanges
+) {
+    /**
+     * 値ごとの件数
+     *
+     * @param value 値
+     * @param count 件数
+     */
+    public record FacetCount(String value, int count) {
+    }
+
+    /**
+     * 価格帯ごとの件数
+     *
+     * @param minPrice 下限（含む）
+     * @param maxPrice 上限（含まない、nullの場合は上限なし）
+     * @param count    件数
+     */
+    public record PriceRangeCount(BigDecimal minPrice, BigDecimal maxPrice, int count) {
+    }
+}
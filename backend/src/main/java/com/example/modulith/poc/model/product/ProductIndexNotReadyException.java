@@ -0,0 +1,13 @@
+package com.example.modulith.poc.model.product;
+
+/**
+ * 商品インデックスの構築中例外
+ * <p>
+ * 起動時のメモリ上のインデックス（検索・ファセット・集計）の構築が完了する前に参照された場合にスローされる（再試行を促す）。
+ */
+public class ProductIndexNotReadyException extends RuntimeException {
+
+    public ProductIndexNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.modulith.poc.model.product;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 商品一覧の検索条件
+ * <p>
+ * 同じ項目の複数の値はOR、異なる項目はANDで絞り込む。
+ *
+ * @param categories カテゴリ（空の場合は絞り込まない）
+ * @param brands     ブランド（空の場合は絞り込まない）
+ * @param minPrice   最低価格（含む、nullの場合は下限なし）
+ * @param maxPrice   最高価格（含む、nullの場合は上限なし）
+ * @param sort       並び順（空の場合は作成日時の降順）
+ * @param page       ページ番号（1から始まる。カーソルを指定した場合は読み飛ばしに使用しない）
+ * @param pageSize   1ページあたりの件数
+ * @param cursor     前のページの結果で返されたカーソル（nullの場合はページ番号で読み飛ばす）
+ */
+public record ProductListingQuery(
+        List<String> categories,
+        List<String> brands,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        List<ProductSort> sort,
+        int page,
+        int pageSize,
+        String cursor
+) {
+    public ProductListingQuery {
+        categories = categories == null ? List.of() : List.copyOf(categories);
+        brands = brands == null ? List.of() : List.copyOf(brands);
+        sort = sort == null || sort.isEmpty() ? ProductSort.DEFAULT : List.copyOf(sort);
+    }
+
+    /**
+     * 先頭からの読み飛ばし件数
+     */
+    public int offset() {
+        return (int) Math.min((long) (page - 1) * pageSize, Integer.MAX_VALUE - pageSize);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.modulith.poc.model.product;
+
+import java.util.List;
+
+/**
+ * 商品一覧の結果
+ *
+ * @param items      指定ページの商品
+ * @param totalItems 該当件数
+ * @param facets     ファセット
+ * @param nextCursor 次のページを取得するカーソル（次のページが無い場合はnull）
+ */
+public record ProductListingResult(
+        List<ProductSummary> items,
+        long totalItems,
+        ProductFacets facets,
+        String nextCursor
+) {
+}
@@ -0,0 +1,20 @@
+package com.example.modulith.poc.model.product;
+
+/**
+ * 商品一覧サービスインターフェース
+ * <p>
+ * 商品モジュールの公開API。条件の組み合わせごとにSQLを発行せず、メモリ上のファセットインデックスで絞り込む。
+ */
+public interface ProductListingService {
+
+    /**
+     * 販売中の商品を絞り込み、ファセットとともに返す
+     * <p>
+     * 商品・SKUの変更はコミット後に非同期で反映されるため、直後の結果には含まれない場合がある。
+     *
+     * @param query 検索条件
+     * @return 商品一覧
+     * @throws ProductIndexNotReadyException 起動時のファセットインデックスの構築が完了していない場合
+     */
+    ProductListingResult listProducts(ProductListingQuery query);
+}
@@ -0,0 +1,15 @@
+package com.example.modulith.poc.model.product;
+
+import java.util.List;
+
+/**
+ * 商品検索結果
+ *
+ * @param items      指定ページの商品（関連度の高い順）
+ * @param totalItems 該当件数
+ */
+public record ProductSearchResult(
+        List<ProductSummary> items,
+        long totalItems
+) {
+}
@@ -0,0 +1,24 @@
+package com.example.modulith.poc.model.product;
+
+/**
+ * 商品検索サービスインターフェース
+ * <p>
+ * 商品モジュールの公開API。DBを走査せず、メモリ上の転置インデックスで検索する。
+ */
+public interface ProductSearchService {
+
+    /**
+     * キーワードで販売中の商品を検索する
+     * <p>
+     * キーワードの全ての語を含む商品を関連度（BM25）の高い順に返す。
+     * 商品の変更はコミット後に反映されるため、直後の検索結果には含まれない場合がある。
+     *
+     * @param keyword  検索キーワード。空の場合はカテゴリのみで絞り込む
+     * @param category カテゴリ（完全一致）。nullの場合は絞り込まない
+     * @param page     ページ番号（1から始まる）
+     * @param pageSize 1ページあたりの件数
+     * @return 検索結果
+     * @throws ProductIndexNotReadyException 起動時の検索インデックスの構築が完了していない場合
+     */
+    ProductSearchResult search(String keyword, String category, int page, int pageSize);
+}
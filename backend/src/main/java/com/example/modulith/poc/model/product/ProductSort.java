@@ -0,0 +1,26 @@
+package com.example.modulith.poc.model.product;
+
+import java.util.List;
+
+/**
+ * 商品一覧の並び順
+ *
+ * @param field      並び替え項目
+ * @param descending 降順の場合true
+ */
+public record ProductSort(
+        Field field,
+        boolean descending
+) {
+    /**
+     * 既定の並び順（作成日時の降順）
+     */
+    public static final List<ProductSort> DEFAULT = List.of(new ProductSort(Field.CREATED_AT, true));
+
+    /**
+     * 並び替え項目
+     */
+    public enum Field {
+        CREATED_AT, PRICE, NAME
+    }
+}
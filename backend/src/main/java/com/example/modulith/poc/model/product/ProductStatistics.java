@@ -0,0 +1,49 @@
+package com.example.modulith.poc.model.product;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 商品の集計（価格スライダー・カテゴリ/ブランド別の件数）
+ *
+ * @param priceHistogram 販売中の商品の販売中SKUの価格分布（カテゴリを指定した場合はそのカテゴリのみ）
+ * @param categories     カテゴリごとの商品ステータス別件数（件数の多い順）
+ * @param brands         ブランドごとの商品ステータス別件数（件数の多い順）
+ */
+public record ProductStatistics(
+        PriceHistogram priceHistogram,
+        List<StatusCounts> categories,
+        List<StatusCounts> brands
+) {
+    /**
+     * 価格分布
+     *
+     * @param minPrice 最安値（SKUが無い場合はnull）
+     * @param maxPrice 最高値（SKUが無い場合はnull）
+     * @param skuCount SKU数
+     * @param buckets  価格帯ごとのSKU数（価格の低い順）
+     */
+    public record PriceHistogram(BigDecimal minPrice, BigDecimal maxPrice, long skuCount, List<PriceBucket> buckets) {
+    }
+
+    /**
+     * 価格帯ごとのSKU数
+     *
+     * @param minPrice 下限（含む）
+     * @param maxPrice 上限（含まない、nullの場合は上限なし）
+     * @param count    SKU数
+     */
+    public record PriceBucket(BigDecimal minPrice, BigDecimal maxPrice, long count) {
+    }
+
+    /**
+     * 値ごとの商品ステータス別件数
+     *
+     * @param value    値
+     * @param total    商品数
+     * @param byStatus 商品ステータスごとの商品数（商品が無いステータスは含まない）
+     */
+    public record StatusCounts(String value, int total, Map<String, Integer> byStatus) {
+    }
+}
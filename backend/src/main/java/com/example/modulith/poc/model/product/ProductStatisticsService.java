@@ -0,0 +1,20 @@
+package com.example.modulith.poc.model.product;
+
+/**
+ * 商品集計サービスインターフェース
+ * <p>
+ * 商品モジュールの公開API。集計クエリを発行せず、商品・SKUの変更で差分更新しているメモリ上の集計から返す。
+ */
+public interface ProductStatisticsService {
+
+    /**
+     * 価格分布とカテゴリ・ブランド別の件数を取得する
+     * <p>
+     * 商品・SKUの変更はコミット後に非同期で反映されるため、直後の結果には含まれない場合がある。
+     *
+     * @param category 価格分布を求めるカテゴリ（nullの場合は全カテゴリ）
+     * @return 商品の集計
+     * @throws ProductIndexNotReadyException 起動時の集計の構築が完了していない場合
+     */
+    ProductStatistics getStatistics(String category);
+}
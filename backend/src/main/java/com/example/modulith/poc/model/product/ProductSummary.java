@@ -0,0 +1,35 @@
+package com.example.modulith.poc.model.product;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 商品の概要
+ *
+ * @param productId     商品ID
+ * @param productName   商品名
+ * @param description   商品説明
+ * @param brand         ブランド
+ * @param category      カテゴリ
+ * @param price         販売価格（税抜）。販売中SKUの最安値、SKUが無い場合は基本価格
+ * @param basePrice     基本価格（税抜）
+ * @param currency      通貨コード
+ * @param productStatus 商品ステータス
+ * @param createdAt     作成日時
+ * @param updatedAt     更新日時
+ */
+public record ProductSummary(
+        UUID productId,
+        String productName,
+        String description,
+        String brand,
+        String category,
+        BigDecimal price,
+        BigDecimal basePrice,
+        String currency,
+        String productStatus,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
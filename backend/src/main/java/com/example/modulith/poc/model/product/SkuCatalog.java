@@ -0,0 +1,31 @@
+package com.example.modulith.poc.model.product;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * SKUカタログの参照インターフェース
+ * <p>
+ * 商品モジュールの公開API。注文・カートの価格計算で使用する。
+ * 読み取りはキャッシュから行い、キャッシュに無いSKUのみ一括でDBから読み込む。
+ */
+public interface SkuCatalog {
+
+    /**
+     * SKUの情報を取得する
+     *
+     * @param skuId SKU ID
+     * @return SKUの情報。存在しない場合は空
+     */
+    Optional<SkuInfo> get(UUID skuId);
+
+    /**
+     * 複数SKUの情報を一括取得する
+     *
+     * @param skuIds SKU IDリスト
+     * @return SKU IDをキーとしたSKUの情報。存在しないSKUは含まない
+     */
+    Map<UUID, SkuInfo> getAll(Collection<UUID> skuIds);
+}
@@ -0,0 +1,30 @@
+package com.example.modulith.poc.model.product;
+
+import com.example.modulith.poc.model.inventory.StockLevel;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 商品詳細に含めるSKU
+ *
+ * @param skuId      SKU ID
+ * @param productId  商品ID
+ * @param skuCode    SKUコード
+ * @param color      カラー
+ * @param size       サイズ
+ * @param material   素材
+ * @param price      販売価格（税抜）
+ * @param stockLevel 在庫レベル
+ */
+public record SkuDetail(
+        UUID skuId,
+        UUID productId,
+        String skuCode,
+        String color,
+        String size,
+        String material,
+        BigDecimal price,
+        StockLevel stockLevel
+) {
+}
@@ -0,0 +1,32 @@
+package com.example.modulith.poc.model.product;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 価格計算・注文明細に使用するSKUの情報
+ *
+ * @param skuId       SKU ID
+ * @param productId   商品ID
+ * @param skuCode     SKUコード
+ * @param productName 商品名
+ * @param category    カテゴリ
+ * @param color       カラー
+ * @param size        サイズ
+ * @param unitPrice   販売価格（税抜）
+ * @param currency    通貨コード
+ * @param purchasable 購入可能か（SKU・商品ともに販売中で、論理削除されていない）
+ */
+public record SkuInfo(
+        UUID skuId,
+        UUID productId,
+        String skuCode,
+        String productName,
+        String category,
+        String color,
+        String size,
+        BigDecimal unitPrice,
+        String currency,
+        boolean purchasable
+) {
+}
@@ -0,0 +1,140 @@
+package com.example.modulith.poc.model.product.cache;
+
+import com.example.modulith.poc.model.product.detail.ProductDetailContent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 商品詳細キャッシュ
+ * <p>
+ * 商品IDごとの商品詳細（商品・SKU。在庫は含まない）を、アクセス順の {@link LinkedHashMap} で件数を制限して保持する。
+ * <p>
+ * 無効化は商品IDのハッシュで選んだ世代番号を進めることで行う（{@link SkuCatalogCache} と同じ方式）。
+ * 読み込み開始前の世代番号を {@link #stamp} で取得して {@link #put} に渡すことで、読み込み中に無効化された
+ * 古い値が有効なエントリとして残ることはない。
+ * <p>
+ * 期限切れ（{@code ttl} 経過）から {@code stale-while-revalidate} の期間内のエントリは {@link #lookup} で
+ * 再検証が必要な値として返し、呼び出し側はその値で応答しつつバックグラウンドで読み直す。
+ * 無効化されたエントリは変更が分かっているため、期間内でも返さない。
+ */
+@Component
+public class ProductDetailCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<UUID, Entry> entries;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final long ttlNanos;
+    private final long staleNanos;
+
+    @Autowired
+    public ProductDetailCache(@Value("${poc.product.detail.cache-max-size:10000}") int maxSize,
+                              @Value("${poc.product.detail.cache-ttl:PT1M}") Duration ttl,
+                              @Value("${poc.product.detail.stale-while-revalidate:PT30S}") Duration staleWhileRevalidate) {
+        this.ttlNanos = ttl.toNanos();
+        this.staleNanos = staleWhileRevalidate.toNanos();
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 商品詳細を取得する
+     *
+     * @param productId 商品ID
+     * @return 商品詳細。存在しない・無効化された・期限切れの場合はnull
+     */
+    public ProductDetailContent get(UUID productId) {
+        Lookup lookup = lookup(productId);
+        return lookup != null && !lookup.stale() ? lookup.value() : null;
+    }
+
+    /**
+     * 期限切れ後の再検証期間内のエントリを含めて商品詳細を取得する
+     *
+     * @param productId 商品ID
+     * @return 商品詳細。存在しない・無効化された・再検証期間を過ぎた場合はnull
+     */
+    public Lookup lookup(UUID productId) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(productId);
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null || entry.generation != generations.get(stripe(productId))) {
+            return null;
+        }
+        long age = System.nanoTime() - entry.loadedAt;
+        if (age <= ttlNanos) {
+            return new Lookup(entry.value, false);
+        }
+        return age <= ttlNanos + staleNanos ? new Lookup(entry.value, true) : null;
+    }
+
+    /**
+     * 読み込みを開始する前の世代番号を取得する（{@link #put} に渡す）
+     *
+     * @param productId 商品ID
+     * @return 世代番号
+     */
+    public long stamp(UUID productId) {
+        return generations.get(stripe(productId));
+    }
+
+    /**
+     * DBから読み込んだ商品詳細を設定する
+     *
+     * @param value    商品詳細
+     * @param stamp    読み込み開始前に取得した世代番号
+     * @param loadedAt 読み込み開始時刻（{@link System#nanoTime()}）
+     */
+    public void put(ProductDetailContent value, long stamp, long loadedAt) {
+        UUID productId = value.product().productId();
+        lock.lock();
+        try {
+            entries.put(productId, new Entry(value, stamp, loadedAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 商品詳細を無効化する
+     *
+     * @param productId 商品ID
+     */
+    public void invalidate(UUID productId) {
+        generations.incrementAndGet(stripe(productId));
+    }
+
+    private static int stripe(UUID id) {
+        long hash = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        return (int) ((hash ^ (hash >>> 32)) & (GENERATION_STRIPES - 1));
+    }
+
+    /**
+     * キャッシュの参照結果
+     *
+     * @param value 商品詳細
+     * @param stale 期限切れで再検証が必要か
+     */
+    public record Lookup(ProductDetailContent value, boolean stale) {
+    }
+
+    private record Entry(ProductDetailContent value, long generation, long loadedAt) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.modulith.poc.model.product.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 同一キーの読み込みの集約（single-flight）
+ * <p>
+ * 同じキーの読み込みが実行中の場合は新たに読み込まず、実行中の読み込みの完了を待って同じ結果を返す。
+ * キャッシュが空の状態で同じ商品への参照が集中しても、DBへのクエリはキーごとに1回となる。
+ * 読み込みが例外で終了した場合は、待っていた全ての呼び出しに同じ例外をスローする（結果は保持しない）。
+ * <p>
+ * 読み込みの結果はキャッシュしない。完了した時点でキーは解放され、以降の呼び出しは新たに読み込む。
+ * 読み込み処理の中で同じキーを読み込むと完了しないため、読み込み処理は同じインスタンスを呼び出さないこと。
+ *
+ * @param <K> キー
+ * @param <V> 値（nullを含む）
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    /**
+     * キーの値を読み込む（実行中の読み込みがあれば、その完了を待つ）
+     *
+     * @param key    キー
+     * @param loader 読み込み処理（呼び出したスレッドで実行する）
+     * @return 値
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        run(key, future, loader);
+        return join(future);
+    }
+
+    /**
+     * 複数のキーの値をまとめて読み込む
+     * <p>
+     * 実行中の読み込みが無いキーを1回の読み込み処理で読み込んでから、他の呼び出しが読み込み中のキーの完了を待つ。
+     * 自身が担当するキーを先に完了させるため、キーが重なる呼び出し同士が互いを待ち続けることはない。
+     *
+     * @param keys   キー
+     * @param loader 読み込み処理（担当するキーを受け取り、値のあるキーのみを返す。呼び出したスレッドで実行する）
+     * @return キーと値（値が無いキーは含まない）
+     */
+    public Map<K, V> loadAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> owned = new HashMap<>();
+        Map<K, CompletableFuture<V>> waiting = new HashMap<>();
+        for (K key : keys) {
+            if (owned.containsKey(key) || waiting.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                coalesced.increment();
+                waiting.put(key, existing);
+            } else {
+                owned.put(key, future);
+            }
+        }
+
+        Map<K, V> result = new HashMap<>();
+        if (!owned.isEmpty()) {
+            loads.increment();
+            try {
+                Map<K, V> loaded = loader.apply(new ArrayList<>(owned.keySet()));
+                owned.forEach((key, future) -> future.complete(loaded.get(key)));
+                loaded.forEach((key, value) -> {
+                    if (owned.containsKey(key) && value != null) {
+                        result.put(key, value);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                failures.increment();
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+        waiting.forEach((key, future) -> {
+            V value = join(future);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * キーの値を非同期で読み込む（実行中の読み込みがあれば、その完了を共有する）
+     * <p>
+     * 待つ側はスレッドを占有しない。返した {@code CompletableFuture} は他の呼び出しと共有するため、
+     * 呼び出し側でキャンセルしないこと（Reactorでは {@code Mono.fromFuture(supplier, true)} で購読する）。
+     *
+     * @param key      キー
+     * @param loader   読み込み処理
+     * @param executor 読み込み処理を実行するExecutor
+     * @return 値の完了
+     */
+    public CompletableFuture<V> loadAsync(K key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        start(key, future, loader, executor);
+        return future;
+    }
+
+    /**
+     * バックグラウンドでキーの値を読み直す（stale-while-revalidate。実行中の読み込みがあれば何もしない）
+     *
+     * @param key      キー
+     * @param loader   読み込み処理
+     * @param executor 読み込み処理を実行するExecutor
+     */
+    public void refresh(K key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, future) == null) {
+            refreshes.increment();
+            start(key, future, loader, executor);
+        }
+    }
+
+    /**
+     * 読み込み回数などの統計
+     */
+    public Stats stats() {
+        return new Stats(loads.sum(), coalesced.sum(), failures.sum(), refreshes.sum(), inFlight.size());
+    }
+
+    private void start(K key, CompletableFuture<V> future, Supplier<V> loader, Executor executor) {
+        try {
+            executor.execute(() -> run(key, future, loader));
+        } catch (RuntimeException e) {
+            // 実行を受け付けられない場合は、待っている呼び出しを失敗させてキーを解放する
+            failures.increment();
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void run(K key, CompletableFuture<V> future, Supplier<V> loader) {
+        loads.increment();
+        try {
+            future.complete(loader.get());
+        } catch (RuntimeException | Error e) {
+            failures.increment();
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 読み込み処理がスローした例外をそのままスローする
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (CancellationException e) {
+            throw new IllegalStateException("読み込みがキャンセルされました", e);
+        }
+    }
+
+    /**
+     * 統計
+     *
+     * @param loads     実行した読み込み処理の回数
+     * @param coalesced 実行中の読み込みの結果を共有した（読み込みを省略した）回数
+     * @param failures  例外で終了した読み込み処理の回数
+     * @param refreshes バックグラウンドで開始した読み直しの回数
+     * @param inFlight  実行中の読み込みのキー数
+     */
+    public record Stats(long loads, long coalesced, long failures, long refreshes, int inFlight) {
+
+        /**
+         * 運用統計として書き出す
+         *
+         * @param prefix  統計名の接頭辞（末尾の区切りを含まない）
+         * @param metrics 書き出し先
+         */
+        public void collect(String prefix, Map<String, Number> metrics) {
+            metrics.put(prefix + ".loads", loads);
+            metrics.put(prefix + ".coalesced", coalesced);
+            metrics.put(prefix + ".failures", failures);
+            metrics.put(prefix + ".refreshes", refreshes);
+            metrics.put(prefix + ".in-flight", inFlight);
+        }
+    }
+}
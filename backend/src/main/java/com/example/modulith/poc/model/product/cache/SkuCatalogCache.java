@@ -0,0 +1,237 @@
+package com.example.modulith.poc.model.product.cache;
+
+import com.example.modulith.poc.model.product.SkuInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SKUカタログキャッシュ
+ * <p>
+ * SKU IDごとのSKU情報を、セグメントごとのLRU（アクセス順の {@link LinkedHashMap}）で件数を制限して保持する。
+ * <p>
+ * 無効化はSKU ID・商品IDのハッシュで選んだ世代番号を進めることで行い、エントリは読み込み開始時の世代番号を持つ。
+ * 読み込み中に無効化された場合も世代番号が一致しないため、古い値が有効なエントリとして残ることはない。
+ * 商品IDからSKUを逆引きする索引を持たずに、商品単位の無効化を定数時間で行える（同じ世代番号を共有する
+ * 他のエントリも無効になるが、次回の読み込みで再取得されるだけである）。
+ * 他ノードでの更新など無効化が届かない変更は、最大 {@code ttl} で再読み込みされる。
+ * <p>
+ * DBに存在しなかったSKU IDも記録し、存在しないSKUの参照が繰り返されても毎回DBを読まないようにする。
+ * 存在しないことの記録は、SKUの登録（SKU IDの無効化）・カタログ取込（{@link #invalidateMissing}）で無効になり、
+ * 無効化が届かない場合も最大 {@code missing-ttl} で再読み込みされる。
+ */
+@Component
+public class SkuCatalogCache {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong missingGeneration = new AtomicLong();
+    private final long ttlNanos;
+    private final long missingTtlNanos;
+
+    @Autowired
+    public SkuCatalogCache(@Value("${poc.product.sku-catalog.max-size:100000}") int maxSize,
+                           @Value("${poc.product.sku-catalog.ttl:PT5M}") Duration ttl,
+                           @Value("${poc.product.sku-catalog.missing-ttl:PT30S}") Duration missingTtl) {
+        this.ttlNanos = ttl.toNanos();
+        this.missingTtlNanos = missingTtl.toNanos();
+        int segmentMaxSize = Math.max(maxSize / SEGMENT_COUNT, 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+    }
+
+    /**
+     * SKU情報を取得する
+     *
+     * @param skuId SKU ID
+     * @return SKU情報。キャッシュに無い・存在しないことを記録している・無効化された・期限切れの場合はnull
+     */
+    public SkuInfo get(UUID skuId) {
+        Entry entry = entry(skuId);
+        if (entry == null || entry.value == null) {
+            return null;
+        }
+        if (entry.skuGeneration != generation(skuId)
+                || entry.productGeneration != generation(entry.value.productId())
+                || System.nanoTime() - entry.loadedAt > ttlNanos) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * DBに存在しないことを記録しているSKUか
+     *
+     * @param skuId SKU ID
+     * @return 存在しないことを記録しており、無効化・期限切れになっていない場合はtrue
+     */
+    public boolean isMissing(UUID skuId) {
+        Entry entry = entry(skuId);
+        return entry != null
+                && entry.value == null
+                && entry.skuGeneration == generation(skuId)
+                && entry.productGeneration == missingGeneration.get()
+                && System.nanoTime() - entry.loadedAt <= missingTtlNanos;
+    }
+
+    /**
+     * 読み込みを開始する前の世代番号を取得する（{@link #put} に渡す）
+     *
+     * @return 世代番号のスナップショット
+     */
+    public Snapshot snapshot() {
+        long[] values = new long[GENERATION_STRIPES];
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            values[i] = generations.get(i);
+        }
+        return new Snapshot(values, missingGeneration.get(), System.nanoTime());
+    }
+
+    /**
+     * DBから読み込んだSKU情報を設定する
+     *
+     * @param value    SKU情報
+     * @param snapshot 読み込み開始前に取得した世代番号
+     */
+    public void put(SkuInfo value, Snapshot snapshot) {
+        Entry entry = new Entry(value,
+                snapshot.values[stripe(value.skuId())],
+                snapshot.values[stripe(value.productId())],
+                snapshot.takenAt);
+        putEntry(value.skuId(), entry);
+    }
+
+    /**
+     * DBに存在しなかったSKUを記録する
+     *
+     * @param skuId    SKU ID
+     * @param snapshot 読み込み開始前に取得した世代番号
+     */
+    public void putMissing(UUID skuId, Snapshot snapshot) {
+        // 商品IDが無いため、商品の世代番号の代わりにカタログ取込の世代番号を持つ
+        putEntry(skuId, new Entry(null, snapshot.values[stripe(skuId)], snapshot.missing, snapshot.takenAt));
+    }
+
+    /**
+     * SKUを無効化する
+     *
+     * @param skuId SKU ID
+     */
+    public void invalidateSku(UUID skuId) {
+        generations.incrementAndGet(stripe(skuId));
+    }
+
+    /**
+     * 商品に属する全てのSKUを無効化する
+     *
+     * @param productId 商品ID
+     */
+    public void invalidateProduct(UUID productId) {
+        generations.incrementAndGet(stripe(productId));
+    }
+
+    /**
+     * 存在しないことの記録を全て無効化する（JDBCでの一括登録など、SKUごとの無効化が届かない登録の後に呼び出す）
+     */
+    public void invalidateMissing() {
+        missingGeneration.incrementAndGet();
+    }
+
+    /**
+     * キャッシュしている件数（無効化・期限切れのエントリを含む）
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Entry entry(UUID skuId) {
+        Segment segment = segmentFor(skuId);
+        segment.lock.lock();
+        try {
+            return segment.entries.get(skuId);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private void putEntry(UUID skuId, Entry entry) {
+        Segment segment = segmentFor(skuId);
+        segment.lock.lock();
+        try {
+            segment.entries.put(skuId, entry);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private long generation(UUID id) {
+        return generations.get(stripe(id));
+    }
+
+    private static int stripe(UUID id) {
+        long hash = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        return (int) ((hash ^ (hash >>> 32)) & (GENERATION_STRIPES - 1));
+    }
+
+    private Segment segmentFor(UUID skuId) {
+        int hash = (int) (skuId.getLeastSignificantBits() ^ (skuId.getLeastSignificantBits() >>> 32));
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * 世代番号のスナップショット
+     */
+    public static final class Snapshot {
+        private final long[] values;
+        private final long missing;
+        private final long takenAt;
+
+        private Snapshot(long[] values, long missing, long takenAt) {
+            this.values = values;
+            this.missing = missing;
+            this.takenAt = takenAt;
+        }
+    }
+
+    /**
+     * キャッシュのエントリ（value がnullの場合は存在しないことの記録で、productGeneration はカタログ取込の世代番号）
+     */
+    private record Entry(SkuInfo value, long skuGeneration, long productGeneration, long loadedAt) {
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<UUID, Entry> entries;
+
+        Segment(int maxSize) {
+            // アクセス順で保持し、上限を超えた場合は最も長く参照されていないエントリを破棄する
+            this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+    }
+}
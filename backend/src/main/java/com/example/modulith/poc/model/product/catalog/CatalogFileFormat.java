@@ -0,0 +1,18 @@
+package com.example.modulith.poc.model.product.catalog;
+
+/**
+ * カタログファイル形式
+ * <p>
+ * 1行1SKUとし、商品の項目は同じ商品コードの最初の行の値を使用する。
+ */
+public enum CatalogFileFormat {
+    /**
+     * CSV（product_code,product_name,category,brand,base_price,sku_code,retail_price,color,size,material,currency,description）
+     */
+    CSV,
+    /**
+     * JSON Lines（1行1オブジェクト: productCode, productName, category, brand, basePrice, skuCode, retailPrice,
+     * color, size, material, currency, description）
+     */
+    JSON_LINES
+}
@@ -0,0 +1,258 @@
+package com.example.modulith.poc.model.product.catalog;
+
+import com.example.modulith.poc.model.product.exception.InvalidCatalogLineException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * カタログファイルの読み込み
+ * <p>
+ * ファイルを先頭から1行ずつ読み込んで解析・検証する。ファイル全体をメモリに展開しないため、
+ * 行数に関わらずメモリ使用量は一定となる。
+ * <p>
+ * スレッドセーフではない。
+ */
+public class CatalogFileReader implements Closeable {
+
+    private static final int MAX_LINE_LENGTH = 16 * 1024;
+    private static final int MAX_PRICE_INTEGER_DIGITS = 8;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final CatalogFileFormat format;
+    private long lineNo;
+
+    /**
+     * カタログファイルを開く
+     *
+     * @param path   ファイルパス
+     * @param format ファイル形式
+     */
+    public CatalogFileReader(Path path, CatalogFileFormat format) throws IOException {
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        this.format = format;
+    }
+
+    /**
+     * 次の行を読み込む
+     * <p>
+     * 空行とCSVのヘッダー行は読み飛ばす。不正な行の場合は例外をスローするが、読み込み位置は次の行へ進む。
+     *
+     * @return カタログ行。ファイルの終端に達した場合はnull
+     * @throws InvalidCatalogLineException 行を解析できない場合
+     */
+    public CatalogLine next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (lineNo == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                // 先頭行のBOMを除去
+                line = line.substring(1);
+            }
+            if (line.length() > MAX_LINE_LENGTH) {
+                throw new InvalidCatalogLineException(lineNo, "行が長すぎます");
+            }
+            if (line.isBlank() || (format == CatalogFileFormat.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            return format == CatalogFileFormat.CSV ? parseCsv(line) : parseJson(line);
+        }
+        return null;
+    }
+
+    /**
+     * 読み込み済みの行数
+     */
+    public long lineNo() {
+        return lineNo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean isCsvHeader(String line) {
+        return line.regionMatches(true, 0, "product_code", 0, "product_code".length());
+    }
+
+    private CatalogLine parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 7) {
+            throw new InvalidCatalogLineException(lineNo, "列数が不足しています");
+        }
+        return toLine(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4),
+                fields.get(5), fields.get(6),
+                field(fields, 7), field(fields, 8), field(fields, 9), field(fields, 10), field(fields, 11));
+    }
+
+    private CatalogLine parseJson(String line) {
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidCatalogLineException(lineNo, "JSONとして解析できません");
+        }
+        if (node == null || !node.isObject()) {
+            throw new InvalidCatalogLineException(lineNo, "JSONオブジェクトではありません");
+        }
+        return toLine(text(node, "productCode"), text(node, "productName"), text(node, "category"),
+                text(node, "brand"), text(node, "basePrice"), text(node, "skuCode"), text(node, "retailPrice"),
+                text(node, "color"), text(node, "size"), text(node, "material"), text(node, "currency"),
+                text(node, "description"));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return fields.size() > index ? fields.get(index) : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private CatalogLine toLine(String productCode, String productName, String category, String brand,
+                               String basePrice, String skuCode, String retailPrice, String color, String size,
+                               String material, String currency, String description) {
+        String parsedCurrency = optional(currency, "通貨コード", 3);
+        if (parsedCurrency != null && !parsedCurrency.matches("[A-Z]{3}")) {
+            throw new InvalidCatalogLineException(lineNo, "通貨コードが不正です: " + parsedCurrency);
+        }
+        BigDecimal parsedBasePrice = price(basePrice, "基本価格");
+        String retail = retailPrice == null || retailPrice.isBlank() ? basePrice : retailPrice;
+        return new CatalogLine(
+                lineNo,
+                required(productCode, "商品コード", 50),
+                required(productName, "商品名", 255),
+                required(category, "カテゴリ", 100),
+                optional(brand, "ブランド", 100),
+                parsedBasePrice,
+                parsedCurrency != null ? parsedCurrency : "JPY",
+                description == null || description.isBlank() ? null : description.trim(),
+                required(skuCode, "SKUコード", 100),
+                optional(color, "カラー", 50),
+                optional(size, "サイズ", 20),
+                optional(material, "素材", 100),
+                price(retail, "販売価格")
+        );
+    }
+
+    private String required(String value, String name, int maxLength) {
+        String trimmed = optional(value, name, maxLength);
+        if (trimmed == null) {
+            throw new InvalidCatalogLineException(lineNo, name + "は必須です");
+        }
+        return trimmed;
+    }
+
+    private String optional(String value, String name, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() > maxLength) {
+            throw new InvalidCatalogLineException(lineNo, name + "は" + maxLength + "文字以内で指定してください");
+        }
+        return trimmed;
+    }
+
+    /**
+     * 価格を解析する（numeric(10,2) に収まること）
+     */
+    private BigDecimal price(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new InvalidCatalogLineException(lineNo, name + "は必須です");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidCatalogLineException(lineNo, name + "が数値ではありません: " + value);
+        }
+        if (price.signum() < 0 || price.scale() > 2 || price.precision() - price.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            throw new InvalidCatalogLineException(lineNo, name + "が範囲外です: " + value);
+        }
+        return price;
+    }
+
+    /**
+     * CSVの1行を列に分割する（ダブルクォートで囲んだ列と "" によるエスケープに対応）
+     */
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(12);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidCatalogLineException(lineNo, "ダブルクォートが閉じられていません");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * カタログ行（1行1SKU）
+     *
+     * @param lineNo      行番号
+     * @param productCode 商品コード
+     * @param productName 商品名
+     * @param category    カテゴリ
+     * @param brand       ブランド（任意）
+     * @param basePrice   基本価格（税抜）
+     * @param currency    通貨コード（省略時はJPY）
+     * @param description 商品説明（任意）
+     * @param skuCode     SKUコード
+     * @param color       カラー（任意）
+     * @param size        サイズ（任意）
+     * @param material    素材（任意）
+     * @param retailPrice 販売価格（税抜、省略時は基本価格）
+     */
+    public record CatalogLine(
+            long lineNo,
+            String productCode,
+            String productName,
+            String category,
+            String brand,
+            BigDecimal basePrice,
+            String currency,
+            String description,
+            String skuCode,
+            String color,
+            String size,
+            String material,
+            BigDecimal retailPrice
+    ) {
+    }
+}
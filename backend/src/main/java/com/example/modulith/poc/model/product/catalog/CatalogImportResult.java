@@ -0,0 +1,30 @@
+package com.example.modulith.poc.model.product.catalog;
+
+import java.util.List;
+
+/**
+ * カタログ取込の結果
+ *
+ * @param lines           読み込んだ行数
+ * @param productsCreated 登録した商品数
+ * @param skusCreated     登録したSKU数
+ * @param errorLines      エラー行数（不正な行・重複したSKUコード）
+ * @param errors          エラー行（先頭から上限件数まで）
+ */
+public record CatalogImportResult(
+        long lines,
+        int productsCreated,
+        int skusCreated,
+        int errorLines,
+        List<LineError> errors
+) {
+
+    /**
+     * 取込エラー行
+     *
+     * @param lineNo  行番号
+     * @param message エラー内容
+     */
+    public record LineError(long lineNo, String message) {
+    }
+}
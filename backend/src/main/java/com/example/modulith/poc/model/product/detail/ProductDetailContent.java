@@ -0,0 +1,46 @@
+package com.example.modulith.poc.model.product.detail;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * キャッシュする商品詳細（在庫を含まない）
+ *
+ * @param product     商品
+ * @param skus        販売中のSKU（SKUコード順）
+ * @param fingerprint 商品・SKUの更新日時から求めたハッシュ値（ETagの算出に使用する）
+ */
+public record ProductDetailContent(
+        ProductDetailRow product,
+        List<SkuDetailRow> skus,
+        long fingerprint
+) {
+
+    public static ProductDetailContent of(ProductDetailRow product, List<SkuDetailRow> skus) {
+        long hash = mix(product.productId().getMostSignificantBits() ^ product.productId().getLeastSignificantBits());
+        hash = mix(hash ^ toNanos(product.updatedAt()));
+        for (SkuDetailRow sku : skus) {
+            hash = mix(hash ^ sku.skuId().getMostSignificantBits());
+            hash = mix(hash ^ sku.skuId().getLeastSignificantBits());
+            hash = mix(hash ^ toNanos(sku.updatedAt()));
+        }
+        return new ProductDetailContent(product, List.copyOf(skus), hash);
+    }
+
+    /**
+     * 64bitハッシュの攪拌（SplitMix64の最終段）
+     */
+    public static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long toNanos(OffsetDateTime dateTime) {
+        if (dateTime == null) {
+            return 0;
+        }
+        return dateTime.toEpochSecond() * 1_000_000_000L + dateTime.getNano();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.modulith.poc.model.product.detail;
+
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 商品詳細に表示する商品の項目（エンティティを生成せずに読み込むためのプロジェクション）
+ *
+ * @param productId     商品ID
+ * @param productCode   商品コード
+ * @param productName   商品名
+ * @param description   商品説明
+ * @param brand         ブランド
+ * @param category      カテゴリ
+ * @param basePrice     基本価格（税抜）
+ * @param currency      通貨コード
+ * @param productStatus 商品ステータス
+ * @param createdAt     作成日時
+ * @param updatedAt     更新日時
+ */
+public record ProductDetailRow(
+        UUID productId,
+        String productCode,
+        String productName,
+        String description,
+        String brand,
+        String category,
+        BigDecimal basePrice,
+        String currency,
+        ProductStatus productStatus,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
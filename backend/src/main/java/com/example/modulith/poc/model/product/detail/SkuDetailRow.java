@@ -0,0 +1,27 @@
+package com.example.modulith.poc.model.product.detail;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 商品詳細に表示するSKUの項目（エンティティを生成せずに読み込むためのプロジェクション）
+ *
+ * @param skuId       SKU ID
+ * @param skuCode     SKUコード
+ * @param color       カラー
+ * @param size        サイズ
+ * @param material    素材
+ * @param retailPrice 販売価格（税抜）
+ * @param updatedAt   更新日時
+ */
+public record SkuDetailRow(
+        UUID skuId,
+        String skuCode,
+        String color,
+        String size,
+        String material,
+        BigDecimal retailPrice,
+        OffsetDateTime updatedAt
+) {
+}
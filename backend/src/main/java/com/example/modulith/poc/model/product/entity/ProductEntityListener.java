@@ -0,0 +1,37 @@
+package com.example.modulith.poc.model.product.entity;
+
+import com.example.modulith.poc.model.product.service.ProductChangeNotifier;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 商品エンティティのリスナー
+ * <p>
+ * 商品の登録・更新・削除を {@link ProductChangeNotifier} へ通知する。
+ * EntityManagerFactoryの初期化時に生成されるため、通知先はコールバック時に取得する。
+ */
+@Component
+public class ProductEntityListener {
+
+    private final ObjectProvider<ProductChangeNotifier> changeNotifier;
+
+    @Autowired
+    public ProductEntityListener(ObjectProvider<ProductChangeNotifier> changeNotifier) {
+        this.changeNotifier = changeNotifier;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(ProductEntity product) {
+        changeNotifier.getObject().productChanged(product);
+    }
+
+    @PostRemove
+    public void onRemoved(ProductEntity product) {
+        changeNotifier.getObject().productRemoved(product.getProductId());
+    }
+}
@@ -1,22 +1,33 @@
 package com.example.modulith.poc.model.product.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "skus")
+@EntityListeners(SkuEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sku")
+@Table(name = "skus", indexes = {
+        @Index(name = "idx_skus_product_id", columnList = "product_id"),
+        @Index(name = "idx_skus_updated_at", columnList = "updated_at")
+})
 public class SkuEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,32 @@
+package com.example.modulith.poc.model.product.entity;
+
+import com.example.modulith.poc.model.product.service.ProductChangeNotifier;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * SKUエンティティのリスナー
+ * <p>
+ * SKUの登録・更新・削除を親商品の変更として {@link ProductChangeNotifier} へ通知する。
+ */
+@Component
+public class SkuEntityListener {
+
+    private final ObjectProvider<ProductChangeNotifier> changeNotifier;
+
+    @Autowired
+    public SkuEntityListener(ObjectProvider<ProductChangeNotifier> changeNotifier) {
+        this.changeNotifier = changeNotifier;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(SkuEntity sku) {
+        changeNotifier.getObject().skuChanged(sku.getSkuId(), sku.getProductId());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.modulith.poc.model.product.exception;
+
+/**
+ * カタログファイル行の不正例外
+ * <p>
+ * カタログファイルの行を解析できない場合にスローされる。取込は該当行をエラーとして記録し、次の行から継続する。
+ */
+public class InvalidCatalogLineException extends RuntimeException {
+
+    private final long lineNo;
+
+    public InvalidCatalogLineException(long lineNo, String message) {
+        super(String.format("カタログファイルの%d行目が不正です: %s", lineNo, message));
+        this.lineNo = lineNo;
+    }
+
+    public long getLineNo() {
+        return lineNo;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.modulith.poc.model.product.facet;
+
+import com.example.modulith.poc.model.product.InvalidProductCursorException;
+import com.example.modulith.poc.model.product.ProductSort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 商品一覧のシークカーソル
+ * <p>
+ * 前のページの最後の商品の並び替えキーと商品IDを保持し、次のページはその商品より後ろに並ぶ商品から返す。
+ * 読み飛ばす件数に比例した処理が不要なため、何ページ目でも先頭ページと同じコストで取得できる。
+ * 文字列表現は並び順を含むURLセーフなBase64とし、異なる並び順のカーソルは受け付けない。
+ *
+ * @param sort  並び順
+ * @param keys  並び替え項目ごとのキー（作成日時はエポックミリ秒、価格は最小通貨単位の100分の1）
+ * @param names 並び替え項目ごとの商品名（商品名以外の項目はnull）
+ * @param msb   商品IDの上位64bit
+ * @param lsb   商品IDの下位64bit
+ */
+record ListingCursor(List<ProductSort> sort, long[] keys, String[] names, long msb, long lsb) {
+
+    private static final int VERSION = 1;
+
+    /**
+     * 文字列表現に変換する
+     */
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(sort.size());
+            for (int i = 0; i < sort.size(); i++) {
+                out.writeByte(sort.get(i).field().ordinal());
+                out.writeBoolean(sort.get(i).descending());
+                if (sort.get(i).field() == ProductSort.Field.NAME) {
+                    out.writeBoolean(names[i] != null);
+                    if (names[i] != null) {
+                        out.writeUTF(names[i]);
+                    }
+                } else {
+                    out.writeLong(keys[i]);
+                }
+            }
+            out.writeLong(msb);
+            out.writeLong(lsb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * 文字列表現から復元する
+     *
+     * @param value 文字列表現
+     * @param sort  検索条件の並び順
+     * @return カーソル
+     * @throws InvalidProductCursorException 解析できない場合、または並び順が異なる場合
+     */
+    static ListingCursor decode(String value, List<ProductSort> sort) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(value)))) {
+            if (in.readUnsignedByte() != VERSION) {
+                throw new InvalidProductCursorException("カーソルの形式が不正です");
+            }
+            int count = in.readUnsignedByte();
+            List<ProductSort> cursorSort = new ArrayList<>(count);
+            long[] keys = new long[count];
+            String[] names = new String[count];
+            ProductSort.Field[] fields = ProductSort.Field.values();
+            for (int i = 0; i < count; i++) {
+                int ordinal = in.readUnsignedByte();
+                if (ordinal >= fields.length) {
+                    throw new InvalidProductCursorException("カーソルの形式が不正です");
+                }
+                cursorSort.add(new ProductSort(fields[ordinal], in.readBoolean()));
+                if (fields[ordinal] == ProductSort.Field.NAME) {
+                    names[i] = in.readBoolean() ? in.readUTF() : null;
+                } else {
+                    keys[i] = in.readLong();
+                }
+            }
+            ListingCursor cursor = new ListingCursor(cursorSort, keys, names, in.readLong(), in.readLong());
+            if (in.read() != -1) {
+                throw new InvalidProductCursorException("カーソルの形式が不正です");
+            }
+            if (!cursorSort.equals(sort)) {
+                throw new InvalidProductCursorException("カーソルと並び順が一致しません");
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidProductCursorException("カーソルの形式が不正です");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.modulith.poc.model.product.facet;
+
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * ファセットインデックスに登録する商品
+ *
+ * @param productId     商品ID
+ * @param productName   商品名（並び替えに使用）
+ * @param brand         ブランド
+ * @param category      カテゴリ
+ * @param productStatus 商品ステータス
+ * @param basePrice     基本価格
+ * @param minSkuPrice   販売中SKUの最安値（SKUが無い場合はnull）
+ * @param createdAt     作成日時
+ */
+public record ProductFacetDocument(
+        UUID productId,
+        String productName,
+        String brand,
+        String category,
+        ProductStatus productStatus,
+        BigDecimal basePrice,
+        BigDecimal minSkuPrice,
+        OffsetDateTime createdAt
+) {
+    /**
+     * 販売価格（販売中SKUの最安値。SKUが無い場合は基本価格）
+     */
+    public BigDecimal price() {
+        return minSkuPrice != null ? minSkuPrice : basePrice;
+    }
+}
@@ -0,0 +1,807 @@
+package com.example.modulith.poc.model.product.facet;
+
+import com.example.modulith.poc.core.collection.CompressedBitmap;
+import com.example.modulith.poc.core.collection.UuidLongHashMap;
+import com.example.modulith.poc.model.product.ProductFacets;
+import com.example.modulith.poc.model.product.ProductListingQuery;
+import com.example.modulith.poc.model.product.ProductSort;
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 商品一覧のファセットインデックス
+ * <p>
+ * カテゴリ・ブランド・商品ステータス・価格帯の値ごとに、該当する商品の文書IDを {@link CompressedBitmap} で保持する。
+ * 絞り込みはビットマップのAND/ORで求め、各ファセットの件数はビットマップの積集合の要素数で同時に算出する。
+ * 価格帯の境界をまたぐ価格条件は、境界の価格帯に含まれる商品のみ価格を個別に比較する。
+ * <p>
+ * 文書IDは商品ごとに固定し、更新時はビットマップを差し替える。削除した文書IDは再利用する。
+ * 検索は読み取りロック、更新は書き込みロックで排他制御する。
+ * <p>
+ * よく使われる並び順（作成日時・価格の単一項目）は、文書IDを並び順に並べた配列（並び替え済みの順列）を
+ * 更新のたびに差分で維持し、先頭（またはカーソルの位置）から該当する文書を順に拾ってページを作る。
+ * それ以外の並び順は該当する文書から上位の件数のみをヒープで選ぶ。同順位は商品IDで並べ、ページ間で順序を安定させる。
+ */
+public class ProductFacetIndex {
+
+    private static final int NO_VALUE = -1;
+    /**
+     * 該当件数が順列の件数のこの割合未満の場合は、順列を走査せずヒープで選ぶ（読み飛ばす文書が多くなるため）
+     */
+    private static final int PERMUTATION_SCAN_RATIO = 32;
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final UuidLongHashMap docIdsByProduct;
+    private final FacetField categories = new FacetField();
+    private final FacetField brands = new FacetField();
+    private final CompressedBitmap[] statusBitmaps = new CompressedBitmap[STATUSES.length];
+    /**
+     * 価格帯の下限（最小通貨単位の100分の1。先頭は0）
+     */
+    private final long[] priceBounds;
+    private final CompressedBitmap[] priceBitmaps;
+    private final SortedPermutation byCreatedAt;
+    private final SortedPermutation byPrice;
+
+    private long[] docMsbs;
+    private long[] docLsbs;
+    private String[] docNames;
+    private long[] docCreatedAt;
+    private long[] docPrices;
+    private int[] docCategories;
+    private int[] docBrands;
+    private int[] docStatuses;
+    private int[] docPriceBuckets;
+    private int nextDocId;
+    private int[] freeDocIds = new int[16];
+    private int freeCount;
+
+    /**
+     * @param priceBounds  価格帯の境界（昇順）。n個の境界で n+1 個の価格帯に分割する
+     * @param expectedSize 想定する商品数
+     */
+    public ProductFacetIndex(List<BigDecimal> priceBounds, int expectedSize) {
+        long[] bounds = priceBounds.stream()
+                .mapToLong(ProductFacetIndex::toUnits)
+                .filter(bound -> bound > 0)
+                .sorted()
+                .distinct()
+                .toArray();
+        this.priceBounds = new long[bounds.length + 1];
+        System.arraycopy(bounds, 0, this.priceBounds, 1, bounds.length);
+        this.priceBitmaps = new CompressedBitmap[this.priceBounds.length];
+        for (int i = 0; i < priceBitmaps.length; i++) {
+            priceBitmaps[i] = new CompressedBitmap();
+        }
+        for (int i = 0; i < statusBitmaps.length; i++) {
+            statusBitmaps[i] = new CompressedBitmap();
+        }
+
+        int capacity = Math.max(expectedSize, 16);
+        docIdsByProduct = new UuidLongHashMap(capacity);
+        docMsbs = new long[capacity];
+        docLsbs = new long[capacity];
+        docNames = new String[capacity];
+        docCreatedAt = new long[capacity];
+        docPrices = new long[capacity];
+        docCategories = new int[capacity];
+        docBrands = new int[capacity];
+        docStatuses = new int[capacity];
+        docPriceBuckets = new int[capacity];
+        byCreatedAt = new SortedPermutation(ProductSort.Field.CREATED_AT, capacity);
+        byPrice = new SortedPermutation(ProductSort.Field.PRICE, capacity);
+    }
+
+    /**
+     * 商品を登録する（登録済みの場合は置き換える）
+     *
+     * @param document 商品
+     */
+    public void index(ProductFacetDocument document) {
+        lock.writeLock().lock();
+        try {
+            long existing = docIdsByProduct.get(document.productId(), NO_VALUE);
+            int docId;
+            if (existing >= 0) {
+                docId = (int) existing;
+                clearFacets(docId);
+                byCreatedAt.remove(docId);
+                byPrice.remove(docId);
+            } else {
+                docId = allocateDocId();
+                docIdsByProduct.put(document.productId(), docId);
+                docMsbs[docId] = document.productId().getMostSignificantBits();
+                docLsbs[docId] = document.productId().getLeastSignificantBits();
+            }
+
+            docNames[docId] = document.productName();
+            docCreatedAt[docId] = document.createdAt() == null ? 0L : document.createdAt().toInstant().toEpochMilli();
+            docCategories[docId] = categories.add(document.category(), docId);
+            docBrands[docId] = brands.add(document.brand(), docId);
+            docStatuses[docId] = document.productStatus() == null ? NO_VALUE : document.productStatus().ordinal();
+            if (document.productStatus() != null) {
+                statusBitmaps[document.productStatus().ordinal()].add(docId);
+            }
+            BigDecimal price = document.price();
+            if (price != null) {
+                docPrices[docId] = toUnits(price);
+                docPriceBuckets[docId] = bucketOf(docPrices[docId]);
+                priceBitmaps[docPriceBuckets[docId]].add(docId);
+            } else {
+                docPrices[docId] = NO_VALUE;
+                docPriceBuckets[docId] = NO_VALUE;
+            }
+            byCreatedAt.add(docId);
+            byPrice.add(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 商品を削除する
+     *
+     * @param productId 商品ID
+     * @return 削除した場合true
+     */
+    public boolean remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            long docId = docIdsByProduct.get(productId, NO_VALUE);
+            if (docId < 0) {
+                return false;
+            }
+            docIdsByProduct.remove(productId);
+            clearFacets((int) docId);
+            byCreatedAt.remove((int) docId);
+            byPrice.remove((int) docId);
+            docNames[(int) docId] = null;
+            if (freeCount == freeDocIds.length) {
+                freeDocIds = Arrays.copyOf(freeDocIds, freeCount * 2);
+            }
+            freeDocIds[freeCount++] = (int) docId;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 一括登録を完了する
+     * <p>
+     * 構築中は並び替え済みの順列に末尾追加のみ行い、完了時にまとめて並び替える（1件ずつ挿入すると件数の2乗に比例するため）。
+     * 完了前の検索はヒープで並び替える。
+     */
+    public void finishBuild() {
+        lock.writeLock().lock();
+        try {
+            byCreatedAt.sort();
+            byPrice.sort();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 販売中の商品を絞り込む
+     *
+     * @param query          検索条件
+     * @param maxFacetValues カテゴリ・ブランドのファセットとして返す値の最大数
+     * @return 絞り込み結果
+     * @throws com.example.modulith.poc.model.product.InvalidProductCursorException カーソルが不正な場合
+     */
+    public FacetHits query(ProductListingQuery query, int maxFacetValues) {
+        ListingCursor cursor = query.cursor() == null ? null : ListingCursor.decode(query.cursor(), query.sort());
+        lock.readLock().lock();
+        try {
+            CompressedBitmap base = statusBitmaps[ProductStatus.ACTIVE.ordinal()];
+            CompressedBitmap categoryFilter = categories.union(query.categories());
+            CompressedBitmap brandFilter = brands.union(query.brands());
+            CompressedBitmap priceFilter = priceRange(query.minPrice(), query.maxPrice());
+
+            // 各ファセットの件数は自身以外の条件で絞り込んだ集合から数える
+            CompressedBitmap withoutCategory = and(and(base, brandFilter), priceFilter);
+            CompressedBitmap withoutBrand = and(and(base, categoryFilter), priceFilter);
+            CompressedBitmap withoutPrice = and(and(base, categoryFilter), brandFilter);
+            CompressedBitmap matched = and(withoutCategory, categoryFilter);
+
+            ProductFacets facets = new ProductFacets(
+                    categories.counts(withoutCategory, maxFacetValues),
+                    brands.counts(withoutBrand, maxFacetValues),
+                    priceCounts(withoutPrice)
+            );
+            return page(matched, query, cursor, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 登録されている商品数（販売中以外を含む）
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ビットマップの合計バイト数
+     */
+    public long bitmapsSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long size = categories.sizeInBytes() + brands.sizeInBytes();
+            for (CompressedBitmap bitmap : statusBitmaps) {
+                size += bitmap.sizeInBytes();
+            }
+            for (CompressedBitmap bitmap : priceBitmaps) {
+                size += bitmap.sizeInBytes();
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private FacetHits page(CompressedBitmap matched, ProductListingQuery query, ListingCursor cursor,
+                           ProductFacets facets) {
+        int totalHits = matched.cardinality();
+        int skip = cursor == null ? query.offset() : 0;
+        // 次のページの有無を判定するため1件多く取得する
+        int limit = query.pageSize() + 1;
+        SortedPermutation permutation = permutationFor(query.sort());
+        int[] ranked;
+        if (permutation != null && (long) totalHits * PERMUTATION_SCAN_RATIO >= permutation.size()) {
+            ranked = permutation.scan(matched, query.sort().get(0).descending(), cursor, skip, limit);
+        } else {
+            ranked = topK(matched, new DocOrder(query.sort()), cursor, skip, limit);
+        }
+
+        int count = Math.min(ranked.length, query.pageSize());
+        List<UUID> productIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            productIds.add(new UUID(docMsbs[ranked[i]], docLsbs[ranked[i]]));
+        }
+        String nextCursor = ranked.length > count ? cursorOf(ranked[count - 1], query.sort()).encode() : null;
+        return new FacetHits(totalHits, productIds, facets, nextCursor);
+    }
+
+    /**
+     * 並び替え済みの順列を使用できる並び順の場合、その順列（一括登録の完了前はnull）
+     */
+    private SortedPermutation permutationFor(List<ProductSort> sort) {
+        if (sort.size() != 1) {
+            return null;
+        }
+        SortedPermutation permutation = switch (sort.get(0).field()) {
+            case CREATED_AT -> byCreatedAt;
+            case PRICE -> byPrice;
+            case NAME -> null;
+        };
+        return permutation != null && permutation.isSorted() ? permutation : null;
+    }
+
+    /**
+     * 該当する文書から、カーソルより後ろに並ぶ上位の文書をヒープで選ぶ
+     */
+    private int[] topK(CompressedBitmap matched, DocOrder order, ListingCursor cursor, int skip, int limit) {
+        int topK = (int) Math.min((long) skip + limit, matched.cardinality());
+        if (topK <= skip) {
+            return new int[0];
+        }
+        // 上位 topK 件のみを保持するヒープ（先頭が最も後ろに並ぶ文書）。並び替えキーの比較で boxing しないよう int 配列で持つ
+        int[] heap = new int[topK];
+        int[] size = new int[1];
+        matched.forEach(docId -> {
+            if (cursor != null && order.compareToCursor(docId, cursor) <= 0) {
+                return;
+            }
+            if (size[0] < topK) {
+                heap[size[0]] = docId;
+                siftUp(heap, size[0]++, order);
+            } else if (order.compare(docId, heap[0]) < 0) {
+                heap[0] = docId;
+                siftDown(heap, topK, order);
+            }
+        });
+
+        // ヒープから後ろの順に取り出して並べる
+        int filled = size[0];
+        int[] ranked = new int[filled];
+        for (int count = filled; count > 0; count--) {
+            ranked[count - 1] = heap[0];
+            heap[0] = heap[count - 1];
+            siftDown(heap, count - 1, order);
+        }
+        return skip >= filled ? new int[0] : Arrays.copyOfRange(ranked, skip, filled);
+    }
+
+    private ListingCursor cursorOf(int docId, List<ProductSort> sort) {
+        long[] keys = new long[sort.size()];
+        String[] names = new String[sort.size()];
+        for (int i = 0; i < sort.size(); i++) {
+            switch (sort.get(i).field()) {
+                case CREATED_AT -> keys[i] = docCreatedAt[docId];
+                case PRICE -> keys[i] = docPrices[docId];
+                case NAME -> names[i] = docNames[docId];
+            }
+        }
+        return new ListingCursor(sort, keys, names, docMsbs[docId], docLsbs[docId]);
+    }
+
+    private static void siftUp(int[] heap, int index, DocOrder order) {
+        int docId = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(docId, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = docId;
+    }
+
+    private static void siftDown(int[] heap, int size, DocOrder order) {
+        if (size == 0) {
+            return;
+        }
+        int docId = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(docId, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = docId;
+    }
+
+    /**
+     * 価格条件に該当する文書のビットマップ（条件が無い場合はnull）
+     */
+    private CompressedBitmap priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        long min = minPrice == null ? 0L : minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue();
+        long max = maxPrice == null ? Long.MAX_VALUE : maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue();
+        CompressedBitmap result = new CompressedBitmap();
+        if (min > max) {
+            return result;
+        }
+        for (int bucket = 0; bucket < priceBounds.length; bucket++) {
+            long lower = priceBounds[bucket];
+            long upper = bucket + 1 < priceBounds.length ? priceBounds[bucket + 1] - 1 : Long.MAX_VALUE;
+            if (upper < min || lower > max) {
+                continue;
+            }
+            if (lower >= min && upper <= max) {
+                result = CompressedBitmap.or(result, priceBitmaps[bucket]);
+            } else {
+                // 条件の境界を含む価格帯は価格を個別に比較する
+                CompressedBitmap partial = result;
+                priceBitmaps[bucket].forEach(docId -> {
+                    if (docPrices[docId] >= min && docPrices[docId] <= max) {
+                        partial.add(docId);
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    private List<ProductFacets.PriceRangeCount> priceCounts(CompressedBitmap filter) {
+        List<ProductFacets.PriceRangeCount> counts = new ArrayList<>(priceBounds.length);
+        for (int bucket = 0; bucket < priceBounds.length; bucket++) {
+            int count = CompressedBitmap.andCardinality(filter, priceBitmaps[bucket]);
+            if (count > 0) {
+                counts.add(new ProductFacets.PriceRangeCount(
+                        toPrice(priceBounds[bucket]),
+                        bucket + 1 < priceBounds.length ? toPrice(priceBounds[bucket + 1]) : null,
+                        count));
+            }
+        }
+        return counts;
+    }
+
+    private static CompressedBitmap and(CompressedBitmap bitmap, CompressedBitmap filter) {
+        return filter == null ? bitmap : CompressedBitmap.and(bitmap, filter);
+    }
+
+    private void clearFacets(int docId) {
+        categories.remove(docCategories[docId], docId);
+        brands.remove(docBrands[docId], docId);
+        if (docStatuses[docId] != NO_VALUE) {
+            statusBitmaps[docStatuses[docId]].remove(docId);
+        }
+        if (docPriceBuckets[docId] != NO_VALUE) {
+            priceBitmaps[docPriceBuckets[docId]].remove(docId);
+        }
+    }
+
+    private int bucketOf(long price) {
+        int index = Arrays.binarySearch(priceBounds, price);
+        return index >= 0 ? index : Math.max(-index - 2, 0);
+    }
+
+    private int allocateDocId() {
+        if (freeCount > 0) {
+            return freeDocIds[--freeCount];
+        }
+        int docId = nextDocId++;
+        if (docId == docMsbs.length) {
+            int capacity = docMsbs.length * 2;
+            docMsbs = Arrays.copyOf(docMsbs, capacity);
+            docLsbs = Arrays.copyOf(docLsbs, capacity);
+            docNames = Arrays.copyOf(docNames, capacity);
+            docCreatedAt = Arrays.copyOf(docCreatedAt, capacity);
+            docPrices = Arrays.copyOf(docPrices, capacity);
+            docCategories = Arrays.copyOf(docCategories, capacity);
+            docBrands = Arrays.copyOf(docBrands, capacity);
+            docStatuses = Arrays.copyOf(docStatuses, capacity);
+            docPriceBuckets = Arrays.copyOf(docPriceBuckets, capacity);
+        }
+        return docId;
+    }
+
+    private static int compareIds(long msbA, long lsbA, long msbB, long lsbB) {
+        int compared = Long.compare(msbA, msbB);
+        return compared != 0 ? compared : Long.compare(lsbA, lsbB);
+    }
+
+    private static int compareNames(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static BigDecimal toPrice(long units) {
+        BigDecimal price = BigDecimal.valueOf(units, 2).stripTrailingZeros();
+        return price.scale() < 0 ? price.setScale(0) : price;
+    }
+
+    /**
+     * 金額を最小通貨単位の100分の1に換算する（価格列の小数部2桁）
+     */
+    private static long toUnits(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * 文書の並び順（同順位は商品IDを最後の項目と同じ向きで比較し、ページ間で順序を安定させる）
+     */
+    private final class DocOrder {
+        private final ProductSort.Field[] fields;
+        private final boolean[] descending;
+
+        DocOrder(List<ProductSort> sort) {
+            fields = new ProductSort.Field[sort.size()];
+            descending = new boolean[sort.size()];
+            for (int i = 0; i < sort.size(); i++) {
+                fields[i] = sort.get(i).field();
+                descending[i] = sort.get(i).descending();
+            }
+        }
+
+        int compare(int a, int b) {
+            for (int i = 0; i < fields.length; i++) {
+                int compared = switch (fields[i]) {
+                    case CREATED_AT -> Long.compare(docCreatedAt[a], docCreatedAt[b]);
+                    case PRICE -> Long.compare(docPrices[a], docPrices[b]);
+                    case NAME -> compareNames(docNames[a], docNames[b]);
+                };
+                if (compared != 0) {
+                    return descending[i] ? -compared : compared;
+                }
+            }
+            int compared = compareIds(docMsbs[a], docLsbs[a], docMsbs[b], docLsbs[b]);
+            return descending[fields.length - 1] ? -compared : compared;
+        }
+
+        /**
+         * 文書とカーソルの位置を比較する（文書がカーソルより後ろに並ぶ場合は正）
+         */
+        int compareToCursor(int docId, ListingCursor cursor) {
+            for (int i = 0; i < fields.length; i++) {
+                int compared = switch (fields[i]) {
+                    case CREATED_AT -> Long.compare(docCreatedAt[docId], cursor.keys()[i]);
+                    case PRICE -> Long.compare(docPrices[docId], cursor.keys()[i]);
+                    case NAME -> compareNames(docNames[docId], cursor.names()[i]);
+                };
+                if (compared != 0) {
+                    return descending[i] ? -compared : compared;
+                }
+            }
+            int compared = compareIds(docMsbs[docId], docLsbs[docId], cursor.msb(), cursor.lsb());
+            return descending[fields.length - 1] ? -compared : compared;
+        }
+    }
+
+    /**
+     * 単一項目の並び替えキーの昇順（同順位は商品IDの昇順）に文書IDを並べた順列
+     * <p>
+     * キーを文書IDと同じ順に並べて持ち、位置の二分探索でキーの配列のみを参照する。
+     * 登録・削除は該当位置への挿入・詰め直し（配列のコピー）で差分を反映する。
+     */
+    private final class SortedPermutation {
+        private final ProductSort.Field field;
+        private long[] keys;
+        private int[] docIds;
+        private int size;
+        private boolean sorted;
+
+        SortedPermutation(ProductSort.Field field, int capacity) {
+            this.field = field;
+            this.keys = new long[capacity];
+            this.docIds = new int[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isSorted() {
+            return sorted;
+        }
+
+        void add(int docId) {
+            if (size == docIds.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            long key = keyOf(docId);
+            int index = sorted ? lowerBound(key, docMsbs[docId], docLsbs[docId]) : size;
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(docIds, index, docIds, index + 1, size - index);
+            keys[index] = key;
+            docIds[index] = docId;
+            size++;
+        }
+
+        /**
+         * 文書を取り除く（文書の並び替えキー・商品IDを書き換える前に呼び出すこと）
+         */
+        void remove(int docId) {
+            int index = sorted ? lowerBound(keyOf(docId), docMsbs[docId], docLsbs[docId]) : 0;
+            while (index < size && docIds[index] != docId) {
+                index++;
+            }
+            if (index == size) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(docIds, index + 1, docIds, index, size - index - 1);
+            size--;
+        }
+
+        /**
+         * キー・商品IDの順に並び替える（安定なボトムアップのマージソート）
+         */
+        void sort() {
+            long[] sourceKeys = keys;
+            int[] sourceDocIds = docIds;
+            long[] targetKeys = new long[keys.length];
+            int[] targetDocIds = new int[docIds.length];
+            for (int width = 1; width < size; width <<= 1) {
+                for (int low = 0; low < size; low += width << 1) {
+                    int middle = Math.min(low + width, size);
+                    int high = Math.min(low + (width << 1), size);
+                    int left = low;
+                    int right = middle;
+                    for (int i = low; i < high; i++) {
+                        if (left < middle && (right >= high || compare(sourceKeys[left], sourceDocIds[left],
+                                sourceKeys[right], sourceDocIds[right]) <= 0)) {
+                            targetKeys[i] = sourceKeys[left];
+                            targetDocIds[i] = sourceDocIds[left++];
+                        } else {
+                            targetKeys[i] = sourceKeys[right];
+                            targetDocIds[i] = sourceDocIds[right++];
+                        }
+                    }
+                }
+                long[] swapKeys = sourceKeys;
+                sourceKeys = targetKeys;
+                targetKeys = swapKeys;
+                int[] swapDocIds = sourceDocIds;
+                sourceDocIds = targetDocIds;
+                targetDocIds = swapDocIds;
+            }
+            keys = sourceKeys;
+            docIds = sourceDocIds;
+            sorted = true;
+        }
+
+        /**
+         * カーソルより後ろから順に、該当する文書を拾う
+         *
+         * @param matched    該当する文書
+         * @param descending 降順の場合true（末尾から走査する）
+         * @param cursor     カーソル（nullの場合は先頭から）
+         * @param skip       読み飛ばす該当文書の件数
+         * @param limit      取得する最大件数
+         * @return 文書ID（並び順どおり）
+         */
+        int[] scan(CompressedBitmap matched, boolean descending, ListingCursor cursor, int skip, int limit) {
+            int[] result = new int[limit];
+            int count = 0;
+            if (descending) {
+                int index = cursor == null ? size - 1 : lowerBound(cursor.keys()[0], cursor.msb(), cursor.lsb()) - 1;
+                for (; index >= 0 && count < limit; index--) {
+                    if (matched.contains(docIds[index])) {
+                        if (skip > 0) {
+                            skip--;
+                        } else {
+                            result[count++] = docIds[index];
+                        }
+                    }
+                }
+            } else {
+                int index = cursor == null ? 0 : upperBound(cursor.keys()[0], cursor.msb(), cursor.lsb());
+                for (; index < size && count < limit; index++) {
+                    if (matched.contains(docIds[index])) {
+                        if (skip > 0) {
+                            skip--;
+                        } else {
+                            result[count++] = docIds[index];
+                        }
+                    }
+                }
+            }
+            return count == limit ? result : Arrays.copyOf(result, count);
+        }
+
+        /**
+         * 指定した位置以上となる最初の要素の位置
+         */
+        private int lowerBound(long key, long msb, long lsb) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compareTo(middle, key, msb, lsb) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 指定した位置より大きい最初の要素の位置
+         */
+        private int upperBound(long key, long msb, long lsb) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compareTo(middle, key, msb, lsb) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int compareTo(int index, long key, long msb, long lsb) {
+            int compared = Long.compare(keys[index], key);
+            if (compared != 0) {
+                return compared;
+            }
+            int docId = docIds[index];
+            return compareIds(docMsbs[docId], docLsbs[docId], msb, lsb);
+        }
+
+        private int compare(long keyA, int docA, long keyB, int docB) {
+            int compared = Long.compare(keyA, keyB);
+            return compared != 0 ? compared : compareIds(docMsbs[docA], docLsbs[docA], docMsbs[docB], docLsbs[docB]);
+        }
+
+        private long keyOf(int docId) {
+            return field == ProductSort.Field.CREATED_AT ? docCreatedAt[docId] : docPrices[docId];
+        }
+    }
+
+    /**
+     * 文字列の値ごとのビットマップ
+     */
+    private static final class FacetField {
+        private final Map<String, Integer> valueIds = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<CompressedBitmap> bitmaps = new ArrayList<>();
+
+        int add(String value, int docId) {
+            if (value == null) {
+                return NO_VALUE;
+            }
+            Integer valueId = valueIds.get(value);
+            if (valueId == null) {
+                valueId = values.size();
+                valueIds.put(value, valueId);
+                values.add(value);
+                bitmaps.add(new CompressedBitmap());
+            }
+            bitmaps.get(valueId).add(docId);
+            return valueId;
+        }
+
+        void remove(int valueId, int docId) {
+            if (valueId != NO_VALUE) {
+                bitmaps.get(valueId).remove(docId);
+            }
+        }
+
+        /**
+         * 指定した値のいずれかに該当する文書（値が指定されていない場合はnull）
+         */
+        CompressedBitmap union(List<String> selected) {
+            if (selected.isEmpty()) {
+                return null;
+            }
+            CompressedBitmap result = new CompressedBitmap();
+            for (String value : selected) {
+                Integer valueId = valueIds.get(value);
+                if (valueId != null) {
+                    result = CompressedBitmap.or(result, bitmaps.get(valueId));
+                }
+            }
+            return result;
+        }
+
+        List<ProductFacets.FacetCount> counts(CompressedBitmap filter, int limit) {
+            List<ProductFacets.FacetCount> counts = new ArrayList<>();
+            for (int valueId = 0; valueId < values.size(); valueId++) {
+                int count = CompressedBitmap.andCardinality(filter, bitmaps.get(valueId));
+                if (count > 0) {
+                    counts.add(new ProductFacets.FacetCount(values.get(valueId), count));
+                }
+            }
+            counts.sort(Comparator.comparingInt(ProductFacets.FacetCount::count).reversed()
+                    .thenComparing(ProductFacets.FacetCount::value));
+            return counts.size() > limit ? new ArrayList<>(counts.subList(0, limit)) : counts;
+        }
+
+        long sizeInBytes() {
+            long size = 0;
+            for (CompressedBitmap bitmap : bitmaps) {
+                size += bitmap.sizeInBytes();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * 絞り込み結果
+     *
+     * @param totalHits  該当件数
+     * @param productIds 指定ページの商品ID（並び順どおり）
+     * @param facets     ファセット
+     * @param nextCursor 次のページを取得するカーソル（次のページが無い場合はnull）
+     */
+    public record FacetHits(long totalHits, List<UUID> productIds, ProductFacets facets, String nextCursor) {
+    }
+}
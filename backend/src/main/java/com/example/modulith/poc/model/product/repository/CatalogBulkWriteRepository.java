@@ -0,0 +1,179 @@
+package com.example.modulith.poc.model.product.repository;
+
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+import com.example.modulith.poc.model.product.entity.SkuStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * カタログ一括書き込みリポジトリ
+ * <p>
+ * カタログ取込など大量の商品・SKUを登録する処理で、エンティティを生成せずJDBCで一括して書き込む。
+ * IDは呼び出し側で採番し、複数行のVALUESを持つINSERTで登録する。JPAと同一のトランザクション（コネクション）で実行される。
+ */
+@Repository
+public class CatalogBulkWriteRepository {
+
+    /**
+     * 1文で登録する最大行数（バインド変数の数を抑えるため）
+     */
+    private static final int ROWS_PER_STATEMENT = 200;
+
+    private static final String INSERT_PRODUCTS_SQL =
+            "INSERT INTO products (product_id, product_code, product_name, description, brand, category, " +
+                    "product_status, base_price, currency, created_at, updated_at) VALUES ";
+    private static final String PRODUCT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SKUS_SQL =
+            "INSERT INTO skus (sku_id, product_id, sku_code, color, size, material, sku_status, retail_price, " +
+                    "created_at, updated_at) VALUES ";
+    private static final String SKU_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CatalogBulkWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 登録済みの商品コードの商品IDを取得する（論理削除された商品を含む）
+     *
+     * @param productCodes 商品コード
+     * @return 商品コードをキーとした商品ID
+     */
+    public Map<String, UUID> findProductIdsByCode(Collection<String> productCodes) {
+        Map<String, UUID> productIds = new HashMap<>();
+        if (productCodes.isEmpty()) {
+            return productIds;
+        }
+        String sql = "SELECT product_code, product_id FROM products WHERE product_code IN (" +
+                placeholders(productCodes.size()) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            productIds.put(rs.getString("product_code"), rs.getObject("product_id", UUID.class));
+        }, productCodes.toArray());
+        return productIds;
+    }
+
+    /**
+     * 登録済みのSKUコードを取得する（論理削除されたSKUを含む）
+     *
+     * @param skuCodes SKUコード
+     * @return 登録済みのSKUコード
+     */
+    public Set<String> findExistingSkuCodes(Collection<String> skuCodes) {
+        Set<String> existing = new HashSet<>();
+        if (skuCodes.isEmpty()) {
+            return existing;
+        }
+        String sql = "SELECT sku_code FROM skus WHERE sku_code IN (" + placeholders(skuCodes.size()) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            existing.add(rs.getString("sku_code"));
+        }, skuCodes.toArray());
+        return existing;
+    }
+
+    /**
+     * 商品を一括登録する
+     *
+     * @param products 商品
+     */
+    public void insertProducts(List<ProductRow> products) {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int from = 0; from < products.size(); from += ROWS_PER_STATEMENT) {
+            List<ProductRow> rows = products.subList(from, Math.min(from + ROWS_PER_STATEMENT, products.size()));
+            List<Object> args = new ArrayList<>(rows.size() * 11);
+            for (ProductRow row : rows) {
+                args.add(row.productId());
+                args.add(row.productCode());
+                args.add(row.productName());
+                args.add(row.description());
+                args.add(row.brand());
+                args.add(row.category());
+                args.add(row.productStatus().name());
+                args.add(row.basePrice());
+                args.add(row.currency());
+                args.add(now);
+                args.add(now);
+            }
+            jdbcTemplate.update(INSERT_PRODUCTS_SQL + rows(PRODUCT_ROW, rows.size()), args.toArray());
+        }
+    }
+
+    /**
+     * SKUを一括登録する
+     *
+     * @param skus SKU
+     */
+    public void insertSkus(List<SkuRow> skus) {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int from = 0; from < skus.size(); from += ROWS_PER_STATEMENT) {
+            List<SkuRow> rows = skus.subList(from, Math.min(from + ROWS_PER_STATEMENT, skus.size()));
+            List<Object> args = new ArrayList<>(rows.size() * 10);
+            for (SkuRow row : rows) {
+                args.add(row.skuId());
+                args.add(row.productId());
+                args.add(row.skuCode());
+                args.add(row.color());
+                args.add(row.size());
+                args.add(row.material());
+                args.add(SkuStatus.ACTIVE.name());
+                args.add(row.retailPrice());
+                args.add(now);
+                args.add(now);
+            }
+            jdbcTemplate.update(INSERT_SKUS_SQL + rows(SKU_ROW, rows.size()), args.toArray());
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static String rows(String row, int count) {
+        return String.join(", ", Collections.nCopies(count, row));
+    }
+
+    /**
+     * 登録する商品の行
+     */
+    public record ProductRow(
+            UUID productId,
+            String productCode,
+            String productName,
+            String description,
+            String brand,
+            String category,
+            ProductStatus productStatus,
+            BigDecimal basePrice,
+            String currency
+    ) {
+    }
+
+    /**
+     * 登録するSKUの行
+     */
+    public record SkuRow(
+            UUID skuId,
+            UUID productId,
+            String skuCode,
+            String color,
+            String size,
+            String material,
+            BigDecimal retailPrice
+    ) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.modulith.poc.model.product.repository;
+
+import com.example.modulith.poc.model.product.detail.ProductDetailRow;
+import com.example.modulith.poc.model.product.entity.ProductEntity;
+import com.example.modulith.poc.model.product.facet.ProductFacetDocument;
+import com.example.modulith.poc.model.product.search.ProductDocument;
+import com.example.modulith.poc.model.product.snapshot.CatalogSnapshotProduct;
+import com.example.modulith.poc.model.product.stats.CatalogStatisticsRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 商品リポジトリ
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<ProductEntity, UUID> {
+
+    /**
+     * 販売中SKUの最安値（SKUが無い場合はnull）
+     */
+    String MIN_SKU_PRICE = "(SELECT MIN(s.retailPrice) FROM SkuEntity s WHERE s.productId = p.productId " +
+            "AND s.skuStatus = com.example.modulith.poc.model.product.entity.SkuStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL)";
+
+    /**
+     * ファセットインデックスに登録する項目（論理削除された商品を除く。価格は販売中SKUの最安値を含む）
+     */
+    String FACET_DOCUMENT_QUERY = "SELECT new com.example.modulith.poc.model.product.facet.ProductFacetDocument(" +
+            "p.productId, p.productName, p.brand, p.category, p.productStatus, p.basePrice, " +
+            MIN_SKU_PRICE + ", p.createdAt) FROM ProductEntity p WHERE p.deletedAt IS NULL";
+
+    /**
+     * 集計に使用する項目（論理削除された商品を除く。販売中SKUごとに1行、SKUが無い商品は価格がnullの1行）
+     */
+    String STATISTICS_ROW_QUERY = "SELECT new com.example.modulith.poc.model.product.stats.CatalogStatisticsRow(" +
+            "p.productId, p.category, p.brand, p.productStatus, s.retailPrice) FROM ProductEntity p " +
+            "LEFT JOIN SkuEntity s ON s.productId = p.productId " +
+            "AND s.skuStatus = com.example.modulith.poc.model.product.entity.SkuStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL WHERE p.deletedAt IS NULL";
+
+    /**
+     * 検索インデックスに登録する項目（販売中かつ論理削除されていない商品）
+     */
+    String SEARCH_DOCUMENT_QUERY = "SELECT new com.example.modulith.poc.model.product.search.ProductDocument(" +
+            "p.productId, p.productName, p.description, p.brand, p.category) FROM ProductEntity p " +
+            "WHERE p.productStatus = com.example.modulith.poc.model.product.entity.ProductStatus.ACTIVE " +
+            "AND p.deletedAt IS NULL";
+
+    /**
+     * 検索対象の商品（販売中かつ論理削除されていない）をストリームで取得
+     * <p>
+     * 検索インデックスの再構築に使用する。エンティティを生成せず、索引に必要な項目のみを読み込む。
+     * カーソルで順方向に読み進めるため、呼び出し側はトランザクション内で使用し、必ずクローズすること。
+     *
+     * @return 商品のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SEARCH_DOCUMENT_QUERY)
+    Stream<ProductDocument> streamSearchDocuments();
+
+    /**
+     * 検索対象の商品を一括取得
+     *
+     * @param productIds 商品IDリスト
+     * @return 商品リスト。存在しない商品・販売中でない商品・論理削除された商品は含まない
+     */
+    @Query(SEARCH_DOCUMENT_QUERY + " AND p.productId IN :productIds")
+    List<ProductDocument> findSearchDocuments(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * 検索対象の商品数を取得
+     *
+     * @return 商品数
+     */
+    @Query("SELECT COUNT(p) FROM ProductEntity p " +
+            "WHERE p.productStatus = com.example.modulith.poc.model.product.entity.ProductStatus.ACTIVE " +
+            "AND p.deletedAt IS NULL")
+    long countSearchable();
+
+    /**
+     * ファセットインデックスに登録する商品をストリームで取得
+     * <p>
+     * カーソルで順方向に読み進めるため、呼び出し側はトランザクション内で使用し、必ずクローズすること。
+     *
+     * @return 商品のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(FACET_DOCUMENT_QUERY)
+    Stream<ProductFacetDocument> streamFacetDocuments();
+
+    /**
+     * ファセットインデックスに登録する商品を一括取得
+     *
+     * @param productIds 商品IDリスト
+     * @return 商品リスト。存在しない商品・論理削除された商品は含まない
+     */
+    @Query(FACET_DOCUMENT_QUERY + " AND p.productId IN :productIds")
+    List<ProductFacetDocument> findFacetDocuments(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * 集計に使用する商品とSKUの価格を商品ID順のストリームで取得
+     * <p>
+     * 同じ商品の行は連続する。カーソルで順方向に読み進めるため、呼び出し側はトランザクション内で使用し、必ずクローズすること。
+     *
+     * @return 商品とSKUの価格のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(STATISTICS_ROW_QUERY + " ORDER BY p.productId")
+    Stream<CatalogStatisticsRow> streamStatisticsRows();
+
+    /**
+     * 集計に使用する商品とSKUの価格を一括取得
+     *
+     * @param productIds 商品IDリスト
+     * @return 商品とSKUの価格。存在しない商品・論理削除された商品は含まない
+     */
+    @Query(STATISTICS_ROW_QUERY + " AND p.productId IN :productIds")
+    List<CatalogStatisticsRow> findStatisticsRows(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * カタログスナップショットに保存する商品（論理削除された商品を除く）をストリームで取得
+     * <p>
+     * カーソルで順方向に読み進めるため、呼び出し側はトランザクション内で使用し、必ずクローズすること。
+     *
+     * @return 商品のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.example.modulith.poc.model.product.snapshot.CatalogSnapshotProduct(" +
+            "p.productId, p.productName, p.description, p.brand, p.category, p.productStatus, p.basePrice, " +
+            MIN_SKU_PRICE + ", p.createdAt) FROM ProductEntity p WHERE p.deletedAt IS NULL")
+    Stream<CatalogSnapshotProduct> streamSnapshotProducts();
+
+    /**
+     * 指定日時以降に更新された商品のIDを取得（論理削除された商品を含む。idx_products_updated_at を使用する）
+     *
+     * @param since 日時
+     * @return 商品IDリスト
+     */
+    @Query("SELECT p.productId FROM ProductEntity p WHERE p.updatedAt >= :since")
+    List<UUID> findIdsUpdatedSince(@Param("since") OffsetDateTime since);
+
+    /**
+     * 商品詳細に表示する項目を取得（論理削除された商品を除く）
+     *
+     * @param productId 商品ID
+     * @return 商品詳細の項目
+     */
+    @Query("SELECT new com.example.modulith.poc.model.product.detail.ProductDetailRow(" +
+            "p.productId, p.productCode, p.productName, p.description, p.brand, p.category, p.basePrice, " +
+            "p.currency, p.productStatus, p.createdAt, p.updatedAt) FROM ProductEntity p " +
+            "WHERE p.productId = :productId AND p.deletedAt IS NULL")
+    Optional<ProductDetailRow> findDetailById(@Param("productId") UUID productId);
+}
@@ -0,0 +1,112 @@
+package com.example.modulith.poc.model.product.repository;
+
+import com.example.modulith.poc.model.product.SkuInfo;
+import com.example.modulith.poc.model.product.detail.SkuDetailRow;
+import com.example.modulith.poc.model.product.entity.SkuEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * SKUリポジトリ
+ */
+@Repository
+public interface SkuRepository extends JpaRepository<SkuEntity, UUID> {
+
+    /**
+     * SKU情報（商品と結合し、購入可否を判定する）
+     */
+    String SKU_INFO_QUERY = "SELECT new com.example.modulith.poc.model.product.SkuInfo(" +
+            "s.skuId, s.productId, s.skuCode, p.productName, p.category, s.color, s.size, s.retailPrice, p.currency, " +
+            "CASE WHEN s.skuStatus = com.example.modulith.poc.model.product.entity.SkuStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL " +
+            "AND p.productStatus = com.example.modulith.poc.model.product.entity.ProductStatus.ACTIVE " +
+            "AND p.deletedAt IS NULL THEN true ELSE false END) " +
+            "FROM SkuEntity s JOIN ProductEntity p ON p.productId = s.productId";
+
+    /**
+     * 商品ごとの販売中SKUの最安値を取得
+     * <p>
+     * 一覧の同じページで繰り返し参照されるため、クエリキャッシュに格納する（SKUの変更で無効化される）。
+     *
+     * @param productIds 商品IDリスト
+     * @return 商品ごとの最安値。販売中のSKUが無い商品は含まない
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
+    @Query("SELECT s.productId AS productId, MIN(s.retailPrice) AS minPrice FROM SkuEntity s " +
+            "WHERE s.productId IN :productIds " +
+            "AND s.skuStatus = com.example.modulith.poc.model.product.entity.SkuStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL GROUP BY s.productId")
+    List<ProductMinPrice> findMinPrices(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * SKU情報を商品と結合して一括取得
+     * <p>
+     * エンティティを生成せず、価格計算に必要な項目のみを1回のクエリで読み込む。
+     *
+     * @param skuIds SKU IDリスト
+     * @return SKU情報リスト。存在しないSKUは含まない
+     */
+    @Query(SKU_INFO_QUERY + " WHERE s.skuId IN :skuIds")
+    List<SkuInfo> findSkuInfos(@Param("skuIds") Collection<UUID> skuIds);
+
+    /**
+     * 全てのSKU情報をストリームで取得（カタログスナップショットに使用する）
+     * <p>
+     * カーソルで順方向に読み進めるため、呼び出し側はトランザクション内で使用し、必ずクローズすること。
+     *
+     * @return SKU情報のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SKU_INFO_QUERY)
+    Stream<SkuInfo> streamSkuInfos();
+
+    /**
+     * 指定日時以降に更新されたSKUの親商品IDを取得（論理削除されたSKUを含む。idx_skus_updated_at を使用する）
+     *
+     * @param since 日時
+     * @return 商品IDリスト
+     */
+    @Query("SELECT DISTINCT s.productId FROM SkuEntity s WHERE s.updatedAt >= :since")
+    List<UUID> findProductIdsUpdatedSince(@Param("since") OffsetDateTime since);
+
+    /**
+     * 商品の販売中SKUを商品詳細に表示する項目のみ取得（idx_skus_product_id を使用する）
+     *
+     * @param productId 商品ID
+     * @return SKUリスト（SKUコード順）
+     */
+    @Query("SELECT new com.example.modulith.poc.model.product.detail.SkuDetailRow(" +
+            "s.skuId, s.skuCode, s.color, s.size, s.material, s.retailPrice, s.updatedAt) FROM SkuEntity s " +
+            "WHERE s.productId = :productId " +
+            "AND s.skuStatus = com.example.modulith.poc.model.product.entity.SkuStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL ORDER BY s.skuCode")
+    List<SkuDetailRow> findDetailsByProductId(@Param("productId") UUID productId);
+
+    /**
+     * 商品ごとの最安値のプロジェクション
+     */
+    interface ProductMinPrice {
+        UUID getProductId();
+
+        BigDecimal getMinPrice();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.modulith.poc.model.product.search;
+
+import java.util.Arrays;
+
+/**
+ * 圧縮ポスティングリスト
+ * <p>
+ * 1つの語を含む文書ID（昇順）と出現回数を、文書IDの差分と出現回数の可変長整数（VarInt）で byte 配列に格納する。
+ * 文書IDは追加順に払い出されるため、追加は常に末尾への追記となる。
+ * 一定件数ごとにスキップ位置（文書IDとバイト位置）を保持し、AND検索での読み飛ばしを高速化する。
+ * <p>
+ * スレッドセーフではない。{@link ProductSearchIndex} のロック内で使用する。
+ */
+final class PostingList {
+
+    /**
+     * スキップ位置を記録する間隔（件数）
+     */
+    static final int SKIP_INTERVAL = 64;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int docCount;
+    private int lastDocId = -1;
+
+    private int[] skipDocIds = new int[0];
+    private int[] skipOffsets = new int[0];
+    private int skipCount;
+
+    /**
+     * 文書を追加する
+     *
+     * @param docId 文書ID（直前に追加した文書IDより大きいこと）
+     * @param freq  出現回数
+     */
+    void add(int docId, int freq) {
+        if (docId <= lastDocId) {
+            throw new IllegalArgumentException("docId must be ascending: " + docId + " <= " + lastDocId);
+        }
+        if (docCount > 0 && docCount % SKIP_INTERVAL == 0) {
+            // スキップ位置には「直前の文書ID」と「次の要素のバイト位置」を記録する
+            if (skipCount == skipDocIds.length) {
+                int capacity = Math.max(4, skipCount * 2);
+                skipDocIds = Arrays.copyOf(skipDocIds, capacity);
+                skipOffsets = Arrays.copyOf(skipOffsets, capacity);
+            }
+            skipDocIds[skipCount] = lastDocId;
+            skipOffsets[skipCount] = length;
+            skipCount++;
+        }
+        writeVarInt(docId - Math.max(lastDocId, 0));
+        writeVarInt(freq);
+        lastDocId = docId;
+        docCount++;
+    }
+
+    /**
+     * 格納している文書数（削除済み文書を含む）
+     */
+    int docCount() {
+        return docCount;
+    }
+
+    /**
+     * 使用しているバイト数
+     */
+    int sizeInBytes() {
+        return length + skipCount * 8;
+    }
+
+    /**
+     * カーソルを生成する
+     */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * ポスティングリストのカーソル
+     * <p>
+     * {@link #next()} または {@link #advance(int)} で文書を進め、{@link #docId()} と {@link #freq()} で現在の文書を参照する。
+     */
+    final class Cursor {
+        private int offset;
+        private int read;
+        private int docId = -1;
+        private int freq;
+
+        /**
+         * 次の文書へ進む
+         *
+         * @return 次の文書がある場合true
+         */
+        boolean next() {
+            if (read >= docCount) {
+                docId = Integer.MAX_VALUE;
+                return false;
+            }
+            docId = (docId < 0 ? 0 : docId) + readVarInt();
+            freq = readVarInt();
+            read++;
+            return true;
+        }
+
+        /**
+         * 指定した文書ID以上の最初の文書へ進む
+         *
+         * @param target 文書ID
+         * @return 該当する文書がある場合true
+         */
+        boolean advance(int target) {
+            if (docId >= target) {
+                return docId != Integer.MAX_VALUE;
+            }
+            // スキップ位置を使って、target 未満のブロックを読み飛ばす
+            int skip = findSkip(target);
+            if (skip >= 0 && skipDocIds[skip] > docId) {
+                docId = skipDocIds[skip];
+                offset = skipOffsets[skip];
+                read = (skip + 1) * SKIP_INTERVAL;
+            }
+            while (next()) {
+                if (docId >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int docId() {
+            return docId;
+        }
+
+        int freq() {
+            return freq;
+        }
+
+        /**
+         * target 未満の文書IDを持つ最後のスキップ位置を二分探索する
+         */
+        private int findSkip(int target) {
+            int low = 0;
+            int high = skipCount - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (skipDocIds[mid] < target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.modulith.poc.model.product.search;
+
+import java.util.UUID;
+
+/**
+ * 検索インデックスに登録する商品
+ *
+ * @param productId   商品ID
+ * @param productName 商品名
+ * @param description 商品説明
+ * @param brand       ブランド
+ * @param category    カテゴリ
+ */
+public record ProductDocument(
+        UUID productId,
+        String productName,
+        String description,
+        String brand,
+        String category
+) {
+}
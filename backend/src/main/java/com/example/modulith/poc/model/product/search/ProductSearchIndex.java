@@ -0,0 +1,346 @@
+package com.example.modulith.poc.model.product.search;
+
+import com.example.modulith.poc.core.collection.UuidLongHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 商品検索用の転置インデックス
+ * <p>
+ * 商品名・ブランド・カテゴリ・説明を {@link ProductTokenizer} で分割し、語ごとの圧縮ポスティングリストに登録する。
+ * 検索は全ての語を含む商品（AND）をBM25でスコアリングし、上位のみをヒープで保持する。
+ * <p>
+ * 商品の更新は旧文書を削除済みにした上で新しい文書IDで追加する（ポスティングリストは追記のみ）。
+ * 削除済み文書の割合が増えた場合は、インデックスを再構築して置き換える。
+ * <p>
+ * 検索は読み取りロック、更新は書き込みロックで排他制御する。
+ */
+public class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    /**
+     * フィールドごとの重み（出現回数に乗じる）
+     */
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int NO_CATEGORY = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final UuidLongHashMap docIdsByProduct;
+
+    private long[] docMsbs;
+    private long[] docLsbs;
+    private int[] docLengths;
+    private int[] docCategories;
+    private final BitSet liveDocs = new BitSet();
+    private int nextDocId;
+    private int liveCount;
+    private long totalLength;
+
+    public ProductSearchIndex() {
+        this(1024);
+    }
+
+    public ProductSearchIndex(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        docMsbs = new long[capacity];
+        docLsbs = new long[capacity];
+        docLengths = new int[capacity];
+        docCategories = new int[capacity];
+        docIdsByProduct = new UuidLongHashMap(capacity);
+    }
+
+    /**
+     * 商品を登録する（登録済みの場合は置き換える）
+     *
+     * @param document 商品
+     */
+    public void index(ProductDocument document) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        addTokens(frequencies, document.productName(), NAME_WEIGHT);
+        addTokens(frequencies, document.brand(), BRAND_WEIGHT);
+        addTokens(frequencies, document.category(), CATEGORY_WEIGHT);
+        addTokens(frequencies, document.description(), DESCRIPTION_WEIGHT);
+        int length = 0;
+        for (int[] frequency : frequencies.values()) {
+            length += frequency[0];
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.productId());
+
+            int docId = nextDocId++;
+            ensureCapacity(docId + 1);
+            docMsbs[docId] = document.productId().getMostSignificantBits();
+            docLsbs[docId] = document.productId().getLeastSignificantBits();
+            docLengths[docId] = length;
+            docCategories[docId] = document.category() == null ? NO_CATEGORY
+                    : categoryIds.computeIfAbsent(document.category(), key -> categoryIds.size());
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                Integer termId = termIds.get(entry.getKey());
+                if (termId == null) {
+                    termId = postings.size();
+                    termIds.put(entry.getKey(), termId);
+                    postings.add(new PostingList());
+                }
+                postings.get(termId).add(docId, entry.getValue()[0]);
+            }
+            liveDocs.set(docId);
+            docIdsByProduct.put(document.productId(), docId);
+            liveCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 商品を削除する
+     *
+     * @param productId 商品ID
+     * @return 削除した場合true
+     */
+    public boolean remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 商品を検索する
+     *
+     * @param query    検索キーワード。空の場合はカテゴリのみで絞り込み、登録順に返す
+     * @param category カテゴリ（完全一致）。nullの場合は絞り込まない
+     * @param offset   先頭からの読み飛ばし件数
+     * @param limit    取得件数
+     * @return 検索結果
+     */
+    public SearchHits search(String query, String category, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(ProductTokenizer.tokenize(query)));
+
+        lock.readLock().lock();
+        try {
+            int categoryId = NO_CATEGORY;
+            if (category != null) {
+                Integer id = categoryIds.get(category);
+                if (id == null) {
+                    return SearchHits.EMPTY;
+                }
+                categoryId = id;
+            }
+            if (terms.isEmpty()) {
+                return browse(categoryId, offset, limit);
+            }
+
+            PostingList.Cursor[] cursors = new PostingList.Cursor[terms.size()];
+            float[] idfs = new float[terms.size()];
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    // 全ての語を含む商品のみを返すため、未知の語がある場合は該当なし
+                    return SearchHits.EMPTY;
+                }
+                lists.add(postings.get(termId));
+            }
+            // 文書数の少ない語から走査し、他の語はスキップで読み飛ばす
+            lists.sort((a, b) -> Integer.compare(a.docCount(), b.docCount()));
+            for (int i = 0; i < lists.size(); i++) {
+                cursors[i] = lists.get(i).cursor();
+                idfs[i] = idf(lists.get(i).docCount());
+            }
+            return intersect(cursors, idfs, categoryId, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 登録されている商品数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 削除済み文書の割合（再構築の判断に使用する）
+     */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return nextDocId == 0 ? 0.0 : (double) (nextDocId - liveCount) / nextDocId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ポスティングリストの合計バイト数
+     */
+    public long postingsSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long size = 0;
+            for (PostingList postingList : postings) {
+                size += postingList.sizeInBytes();
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchHits intersect(PostingList.Cursor[] cursors, float[] idfs, int categoryId, int offset, int limit) {
+        int topK = offset + limit;
+        PriorityQueue<ScoredDoc> heap = new PriorityQueue<>(Math.max(topK, 1));
+        float averageLength = liveCount == 0 ? 1f : (float) totalLength / liveCount;
+        long totalHits = 0;
+
+        PostingList.Cursor lead = cursors[0];
+        int candidate = 0;
+        outer:
+        while (lead.advance(candidate)) {
+            candidate = lead.docId();
+            for (int i = 1; i < cursors.length; i++) {
+                if (!cursors[i].advance(candidate)) {
+                    break outer;
+                }
+                if (cursors[i].docId() != candidate) {
+                    candidate = cursors[i].docId();
+                    continue outer;
+                }
+            }
+
+            if (liveDocs.get(candidate) && (categoryId == NO_CATEGORY || docCategories[candidate] == categoryId)) {
+                totalHits++;
+                float lengthNorm = K1 * (1 - B + B * docLengths[candidate] / averageLength);
+                float score = 0f;
+                for (int i = 0; i < cursors.length; i++) {
+                    int freq = cursors[i].freq();
+                    score += idfs[i] * (freq * (K1 + 1)) / (freq + lengthNorm);
+                }
+                offer(heap, topK, new ScoredDoc(candidate, score));
+            }
+            candidate++;
+        }
+        return toHits(heap, offset, totalHits);
+    }
+
+    private SearchHits browse(int categoryId, int offset, int limit) {
+        List<UUID> productIds = new ArrayList<>(Math.min(limit, 1024));
+        long totalHits = 0;
+        for (int docId = liveDocs.nextSetBit(0); docId >= 0; docId = liveDocs.nextSetBit(docId + 1)) {
+            if (categoryId != NO_CATEGORY && docCategories[docId] != categoryId) {
+                continue;
+            }
+            if (totalHits >= offset && productIds.size() < limit) {
+                productIds.add(new UUID(docMsbs[docId], docLsbs[docId]));
+            }
+            totalHits++;
+        }
+        return new SearchHits(totalHits, productIds);
+    }
+
+    private static void offer(PriorityQueue<ScoredDoc> heap, int topK, ScoredDoc doc) {
+        if (topK <= 0) {
+            return;
+        }
+        if (heap.size() < topK) {
+            heap.add(doc);
+        } else if (doc.compareTo(heap.peek()) > 0) {
+            heap.poll();
+            heap.add(doc);
+        }
+    }
+
+    private SearchHits toHits(PriorityQueue<ScoredDoc> heap, int offset, long totalHits) {
+        ScoredDoc[] ranked = heap.toArray(new ScoredDoc[0]);
+        Arrays.sort(ranked, (a, b) -> b.compareTo(a));
+        List<UUID> productIds = new ArrayList<>(Math.max(ranked.length - offset, 0));
+        for (int i = offset; i < ranked.length; i++) {
+            productIds.add(new UUID(docMsbs[ranked[i].docId()], docLsbs[ranked[i].docId()]));
+        }
+        return new SearchHits(totalHits, productIds);
+    }
+
+    private float idf(int docFrequency) {
+        int documents = Math.max(liveCount, 1);
+        return (float) Math.log(1 + (documents - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+
+    private boolean removeInternal(UUID productId) {
+        long docId = docIdsByProduct.get(productId, -1L);
+        if (docId < 0) {
+            return false;
+        }
+        docIdsByProduct.remove(productId);
+        liveDocs.clear((int) docId);
+        liveCount--;
+        totalLength -= docLengths[(int) docId];
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= docMsbs.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, docMsbs.length * 2);
+        docMsbs = Arrays.copyOf(docMsbs, newCapacity);
+        docLsbs = Arrays.copyOf(docLsbs, newCapacity);
+        docLengths = Arrays.copyOf(docLengths, newCapacity);
+        docCategories = Arrays.copyOf(docCategories, newCapacity);
+    }
+
+    private static void addTokens(Map<String, int[]> frequencies, String text, int weight) {
+        for (String token : ProductTokenizer.tokenizeForIndex(text)) {
+            frequencies.computeIfAbsent(token, key -> new int[1])[0] += weight;
+        }
+    }
+
+    /**
+     * スコア付きの文書（スコアの昇順、同点の場合は登録の新しい順に小さい）
+     */
+    private record ScoredDoc(int docId, float score) implements Comparable<ScoredDoc> {
+        @Override
+        public int compareTo(ScoredDoc other) {
+            int compared = Float.compare(score, other.score);
+            return compared != 0 ? compared : Integer.compare(other.docId, docId);
+        }
+    }
+
+    /**
+     * 検索結果
+     *
+     * @param totalHits  該当件数
+     * @param productIds 指定範囲の商品ID（スコアの高い順）
+     */
+    public record SearchHits(long totalHits, List<UUID> productIds) {
+        public static final SearchHits EMPTY = new SearchHits(0, List.of());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.modulith.poc.model.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 商品検索用の字句解析
+ * <p>
+ * NFKC正規化（全角英数字の半角化など）と小文字化を行った上で、文字種ごとに分割する。
+ * <ul>
+ *     <li>英数字: 連続する英数字を1語とする</li>
+ *     <li>日本語（漢字・ひらがな・カタカナ）: 2文字ずつずらした n-gram（bi-gram）とする。1文字のみの場合はその文字を1語とする</li>
+ *     <li>その他の記号・空白: 区切りとして扱う</li>
+ * </ul>
+ * 形態素解析辞書を持たずに日本語の部分一致検索を実現する。
+ * 索引側では日本語の各文字（uni-gram）も語とし、「靴」のような1文字の検索語が長い語の一部にも一致するようにする。
+ */
+public final class ProductTokenizer {
+
+    private static final int NGRAM_SIZE = 2;
+
+    private ProductTokenizer() {
+    }
+
+    /**
+     * 検索キーワードを語に分割する
+     *
+     * @param text 文字列
+     * @return 語のリスト
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * 索引に登録する文字列を語に分割する（出現回数を数えるため、重複した語もそのまま返す）
+     * <p>
+     * 検索キーワードの分割結果に加え、2文字以上の日本語の各文字も語として返す。
+     *
+     * @param text 文字列
+     * @return 語のリスト
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjk = new StringBuilder();
+        int i = 0;
+        while (i < normalized.length()) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjk.appendCodePoint(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjk, unigrams, tokens);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjk, unigrams, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjk, unigrams, tokens);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (!word.isEmpty()) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(StringBuilder cjk, boolean unigrams, List<String> tokens) {
+        if (cjk.isEmpty()) {
+            return;
+        }
+        int[] codePoints = cjk.codePoints().toArray();
+        if (codePoints.length < NGRAM_SIZE) {
+            tokens.add(cjk.toString());
+        } else {
+            for (int start = 0; start + NGRAM_SIZE <= codePoints.length; start++) {
+                tokens.add(new String(codePoints, start, NGRAM_SIZE));
+            }
+            if (unigrams) {
+                for (int codePoint : codePoints) {
+                    tokens.add(Character.toString(codePoint));
+                }
+            }
+        }
+        cjk.setLength(0);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        if (codePoint == 'ー' || codePoint == '々') {
+            // 長音記号・踊り字は前後の文字と同じ語として扱う
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.catalog.CatalogFileReader;
+import com.example.modulith.poc.model.product.catalog.CatalogImportResult;
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+import com.example.modulith.poc.model.product.repository.CatalogBulkWriteRepository;
+import com.example.modulith.poc.model.product.search.ProductDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * カタログ取込のバッチ書き込み
+ * <p>
+ * 1バッチ分のカタログ行を1トランザクションで登録する。登録済みの商品コード・SKUコードはバッチ単位でまとめて照会し、
+ * 新しい商品とSKUはIDを採番して複数行INSERTで登録する。エンティティを生成しないため、
+ * 永続化コンテキストはバッチの件数に関わらず空のまま、トランザクションの終了とともに破棄される。
+ */
+@Component
+public class CatalogImportBatchWriter {
+
+    private final CatalogBulkWriteRepository bulkWriteRepository;
+    private final ProductChangeNotifier changeNotifier;
+
+    @Autowired
+    public CatalogImportBatchWriter(CatalogBulkWriteRepository bulkWriteRepository,
+                                    ProductChangeNotifier changeNotifier) {
+        this.bulkWriteRepository = bulkWriteRepository;
+        this.changeNotifier = changeNotifier;
+    }
+
+    /**
+     * 1バッチ分のカタログ行を登録する
+     * <p>
+     * 登録済みのSKUコードの行はエラーとし、登録済みの商品コードの行は既存の商品にSKUを追加する。
+     * 検索インデックス・ファセットインデックスへはコミット後に反映する。
+     *
+     * @param lines           カタログ行（ファイル内でSKUコードが重複しないこと）
+     * @param knownProductIds 前のバッチまでに確定した商品コードと商品ID
+     * @return バッチの結果
+     */
+    @Transactional
+    public BatchResult writeBatch(List<CatalogFileReader.CatalogLine> lines, Map<String, UUID> knownProductIds) {
+        List<CatalogImportResult.LineError> errors = new ArrayList<>();
+        Set<String> existingSkuCodes = bulkWriteRepository.findExistingSkuCodes(
+                lines.stream().map(CatalogFileReader.CatalogLine::skuCode).toList());
+
+        Set<String> unknownCodes = new LinkedHashSet<>();
+        for (CatalogFileReader.CatalogLine line : lines) {
+            if (!knownProductIds.containsKey(line.productCode())) {
+                unknownCodes.add(line.productCode());
+            }
+        }
+        Map<String, UUID> resolved = new HashMap<>(bulkWriteRepository.findProductIdsByCode(unknownCodes));
+
+        List<CatalogBulkWriteRepository.ProductRow> products = new ArrayList<>();
+        List<CatalogBulkWriteRepository.SkuRow> skus = new ArrayList<>(lines.size());
+        List<ProductDocument> documents = new ArrayList<>();
+        Set<UUID> productIds = new LinkedHashSet<>();
+        for (CatalogFileReader.CatalogLine line : lines) {
+            if (existingSkuCodes.contains(line.skuCode())) {
+                errors.add(new CatalogImportResult.LineError(line.lineNo(),
+                        "SKUコードは登録済みです: " + line.skuCode()));
+                continue;
+            }
+            UUID productId = knownProductIds.get(line.productCode());
+            if (productId == null) {
+                productId = resolved.get(line.productCode());
+            }
+            if (productId == null) {
+                // 商品コードの最初の行の値で商品を登録する
+                productId = UUID.randomUUID();
+                resolved.put(line.productCode(), productId);
+                products.add(new CatalogBulkWriteRepository.ProductRow(productId, line.productCode(),
+                        line.productName(), line.description(), line.brand(), line.category(),
+                        ProductStatus.ACTIVE, line.basePrice(), line.currency()));
+                documents.add(new ProductDocument(productId, line.productName(), line.description(),
+                        line.brand(), line.category()));
+            }
+            skus.add(new CatalogBulkWriteRepository.SkuRow(UUID.randomUUID(), productId, line.skuCode(),
+                    line.color(), line.size(), line.material(), line.retailPrice()));
+            productIds.add(productId);
+        }
+
+        bulkWriteRepository.insertProducts(products);
+        bulkWriteRepository.insertSkus(skus);
+        changeNotifier.catalogImported(documents, productIds);
+        return new BatchResult(resolved, products.size(), skus.size(), errors);
+    }
+
+    /**
+     * バッチの結果
+     *
+     * @param productIds      バッチで確定した商品コードと商品ID（新規・登録済みの両方）
+     * @param productsCreated 登録した商品数
+     * @param skusCreated     登録したSKU数
+     * @param errors          エラー行
+     */
+    public record BatchResult(
+            Map<String, UUID> productIds,
+            int productsCreated,
+            int skusCreated,
+            List<CatalogImportResult.LineError> errors
+    ) {
+    }
+}
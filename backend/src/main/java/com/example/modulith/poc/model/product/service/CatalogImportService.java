@@ -0,0 +1,27 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.catalog.CatalogFileFormat;
+import com.example.modulith.poc.model.product.catalog.CatalogImportResult;
+
+import java.nio.file.Path;
+
+/**
+ * カタログ取込サービスインターフェース
+ * <p>
+ * シーズンごとのカタログファイル（数万商品・SKU行）を一括で登録する。
+ * ファイルを先頭から順に読み込み、一定行数ごとのバッチで商品・SKUに書き込む。
+ */
+public interface CatalogImportService {
+
+    /**
+     * カタログファイルを取り込む
+     * <p>
+     * 不正な行と、ファイル内・登録済みのSKUコードと重複する行はエラーとして読み飛ばす。
+     * 登録済みの商品コードの行は、既存の商品にSKUを追加する（商品の項目は更新しない）。
+     *
+     * @param file   カタログファイル
+     * @param format ファイル形式
+     * @return 取込結果
+     */
+    CatalogImportResult importFile(Path file, CatalogFileFormat format);
+}
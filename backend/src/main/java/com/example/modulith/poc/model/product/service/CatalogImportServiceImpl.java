@@ -0,0 +1,115 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.catalog.CatalogFileFormat;
+import com.example.modulith.poc.model.product.catalog.CatalogFileReader;
+import com.example.modulith.poc.model.product.catalog.CatalogImportResult;
+import com.example.modulith.poc.model.product.exception.InvalidCatalogLineException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * カタログ取込サービス実装
+ * <p>
+ * 商品コード・SKUコードの重複はファイル全体のハッシュ索引で判定し、登録済みのコードはバッチごとにまとめて照会する。
+ * バッチごとに個別のトランザクションでコミットするため、本クラス自体はトランザクションを持たない。
+ */
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CatalogImportServiceImpl.class);
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    private final CatalogImportBatchWriter batchWriter;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public CatalogImportServiceImpl(CatalogImportBatchWriter batchWriter,
+                                    @Value("${poc.product.catalog-import.batch-size:1000}") int batchSize,
+                                    @Value("${poc.product.catalog-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.batchWriter = batchWriter;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public CatalogImportResult importFile(Path file, CatalogFileFormat format) {
+        long startedAt = System.nanoTime();
+        Map<String, UUID> productIds = new HashMap<>();
+        Set<String> skuCodes = new HashSet<>();
+        List<CatalogImportResult.LineError> reportedErrors = new ArrayList<>();
+        int productsCreated = 0;
+        int skusCreated = 0;
+        int errorLines = 0;
+        long lineNo;
+
+        try (CatalogFileReader reader = new CatalogFileReader(file, format)) {
+            List<CatalogFileReader.CatalogLine> lines = new ArrayList<>(batchSize);
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                try {
+                    CatalogFileReader.CatalogLine line = reader.next();
+                    if (line == null) {
+                        endOfFile = true;
+                    } else if (!skuCodes.add(line.skuCode())) {
+                        errorLines++;
+                        report(reportedErrors, new CatalogImportResult.LineError(line.lineNo(),
+                                "SKUコードがファイル内で重複しています: " + line.skuCode()));
+                    } else {
+                        lines.add(line);
+                    }
+                } catch (InvalidCatalogLineException e) {
+                    errorLines++;
+                    report(reportedErrors, new CatalogImportResult.LineError(e.getLineNo(), truncate(e.getMessage())));
+                }
+                if (lines.size() >= batchSize || (endOfFile && !lines.isEmpty())) {
+                    CatalogImportBatchWriter.BatchResult result = batchWriter.writeBatch(lines, productIds);
+                    productIds.putAll(result.productIds());
+                    productsCreated += result.productsCreated();
+                    skusCreated += result.skusCreated();
+                    errorLines += result.errors().size();
+                    result.errors().forEach(error -> report(reportedErrors, error));
+                    LOGGER.debug("catalog import progress: file={}, line={}, products={}, skus={}, errors={}",
+                            file, reader.lineNo(), productsCreated, skusCreated, errorLines);
+                    lines.clear();
+                }
+            }
+            lineNo = reader.lineNo();
+        } catch (IOException e) {
+            LOGGER.error("catalog import failed: file={}, products={}, skus={}", file, productsCreated, skusCreated, e);
+            throw new UncheckedIOException("カタログファイルを読み込めません: " + file, e);
+        }
+
+        LOGGER.info("catalog import completed: file={}, lines={}, products={}, skus={}, errors={}, elapsedMs={}",
+                file, lineNo, productsCreated, skusCreated, errorLines, (System.nanoTime() - startedAt) / 1_000_000);
+        return new CatalogImportResult(lineNo, productsCreated, skusCreated, errorLines, List.copyOf(reportedErrors));
+    }
+
+    private void report(List<CatalogImportResult.LineError> reportedErrors, CatalogImportResult.LineError error) {
+        if (reportedErrors.size() < maxReportedErrors) {
+            reportedErrors.add(error);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message;
+    }
+}
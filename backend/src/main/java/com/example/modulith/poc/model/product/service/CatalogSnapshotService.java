@@ -0,0 +1,273 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.SkuInfo;
+import com.example.modulith.poc.model.product.cache.ProductDetailCache;
+import com.example.modulith.poc.model.product.cache.SkuCatalogCache;
+import com.example.modulith.poc.model.product.repository.ProductRepository;
+import com.example.modulith.poc.model.product.repository.SkuRepository;
+import com.example.modulith.poc.model.product.search.ProductDocument;
+import com.example.modulith.poc.model.product.snapshot.CatalogSnapshotProduct;
+import com.example.modulith.poc.model.product.snapshot.CatalogSnapshotReader;
+import com.example.modulith.poc.model.product.snapshot.CatalogSnapshotWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * カタログスナップショットの管理
+ * <p>
+ * 商品・SKU・価格を定期的にスナップショットファイルへ書き出し、起動時はスナップショットをメモリマップして
+ * 検索インデックス・ファセットインデックスを構築し、SKUカタログキャッシュを事前に読み込む。
+ * DBを全件読み込む構築を待たずに一覧・検索・注文の価格計算を開始できる。
+ * <p>
+ * スナップショットのバージョン（書き出しの開始時刻）から {@code catch-up-overlap} だけ遡った時刻以降に更新された
+ * 商品・SKUは、復元後にバックグラウンドでDBから読み直す（書き出し中にコミットされた変更やノード間の時刻のずれを含める）。
+ * 物理削除された商品は検出できないため、次回の再構築まで検索・ファセットに残る（一覧の表示時にDBから読み込めない商品は除かれる）。
+ * <p>
+ * スナップショットが無い・形式が異なる・破損している場合や、無効に設定されている場合はDBから構築する。
+ */
+@Component
+public class CatalogSnapshotService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private static final int CATCH_UP_BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final SkuRepository skuRepository;
+    private final ProductSearchIndexer searchIndexer;
+    private final ProductFacetIndexer facetIndexer;
+    private final CatalogStatisticsIndexer statisticsIndexer;
+    private final SkuCatalogCache skuCatalogCache;
+    private final ProductDetailCache productDetailCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration catchUpOverlap;
+    private final ExecutorService executor;
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    @Autowired
+    public CatalogSnapshotService(ProductRepository productRepository,
+                                  SkuRepository skuRepository,
+                                  ProductSearchIndexer searchIndexer,
+                                  ProductFacetIndexer facetIndexer,
+                                  CatalogStatisticsIndexer statisticsIndexer,
+                                  SkuCatalogCache skuCatalogCache,
+                                  ProductDetailCache productDetailCache,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${poc.product.snapshot.enabled:false}") boolean enabled,
+                                  @Value("${poc.product.snapshot.path:data/catalog.snapshot}") String path,
+                                  @Value("${poc.product.snapshot.catch-up-overlap:PT5M}") Duration catchUpOverlap) {
+        this.productRepository = productRepository;
+        this.skuRepository = skuRepository;
+        this.searchIndexer = searchIndexer;
+        this.facetIndexer = facetIndexer;
+        this.statisticsIndexer = statisticsIndexer;
+        this.skuCatalogCache = skuCatalogCache;
+        this.productDetailCache = productDetailCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.catchUpOverlap = catchUpOverlap;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            rebuildFromDatabase();
+            return;
+        }
+        executor.execute(this::restore);
+    }
+
+    /**
+     * 定期的にスナップショットを書き出す
+     */
+    @Scheduled(fixedDelayString = "${poc.product.snapshot.write-interval:PT10M}",
+            initialDelayString = "${poc.product.snapshot.write-interval:PT10M}")
+    public void writeIfEnabled() {
+        if (enabled) {
+            requestWrite();
+        }
+    }
+
+    /**
+     * バックグラウンドでスナップショットを書き出す（実行中の場合は何もしない）
+     */
+    public void requestWrite() {
+        if (writing.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    write();
+                } catch (IOException | RuntimeException e) {
+                    // 直前のスナップショットを残し、次回の書き出しで再試行する
+                    LOGGER.error("failed to write catalog snapshot: path={}", path, e);
+                } finally {
+                    writing.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void write() throws IOException {
+        long startedAt = System.nanoTime();
+        // 読み込み開始前の時刻をバージョンとする（読み込み中の変更は起動時の差分反映で読み直される）
+        long version = System.currentTimeMillis();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(path, version)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    try (Stream<CatalogSnapshotProduct> products = productRepository.streamSnapshotProducts()) {
+                        for (Iterator<CatalogSnapshotProduct> iterator = products.iterator(); iterator.hasNext(); ) {
+                            writer.writeProduct(iterator.next());
+                        }
+                    }
+                    try (Stream<SkuInfo> skus = skuRepository.streamSkuInfos()) {
+                        for (Iterator<SkuInfo> iterator = skus.iterator(); iterator.hasNext(); ) {
+                            writer.writeSku(iterator.next());
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.commit();
+            LOGGER.info("catalog snapshot written: path={}, version={}, products={}, skus={}, elapsedMs={}",
+                    path, version, writer.productCount(), writer.skuCount(), (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    private void restore() {
+        long startedAt = System.nanoTime();
+        CatalogSnapshotReader snapshot;
+        try {
+            snapshot = CatalogSnapshotReader.open(path);
+        } catch (NoSuchFileException e) {
+            LOGGER.info("catalog snapshot not found, building from database: path={}", path);
+            rebuildFromDatabase();
+            return;
+        } catch (IOException e) {
+            LOGGER.warn("failed to open catalog snapshot, building from database: path={}", path, e);
+            rebuildFromDatabase();
+            return;
+        }
+
+        try {
+            // 検索・ファセットはそれぞれの構築スレッドで並行して復元し、SKUはこのスレッドで読み込む
+            CompletableFuture<Void> search = searchIndexer.restore(snapshot.productCount(),
+                    sink -> snapshot.forEachProduct(product -> {
+                        if (product.isSearchable()) {
+                            sink.accept(product.toSearchDocument());
+                        }
+                    }));
+            CompletableFuture<Void> facet = facetIndexer.restore(snapshot.productCount(),
+                    sink -> snapshot.forEachProduct(product -> sink.accept(product.toFacetDocument())));
+            SkuCatalogCache.Snapshot generations = skuCatalogCache.snapshot();
+            snapshot.forEachSku(sku -> skuCatalogCache.put(sku, generations));
+            CompletableFuture.allOf(search, facet).join();
+        } catch (RuntimeException e) {
+            LOGGER.error("failed to restore catalog snapshot, building from database: path={}", path, e);
+            rebuildFromDatabase();
+            return;
+        }
+        LOGGER.info("catalog restored from snapshot: path={}, version={}, products={}, skus={}, bytes={}, elapsedMs={}",
+                path, snapshot.snapshotVersion(), snapshot.productCount(), snapshot.skuCount(),
+                snapshot.sizeInBytes(), (System.nanoTime() - startedAt) / 1_000_000);
+
+        try {
+            catchUp(snapshot.snapshotVersion());
+            // 統計はスナップショットに含めないため、復元後にDBから集計する（集計が完了するまで未準備として扱われる）
+            statisticsIndexer.requestRebuild();
+        } catch (RuntimeException e) {
+            // 差分が反映できないため、DBから構築し直す（構築が完了するまでは復元したインデックスを使う）
+            LOGGER.error("failed to catch up catalog snapshot, building from database", e);
+            rebuildFromDatabase();
+        }
+    }
+
+    /**
+     * スナップショットのバージョン以降に更新された商品・SKUをDBから読み直して反映する
+     */
+    private void catchUp(long snapshotVersion) {
+        long startedAt = System.nanoTime();
+        OffsetDateTime since = OffsetDateTime.ofInstant(Instant.ofEpochMilli(snapshotVersion), ZoneOffset.UTC)
+                .minus(catchUpOverlap);
+        Set<UUID> productIds = new LinkedHashSet<>(
+                readOnlyTransaction.execute(status -> productRepository.findIdsUpdatedSince(since)));
+        productIds.addAll(readOnlyTransaction.execute(status -> skuRepository.findProductIdsUpdatedSince(since)));
+
+        List<UUID> batch = new ArrayList<>(CATCH_UP_BATCH_SIZE);
+        for (Iterator<UUID> iterator = productIds.iterator(); iterator.hasNext(); ) {
+            batch.add(iterator.next());
+            if (batch.size() == CATCH_UP_BATCH_SIZE || !iterator.hasNext()) {
+                catchUpBatch(batch);
+                batch = new ArrayList<>(CATCH_UP_BATCH_SIZE);
+            }
+        }
+        LOGGER.info("catalog snapshot caught up: since={}, products={}, elapsedMs={}",
+                since, productIds.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void catchUpBatch(List<UUID> productIds) {
+        List<ProductDocument> documents = readOnlyTransaction.execute(
+                status -> productRepository.findSearchDocuments(productIds));
+        Set<UUID> removed = new HashSet<>(productIds);
+        for (ProductDocument document : documents) {
+            searchIndexer.index(document);
+            removed.remove(document.productId());
+        }
+        removed.forEach(searchIndexer::remove);
+        for (UUID productId : productIds) {
+            skuCatalogCache.invalidateProduct(productId);
+            productDetailCache.invalidate(productId);
+            facetIndexer.refresh(productId);
+            statisticsIndexer.refresh(productId);
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        searchIndexer.requestRebuild();
+        facetIndexer.requestRebuild();
+        statisticsIndexer.requestRebuild();
+    }
+}
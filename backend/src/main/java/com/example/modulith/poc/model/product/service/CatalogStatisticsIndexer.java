@@ -0,0 +1,185 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.repository.ProductRepository;
+import com.example.modulith.poc.model.product.stats.CatalogStatisticsIndex;
+import com.example.modulith.poc.model.product.stats.CatalogStatisticsRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 商品集計の管理
+ * <p>
+ * 起動時に商品とSKUの価格を商品ID順に1回走査して集計を構築し、以降は商品・SKUの変更があった商品IDを記録して差分で反映する。
+ * ファセットインデックスと同じく、変更内容ではなく最新の商品とSKUの価格をDBから商品単位でまとめて読み直す。
+ * <p>
+ * 構築・反映は専用の単一スレッドで順に行う。構築中に記録された変更は構築後に読み直すため、失われることはない。
+ */
+@Component
+public class CatalogStatisticsIndexer {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CatalogStatisticsIndexer.class);
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_SECONDS = 5;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final List<BigDecimal> priceBounds;
+    private final ScheduledExecutorService executor;
+    private final Set<UUID> dirtyProductIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private volatile CatalogStatisticsIndex index;
+    private volatile boolean ready;
+
+    @Autowired
+    public CatalogStatisticsIndexer(ProductRepository productRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${poc.product.statistics.price-bounds:500,1000,2000,3000,5000,7000,10000,15000,20000,30000,50000,100000}")
+                                    List<BigDecimal> priceBounds) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.priceBounds = List.copyOf(priceBounds);
+        this.index = new CatalogStatisticsIndex(this.priceBounds, 0);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-statistics-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 現在の集計
+     */
+    public CatalogStatisticsIndex index() {
+        return index;
+    }
+
+    /**
+     * 初回の構築が完了しているか
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 商品の変更を記録する（専用スレッドで最新の商品を読み直して反映する）
+     *
+     * @param productId 商品ID
+     */
+    public void refresh(UUID productId) {
+        dirtyProductIds.add(productId);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            executor.execute(this::refreshDirty);
+        }
+    }
+
+    /**
+     * バックグラウンドでDBから集計を再構築する
+     */
+    public void requestRebuild() {
+        executor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void refreshDirty() {
+        refreshScheduled.set(false);
+        List<UUID> productIds = new ArrayList<>(Math.min(dirtyProductIds.size(), REFRESH_BATCH_SIZE));
+        for (Iterator<UUID> iterator = dirtyProductIds.iterator(); iterator.hasNext(); ) {
+            productIds.add(iterator.next());
+            iterator.remove();
+            if (productIds.size() == REFRESH_BATCH_SIZE || !iterator.hasNext()) {
+                if (!refreshBatch(productIds)) {
+                    return;
+                }
+                productIds = new ArrayList<>(REFRESH_BATCH_SIZE);
+            }
+        }
+    }
+
+    private boolean refreshBatch(List<UUID> productIds) {
+        List<CatalogStatisticsRow> rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> productRepository.findStatisticsRows(productIds));
+        } catch (RuntimeException e) {
+            // 変更を戻し、時間をおいて再試行する
+            dirtyProductIds.addAll(productIds);
+            LOGGER.warn("failed to refresh catalog statistics: products={}", productIds.size(), e);
+            if (refreshScheduled.compareAndSet(false, true)) {
+                executor.schedule(this::refreshDirty, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+            return false;
+        }
+
+        // 行が無い商品（削除された商品）は空のリストで集計から除く
+        Map<UUID, List<CatalogStatisticsRow>> rowsByProduct = new LinkedHashMap<>();
+        for (UUID productId : productIds) {
+            rowsByProduct.put(productId, new ArrayList<>(1));
+        }
+        for (CatalogStatisticsRow row : rows) {
+            rowsByProduct.get(row.productId()).add(row);
+        }
+        CatalogStatisticsIndex current = index;
+        rowsByProduct.forEach(current::index);
+        return true;
+    }
+
+    private void rebuild() {
+        try {
+            long startedAt = System.nanoTime();
+            int expectedSize = (int) Math.min(Integer.MAX_VALUE - 8,
+                    readOnlyTransaction.execute(status -> productRepository.count()));
+            CatalogStatisticsIndex rebuilt = new CatalogStatisticsIndex(priceBounds, expectedSize);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CatalogStatisticsRow> rows = productRepository.streamStatisticsRows()) {
+                    // 商品ID順のため、同じ商品の行をまとめて集計に加える
+                    List<CatalogStatisticsRow> productRows = new ArrayList<>();
+                    for (Iterator<CatalogStatisticsRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                        CatalogStatisticsRow row = iterator.next();
+                        if (!productRows.isEmpty() && !productRows.get(0).productId().equals(row.productId())) {
+                            rebuilt.index(productRows.get(0).productId(), productRows);
+                            productRows = new ArrayList<>();
+                        }
+                        productRows.add(row);
+                    }
+                    if (!productRows.isEmpty()) {
+                        rebuilt.index(productRows.get(0).productId(), productRows);
+                    }
+                }
+            });
+            index = rebuilt;
+            ready = true;
+            LOGGER.info("catalog statistics rebuilt: products={}, elapsedMs={}",
+                    rebuilt.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOGGER.error("failed to rebuild catalog statistics", e);
+            executor.schedule(this::rebuild, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.core.cache.SecondLevelCacheInvalidator;
+import com.example.modulith.poc.model.product.cache.ProductDetailCache;
+import com.example.modulith.poc.model.product.cache.SkuCatalogCache;
+import com.example.modulith.poc.model.product.entity.ProductEntity;
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+import com.example.modulith.poc.model.product.search.ProductDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 商品変更の通知
+ * <p>
+ * 商品・SKUの変更をトランザクションのコミット後に商品検索インデックス・ファセットインデックス・商品集計・各キャッシュへ反映する。
+ * ロールバックされた変更は反映しない。変更内容はフラッシュ時点の値を保持する。
+ */
+@Component
+public class ProductChangeNotifier {
+
+    private final ProductSearchIndexer searchIndexer;
+    private final ProductFacetIndexer facetIndexer;
+    private final CatalogStatisticsIndexer statisticsIndexer;
+    private final SkuCatalogCache skuCatalogCache;
+    private final ProductDetailCache productDetailCache;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    public ProductChangeNotifier(ProductSearchIndexer searchIndexer, ProductFacetIndexer facetIndexer,
+                                 CatalogStatisticsIndexer statisticsIndexer, SkuCatalogCache skuCatalogCache,
+                                 ProductDetailCache productDetailCache, SecondLevelCacheInvalidator cacheInvalidator) {
+        this.searchIndexer = searchIndexer;
+        this.facetIndexer = facetIndexer;
+        this.statisticsIndexer = statisticsIndexer;
+        this.skuCatalogCache = skuCatalogCache;
+        this.productDetailCache = productDetailCache;
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    /**
+     * 商品の登録・更新を通知する
+     *
+     * @param product 商品
+     */
+    public void productChanged(ProductEntity product) {
+        UUID productId = product.getProductId();
+        if (!isSearchable(product)) {
+            afterCommit(() -> {
+                skuCatalogCache.invalidateProduct(productId);
+                productDetailCache.invalidate(productId);
+                searchIndexer.remove(productId);
+                facetIndexer.refresh(productId);
+                statisticsIndexer.refresh(productId);
+            });
+            return;
+        }
+        ProductDocument document = toDocument(product);
+        afterCommit(() -> {
+            skuCatalogCache.invalidateProduct(productId);
+            productDetailCache.invalidate(productId);
+            searchIndexer.index(document);
+            facetIndexer.refresh(productId);
+            statisticsIndexer.refresh(productId);
+        });
+    }
+
+    /**
+     * 商品の削除を通知する
+     *
+     * @param productId 商品ID
+     */
+    public void productRemoved(UUID productId) {
+        afterCommit(() -> {
+            skuCatalogCache.invalidateProduct(productId);
+            productDetailCache.invalidate(productId);
+            searchIndexer.remove(productId);
+            facetIndexer.refresh(productId);
+            statisticsIndexer.refresh(productId);
+        });
+    }
+
+    /**
+     * SKUの登録・更新・削除を通知する（親商品の価格が変わるためファセット・集計も更新する）
+     *
+     * @param skuId     SKU ID
+     * @param productId 親商品ID
+     */
+    public void skuChanged(UUID skuId, UUID productId) {
+        afterCommit(() -> {
+            skuCatalogCache.invalidateSku(skuId);
+            productDetailCache.invalidate(productId);
+            facetIndexer.refresh(productId);
+            statisticsIndexer.refresh(productId);
+        });
+    }
+
+    /**
+     * カタログ取込による商品・SKUの一括登録を通知する
+     *
+     * @param documents  登録した検索対象の商品
+     * @param productIds SKUを登録した商品ID（既存の商品を含む）
+     */
+    public void catalogImported(List<ProductDocument> documents, Collection<UUID> productIds) {
+        afterCommit(() -> {
+            // JDBCで登録したためHibernateのクエリキャッシュは無効化されない
+            cacheInvalidator.invalidateQueries();
+            // 取込で登録したSKUを、存在しないものとしてキャッシュしている場合がある
+            skuCatalogCache.invalidateMissing();
+            documents.forEach(searchIndexer::index);
+            for (UUID productId : productIds) {
+                productDetailCache.invalidate(productId);
+                facetIndexer.refresh(productId);
+                statisticsIndexer.refresh(productId);
+            }
+        });
+    }
+
+    /**
+     * 検索対象の商品か（販売中かつ論理削除されていない）
+     */
+    private static boolean isSearchable(ProductEntity product) {
+        return product.getProductStatus() == ProductStatus.ACTIVE && product.getDeletedAt() == null;
+    }
+
+    private static ProductDocument toDocument(ProductEntity product) {
+        return new ProductDocument(
+                product.getProductId(),
+                product.getProductName(),
+                product.getDescription(),
+                product.getBrand(),
+                product.getCategory()
+        );
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.core.metrics.MetricsSource;
+import com.example.modulith.poc.model.inventory.InventoryAvailabilityService;
+import com.example.modulith.poc.model.inventory.SkuAvailability;
+import com.example.modulith.poc.model.inventory.StockLevel;
+import com.example.modulith.poc.model.product.ProductDetail;
+import com.example.modulith.poc.model.product.ProductDetailService;
+import com.example.modulith.poc.model.product.SkuDetail;
+import com.example.modulith.poc.model.product.cache.ProductDetailCache;
+import com.example.modulith.poc.model.product.cache.SingleFlight;
+import com.example.modulith.poc.model.product.detail.ProductDetailContent;
+import com.example.modulith.poc.model.product.detail.ProductDetailRow;
+import com.example.modulith.poc.model.product.detail.SkuDetailRow;
+import com.example.modulith.poc.model.product.repository.ProductRepository;
+import com.example.modulith.poc.model.product.repository.SkuRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 商品詳細サービス実装
+ * <p>
+ * SKU数に関わらず、商品1件・SKU一覧・在庫数（SKUをまとめて1回）の一定回数のクエリで組み立てる。
+ * 商品・SKUはキャッシュし、キャッシュヒット時にDB接続を取得しないようトランザクションは読み込み時のみ開始する。
+ * 在庫数は変化が多いため、キャッシュせず在庫モジュールの在庫キャッシュから毎回取得する。
+ * <p>
+ * キャッシュに無い商品の読み込みは商品IDごとに集約し、同時に参照された同じ商品は1回の読み込みの結果を共有する。
+ * 期限切れ直後のエントリは古い値で応答し、読み直しは専用スレッドで行う（stale-while-revalidate）。
+ * 読み込みの集約の統計は {@code product.detail.load.*} として運用統計に公開する。
+ */
+@Service
+public class ProductDetailServiceImpl implements ProductDetailService, MetricsSource {
+
+    private final ProductRepository productRepository;
+    private final SkuRepository skuRepository;
+    private final InventoryAvailabilityService availabilityService;
+    private final ProductDetailCache cache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<UUID, ProductDetailContent> loads = new SingleFlight<>();
+    private final ExecutorService refresher;
+
+    @Autowired
+    public ProductDetailServiceImpl(ProductRepository productRepository,
+                                    SkuRepository skuRepository,
+                                    InventoryAvailabilityService availabilityService,
+                                    ProductDetailCache cache,
+                                    PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.skuRepository = skuRepository;
+        this.availabilityService = availabilityService;
+        this.cache = cache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-detail-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Optional<ProductDetail> getProductDetail(UUID productId) {
+        ProductDetailContent content = cached(productId);
+        if (content == null) {
+            content = loads.load(productId, () -> load(productId));
+        }
+        return Optional.ofNullable(content).map(this::assemble);
+    }
+
+    @Override
+    public Mono<ProductDetail> getProductDetailAsync(UUID productId) {
+        return Mono.defer(() -> {
+                    ProductDetailContent content = cached(productId);
+                    if (content != null) {
+                        return Mono.just(content);
+                    }
+                    // 読み込み中の商品は完了を待つだけでスレッドを占有しない。他の購読者と共有するためキャンセルしない
+                    return Mono.fromFuture(() -> loads.loadAsync(productId, () -> load(productId),
+                            runnable -> Schedulers.boundedElastic().schedule(runnable)), true);
+                })
+                // 在庫数の取得は在庫キャッシュに無い場合にDBを参照するため、ブロッキング処理用のスケジューラで組み立てる
+                .publishOn(Schedulers.boundedElastic())
+                .map(this::assemble);
+    }
+
+    /**
+     * 読み込みの集約の統計
+     */
+    public SingleFlight.Stats getLoadStats() {
+        return loads.stats();
+    }
+
+    @Override
+    public void collect(Map<String, Number> metrics) {
+        loads.stats().collect("product.detail.load", metrics);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * キャッシュから商品詳細を取得する（再検証期間内の場合はバックグラウンドで読み直す）
+     */
+    private ProductDetailContent cached(UUID productId) {
+        ProductDetailCache.Lookup lookup = cache.lookup(productId);
+        if (lookup == null) {
+            return null;
+        }
+        if (lookup.stale()) {
+            loads.refresh(productId, () -> load(productId), refresher);
+        }
+        return lookup.value();
+    }
+
+    private ProductDetail assemble(ProductDetailContent content) {
+        UUID productId = content.product().productId();
+        List<UUID> skuIds = content.skus().stream().map(SkuDetailRow::skuId).toList();
+        Map<UUID, SkuAvailability> availabilities = availabilityService.getAvailabilities(skuIds);
+
+        long etag = content.fingerprint();
+        List<SkuDetail> skus = new ArrayList<>(content.skus().size());
+        for (SkuDetailRow sku : content.skus()) {
+            SkuAvailability availability = availabilities.get(sku.skuId());
+            StockLevel stockLevel = availability != null ? availability.stockLevel() : StockLevel.OUT_OF_STOCK;
+            etag = ProductDetailContent.mix(etag ^ stockLevel.ordinal());
+            skus.add(new SkuDetail(
+                    sku.skuId(),
+                    productId,
+                    sku.skuCode(),
+                    sku.color(),
+                    sku.size(),
+                    sku.material(),
+                    sku.retailPrice(),
+                    stockLevel
+            ));
+        }
+
+        ProductDetailRow product = content.product();
+        return new ProductDetail(
+                product.productId(),
+                product.productCode(),
+                product.productName(),
+                product.description(),
+                product.brand(),
+                product.category(),
+                product.basePrice(),
+                product.currency(),
+                product.productStatus().name(),
+                skus,
+                product.createdAt(),
+                product.updatedAt(),
+                "\"" + Long.toHexString(etag) + "\""
+        );
+    }
+
+    private ProductDetailContent load(UUID productId) {
+        // 読み込み中の無効化を検知するため、クエリの前に世代番号を取得する
+        long stamp = cache.stamp(productId);
+        long loadedAt = System.nanoTime();
+        ProductDetailContent content = readOnlyTransaction.execute(status -> productRepository.findDetailById(productId)
+                .map(product -> ProductDetailContent.of(product, skuRepository.findDetailsByProductId(productId)))
+                .orElse(null));
+        if (content != null) {
+            cache.put(content, stamp, loadedAt);
+        }
+        return content;
+    }
+}
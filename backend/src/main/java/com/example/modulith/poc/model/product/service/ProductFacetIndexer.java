@@ -0,0 +1,187 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.facet.ProductFacetDocument;
+import com.example.modulith.poc.model.product.facet.ProductFacetIndex;
+import com.example.modulith.poc.model.product.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 商品ファセットインデックスの管理
+ * <p>
+ * 起動時にDB（またはカタログスナップショット）からファセットインデックスを構築し、以降は商品・SKUの変更があった商品IDを記録して差分で反映する。
+ * 価格はSKUの変更でも変わるため、変更内容ではなく最新の商品をDBから商品単位でまとめて読み直す。
+ * <p>
+ * 構築・反映は専用の単一スレッドで順に行う。構築中に記録された変更は構築後に読み直すため、失われることはない。
+ */
+@Component
+public class ProductFacetIndexer {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ProductFacetIndexer.class);
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_SECONDS = 5;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final List<BigDecimal> priceBounds;
+    private final ScheduledExecutorService executor;
+    private final Set<UUID> dirtyProductIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private volatile ProductFacetIndex index;
+    private volatile boolean ready;
+
+    @Autowired
+    public ProductFacetIndexer(ProductRepository productRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${poc.product.facet.price-bounds:1000,3000,5000,10000,30000,50000,100000}")
+                               List<BigDecimal> priceBounds) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.priceBounds = List.copyOf(priceBounds);
+        this.index = new ProductFacetIndex(this.priceBounds, 0);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-facet-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 現在のファセットインデックス
+     */
+    public ProductFacetIndex index() {
+        return index;
+    }
+
+    /**
+     * 初回の構築が完了しているか
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 商品の変更を記録する（専用スレッドで最新の商品を読み直して反映する）
+     *
+     * @param productId 商品ID
+     */
+    public void refresh(UUID productId) {
+        dirtyProductIds.add(productId);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            executor.execute(this::refreshDirty);
+        }
+    }
+
+    /**
+     * バックグラウンドでDBからインデックスを再構築する
+     */
+    public void requestRebuild() {
+        executor.execute(this::rebuild);
+    }
+
+    /**
+     * バックグラウンドで指定した商品からインデックスを構築して置き換える（スナップショットからの復元に使用する）
+     *
+     * @param expectedSize 商品数の目安
+     * @param documents    商品を順に渡す処理
+     * @return 構築の完了。構築に失敗した場合は例外で完了する
+     */
+    public CompletableFuture<Void> restore(int expectedSize, Consumer<Consumer<ProductFacetDocument>> documents) {
+        return CompletableFuture.runAsync(() -> build(expectedSize, documents, "snapshot"), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void refreshDirty() {
+        refreshScheduled.set(false);
+        List<UUID> productIds = new ArrayList<>(Math.min(dirtyProductIds.size(), REFRESH_BATCH_SIZE));
+        for (Iterator<UUID> iterator = dirtyProductIds.iterator(); iterator.hasNext(); ) {
+            productIds.add(iterator.next());
+            iterator.remove();
+            if (productIds.size() == REFRESH_BATCH_SIZE || !iterator.hasNext()) {
+                if (!refreshBatch(productIds)) {
+                    return;
+                }
+                productIds = new ArrayList<>(REFRESH_BATCH_SIZE);
+            }
+        }
+    }
+
+    private boolean refreshBatch(List<UUID> productIds) {
+        List<ProductFacetDocument> documents;
+        try {
+            documents = readOnlyTransaction.execute(status -> productRepository.findFacetDocuments(productIds));
+        } catch (RuntimeException e) {
+            // 変更を戻し、時間をおいて再試行する
+            dirtyProductIds.addAll(productIds);
+            LOGGER.warn("failed to refresh product facets: products={}", productIds.size(), e);
+            if (refreshScheduled.compareAndSet(false, true)) {
+                executor.schedule(this::refreshDirty, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+            return false;
+        }
+
+        ProductFacetIndex current = index;
+        Set<UUID> removed = new HashSet<>(productIds);
+        for (ProductFacetDocument document : documents) {
+            current.index(document);
+            removed.remove(document.productId());
+        }
+        removed.forEach(current::remove);
+        return true;
+    }
+
+    private void rebuild() {
+        try {
+            int expectedSize = (int) Math.min(Integer.MAX_VALUE - 8,
+                    readOnlyTransaction.execute(status -> productRepository.count()));
+            build(expectedSize, sink -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductFacetDocument> documents = productRepository.streamFacetDocuments()) {
+                    documents.forEach(sink);
+                }
+            }), "database");
+        } catch (RuntimeException e) {
+            LOGGER.error("failed to rebuild product facet index", e);
+            executor.schedule(this::rebuild, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void build(int expectedSize, Consumer<Consumer<ProductFacetDocument>> documents, String source) {
+        long startedAt = System.nanoTime();
+        ProductFacetIndex rebuilt = new ProductFacetIndex(priceBounds, expectedSize);
+        documents.accept(rebuilt::index);
+        rebuilt.finishBuild();
+        index = rebuilt;
+        ready = true;
+        LOGGER.info("product facet index rebuilt: source={}, products={}, bitmapsBytes={}, elapsedMs={}",
+                source, rebuilt.size(), rebuilt.bitmapsSizeInBytes(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
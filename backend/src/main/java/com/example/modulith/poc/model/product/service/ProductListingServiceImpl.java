@@ -0,0 +1,45 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.ProductIndexNotReadyException;
+import com.example.modulith.poc.model.product.ProductListingQuery;
+import com.example.modulith.poc.model.product.ProductListingResult;
+import com.example.modulith.poc.model.product.ProductListingService;
+import com.example.modulith.poc.model.product.facet.ProductFacetIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 商品一覧サービス実装
+ * <p>
+ * ファセットインデックスで絞り込み・並び替え・件数集計を行い、該当ページの商品のみをDBから主キーで一括取得する。
+ * 起動時のインデックスの構築中は、空の結果を返さず {@link ProductIndexNotReadyException} をスローする。
+ */
+@Service
+public class ProductListingServiceImpl implements ProductListingService {
+
+    private final ProductFacetIndexer facetIndexer;
+    private final ProductSummaryLoader summaryLoader;
+    private final int maxFacetValues;
+
+    @Autowired
+    public ProductListingServiceImpl(ProductFacetIndexer facetIndexer,
+                                     ProductSummaryLoader summaryLoader,
+                                     @Value("${poc.product.facet.max-values:50}") int maxFacetValues) {
+        this.facetIndexer = facetIndexer;
+        this.summaryLoader = summaryLoader;
+        this.maxFacetValues = maxFacetValues;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductListingResult listProducts(ProductListingQuery query) {
+        if (!facetIndexer.isReady()) {
+            throw new ProductIndexNotReadyException("product facet index is not ready yet");
+        }
+        ProductFacetIndex.FacetHits hits = facetIndexer.index().query(query, maxFacetValues);
+        return new ProductListingResult(summaryLoader.loadActive(hits.productIds()), hits.totalHits(), hits.facets(),
+                hits.nextCursor());
+    }
+}
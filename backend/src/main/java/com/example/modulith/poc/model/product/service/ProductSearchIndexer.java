@@ -0,0 +1,209 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.repository.ProductRepository;
+import com.example.modulith.poc.model.product.search.ProductDocument;
+import com.example.modulith.poc.model.product.search.ProductSearchIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 商品検索インデックスの管理
+ * <p>
+ * 起動時にDB（またはカタログスナップショット）から検索インデックスを構築し、以降は商品の変更をコミット後に差分で反映する。
+ * 削除済み文書の割合がしきい値を超えた場合は、バックグラウンドで再構築して置き換える。
+ * <p>
+ * 再構築中の変更は構築中のインデックスにも再適用するため、置き換え時に変更が失われることはない。
+ */
+@Component
+public class ProductSearchIndexer {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ProductSearchIndexer.class);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double compactionThreshold;
+    private final ExecutorService executor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Object monitor = new Object();
+
+    private volatile ProductSearchIndex index = new ProductSearchIndex();
+    private volatile boolean ready;
+    private volatile boolean started;
+    /**
+     * 再構築中に発生した変更（再構築中のみ非null）
+     */
+    private List<Consumer<ProductSearchIndex>> pendingChanges;
+
+    @Autowired
+    public ProductSearchIndexer(ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${poc.product.search.compaction-threshold:0.25}") double compactionThreshold) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.compactionThreshold = compactionThreshold;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 現在の検索インデックス
+     */
+    public ProductSearchIndex index() {
+        return index;
+    }
+
+    /**
+     * 初回の構築が完了しているか
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 商品を登録・更新する
+     *
+     * @param document 商品
+     */
+    public void index(ProductDocument document) {
+        apply(target -> target.index(document));
+    }
+
+    /**
+     * 商品を削除する
+     *
+     * @param productId 商品ID
+     */
+    public void remove(UUID productId) {
+        apply(target -> target.remove(productId));
+    }
+
+    /**
+     * 削除済み文書が増えた場合（または初回の構築に失敗した場合）にインデックスを再構築する
+     */
+    @Scheduled(fixedDelayString = "${poc.product.search.compaction-interval:PT1M}")
+    public void compactIfNeeded() {
+        if (!started) {
+            // 初回の構築は起動完了時に要求される（スナップショットから復元する場合がある）
+            return;
+        }
+        if (!ready || index.deletedRatio() > compactionThreshold) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * バックグラウンドでDBからインデックスを再構築する（実行中の場合は何もしない）
+     */
+    public void requestRebuild() {
+        started = true;
+        if (rebuilding.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    rebuildFromDatabase();
+                } catch (RuntimeException e) {
+                    // 現在のインデックスを使い続け、次回の再構築で再試行する
+                    LOGGER.error("failed to rebuild product search index", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * バックグラウンドで指定した商品からインデックスを構築して置き換える（スナップショットからの復元に使用する）
+     * <p>
+     * 構築中の変更は通常の再構築と同様に再適用する。
+     *
+     * @param expectedSize 商品数の目安
+     * @param documents    商品を順に渡す処理
+     * @return 構築の完了。再構築の実行中・構築に失敗した場合は例外で完了する
+     */
+    public CompletableFuture<Void> restore(int expectedSize, Consumer<Consumer<ProductDocument>> documents) {
+        started = true;
+        if (!rebuilding.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("検索インデックスを再構築中です"));
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                rebuild(expectedSize, documents, "snapshot");
+            } finally {
+                rebuilding.set(false);
+            }
+        }, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void apply(Consumer<ProductSearchIndex> change) {
+        synchronized (monitor) {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        // 件数は目安（構築中の増減は配列の拡張で吸収する）
+        int expectedSize = (int) Math.min(Integer.MAX_VALUE - 8, readOnlyTransaction.execute(
+                status -> productRepository.countSearchable()));
+        rebuild(expectedSize, sink -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ProductDocument> documents = productRepository.streamSearchDocuments()) {
+                documents.forEach(sink);
+            }
+        }), "database");
+    }
+
+    private void rebuild(int expectedSize, Consumer<Consumer<ProductDocument>> documents, String source) {
+        long startedAt = System.nanoTime();
+        try {
+            synchronized (monitor) {
+                pendingChanges = new ArrayList<>();
+            }
+            ProductSearchIndex rebuilt = new ProductSearchIndex(expectedSize);
+            documents.accept(rebuilt::index);
+
+            synchronized (monitor) {
+                // 構築中の変更を新しいインデックスへ再適用してから置き換える（登録・削除は冪等）
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                pendingChanges = null;
+                ProductSearchIndex previous = index;
+                index = rebuilt;
+                ready = true;
+                LOGGER.info("product search index rebuilt: source={}, products={}, postingsBytes={}, previousDeletedRatio={}, elapsedMs={}",
+                        source, rebuilt.size(), rebuilt.postingsSizeInBytes(),
+                        String.format("%.2f", previous.deletedRatio()), (System.nanoTime() - startedAt) / 1_000_000);
+            }
+        } catch (RuntimeException e) {
+            synchronized (monitor) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.ProductIndexNotReadyException;
+import com.example.modulith.poc.model.product.ProductSearchResult;
+import com.example.modulith.poc.model.product.ProductSearchService;
+import com.example.modulith.poc.model.product.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 商品検索サービス実装
+ * <p>
+ * 検索インデックスで該当ページの商品IDを求め、その商品のみをDBから主キーで一括取得する。
+ * 起動時のインデックスの構築中は、空の結果を返さず {@link ProductIndexNotReadyException} をスローする。
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private final ProductSearchIndexer searchIndexer;
+    private final ProductSummaryLoader summaryLoader;
+
+    @Autowired
+    public ProductSearchServiceImpl(ProductSearchIndexer searchIndexer, ProductSummaryLoader summaryLoader) {
+        this.searchIndexer = searchIndexer;
+        this.summaryLoader = summaryLoader;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductSearchResult search(String keyword, String category, int page, int pageSize) {
+        if (!searchIndexer.isReady()) {
+            throw new ProductIndexNotReadyException("product search index is not ready yet");
+        }
+        int offset = (int) Math.min((long) (page - 1) * pageSize, Integer.MAX_VALUE - pageSize);
+        ProductSearchIndex.SearchHits hits = searchIndexer.index().search(keyword,
+                category == null || category.isBlank() ? null : category, offset, pageSize);
+        return new ProductSearchResult(summaryLoader.loadActive(hits.productIds()), hits.totalHits());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.ProductIndexNotReadyException;
+import com.example.modulith.poc.model.product.ProductStatistics;
+import com.example.modulith.poc.model.product.ProductStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 商品集計サービス実装
+ * <p>
+ * 商品集計の管理が差分更新しているメモリ上の集計から返す（DBへはアクセスしない）。
+ * 起動時の集計の構築中は、空の集計を返さず {@link ProductIndexNotReadyException} をスローする。
+ */
+@Service
+public class ProductStatisticsServiceImpl implements ProductStatisticsService {
+
+    private final CatalogStatisticsIndexer statisticsIndexer;
+    private final int maxValues;
+
+    @Autowired
+    public ProductStatisticsServiceImpl(CatalogStatisticsIndexer statisticsIndexer,
+                                        @Value("${poc.product.statistics.max-values:50}") int maxValues) {
+        this.statisticsIndexer = statisticsIndexer;
+        this.maxValues = maxValues;
+    }
+
+    @Override
+    public ProductStatistics getStatistics(String category) {
+        if (!statisticsIndexer.isReady()) {
+            throw new ProductIndexNotReadyException("catalog statistics are not ready yet");
+        }
+        return statisticsIndexer.index().statistics(category, maxValues);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.product.ProductSummary;
+import com.example.modulith.poc.model.product.entity.ProductEntity;
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+import com.example.modulith.poc.model.product.repository.SkuRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * インデックスの検索結果から商品の概要を読み込む
+ * <p>
+ * 該当ページの商品とSKUの最安値を主キーで一括取得し、インデックスの並び順どおりに返す。
+ * 商品は2次キャッシュを参照し、キャッシュに無い商品のみをDBから読み込む。
+ */
+@Component
+public class ProductSummaryLoader {
+
+    private final EntityManager entityManager;
+    private final SkuRepository skuRepository;
+
+    @Autowired
+    public ProductSummaryLoader(EntityManager entityManager, SkuRepository skuRepository) {
+        this.entityManager = entityManager;
+        this.skuRepository = skuRepository;
+    }
+
+    /**
+     * 販売中の商品の概要を取得する
+     * <p>
+     * インデックスへの反映前に販売終了・削除された商品は除外する。
+     *
+     * @param productIds 商品IDリスト（並び順どおり）
+     * @return 商品の概要リスト
+     */
+    public List<ProductSummary> loadActive(List<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, ProductEntity> products = new HashMap<>();
+        // findAllById はIN句のクエリとなり2次キャッシュを参照しないため、主キーの一括取得を使用する
+        List<ProductEntity> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(ProductEntity.class)
+                .multiLoad(productIds);
+        for (ProductEntity product : loaded) {
+            if (product != null) {
+                products.put(product.getProductId(), product);
+            }
+        }
+        Map<UUID, BigDecimal> minPrices = new HashMap<>();
+        for (SkuRepository.ProductMinPrice minPrice : skuRepository.findMinPrices(products.keySet())) {
+            minPrices.put(minPrice.getProductId(), minPrice.getMinPrice());
+        }
+
+        List<ProductSummary> summaries = new ArrayList<>(productIds.size());
+        for (UUID productId : productIds) {
+            ProductEntity product = products.get(productId);
+            if (product != null && product.getProductStatus() == ProductStatus.ACTIVE && product.getDeletedAt() == null) {
+                summaries.add(toSummary(product, minPrices.getOrDefault(productId, product.getBasePrice())));
+            }
+        }
+        return summaries;
+    }
+
+    private ProductSummary toSummary(ProductEntity product, BigDecimal price) {
+        return new ProductSummary(
+                product.getProductId(),
+                product.getProductName(),
+                product.getDescription(),
+                product.getBrand(),
+                product.getCategory(),
+                price,
+                product.getBasePrice(),
+                product.getCurrency(),
+                product.getProductStatus().name(),
+                product.getCreatedAt(),
+                product.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.core.metrics.MetricsSource;
+import com.example.modulith.poc.model.product.SkuCatalog;
+import com.example.modulith.poc.model.product.SkuInfo;
+import com.example.modulith.poc.model.product.cache.SingleFlight;
+import com.example.modulith.poc.model.product.cache.SkuCatalogCache;
+import com.example.modulith.poc.model.product.repository.SkuRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * SKUカタログ実装
+ * <p>
+ * キャッシュに無いSKUをまとめて1回のクエリ（IN句の上限ごとに分割）で読み込み、キャッシュに格納する。
+ * 他の呼び出しが読み込み中のSKUは読み込まず、その結果を共有する（注文が同じSKUに集中した場合もクエリはSKUごとに1回）。
+ * 存在しなかったSKUもキャッシュに記録し、同じSKUの参照で繰り返しDBを読まない。
+ * キャッシュヒット時にDB接続を取得しないよう、トランザクションは読み込み時のみ開始する。
+ * 読み込みの集約の統計は {@code product.sku-catalog.load.*} として運用統計に公開する。
+ */
+@Service
+public class SkuCatalogImpl implements SkuCatalog, MetricsSource {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final SkuCatalogCache cache;
+    private final SkuRepository skuRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<UUID, SkuInfo> loads = new SingleFlight<>();
+
+    @Autowired
+    public SkuCatalogImpl(SkuCatalogCache cache, SkuRepository skuRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.cache = cache;
+        this.skuRepository = skuRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public Optional<SkuInfo> get(UUID skuId) {
+        return Optional.ofNullable(getAll(List.of(skuId)).get(skuId));
+    }
+
+    @Override
+    public Map<UUID, SkuInfo> getAll(Collection<UUID> skuIds) {
+        Map<UUID, SkuInfo> result = new HashMap<>();
+        Set<UUID> misses = new LinkedHashSet<>();
+        for (UUID skuId : skuIds) {
+            SkuInfo cached = cache.get(skuId);
+            if (cached != null) {
+                result.put(skuId, cached);
+            } else if (!cache.isMissing(skuId)) {
+                misses.add(skuId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        result.putAll(loads.loadAll(misses, this::load));
+        return result;
+    }
+
+    /**
+     * 読み込みの集約の統計
+     */
+    public SingleFlight.Stats getLoadStats() {
+        return loads.stats();
+    }
+
+    @Override
+    public void collect(Map<String, Number> metrics) {
+        loads.stats().collect("product.sku-catalog.load", metrics);
+    }
+
+    private Map<UUID, SkuInfo> load(List<UUID> skuIds) {
+        // 読み込み中の無効化を検知するため、クエリの前に世代番号を取得する
+        SkuCatalogCache.Snapshot snapshot = cache.snapshot();
+        Map<UUID, SkuInfo> loaded = readOnlyTransaction.execute(status -> {
+            Map<UUID, SkuInfo> infos = new HashMap<>();
+            for (int from = 0; from < skuIds.size(); from += LOAD_BATCH_SIZE) {
+                List<UUID> batch = skuIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, skuIds.size()));
+                for (SkuInfo info : skuRepository.findSkuInfos(batch)) {
+                    infos.put(info.skuId(), info);
+                }
+            }
+            return infos;
+        });
+        for (UUID skuId : skuIds) {
+            SkuInfo info = loaded.get(skuId);
+            if (info != null) {
+                cache.put(info, snapshot);
+            } else {
+                cache.putMissing(skuId, snapshot);
+            }
+        }
+        return loaded;
+    }
+}
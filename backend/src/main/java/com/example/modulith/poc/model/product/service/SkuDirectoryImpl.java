@@ -0,0 +1,35 @@
+package com.example.modulith.poc.model.product.service;
+
+import com.example.modulith.poc.model.inventory.SkuDirectory;
+import com.example.modulith.poc.model.product.SkuCatalog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 在庫モジュールが参照するSKUの存在確認の実装
+ * <p>
+ * SKUカタログ（キャッシュ）から確認するため、存在しないSKUの確認が繰り返されてもDBへは届かない。
+ */
+@Service
+public class SkuDirectoryImpl implements SkuDirectory {
+
+    private final SkuCatalog skuCatalog;
+
+    @Autowired
+    public SkuDirectoryImpl(SkuCatalog skuCatalog) {
+        this.skuCatalog = skuCatalog;
+    }
+
+    @Override
+    public Set<UUID> findExisting(Collection<UUID> skuIds) {
+        if (skuIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(skuCatalog.getAll(skuIds).keySet());
+    }
+}
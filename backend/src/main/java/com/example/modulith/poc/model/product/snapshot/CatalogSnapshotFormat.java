@@ -0,0 +1,30 @@
+package com.example.modulith.poc.model.product.snapshot;
+
+/**
+ * カタログスナップショットのファイル形式
+ * <p>
+ * 数値はビッグエンディアン。ファイルはヘッダー・商品・SKU・トレーラーの順に並ぶ。
+ * <pre>
+ * ヘッダー   : magic(int) formatVersion(int) snapshotVersion(long)
+ * 商品       : productId(long×2) productName description brand category productStatus(文字列)
+ *              basePrice minSkuPrice(価格) createdAt(エポック秒 long, ナノ秒 int)
+ * SKU        : skuId productId(long×2) skuCode productName category color size(文字列) unitPrice(価格)
+ *              currency(文字列) purchasable(byte)
+ * トレーラー : productCount(int) skuCount(int) skuOffset(long) crc32(long) magic(int)
+ * </pre>
+ * 文字列はUTF-8のバイト数(int、nullは-1)とバイト列、価格はスケール(byte、nullは {@link #NULL_SCALE})と
+ * スケールなしの値(long)で表す。CRC32はトレーラーより前の全バイトを対象とする。
+ * 項目を変更した場合は {@link #FORMAT_VERSION} を上げ、古い形式のファイルは読み込まずにDBから構築する。
+ */
+final class CatalogSnapshotFormat {
+
+    static final int MAGIC = 0x43415453;
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 16;
+    static final int TRAILER_SIZE = 28;
+    static final int NULL_LENGTH = -1;
+    static final byte NULL_SCALE = Byte.MIN_VALUE;
+
+    private CatalogSnapshotFormat() {
+    }
+}
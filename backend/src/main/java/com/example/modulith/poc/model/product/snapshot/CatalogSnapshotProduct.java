@@ -0,0 +1,52 @@
+package com.example.modulith.poc.model.product.snapshot;
+
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+import com.example.modulith.poc.model.product.facet.ProductFacetDocument;
+import com.example.modulith.poc.model.product.search.ProductDocument;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * カタログスナップショットに保存する商品
+ * <p>
+ * 検索インデックスとファセットインデックスの両方を構築できる項目を持つ。
+ *
+ * @param productId     商品ID
+ * @param productName   商品名
+ * @param description   商品説明
+ * @param brand         ブランド
+ * @param category      カテゴリ
+ * @param productStatus 商品ステータス
+ * @param basePrice     基本価格
+ * @param minSkuPrice   販売中SKUの最安値（SKUが無い場合はnull）
+ * @param createdAt     作成日時
+ */
+public record CatalogSnapshotProduct(
+        UUID productId,
+        String productName,
+        String description,
+        String brand,
+        String category,
+        ProductStatus productStatus,
+        BigDecimal basePrice,
+        BigDecimal minSkuPrice,
+        OffsetDateTime createdAt
+) {
+    /**
+     * 検索対象の商品か（スナップショットは論理削除された商品を含まないため、販売中かのみ判定する）
+     */
+    public boolean isSearchable() {
+        return productStatus == ProductStatus.ACTIVE;
+    }
+
+    public ProductDocument toSearchDocument() {
+        return new ProductDocument(productId, productName, description, brand, category);
+    }
+
+    public ProductFacetDocument toFacetDocument() {
+        return new ProductFacetDocument(productId, productName, brand, category, productStatus,
+                basePrice, minSkuPrice, createdAt);
+    }
+}
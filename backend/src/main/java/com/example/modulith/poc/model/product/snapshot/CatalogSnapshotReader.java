@@ -0,0 +1,198 @@
+package com.example.modulith.poc.model.product.snapshot;
+
+import com.example.modulith.poc.model.product.SkuInfo;
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * カタログスナップショットの読み込み
+ * <p>
+ * ファイルをメモリマップし、ヒープへ読み込まずに先頭から順に復元する。ページはOSのページキャッシュから供給されるため、
+ * 直前に書き込まれたファイルやデプロイ前から残っているファイルはディスクを読まずに復元できる。
+ * 開く時点でヘッダー・トレーラー・CRC32を検証し、不正なファイルは例外とする。
+ * <p>
+ * 読み込みは呼び出しごとに独立した位置を持つため、複数スレッドから同時に読み込める。
+ * マップできるファイルは2GBまでとする。
+ */
+public class CatalogSnapshotReader {
+
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    private final MappedByteBuffer buffer;
+    private final long snapshotVersion;
+    private final int productCount;
+    private final int skuCount;
+    private final int skuOffset;
+    private final int trailerOffset;
+
+    private CatalogSnapshotReader(MappedByteBuffer buffer, long snapshotVersion, int productCount, int skuCount,
+                                  int skuOffset, int trailerOffset) {
+        this.buffer = buffer;
+        this.snapshotVersion = snapshotVersion;
+        this.productCount = productCount;
+        this.skuCount = skuCount;
+        this.skuOffset = skuOffset;
+        this.trailerOffset = trailerOffset;
+    }
+
+    /**
+     * スナップショットを開いて検証する
+     *
+     * @param path ファイルパス
+     * @return スナップショット
+     * @throws IOException 読み込めない場合、形式・バージョンが異なる場合、破損している場合
+     */
+    public static CatalogSnapshotReader open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < CatalogSnapshotFormat.HEADER_SIZE + CatalogSnapshotFormat.TRAILER_SIZE) {
+                throw new IOException("スナップショットが途中までしかありません: " + path);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("スナップショットが大きすぎます: " + path);
+            }
+            // マップはチャネルを閉じた後も有効
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int trailerOffset = buffer.capacity() - CatalogSnapshotFormat.TRAILER_SIZE;
+        if (buffer.getInt(0) != CatalogSnapshotFormat.MAGIC
+                || buffer.getInt(trailerOffset + 24) != CatalogSnapshotFormat.MAGIC) {
+            throw new IOException("スナップショットの形式ではありません: " + path);
+        }
+        if (buffer.getInt(4) != CatalogSnapshotFormat.FORMAT_VERSION) {
+            throw new IOException("スナップショットの形式バージョンが異なります: " + buffer.getInt(4));
+        }
+        int productCount = buffer.getInt(trailerOffset);
+        int skuCount = buffer.getInt(trailerOffset + 4);
+        long skuOffset = buffer.getLong(trailerOffset + 8);
+        if (productCount < 0 || skuCount < 0
+                || skuOffset < CatalogSnapshotFormat.HEADER_SIZE || skuOffset > trailerOffset) {
+            throw new IOException("スナップショットのトレーラーが不正です: " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(trailerOffset));
+        if (crc.getValue() != buffer.getLong(trailerOffset + 16)) {
+            throw new IOException("スナップショットが破損しています: " + path);
+        }
+        return new CatalogSnapshotReader(buffer, buffer.getLong(8), productCount, skuCount, (int) skuOffset,
+                trailerOffset);
+    }
+
+    /**
+     * スナップショットのバージョン（この時刻以降の変更はスナップショットに含まれない可能性がある。エポックミリ秒）
+     */
+    public long snapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public int productCount() {
+        return productCount;
+    }
+
+    public int skuCount() {
+        return skuCount;
+    }
+
+    /**
+     * ファイルサイズ
+     */
+    public int sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * 全ての商品を順に復元する
+     *
+     * @param consumer 商品を受け取る処理
+     */
+    public void forEachProduct(Consumer<CatalogSnapshotProduct> consumer) {
+        ByteBuffer in = section(CatalogSnapshotFormat.HEADER_SIZE, skuOffset);
+        for (int i = 0; i < productCount; i++) {
+            UUID productId = readUuid(in);
+            String productName = readString(in);
+            String description = readString(in);
+            String brand = readString(in);
+            String category = readString(in);
+            ProductStatus status = readStatus(in);
+            BigDecimal basePrice = readPrice(in);
+            BigDecimal minSkuPrice = readPrice(in);
+            OffsetDateTime createdAt = OffsetDateTime.ofInstant(
+                    Instant.ofEpochSecond(in.getLong(), in.getInt()), ZoneOffset.UTC);
+            consumer.accept(new CatalogSnapshotProduct(productId, productName, description, brand, category,
+                    status, basePrice, minSkuPrice, createdAt));
+        }
+    }
+
+    /**
+     * 全てのSKUを順に復元する
+     *
+     * @param consumer SKU情報を受け取る処理
+     */
+    public void forEachSku(Consumer<SkuInfo> consumer) {
+        ByteBuffer in = section(skuOffset, trailerOffset);
+        for (int i = 0; i < skuCount; i++) {
+            UUID skuId = readUuid(in);
+            UUID productId = readUuid(in);
+            String skuCode = readString(in);
+            String productName = readString(in);
+            String category = readString(in);
+            String color = readString(in);
+            String size = readString(in);
+            BigDecimal unitPrice = readPrice(in);
+            String currency = readString(in);
+            boolean purchasable = in.get() != 0;
+            consumer.accept(new SkuInfo(skuId, productId, skuCode, productName, category, color, size, unitPrice,
+                    currency, purchasable));
+        }
+    }
+
+    private ByteBuffer section(int from, int to) {
+        return buffer.duplicate().position(from).limit(to);
+    }
+
+    private static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == CatalogSnapshotFormat.NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ProductStatus readStatus(ByteBuffer in) {
+        String name = readString(in);
+        for (ProductStatus status : STATUSES) {
+            if (status.name().equals(name)) {
+                return status;
+            }
+        }
+        throw new IllegalStateException("スナップショットの商品ステータスが不正です: " + name);
+    }
+
+    private static BigDecimal readPrice(ByteBuffer in) {
+        byte scale = in.get();
+        long unscaled = in.getLong();
+        return scale == CatalogSnapshotFormat.NULL_SCALE ? null : BigDecimal.valueOf(unscaled, scale);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.modulith.poc.model.product.snapshot;
+
+import com.example.modulith.poc.model.product.SkuInfo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * カタログスナップショットの書き込み
+ * <p>
+ * 同じディレクトリの一時ファイルへ商品・SKUの順に書き込み、{@link #commit()} で同期してから置き換える。
+ * 書き込み途中で失敗した場合も、読み込み側からは直前のスナップショットが完全な状態で見える。
+ * <p>
+ * スレッドセーフではない。
+ */
+public class CatalogSnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private long written;
+    private int productCount;
+    private int skuCount;
+    private long skuOffset = -1;
+    private boolean committed;
+
+    /**
+     * 書き込みを開始する
+     *
+     * @param target          スナップショットのファイルパス
+     * @param snapshotVersion スナップショットのバージョン（この時刻以降の変更は起動時にDBから読み直す。エポックミリ秒）
+     */
+    public CatalogSnapshotWriter(Path target, long snapshotVersion) throws IOException {
+        this.target = target.toAbsolutePath();
+        Files.createDirectories(this.target.getParent());
+        this.temporary = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ensure(CatalogSnapshotFormat.HEADER_SIZE);
+        buffer.putInt(CatalogSnapshotFormat.MAGIC);
+        buffer.putInt(CatalogSnapshotFormat.FORMAT_VERSION);
+        buffer.putLong(snapshotVersion);
+    }
+
+    /**
+     * 商品を書き込む（SKUより前に全ての商品を書き込むこと）
+     *
+     * @param product 商品
+     */
+    public void writeProduct(CatalogSnapshotProduct product) throws IOException {
+        if (skuOffset >= 0) {
+            throw new IllegalStateException("商品はSKUより前に書き込んでください");
+        }
+        writeUuid(product.productId());
+        writeString(product.productName());
+        writeString(product.description());
+        writeString(product.brand());
+        writeString(product.category());
+        writeString(product.productStatus().name());
+        writePrice(product.basePrice());
+        writePrice(product.minSkuPrice());
+        ensure(12);
+        buffer.putLong(product.createdAt().toEpochSecond());
+        buffer.putInt(product.createdAt().getNano());
+        productCount++;
+    }
+
+    /**
+     * SKUを書き込む
+     *
+     * @param sku SKU情報
+     */
+    public void writeSku(SkuInfo sku) throws IOException {
+        if (skuOffset < 0) {
+            skuOffset = position();
+        }
+        writeUuid(sku.skuId());
+        writeUuid(sku.productId());
+        writeString(sku.skuCode());
+        writeString(sku.productName());
+        writeString(sku.category());
+        writeString(sku.color());
+        writeString(sku.size());
+        writePrice(sku.unitPrice());
+        writeString(sku.currency());
+        ensure(1);
+        buffer.put((byte) (sku.purchasable() ? 1 : 0));
+        skuCount++;
+    }
+
+    /**
+     * トレーラーを書き込み、ファイルを同期してスナップショットを置き換える
+     */
+    public void commit() throws IOException {
+        if (skuOffset < 0) {
+            skuOffset = position();
+        }
+        flush();
+        buffer.putInt(productCount);
+        buffer.putInt(skuCount);
+        buffer.putLong(skuOffset);
+        buffer.putLong(crc.getValue());
+        buffer.putInt(CatalogSnapshotFormat.MAGIC);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    public int productCount() {
+        return productCount;
+    }
+
+    public int skuCount() {
+        return skuCount;
+    }
+
+    /**
+     * 書き込みを終了する（コミットしていない場合は一時ファイルを削除する）
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private long position() {
+        return written + buffer.position();
+    }
+
+    private void writeUuid(UUID value) throws IOException {
+        ensure(16);
+        buffer.putLong(value.getMostSignificantBits());
+        buffer.putLong(value.getLeastSignificantBits());
+    }
+
+    private void writeString(String value) throws IOException {
+        ensure(4);
+        if (value == null) {
+            buffer.putInt(CatalogSnapshotFormat.NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        for (int offset = 0; offset < bytes.length; ) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void writePrice(BigDecimal value) throws IOException {
+        ensure(9);
+        if (value == null) {
+            buffer.put(CatalogSnapshotFormat.NULL_SCALE);
+            buffer.putLong(0);
+            return;
+        }
+        // 価格は numeric(10,2) のため、スケールなしの値は long に収まる
+        buffer.put((byte) value.scale());
+        buffer.putLong(value.unscaledValue().longValueExact());
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        written += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
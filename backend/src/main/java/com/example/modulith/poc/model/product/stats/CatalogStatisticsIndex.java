@@ -0,0 +1,258 @@
+package com.example.modulith.poc.model.product.stats;
+
+import com.example.modulith.poc.model.product.ProductStatistics;
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 商品の集計
+ * <p>
+ * カテゴリごとの価格分布（販売中の商品の販売中SKUの価格）と、カテゴリ・ブランドごとの商品ステータス別件数を保持する。
+ * 商品ごとに集計へ加えた内容を記録しておき、商品の変更時は前回の内容を差し引いてから加え直す。
+ * <p>
+ * 価格分布は価格帯ごとのSKU数に加え、価格ごとのSKU数を保持して最安値・最高値を削除後も正確に求める。
+ * 参照は読み取りロック、更新は書き込みロックで排他制御する。
+ */
+public class CatalogStatisticsIndex {
+
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+    private static final long[] NO_PRICES = new long[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * 価格帯の下限（最小通貨単位の100分の1。先頭は0）
+     */
+    private final long[] priceBounds;
+    private final Map<UUID, Entry> entries;
+    private final PriceAggregate allPrices;
+    private final Map<String, PriceAggregate> pricesByCategory = new HashMap<>();
+    private final Map<String, int[]> categoryCounts = new HashMap<>();
+    private final Map<String, int[]> brandCounts = new HashMap<>();
+
+    /**
+     * @param priceBounds  価格帯の境界（昇順）。n個の境界で n+1 個の価格帯に分割する
+     * @param expectedSize 想定する商品数
+     */
+    public CatalogStatisticsIndex(List<BigDecimal> priceBounds, int expectedSize) {
+        long[] bounds = priceBounds.stream()
+                .mapToLong(CatalogStatisticsIndex::toUnits)
+                .filter(bound -> bound > 0)
+                .sorted()
+                .distinct()
+                .toArray();
+        this.priceBounds = new long[bounds.length + 1];
+        System.arraycopy(bounds, 0, this.priceBounds, 1, bounds.length);
+        this.allPrices = new PriceAggregate(this.priceBounds.length);
+        this.entries = new HashMap<>(Math.max(expectedSize, 16) * 4 / 3 + 1);
+    }
+
+    /**
+     * 商品を集計に加える（集計済みの場合は置き換える）
+     *
+     * @param productId 商品ID
+     * @param rows      商品の行（同じ商品の全ての行）
+     */
+    public void index(UUID productId, List<CatalogStatisticsRow> rows) {
+        if (rows.isEmpty()) {
+            remove(productId);
+            return;
+        }
+        CatalogStatisticsRow first = rows.get(0);
+        long[] prices = NO_PRICES;
+        if (first.productStatus() == ProductStatus.ACTIVE) {
+            prices = rows.stream()
+                    .filter(row -> row.skuPrice() != null)
+                    .mapToLong(row -> toUnits(row.skuPrice()))
+                    .toArray();
+        }
+        Entry entry = new Entry(first.category(), first.brand(), first.productStatus(), prices);
+
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(productId, entry);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(entry, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 商品を集計から除く
+     *
+     * @param productId 商品ID
+     * @return 集計済みだったか
+     */
+    public boolean remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(productId);
+            if (previous == null) {
+                return false;
+            }
+            apply(previous, -1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 価格分布と件数を取得する
+     *
+     * @param category  価格分布を求めるカテゴリ（nullの場合は全カテゴリ）
+     * @param maxValues カテゴリ・ブランドとして返す値の最大数（件数の多い順）
+     * @return 商品の集計
+     */
+    public ProductStatistics statistics(String category, int maxValues) {
+        lock.readLock().lock();
+        try {
+            PriceAggregate prices = category == null ? allPrices : pricesByCategory.get(category);
+            return new ProductStatistics(
+                    toHistogram(prices),
+                    toStatusCounts(categoryCounts, maxValues),
+                    toStatusCounts(brandCounts, maxValues)
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 集計済みの商品数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Entry entry, int delta) {
+        if (entry.status() != null) {
+            addCount(categoryCounts, entry.category(), entry.status(), delta);
+            addCount(brandCounts, entry.brand(), entry.status(), delta);
+        }
+        if (entry.prices().length == 0) {
+            return;
+        }
+        PriceAggregate categoryPrices = null;
+        if (entry.category() != null) {
+            categoryPrices = pricesByCategory.computeIfAbsent(entry.category(),
+                    key -> new PriceAggregate(priceBounds.length));
+        }
+        for (long price : entry.prices()) {
+            int bucket = bucketOf(price);
+            allPrices.add(price, bucket, delta);
+            if (categoryPrices != null) {
+                categoryPrices.add(price, bucket, delta);
+            }
+        }
+        if (categoryPrices != null && categoryPrices.count == 0) {
+            pricesByCategory.remove(entry.category());
+        }
+    }
+
+    private static void addCount(Map<String, int[]> counts, String value, ProductStatus status, int delta) {
+        if (value == null) {
+            return;
+        }
+        int[] byStatus = counts.computeIfAbsent(value, key -> new int[STATUSES.length + 1]);
+        byStatus[status.ordinal()] += delta;
+        // 末尾は合計
+        byStatus[STATUSES.length] += delta;
+        if (byStatus[STATUSES.length] == 0) {
+            counts.remove(value);
+        }
+    }
+
+    private ProductStatistics.PriceHistogram toHistogram(PriceAggregate prices) {
+        List<ProductStatistics.PriceBucket> buckets = new ArrayList<>(priceBounds.length);
+        for (int i = 0; i < priceBounds.length; i++) {
+            buckets.add(new ProductStatistics.PriceBucket(
+                    fromUnits(priceBounds[i]),
+                    i + 1 < priceBounds.length ? fromUnits(priceBounds[i + 1]) : null,
+                    prices == null ? 0 : prices.bucketCounts[i]));
+        }
+        if (prices == null || prices.count == 0) {
+            return new ProductStatistics.PriceHistogram(null, null, 0, buckets);
+        }
+        return new ProductStatistics.PriceHistogram(fromUnits(prices.priceCounts.firstKey()),
+                fromUnits(prices.priceCounts.lastKey()), prices.count, buckets);
+    }
+
+    private static List<ProductStatistics.StatusCounts> toStatusCounts(Map<String, int[]> counts, int maxValues) {
+        return counts.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, int[]>>comparingInt(entry -> entry.getValue()[STATUSES.length])
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(maxValues)
+                .map(entry -> {
+                    int[] byStatus = entry.getValue();
+                    Map<String, Integer> statuses = new LinkedHashMap<>();
+                    for (ProductStatus status : STATUSES) {
+                        if (byStatus[status.ordinal()] > 0) {
+                            statuses.put(status.name(), byStatus[status.ordinal()]);
+                        }
+                    }
+                    return new ProductStatistics.StatusCounts(entry.getKey(), byStatus[STATUSES.length], statuses);
+                })
+                .toList();
+    }
+
+    private int bucketOf(long price) {
+        int index = Arrays.binarySearch(priceBounds, price);
+        return index >= 0 ? index : Math.max(-index - 2, 0);
+    }
+
+    private static long toUnits(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, 2);
+    }
+
+    /**
+     * 商品ごとに集計へ加えた内容
+     *
+     * @param prices 価格分布に加えた価格（販売中の商品のみ）
+     */
+    private record Entry(String category, String brand, ProductStatus status, long[] prices) {
+    }
+
+    /**
+     * 価格分布
+     */
+    private static final class PriceAggregate {
+        private final long[] bucketCounts;
+        private final TreeMap<Long, Integer> priceCounts = new TreeMap<>();
+        private long count;
+
+        PriceAggregate(int buckets) {
+            this.bucketCounts = new long[buckets];
+        }
+
+        void add(long price, int bucket, int delta) {
+            bucketCounts[bucket] += delta;
+            count += delta;
+            priceCounts.merge(price, delta, (current, added) -> current + added == 0 ? null : current + added);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.modulith.poc.model.product.stats;
+
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 集計に使用する商品とSKUの価格
+ * <p>
+ * 商品と販売中SKUを外部結合した1行。SKUが無い商品は価格がnullの1行となる。
+ *
+ * @param productId     商品ID
+ * @param category      カテゴリ
+ * @param brand         ブランド
+ * @param productStatus 商品ステータス
+ * @param skuPrice      販売中SKUの価格（SKUが無い場合はnull）
+ */
+public record CatalogStatisticsRow(
+        UUID productId,
+        String category,
+        String brand,
+        ProductStatus productStatus,
+        BigDecimal skuPrice
+) {
+}
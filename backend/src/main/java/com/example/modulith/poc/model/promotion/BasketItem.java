@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.promotion;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * プロモーションを評価する明細
+ *
+ * @param skuId     SKU ID
+ * @param productId 商品ID。nullの場合はSKUカタログから取得する
+ * @param category  カテゴリ
+ * @param quantity  数量
+ * @param unitPrice 単価（税抜）
+ */
+public record BasketItem(
+        UUID skuId,
+        UUID productId,
+        String category,
+        int quantity,
+        BigDecimal unitPrice
+) {
+}
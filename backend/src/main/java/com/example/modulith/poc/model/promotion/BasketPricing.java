@@ -0,0 +1,16 @@
+package com.example.modulith.poc.model.promotion;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * プロモーションの評価結果
+ *
+ * @param lines         明細ごとの割引（評価した明細と同じ順）
+ * @param totalDiscount 割引額の合計
+ */
+public record BasketPricing(
+        List<LineDiscount> lines,
+        BigDecimal totalDiscount
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.promotion;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 有効なクーポン
+ *
+ * @param couponId           クーポンID
+ * @param couponCode         クーポンコード
+ * @param discountPercentage 割引率（パーセント）
+ * @param validFrom          有効期間の開始日時
+ * @param validUntil         有効期限
+ */
+public record Coupon(
+        UUID couponId,
+        String couponCode,
+        int discountPercentage,
+        OffsetDateTime validFrom,
+        OffsetDateTime validUntil
+) {
+}
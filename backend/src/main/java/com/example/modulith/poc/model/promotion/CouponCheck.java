@@ -0,0 +1,28 @@
+package com.example.modulith.poc.model.promotion;
+
+/**
+ * クーポンの判定結果
+ *
+ * @param coupon クーポン（使用できない場合、存在しない場合はnull）
+ * @param reason 使用できない理由（使用できる場合はnull）
+ */
+public record CouponCheck(
+        Coupon coupon,
+        CouponRejectReason reason
+) {
+
+    public static CouponCheck applicable(Coupon coupon) {
+        return new CouponCheck(coupon, null);
+    }
+
+    public static CouponCheck rejected(CouponRejectReason reason) {
+        return new CouponCheck(null, reason);
+    }
+
+    /**
+     * 使用できるか
+     */
+    public boolean valid() {
+        return reason == null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.modulith.poc.model.promotion;
+
+/**
+ * クーポンが使用できない理由
+ */
+public enum CouponRejectReason {
+    /**
+     * クーポンが存在しない、または取り消されている
+     */
+    NOT_FOUND,
+    /**
+     * 有効期限が切れている
+     */
+    EXPIRED,
+    /**
+     * 有効期間の開始前
+     */
+    NOT_APPLICABLE
+}
@@ -0,0 +1,31 @@
+package com.example.modulith.poc.model.promotion;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * クーポンサービスインターフェース
+ * <p>
+ * プロモーションモジュールの公開API。有効なクーポンはメモリ上の索引から判定し、
+ * 存在しないコードは一定期間記録してDBへの問い合わせを繰り返さない。
+ */
+public interface CouponService {
+
+    /**
+     * クーポンコードを判定する（クーポン検証APIで使用する）
+     *
+     * @param couponCode クーポンコード
+     * @param at         判定日時
+     * @return 判定結果
+     */
+    CouponCheck check(String couponCode, OffsetDateTime at);
+
+    /**
+     * 使用できるクーポンを取得する（注文の金額計算で使用する。使用できないクーポンは無視する）
+     *
+     * @param couponCode クーポンコード
+     * @param at         判定日時
+     * @return クーポン。コードが空、または使用できない場合は空
+     */
+    Optional<Coupon> findApplicable(String couponCode, OffsetDateTime at);
+}
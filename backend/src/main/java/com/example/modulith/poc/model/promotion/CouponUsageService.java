@@ -0,0 +1,31 @@
+package com.example.modulith.poc.model.promotion;
+
+import java.util.UUID;
+
+/**
+ * クーポン使用サービスインターフェース
+ * <p>
+ * プロモーションモジュールの公開API。クーポンの使用回数の上限を、注文ごとにDBの行を更新せずに判定する。
+ * 使用履歴と使用回数はDBへ一定間隔でまとめて書き込む。
+ */
+public interface CouponUsageService {
+
+    /**
+     * クーポンを使用する（トランザクション内で呼んだ場合、ロールバック時は使用を取り消す）
+     *
+     * @param couponId クーポンID
+     * @param orderId  注文ID
+     * @return 使用できたか。使用回数の上限に達している場合はfalse
+     */
+    boolean tryUse(UUID couponId, UUID orderId);
+
+    /**
+     * クーポンの使用を取り消す（注文のキャンセル時に使用する）
+     * <p>
+     * トランザクション内で呼んだ場合は、コミット後に取り消す。同じ注文の取り消しを繰り返しても、取り消すのは1回のみ。
+     *
+     * @param couponId クーポンID
+     * @param orderId  注文ID
+     */
+    void cancelUse(UUID couponId, UUID orderId);
+}
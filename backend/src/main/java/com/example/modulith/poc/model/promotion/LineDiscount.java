@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.promotion;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 明細の割引
+ *
+ * @param skuId          SKU ID
+ * @param promotionId    適用したプロモーションID（適用なしの場合はnull）
+ * @param discountAmount 割引額（明細金額を超えない。適用なしの場合は0）
+ */
+public record LineDiscount(
+        UUID skuId,
+        UUID promotionId,
+        BigDecimal discountAmount
+) {
+
+    public static LineDiscount none(UUID skuId) {
+        return new LineDiscount(skuId, null, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.promotion;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * プロモーションサービスインターフェース
+ * <p>
+ * プロモーションモジュールの公開API。有効なプロモーションをSKU・商品・カテゴリで索引した評価プランにしてメモリに保持し、
+ * 明細ごとにDBへ問い合わせずに全明細の割引を1回で求める。
+ */
+public interface PromotionService {
+
+    /**
+     * 明細にプロモーションを適用した割引を求める（明細ごとに割引額が最大のプロモーションを1つ適用する）
+     *
+     * @param items 明細
+     * @param at    評価日時
+     * @return 評価結果
+     */
+    BasketPricing price(List<BasketItem> items, OffsetDateTime at);
+}
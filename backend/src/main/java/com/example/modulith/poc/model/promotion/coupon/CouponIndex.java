@@ -0,0 +1,173 @@
+package com.example.modulith.poc.model.promotion.coupon;
+
+import com.example.modulith.poc.model.promotion.Coupon;
+import com.example.modulith.poc.model.promotion.CouponCheck;
+import com.example.modulith.poc.model.promotion.CouponRejectReason;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * クーポンの索引
+ * <p>
+ * 有効なクーポンをクーポンコードのハッシュで保持し、有効期間はエポックミリ秒にして比較のみで判定する。
+ * 存在しない・使用できないコードはその理由を {@code rejectedTtl} の間記録し、同じコードでDBへ問い合わせない
+ * （記録数が上限に達した場合は期限切れの記録を除き、それでも空きが無い場合は記録しない）。
+ * <p>
+ * 参照はロックなしで行い、変更は索引の管理（単一スレッド）から行う。
+ */
+public class CouponIndex {
+
+    private final Map<String, Entry> coupons = new ConcurrentHashMap<>();
+    private final Map<UUID, String> codesById = new HashMap<>();
+    private final Map<String, Rejected> rejectedCodes = new ConcurrentHashMap<>();
+    private final long rejectedTtlNanos;
+    private final int maxRejectedCodes;
+    private volatile long nextSweepAt;
+
+    public CouponIndex(Duration rejectedTtl, int maxRejectedCodes) {
+        this.rejectedTtlNanos = rejectedTtl.toNanos();
+        this.maxRejectedCodes = maxRejectedCodes;
+        this.nextSweepAt = System.nanoTime();
+    }
+
+    /**
+     * 索引のクーポンで判定する
+     *
+     * @param couponCode クーポンコード
+     * @param atMillis   判定日時（エポックミリ秒）
+     * @return 判定結果。索引に無い場合はnull
+     */
+    public CouponCheck check(String couponCode, long atMillis) {
+        Entry entry = coupons.get(couponCode);
+        if (entry == null) {
+            return null;
+        }
+        if (atMillis < entry.validFromMillis()) {
+            return CouponCheck.rejected(CouponRejectReason.NOT_APPLICABLE);
+        }
+        if (atMillis > entry.validUntilMillis()) {
+            return CouponCheck.rejected(CouponRejectReason.EXPIRED);
+        }
+        return CouponCheck.applicable(entry.coupon());
+    }
+
+    /**
+     * 記録した使用できない理由を取得する
+     *
+     * @param couponCode クーポンコード
+     * @return 使用できない理由。記録が無い、または期限切れの場合はnull
+     */
+    public CouponRejectReason rejectedReason(String couponCode) {
+        Rejected rejected = rejectedCodes.get(couponCode);
+        if (rejected == null) {
+            return null;
+        }
+        if (System.nanoTime() - rejected.expiresAt() > 0) {
+            rejectedCodes.remove(couponCode, rejected);
+            return null;
+        }
+        return rejected.reason();
+    }
+
+    /**
+     * 使用できないコードを記録する
+     *
+     * @param couponCode クーポンコード
+     * @param reason     使用できない理由
+     */
+    public void reject(String couponCode, CouponRejectReason reason) {
+        long now = System.nanoTime();
+        if (rejectedCodes.size() >= maxRejectedCodes) {
+            sweepRejected(now);
+            if (rejectedCodes.size() >= maxRejectedCodes) {
+                return;
+            }
+        }
+        rejectedCodes.put(couponCode, new Rejected(reason, now + rejectedTtlNanos));
+    }
+
+    /**
+     * クーポンを登録・更新する（コードが変わった場合は旧コードを除く）
+     *
+     * @param coupon 有効なクーポン
+     */
+    public synchronized void put(Coupon coupon) {
+        String previousCode = codesById.put(coupon.couponId(), coupon.couponCode());
+        if (previousCode != null && !previousCode.equals(coupon.couponCode())) {
+            coupons.remove(previousCode);
+            rejectedCodes.remove(previousCode);
+        }
+        coupons.put(coupon.couponCode(), new Entry(coupon, coupon.validFrom().toInstant().toEpochMilli(),
+                coupon.validUntil().toInstant().toEpochMilli()));
+        rejectedCodes.remove(coupon.couponCode());
+    }
+
+    /**
+     * クーポンを除く（使用できない理由は次の参照時にDBから判定する）
+     *
+     * @param couponId   クーポンID
+     * @param couponCode クーポンコード
+     */
+    public synchronized void remove(UUID couponId, String couponCode) {
+        String previousCode = codesById.remove(couponId);
+        if (previousCode != null) {
+            coupons.remove(previousCode);
+            rejectedCodes.remove(previousCode);
+        }
+        coupons.remove(couponCode);
+        rejectedCodes.remove(couponCode);
+    }
+
+    /**
+     * 全てのクーポンを置き換える
+     *
+     * @param active 有効なクーポン
+     */
+    public synchronized void replaceAll(Collection<Coupon> active) {
+        coupons.clear();
+        codesById.clear();
+        rejectedCodes.clear();
+        for (Coupon coupon : active) {
+            put(coupon);
+        }
+    }
+
+    /**
+     * 索引のクーポン数
+     */
+    public int size() {
+        return coupons.size();
+    }
+
+    /**
+     * 記録している使用できないコードの数
+     */
+    public int rejectedSize() {
+        return rejectedCodes.size();
+    }
+
+    private void sweepRejected(long now) {
+        // 上限に達している間の参照ごとに走査しないよう、走査は記録の期間に1回までとする
+        if (now - nextSweepAt < 0) {
+            return;
+        }
+        nextSweepAt = now + rejectedTtlNanos;
+        for (Iterator<Rejected> iterator = rejectedCodes.values().iterator(); iterator.hasNext(); ) {
+            if (now - iterator.next().expiresAt() > 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record Entry(Coupon coupon, long validFromMillis, long validUntilMillis) {
+    }
+
+    private record Rejected(CouponRejectReason reason, long expiresAt) {
+    }
+}
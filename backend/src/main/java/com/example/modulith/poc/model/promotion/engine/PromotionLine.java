@@ -0,0 +1,22 @@
+package com.example.modulith.poc.model.promotion.engine;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 評価する明細（商品ID・カテゴリは不明な場合はnull）
+ *
+ * @param skuId     SKU ID
+ * @param productId 商品ID
+ * @param category  カテゴリ
+ * @param quantity  数量
+ * @param unitPrice 単価
+ */
+public record PromotionLine(
+        UUID skuId,
+        UUID productId,
+        String category,
+        int quantity,
+        BigDecimal unitPrice
+) {
+}
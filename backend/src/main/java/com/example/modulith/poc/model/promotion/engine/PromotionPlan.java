@@ -0,0 +1,166 @@
+package com.example.modulith.poc.model.promotion.engine;
+
+import com.example.modulith.poc.model.promotion.BasketPricing;
+import com.example.modulith.poc.model.promotion.LineDiscount;
+import com.example.modulith.poc.model.promotion.entity.PromotionTargetType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * プロモーションの評価プラン
+ * <p>
+ * プロモーションを対象のSKU・商品・カテゴリごとの配列に振り分けて保持し、明細ごとに
+ * 全商品対象・SKU・商品・カテゴリの4つの配列のみを評価する（対象外のプロモーションは参照しない）。
+ * 構築後は変更しないため、ロックなしで複数スレッドから評価できる。プロモーションの変更時は再構築して置き換える。
+ */
+public final class PromotionPlan {
+
+    private static final PromotionRule[] NONE = new PromotionRule[0];
+
+    public static final PromotionPlan EMPTY = compile(List.of());
+
+    private final PromotionRule[] global;
+    private final Map<UUID, PromotionRule[]> bySku;
+    private final Map<UUID, PromotionRule[]> byProduct;
+    private final Map<String, PromotionRule[]> byCategory;
+    private final int ruleCount;
+    private final int invalidTargetCount;
+
+    private PromotionPlan(PromotionRule[] global, Map<UUID, PromotionRule[]> bySku,
+                          Map<UUID, PromotionRule[]> byProduct, Map<String, PromotionRule[]> byCategory,
+                          int ruleCount, int invalidTargetCount) {
+        this.global = global;
+        this.bySku = bySku;
+        this.byProduct = byProduct;
+        this.byCategory = byCategory;
+        this.ruleCount = ruleCount;
+        this.invalidTargetCount = invalidTargetCount;
+    }
+
+    /**
+     * 評価プランを構築する
+     * <p>
+     * 同じ割引額のプロモーションが複数ある場合に結果が変わらないよう、配列はプロモーションID順にする。
+     * IDとして解釈できない対象は除く。
+     *
+     * @param rules プロモーション
+     * @return 評価プラン
+     */
+    public static PromotionPlan compile(Collection<PromotionRule> rules) {
+        List<PromotionRule> sorted = new ArrayList<>(rules);
+        sorted.sort(Comparator.comparing(PromotionRule::promotionId));
+        List<PromotionRule> global = new ArrayList<>();
+        Map<UUID, List<PromotionRule>> bySku = new HashMap<>();
+        Map<UUID, List<PromotionRule>> byProduct = new HashMap<>();
+        Map<String, List<PromotionRule>> byCategory = new HashMap<>();
+        int invalidTargetCount = 0;
+        for (PromotionRule rule : sorted) {
+            switch (rule.targetType()) {
+                case ALL -> global.add(rule);
+                case SKU, PRODUCT -> {
+                    Map<UUID, List<PromotionRule>> index = rule.targetType() == PromotionTargetType.SKU
+                            ? bySku : byProduct;
+                    for (String target : rule.targets()) {
+                        UUID id = parseId(target);
+                        if (id == null) {
+                            invalidTargetCount++;
+                            continue;
+                        }
+                        index.computeIfAbsent(id, key -> new ArrayList<>()).add(rule);
+                    }
+                }
+                case CATEGORY -> {
+                    for (String target : rule.targets()) {
+                        byCategory.computeIfAbsent(target, key -> new ArrayList<>()).add(rule);
+                    }
+                }
+            }
+        }
+        return new PromotionPlan(global.toArray(NONE), toArrays(bySku), toArrays(byProduct), toArrays(byCategory),
+                sorted.size(), invalidTargetCount);
+    }
+
+    /**
+     * 全明細を1回で評価する（明細ごとに割引額が最大のプロモーションを1つ適用する）
+     *
+     * @param lines    明細
+     * @param atMillis 評価日時（エポックミリ秒）
+     * @return 評価結果
+     */
+    public BasketPricing evaluate(List<PromotionLine> lines, long atMillis) {
+        List<LineDiscount> discounts = new ArrayList<>(lines.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (PromotionLine line : lines) {
+            BigDecimal lineTotal = line.unitPrice().multiply(BigDecimal.valueOf(line.quantity()));
+            Best best = new Best();
+            best.consider(global, lineTotal, line.quantity(), atMillis);
+            best.consider(bySku.getOrDefault(line.skuId(), NONE), lineTotal, line.quantity(), atMillis);
+            if (line.productId() != null) {
+                best.consider(byProduct.getOrDefault(line.productId(), NONE), lineTotal, line.quantity(), atMillis);
+            }
+            if (line.category() != null) {
+                best.consider(byCategory.getOrDefault(line.category(), NONE), lineTotal, line.quantity(), atMillis);
+            }
+            if (best.rule == null) {
+                discounts.add(LineDiscount.none(line.skuId()));
+            } else {
+                discounts.add(new LineDiscount(line.skuId(), best.rule.promotionId(), best.discount));
+                total = total.add(best.discount);
+            }
+        }
+        return new BasketPricing(discounts, total);
+    }
+
+    /**
+     * 含まれるプロモーションの数
+     */
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * 構築時に除いた対象の数
+     */
+    public int invalidTargetCount() {
+        return invalidTargetCount;
+    }
+
+    private static UUID parseId(String target) {
+        try {
+            return UUID.fromString(target);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static <K> Map<K, PromotionRule[]> toArrays(Map<K, List<PromotionRule>> index) {
+        Map<K, PromotionRule[]> arrays = new HashMap<>(index.size() * 4 / 3 + 1);
+        index.forEach((key, rules) -> arrays.put(key, rules.toArray(NONE)));
+        return arrays;
+    }
+
+    /**
+     * 明細ごとの割引額が最大のプロモーション
+     */
+    private static final class Best {
+        private PromotionRule rule;
+        private BigDecimal discount;
+
+        void consider(PromotionRule[] rules, BigDecimal lineTotal, int quantity, long atMillis) {
+            for (PromotionRule candidate : rules) {
+                BigDecimal amount = candidate.discount(lineTotal, quantity, atMillis);
+                if (amount != null && amount.signum() > 0 && (discount == null || amount.compareTo(discount) > 0)) {
+                    rule = candidate;
+                    discount = amount;
+                }
+            }
+        }
+    }
+}
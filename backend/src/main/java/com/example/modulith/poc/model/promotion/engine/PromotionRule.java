@@ -0,0 +1,54 @@
+package com.example.modulith.poc.model.promotion.engine;
+
+import com.example.modulith.poc.model.promotion.entity.PromotionDiscountType;
+import com.example.modulith.poc.model.promotion.entity.PromotionTargetType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 評価プランに含めるプロモーション
+ * <p>
+ * 期間はエポックミリ秒にして比較のみで判定する。
+ *
+ * @param promotionId   プロモーションID
+ * @param targetType    対象の種類
+ * @param targets       対象のSKU ID・商品ID・カテゴリ
+ * @param discountType  割引方法
+ * @param discountValue 割引値（定率はパーセント、定額は1点あたりの金額）
+ * @param minQuantity   適用に必要な明細の数量
+ * @param startMillis   開始日時（エポックミリ秒）
+ * @param endMillis     終了日時（エポックミリ秒）
+ */
+public record PromotionRule(
+        UUID promotionId,
+        PromotionTargetType targetType,
+        List<String> targets,
+        PromotionDiscountType discountType,
+        BigDecimal discountValue,
+        int minQuantity,
+        long startMillis,
+        long endMillis
+) {
+
+    /**
+     * 明細の割引額を求める
+     *
+     * @param lineTotal 明細金額
+     * @param quantity  数量
+     * @param atMillis  評価日時（エポックミリ秒）
+     * @return 割引額（明細金額を超えない。端数は切り捨て）。適用できない場合はnull
+     */
+    BigDecimal discount(BigDecimal lineTotal, int quantity, long atMillis) {
+        if (quantity < minQuantity || atMillis < startMillis || atMillis >= endMillis) {
+            return null;
+        }
+        BigDecimal discount = switch (discountType) {
+            case PERCENTAGE -> lineTotal.multiply(discountValue).movePointLeft(2);
+            case AMOUNT -> discountValue.multiply(BigDecimal.valueOf(quantity));
+        };
+        return discount.min(lineTotal).setScale(0, RoundingMode.DOWN);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.modulith.poc.model.promotion.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,11 +11,15 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "coupon")
 @Table(name = "coupons")
 public class CouponEntity {
     @Id
@@ -34,6 +39,24 @@ public class CouponEntity {
     @Column(name = "valid_until", nullable = false)
     private OffsetDateTime validUntil;
 
+    /**
+     * 全ノード合計の使用回数の上限（nullは無制限）
+     */
+    @Column(name = "usage_limit")
+    private Integer usageLimit;
+
+    /**
+     * ノードに割り当て済みの使用回数（クーポン使用の管理がJDBCで更新するため、エンティティからは更新しない）
+     */
+    @Column(name = "allocated_count", nullable = false, updatable = false)
+    private Integer allocatedCount = 0;
+
+    /**
+     * 使用回数（クーポン使用の管理がJDBCでまとめて加算するため、エンティティからは更新しない）
+     */
+    @Column(name = "used_count", nullable = false, updatable = false)
+    private Integer usedCount = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "coupon_status", nullable = false, length = 20)
     private CouponStatus couponStatus = CouponStatus.ACTIVE;
@@ -96,6 +119,22 @@ public class CouponEntity {
         this.validUntil = validUntil;
     }
 
+    public Integer getUsageLimit() {
+        return usageLimit;
+    }
+
+    public void setUsageLimit(Integer usageLimit) {
+        this.usageLimit = usageLimit;
+    }
+
+    public Integer getAllocatedCount() {
+        return allocatedCount;
+    }
+
+    public Integer getUsedCount() {
+        return usedCount;
+    }
+
     public CouponStatus getCouponStatus() {
         return couponStatus;
     }
@@ -0,0 +1,67 @@
+package com.example.modulith.poc.model.promotion.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * クーポン使用履歴エンティティ
+ * <p>
+ * クーポンを使用した注文ごとに1行を記録する（追記のみ。注文の取り消し時は削除する）。
+ * クーポン使用の管理がJDBCでまとめて書き込むため、IDはメモリ上で採番する。
+ */
+@Entity
+@Table(name = "coupon_usages", indexes = {
+        @Index(name = "idx_coupon_usages_coupon_order", columnList = "coupon_id, order_id")
+})
+public class CouponUsageEntity {
+    @Id
+    @Column(name = "usage_id")
+    private UUID usageId;
+
+    @Column(name = "coupon_id", nullable = false)
+    private UUID couponId;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "used_at", nullable = false)
+    private OffsetDateTime usedAt;
+
+    public UUID getUsageId() {
+        return usageId;
+    }
+
+    public void setUsageId(UUID usageId) {
+        this.usageId = usageId;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public void setCouponId(UUID couponId) {
+        this.couponId = couponId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(UUID orderId) {
+        this.orderId = orderId;
+    }
+
+    public OffsetDateTime getUsedAt() {
+        return usedAt;
+    }
+
+    public void setUsedAt(OffsetDateTime usedAt) {
+        this.usedAt = usedAt;
+    }
+}
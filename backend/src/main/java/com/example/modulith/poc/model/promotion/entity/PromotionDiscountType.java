@@ -0,0 +1,11 @@
+package com.example.modulith.poc.model.promotion.entity;
+
+/**
+ * プロモーションの割引方法
+ */
+public enum PromotionDiscountType {
+    /** 明細金額の定率割引（割引値はパーセント） */
+    PERCENTAGE,
+    /** 1点あたりの定額割引（割引値は金額） */
+    AMOUNT
+}
@@ -0,0 +1,189 @@
+package com.example.modulith.poc.model.promotion.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * プロモーションエンティティ
+ * <p>
+ * 対象（全商品・SKU・商品・カテゴリ）の明細に、定率または1点あたり定額の割引を適用する。
+ */
+@Entity
+@Table(name = "promotions", indexes = {
+        @Index(name = "idx_promotions_updated_at", columnList = "updated_at")
+})
+public class PromotionEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "promotion_id")
+    private UUID promotionId;
+
+    @Column(name = "promotion_name", nullable = false)
+    private String promotionName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private PromotionTargetType targetType = PromotionTargetType.ALL;
+
+    /**
+     * 対象のSKU ID・商品ID・カテゴリ（target_type に応じる。ALLの場合は使用しない）
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "applicable_products")
+    private List<String> applicableProducts;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "discount_type", nullable = false, length = 20)
+    private PromotionDiscountType discountType;
+
+    @Column(name = "discount_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountValue;
+
+    /**
+     * 適用に必要な明細の数量
+     */
+    @Column(name = "min_quantity", nullable = false)
+    private Integer minQuantity = 1;
+
+    @Column(name = "start_at", nullable = false)
+    private OffsetDateTime startAt;
+
+    @Column(name = "end_at", nullable = false)
+    private OffsetDateTime endAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "promotion_status", nullable = false, length = 20)
+    private PromotionStatus promotionStatus = PromotionStatus.ACTIVE;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "deleted_at")
+    private OffsetDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = OffsetDateTime.now();
+        updatedAt = OffsetDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = OffsetDateTime.now();
+    }
+
+    public UUID getPromotionId() {
+        return promotionId;
+    }
+
+    public void setPromotionId(UUID promotionId) {
+        this.promotionId = promotionId;
+    }
+
+    public String getPromotionName() {
+        return promotionName;
+    }
+
+    public void setPromotionName(String promotionName) {
+        this.promotionName = promotionName;
+    }
+
+    public PromotionTargetType getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(PromotionTargetType targetType) {
+        this.targetType = targetType;
+    }
+
+    public List<String> getApplicableProducts() {
+        return applicableProducts;
+    }
+
+    public void setApplicableProducts(List<String> applicableProducts) {
+        this.applicableProducts = applicableProducts;
+    }
+
+    public PromotionDiscountType getDiscountType() {
+        return discountType;
+    }
+
+    public void setDiscountType(PromotionDiscountType discountType) {
+        this.discountType = discountType;
+    }
+
+    public BigDecimal getDiscountValue() {
+        return discountValue;
+    }
+
+    public void setDiscountValue(BigDecimal discountValue) {
+        this.discountValue = discountValue;
+    }
+
+    public Integer getMinQuantity() {
+        return minQuantity;
+    }
+
+    public void setMinQuantity(Integer minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(OffsetDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public OffsetDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(OffsetDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public PromotionStatus getPromotionStatus() {
+        return promotionStatus;
+    }
+
+    public void setPromotionStatus(PromotionStatus promotionStatus) {
+        this.promotionStatus = promotionStatus;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public OffsetDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(OffsetDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
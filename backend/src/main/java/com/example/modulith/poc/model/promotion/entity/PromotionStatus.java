@@ -0,0 +1,5 @@
+package com.example.modulith.poc.model.promotion.entity;
+
+public enum PromotionStatus {
+    ACTIVE, INACTIVE, ENDED
+}
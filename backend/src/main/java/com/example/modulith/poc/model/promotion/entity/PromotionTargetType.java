@@ -0,0 +1,15 @@
+package com.example.modulith.poc.model.promotion.entity;
+
+/**
+ * プロモーションの対象の種類
+ */
+public enum PromotionTargetType {
+    /** 全商品 */
+    ALL,
+    /** 指定したSKU */
+    SKU,
+    /** 指定した商品の全SKU */
+    PRODUCT,
+    /** 指定したカテゴリの全商品 */
+    CATEGORY
+}
@@ -0,0 +1,45 @@
+package com.example.modulith.poc.model.promotion.repository;
+
+import com.example.modulith.poc.model.promotion.entity.CouponEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * クーポンリポジトリ
+ */
+@Repository
+public interface CouponRepository extends JpaRepository<CouponEntity, UUID> {
+
+    /**
+     * クーポンコードで取得（coupon_code の一意インデックスを使用する）
+     *
+     * @param couponCode クーポンコード
+     * @return クーポン
+     */
+    Optional<CouponEntity> findByCouponCode(String couponCode);
+
+    /**
+     * 有効なクーポンを取得（起動時の索引の構築に使用する）
+     *
+     * @return クーポンリスト
+     */
+    @Query("SELECT c FROM CouponEntity c " +
+            "WHERE c.couponStatus = com.example.modulith.poc.model.promotion.entity.CouponStatus.ACTIVE")
+    List<CouponEntity> findActive();
+
+    /**
+     * 指定日時以降に更新されたクーポンを取得（索引への差分の反映に使用する）
+     *
+     * @param since 更新日時
+     * @return クーポンリスト
+     */
+    @Query("SELECT c FROM CouponEntity c WHERE c.updatedAt >= :since")
+    List<CouponEntity> findUpdatedSince(@Param("since") OffsetDateTime since);
+}
@@ -0,0 +1,169 @@
+package com.example.modulith.poc.model.promotion.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * クーポン使用の一括書き込みリポジトリ
+ * <p>
+ * 使用履歴と使用回数をまとめて書き込み、使用回数の上限はノードへの割り当て単位でのみ coupons の行を更新する。
+ * JPAと同一のトランザクション（コネクション）で実行される。
+ */
+@Repository
+public class CouponUsageBulkWriteRepository {
+
+    private static final String SELECT_QUOTA_SQL =
+            "SELECT usage_limit, allocated_count FROM coupons WHERE coupon_id = ? FOR UPDATE";
+
+    private static final String ALLOCATE_SQL =
+            "UPDATE coupons SET allocated_count = allocated_count + ? WHERE coupon_id = ?";
+
+    private static final String INSERT_USAGE_SQL =
+            "INSERT INTO coupon_usages (usage_id, coupon_id, order_id, used_at) VALUES (?, ?, ?, ?)";
+
+    private static final String DELETE_USAGE_SQL =
+            "DELETE FROM coupon_usages WHERE coupon_id = ? AND order_id = ?";
+
+    private static final String ADD_USED_COUNT_SQL =
+            "UPDATE coupons SET used_count = used_count + ? WHERE coupon_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CouponUsageBulkWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 使用回数の上限からノードに割り当てる（coupons の行をロックする。トランザクション内で呼ぶこと）
+     *
+     * @param couponId  クーポンID
+     * @param requested 割り当てる回数
+     * @return 割り当て結果
+     */
+    public Allocation allocate(UUID couponId, int requested) {
+        List<Allocation> quotas = jdbcTemplate.query(SELECT_QUOTA_SQL, (rs, rowNum) -> {
+            int limit = rs.getInt(1);
+            if (rs.wasNull()) {
+                return Allocation.UNLIMITED;
+            }
+            return new Allocation(false, Math.max(Math.min(requested, limit - rs.getInt(2)), 0));
+        }, couponId);
+        if (quotas.isEmpty()) {
+            return new Allocation(false, 0);
+        }
+        Allocation allocation = quotas.get(0);
+        if (allocation.granted() > 0) {
+            jdbcTemplate.update(ALLOCATE_SQL, allocation.granted(), couponId);
+        }
+        return allocation;
+    }
+
+    /**
+     * 使用されなかった割り当てを戻す
+     *
+     * @param unused クーポンIDをキーとした戻す回数
+     */
+    public void release(Map<UUID, Integer> unused) {
+        if (unused.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<UUID, Integer>> rows = new ArrayList<>(unused.entrySet());
+        jdbcTemplate.batchUpdate(ALLOCATE_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, -row.getValue());
+            ps.setObject(2, row.getKey());
+        });
+    }
+
+    /**
+     * 使用履歴を一括登録する
+     *
+     * @param usages 使用履歴
+     */
+    public void insertUsages(List<UsageRow> usages) {
+        if (usages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_USAGE_SQL, usages, usages.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, row.couponId());
+            ps.setObject(3, row.orderId());
+            ps.setObject(4, row.usedAt());
+        });
+    }
+
+    /**
+     * 使用履歴を一括削除する（注文の取り消し）
+     *
+     * @param usages 使用履歴
+     * @return 削除できた使用履歴（削除済みの使用履歴は含まない）
+     */
+    public List<UsageRow> deleteUsages(List<UsageRow> usages) {
+        if (usages.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_USAGE_SQL, usages, usages.size(), (ps, row) -> {
+            ps.setObject(1, row.couponId());
+            ps.setObject(2, row.orderId());
+        });
+        List<UsageRow> deleted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    deleted.add(usages.get(index));
+                }
+                index++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 使用回数をクーポンごとにまとめて加算する
+     *
+     * @param deltas クーポンIDをキーとした増減
+     */
+    public void addUsedCounts(Map<UUID, Integer> deltas) {
+        List<Map.Entry<UUID, Integer>> rows = new ArrayList<>();
+        for (Map.Entry<UUID, Integer> entry : deltas.entrySet()) {
+            if (entry.getValue() != 0) {
+                rows.add(entry);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_USED_COUNT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.getValue());
+            ps.setObject(2, row.getKey());
+        });
+    }
+
+    /**
+     * 割り当て結果
+     *
+     * @param unlimited 使用回数の上限が無いか
+     * @param granted   割り当てた回数
+     */
+    public record Allocation(boolean unlimited, int granted) {
+        static final Allocation UNLIMITED = new Allocation(true, 0);
+    }
+
+    /**
+     * 書き込む使用履歴
+     */
+    public record UsageRow(
+            UUID couponId,
+            UUID orderId,
+            OffsetDateTime usedAt
+    ) {
+    }
+}
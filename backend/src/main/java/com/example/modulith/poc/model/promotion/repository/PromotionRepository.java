@@ -0,0 +1,37 @@
+package com.example.modulith.poc.model.promotion.repository;
+
+import com.example.modulith.poc.model.promotion.entity.PromotionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * プロモーションリポジトリ
+ */
+@Repository
+public interface PromotionRepository extends JpaRepository<PromotionEntity, UUID> {
+
+    /**
+     * 有効で、指定日時より後に終了するプロモーションを取得（評価プランの構築に使用する）
+     *
+     * @param endAfter 日時
+     * @return プロモーションリスト
+     */
+    @Query("SELECT p FROM PromotionEntity p " +
+            "WHERE p.promotionStatus = com.example.modulith.poc.model.promotion.entity.PromotionStatus.ACTIVE " +
+            "AND p.deletedAt IS NULL AND p.endAt > :endAfter")
+    List<PromotionEntity> findActive(@Param("endAfter") OffsetDateTime endAfter);
+
+    /**
+     * 指定日時以降に更新されたプロモーションがあるか（評価プランの再構築の要否の判定に使用する）
+     *
+     * @param since 更新日時
+     * @return 更新されたプロモーションがあるか
+     */
+    boolean existsByUpdatedAtGreaterThanEqual(OffsetDateTime since);
+}
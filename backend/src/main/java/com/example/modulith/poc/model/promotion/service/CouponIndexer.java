@@ -0,0 +1,123 @@
+package com.example.modulith.poc.model.promotion.service;
+
+import com.example.modulith.poc.model.promotion.Coupon;
+import com.example.modulith.poc.model.promotion.coupon.CouponIndex;
+import com.example.modulith.poc.model.promotion.entity.CouponEntity;
+import com.example.modulith.poc.model.promotion.entity.CouponStatus;
+import com.example.modulith.poc.model.promotion.repository.CouponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * クーポン索引の管理
+ * <p>
+ * 起動時に有効なクーポンをDBから読み込んで索引を構築し、以降は {@code refresh-interval} ごとに
+ * 前回の反映以降に更新されたクーポンのみを読み直して差分で反映する。
+ * コミットの遅れで取りこぼさないよう、前回の反映日時から {@code refresh-overlap} 遡って読み直す。
+ */
+@Component
+public class CouponIndexer {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CouponIndexer.class);
+
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CouponIndex index;
+    private final Duration refreshOverlap;
+
+    private volatile boolean ready;
+    private OffsetDateTime lastRefreshedAt;
+
+    @Autowired
+    public CouponIndexer(CouponRepository couponRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${poc.promotion.coupon.refresh-overlap:PT5S}") Duration refreshOverlap,
+                         @Value("${poc.promotion.coupon.rejected-ttl:PT1M}") Duration rejectedTtl,
+                         @Value("${poc.promotion.coupon.max-rejected-codes:100000}") int maxRejectedCodes) {
+        this.couponRepository = couponRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshOverlap = refreshOverlap;
+        this.index = new CouponIndex(rejectedTtl, maxRejectedCodes);
+    }
+
+    /**
+     * クーポンの索引
+     */
+    public CouponIndex index() {
+        return index;
+    }
+
+    /**
+     * 初回の構築が完了しているか
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        long startedAt = System.nanoTime();
+        OffsetDateTime loadedAt = OffsetDateTime.now();
+        List<CouponEntity> active = readOnlyTransaction.execute(status -> couponRepository.findActive());
+        List<Coupon> coupons = new ArrayList<>(active.size());
+        for (CouponEntity entity : active) {
+            coupons.add(toCoupon(entity));
+        }
+        index.replaceAll(coupons);
+        lastRefreshedAt = loadedAt;
+        ready = true;
+        LOGGER.info("coupon index built: coupons={}, elapsedMs={}", coupons.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 前回の反映以降に更新されたクーポンを索引に反映する
+     */
+    @Scheduled(fixedDelayString = "${poc.promotion.coupon.refresh-interval:PT30S}",
+            initialDelayString = "${poc.promotion.coupon.refresh-interval:PT30S}")
+    public synchronized void refresh() {
+        if (!ready) {
+            return;
+        }
+        OffsetDateTime refreshedAt = OffsetDateTime.now();
+        OffsetDateTime since = lastRefreshedAt.minus(refreshOverlap);
+        List<CouponEntity> changed;
+        try {
+            changed = readOnlyTransaction.execute(status -> couponRepository.findUpdatedSince(since));
+        } catch (RuntimeException e) {
+            // 反映日時を進めずに次回再試行する
+            LOGGER.warn("failed to refresh coupon index", e);
+            return;
+        }
+        for (CouponEntity entity : changed) {
+            if (entity.getCouponStatus() == CouponStatus.ACTIVE) {
+                index.put(toCoupon(entity));
+            } else {
+                index.remove(entity.getCouponId(), entity.getCouponCode());
+            }
+        }
+        lastRefreshedAt = refreshedAt;
+        if (!changed.isEmpty()) {
+            LOGGER.debug("coupon index refreshed: since={}, coupons={}", since, changed.size());
+        }
+    }
+
+    static Coupon toCoupon(CouponEntity entity) {
+        return new Coupon(entity.getCouponId(), entity.getCouponCode(), entity.getDiscountPercentage(),
+                entity.getValidFrom(), entity.getValidUntil());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.modulith.poc.model.promotion.service;
+
+import com.example.modulith.poc.model.promotion.Coupon;
+import com.example.modulith.poc.model.promotion.CouponCheck;
+import com.example.modulith.poc.model.promotion.CouponRejectReason;
+import com.example.modulith.poc.model.promotion.CouponService;
+import com.example.modulith.poc.model.promotion.coupon.CouponIndex;
+import com.example.modulith.poc.model.promotion.entity.CouponEntity;
+import com.example.modulith.poc.model.promotion.entity.CouponStatus;
+import com.example.modulith.poc.model.promotion.repository.CouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * クーポンサービス実装
+ * <p>
+ * 索引に無いコードのみDBへ問い合わせ、存在しない・使用できないコードは索引に記録する。
+ * DBで有効なクーポンは索引に登録せず、索引の管理による差分の反映を待つ（取り消しとの競合で古い内容を登録しないため）。
+ */
+@Service
+public class CouponServiceImpl implements CouponService {
+
+    private final CouponIndexer couponIndexer;
+    private final CouponRepository couponRepository;
+
+    @Autowired
+    public CouponServiceImpl(CouponIndexer couponIndexer, CouponRepository couponRepository) {
+        this.couponIndexer = couponIndexer;
+        this.couponRepository = couponRepository;
+    }
+
+    @Override
+    public CouponCheck check(String couponCode, OffsetDateTime at) {
+        if (couponCode == null || couponCode.isBlank()) {
+            return CouponCheck.rejected(CouponRejectReason.NOT_FOUND);
+        }
+        CouponIndex index = couponIndexer.index();
+        CouponCheck indexed = index.check(couponCode, at.toInstant().toEpochMilli());
+        if (indexed != null) {
+            return indexed;
+        }
+        CouponRejectReason rejected = index.rejectedReason(couponCode);
+        if (rejected != null) {
+            return CouponCheck.rejected(rejected);
+        }
+
+        CouponEntity entity = couponRepository.findByCouponCode(couponCode).orElse(null);
+        if (entity == null) {
+            index.reject(couponCode, CouponRejectReason.NOT_FOUND);
+            return CouponCheck.rejected(CouponRejectReason.NOT_FOUND);
+        }
+        if (entity.getCouponStatus() == CouponStatus.ACTIVE) {
+            // 索引への反映前に登録されたクーポン
+            Coupon coupon = CouponIndexer.toCoupon(entity);
+            if (at.isBefore(coupon.validFrom())) {
+                return CouponCheck.rejected(CouponRejectReason.NOT_APPLICABLE);
+            }
+            if (at.isAfter(coupon.validUntil())) {
+                return CouponCheck.rejected(CouponRejectReason.EXPIRED);
+            }
+            return CouponCheck.applicable(coupon);
+        }
+        CouponRejectReason reason = entity.getCouponStatus() == CouponStatus.EXPIRED
+                ? CouponRejectReason.EXPIRED
+                : CouponRejectReason.NOT_FOUND;
+        index.reject(couponCode, reason);
+        return CouponCheck.rejected(reason);
+    }
+
+    @Override
+    public Optional<Coupon> findApplicable(String couponCode, OffsetDateTime at) {
+        if (couponCode == null || couponCode.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(check(couponCode, at).coupon());
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.modulith.poc.model.promotion.service;
+
+import com.example.modulith.poc.model.promotion.CouponUsageService;
+import com.example.modulith.poc.model.promotion.repository.CouponUsageBulkWriteRepository;
+import com.example.modulith.poc.model.promotion.usage.CouponUsageCounter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * クーポン使用サービス実装
+ * <p>
+ * 使用回数の上限は、coupons の行から {@code lease-size} 回ずつノードに割り当て（行の更新は割り当て時のみ）、
+ * 割り当て済みの残りをメモリ上のストライプ化したカウンタから減らして判定する。割り当ての合計は上限を超えないため、
+ * 複数ノードでも上限を超えて使用されることはない。異常終了時は残りが失われ、上限より少なく使用される場合がある。
+ * <p>
+ * 使用履歴（coupon_usages）と使用回数（used_count）は {@code flush-interval} ごとに専用の単一スレッドで
+ * まとめて1トランザクションで書き込み、使用回数はクーポンごとに1回の更新に集約する。
+ * <p>
+ * 取り消しは注文・クーポンごとに1回のみ反映する。メモリ上の残りは直近の使用（{@code usage-retention} の間保持する）を
+ * 取り消した場合のみ、残りから取った使用に限って戻し、使用回数は使用履歴を実際に削除できた分のみ減らす。
+ * 取り消しを含むトランザクションがロールバックされ、イベントが再配信されても二重に戻さないよう、残りはコミット後に戻す。
+ */
+@Service
+public class CouponUsageServiceImpl implements CouponUsageService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(CouponUsageServiceImpl.class);
+
+    private final CouponUsageBulkWriteRepository bulkWriteRepository;
+    private final TransactionTemplate transaction;
+    private final int leaseSize;
+    private final long exhaustedRecheckNanos;
+    private final int flushBatchSize;
+    private final long usageRetentionNanos;
+    private final Map<UUID, CouponUsageCounter> counters = new ConcurrentHashMap<>();
+    // 取り消しに備えて保持する直近の使用（残りから取ったか）
+    private final Map<UsageKey, RecentUsage> recentUsages = new ConcurrentHashMap<>();
+    private final Queue<PendingUsage> pendingUsages = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 書き込みに失敗したまとまり（flushLockの中でのみ変更する。後から追加された取り消しより先に書き込む）
+    private volatile List<PendingUsage> failedBatch = List.of();
+    private final AtomicLong allocationCount = new AtomicLong();
+    private final AtomicLong flushFailureCount = new AtomicLong();
+    private final ScheduledExecutorService executor;
+
+    @Autowired
+    public CouponUsageServiceImpl(CouponUsageBulkWriteRepository bulkWriteRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${poc.promotion.coupon-usage.lease-size:50}") int leaseSize,
+                                  @Value("${poc.promotion.coupon-usage.exhausted-recheck:PT10S}") Duration exhaustedRecheck,
+                                  @Value("${poc.promotion.coupon-usage.flush-interval:PT1S}") Duration flushInterval,
+                                  @Value("${poc.promotion.coupon-usage.flush-batch-size:1000}") int flushBatchSize,
+                                  @Value("${poc.promotion.coupon-usage.usage-retention:PT1H}") Duration usageRetention) {
+        this.bulkWriteRepository = bulkWriteRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.leaseSize = Math.max(leaseSize, 1);
+        this.exhaustedRecheckNanos = exhaustedRecheck.toNanos();
+        this.flushBatchSize = Math.max(flushBatchSize, 1);
+        this.usageRetentionNanos = usageRetention.toNanos();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coupon-usage-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(flushInterval.toMillis(), 1);
+        executor.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        long retentionMillis = Math.max(usageRetention.toMillis(), 1);
+        executor.scheduleWithFixedDelay(this::purgeRecentUsages, retentionMillis, retentionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean tryUse(UUID couponId, UUID orderId) {
+        CouponUsageCounter counter = counters.computeIfAbsent(couponId, id -> new CouponUsageCounter());
+        CouponUsageCounter.Acquisition acquisition = counter.tryAcquire();
+        if (acquisition == CouponUsageCounter.Acquisition.REJECTED) {
+            acquisition = acquireWithAllocation(couponId, counter);
+            if (acquisition == CouponUsageCounter.Acquisition.REJECTED) {
+                return false;
+            }
+        }
+        recentUsages.put(new UsageKey(couponId, orderId),
+                new RecentUsage(acquisition == CouponUsageCounter.Acquisition.COUNTED, System.nanoTime()));
+        pendingUsages.add(new PendingUsage(couponId, orderId, OffsetDateTime.now(), true));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        release(couponId, orderId);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    @Override
+    public void cancelUse(UUID couponId, UUID orderId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // ロールバックされた取り消しは再実行されるため、コミットされた場合のみ戻す
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(couponId, orderId);
+                }
+            });
+        } else {
+            release(couponId, orderId);
+        }
+    }
+
+    /**
+     * 書き込み待ちの使用履歴・使用回数をDBへ書き込む（専用スレッドから定期的に呼ばれる。終了時にも呼ばれる）
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (!failedBatch.isEmpty()) {
+                if (!flushBatch(failedBatch)) {
+                    return;
+                }
+                failedBatch = List.of();
+            }
+            while (!pendingUsages.isEmpty()) {
+                List<PendingUsage> batch = new ArrayList<>(Math.min(pendingUsages.size(), flushBatchSize));
+                PendingUsage usage;
+                while (batch.size() < flushBatchSize && (usage = pendingUsages.poll()) != null) {
+                    batch.add(usage);
+                }
+                if (!flushBatch(batch)) {
+                    failedBatch = batch;
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // 定期実行を止めないよう、例外はここで止める
+            LOGGER.error("failed to flush coupon usages", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * coupons の行から割り当てた累計回数
+     */
+    public long getAllocationCount() {
+        return allocationCount.get();
+    }
+
+    /**
+     * 書き込み待ちの使用・取り消しの数
+     */
+    public int getPendingCount() {
+        return pendingUsages.size() + failedBatch.size();
+    }
+
+    /**
+     * 書き込みに失敗した回数の累計
+     */
+    public long getFlushFailureCount() {
+        return flushFailureCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        flush();
+        // 使用されなかった割り当てを戻し、他のノードで使用できるようにする
+        Map<UUID, Integer> unused = new HashMap<>();
+        counters.forEach((couponId, counter) -> {
+            int remaining = counter.drain();
+            if (remaining > 0) {
+                unused.put(couponId, remaining);
+            }
+        });
+        try {
+            transaction.executeWithoutResult(status -> bulkWriteRepository.release(unused));
+        } catch (RuntimeException e) {
+            LOGGER.warn("failed to release coupon allocations: coupons={}", unused.size(), e);
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた直近の使用を破棄する（以降の取り消しでは、メモリ上の残りを戻さない）
+     */
+    public void purgeRecentUsages() {
+        long now = System.nanoTime();
+        recentUsages.values().removeIf(usage -> now - usage.usedAtNanos() > usageRetentionNanos);
+    }
+
+    /**
+     * 使用を取り消す（同じ注文・クーポンの2回目以降の取り消しでは残りを戻さない）
+     * <p>
+     * 使用履歴の削除は常に書き込み待ちに追加する。使用回数は削除できた使用履歴の分のみ減らすため、
+     * 重複した取り消しや保持期間を過ぎた使用の取り消しでも、使用回数を減らしすぎることはない。
+     */
+    private void release(UUID couponId, UUID orderId) {
+        RecentUsage usage = recentUsages.remove(new UsageKey(couponId, orderId));
+        if (usage != null && usage.counted()) {
+            CouponUsageCounter counter = counters.get(couponId);
+            if (counter != null) {
+                counter.release();
+            }
+        }
+        pendingUsages.add(new PendingUsage(couponId, orderId, OffsetDateTime.now(), false));
+    }
+
+    /**
+     * 割り当てを追加して使用する（同じクーポンの割り当ては1スレッドのみが行い、他のスレッドは待って追加分から使用する）
+     */
+    private CouponUsageCounter.Acquisition acquireWithAllocation(UUID couponId, CouponUsageCounter counter) {
+        synchronized (counter) {
+            while (true) {
+                CouponUsageCounter.Acquisition acquisition = counter.tryAcquire();
+                if (acquisition != CouponUsageCounter.Acquisition.REJECTED) {
+                    return acquisition;
+                }
+                long now = System.nanoTime();
+                if (counter.isExhausted(now)) {
+                    return CouponUsageCounter.Acquisition.REJECTED;
+                }
+                CouponUsageBulkWriteRepository.Allocation allocation =
+                        transaction.execute(status -> bulkWriteRepository.allocate(couponId, leaseSize));
+                if (allocation.unlimited()) {
+                    // 上限が後から設定された場合に備え、上限に達した場合と同じ間隔で再確認する
+                    counter.markUnlimited(now + exhaustedRecheckNanos);
+                    return CouponUsageCounter.Acquisition.UNCOUNTED;
+                }
+                if (allocation.granted() == 0) {
+                    // 上限に達した直後は、他ノードが割り当てを戻すまで行を更新しない
+                    counter.markExhausted(now + exhaustedRecheckNanos);
+                    return CouponUsageCounter.Acquisition.REJECTED;
+                }
+                allocationCount.addAndGet(allocation.granted());
+                counter.add(allocation.granted());
+            }
+        }
+    }
+
+    private boolean flushBatch(List<PendingUsage> batch) {
+        List<CouponUsageBulkWriteRepository.UsageRow> inserts = new ArrayList<>();
+        List<CouponUsageBulkWriteRepository.UsageRow> deletes = new ArrayList<>();
+        for (PendingUsage usage : batch) {
+            CouponUsageBulkWriteRepository.UsageRow row =
+                    new CouponUsageBulkWriteRepository.UsageRow(usage.couponId(), usage.orderId(), usage.usedAt());
+            (usage.used() ? inserts : deletes).add(row);
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                bulkWriteRepository.insertUsages(inserts);
+                // 使用回数は、削除できた使用履歴の分のみ減らす（重複した取り消しでは減らさない）
+                Map<UUID, Integer> deltas = new HashMap<>();
+                for (CouponUsageBulkWriteRepository.UsageRow row : inserts) {
+                    deltas.merge(row.couponId(), 1, Integer::sum);
+                }
+                for (CouponUsageBulkWriteRepository.UsageRow row : bulkWriteRepository.deleteUsages(deletes)) {
+                    deltas.merge(row.couponId(), -1, Integer::sum);
+                }
+                bulkWriteRepository.addUsedCounts(deltas);
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // 次回の書き込みで、このまとまりから再試行する
+            flushFailureCount.incrementAndGet();
+            LOGGER.warn("failed to flush coupon usages: usages={}", batch.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 書き込み待ちの使用・取り消し
+     */
+    private record PendingUsage(UUID couponId, UUID orderId, OffsetDateTime usedAt, boolean used) {
+    }
+
+    /**
+     * 直近の使用のキー
+     */
+    private record UsageKey(UUID couponId, UUID orderId) {
+    }
+
+    /**
+     * 直近の使用
+     *
+     * @param counted     残りから取った使用か（上限が無い間の使用はfalse）
+     * @param usedAtNanos 使用した時刻（System.nanoTime）
+     */
+    private record RecentUsage(boolean counted, long usedAtNanos) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.modulith.poc.model.promotion.service;
+
+import com.example.modulith.poc.model.promotion.engine.PromotionPlan;
+import com.example.modulith.poc.model.promotion.engine.PromotionRule;
+import com.example.modulith.poc.model.promotion.entity.PromotionEntity;
+import com.example.modulith.poc.model.promotion.repository.PromotionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * プロモーションの評価プランの管理
+ * <p>
+ * 起動時に有効なプロモーションをDBから読み込んで評価プランを構築し、以降は {@code refresh-interval} ごとに
+ * 更新されたプロモーションがあるかのみを確認して、ある場合は全件を読み直して再構築し置き換える
+ * （有効なプロモーションは数百件程度のため、差分の反映より全件の再構築の方が単純で十分に速い）。
+ * コミットの遅れで取りこぼさないよう、前回の構築日時から {@code refresh-overlap} 遡って確認する。
+ */
+@Component
+public class PromotionPlanner {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(PromotionPlanner.class);
+
+    private final PromotionRepository promotionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration refreshOverlap;
+
+    private volatile PromotionPlan plan = PromotionPlan.EMPTY;
+    private volatile boolean ready;
+    private OffsetDateTime lastBuiltAt;
+
+    @Autowired
+    public PromotionPlanner(PromotionRepository promotionRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${poc.promotion.engine.refresh-overlap:PT5S}") Duration refreshOverlap) {
+        this.promotionRepository = promotionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshOverlap = refreshOverlap;
+    }
+
+    /**
+     * 現在の評価プラン
+     */
+    public PromotionPlan plan() {
+        return plan;
+    }
+
+    /**
+     * 初回の構築が完了しているか
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        build();
+        ready = true;
+    }
+
+    /**
+     * 前回の構築以降にプロモーションが更新されていれば評価プランを再構築する
+     */
+    @Scheduled(fixedDelayString = "${poc.promotion.engine.refresh-interval:PT30S}",
+            initialDelayString = "${poc.promotion.engine.refresh-interval:PT30S}")
+    public synchronized void refresh() {
+        if (!ready) {
+            return;
+        }
+        OffsetDateTime since = lastBuiltAt.minus(refreshOverlap);
+        try {
+            Boolean changed = readOnlyTransaction.execute(
+                    status -> promotionRepository.existsByUpdatedAtGreaterThanEqual(since));
+            if (Boolean.TRUE.equals(changed)) {
+                build();
+            }
+        } catch (RuntimeException e) {
+            // 構築日時を進めずに次回再試行する
+            LOGGER.warn("failed to refresh promotion plan", e);
+        }
+    }
+
+    private void build() {
+        long startedAt = System.nanoTime();
+        OffsetDateTime builtAt = OffsetDateTime.now();
+        List<PromotionEntity> active = readOnlyTransaction.execute(
+                status -> promotionRepository.findActive(builtAt));
+        List<PromotionRule> rules = new ArrayList<>(active.size());
+        for (PromotionEntity entity : active) {
+            rules.add(toRule(entity));
+        }
+        PromotionPlan built = PromotionPlan.compile(rules);
+        plan = built;
+        lastBuiltAt = builtAt;
+        if (built.invalidTargetCount() > 0) {
+            LOGGER.warn("promotion targets ignored: targets={}", built.invalidTargetCount());
+        }
+        LOGGER.info("promotion plan built: promotions={}, elapsedMs={}", built.ruleCount(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static PromotionRule toRule(PromotionEntity entity) {
+        return new PromotionRule(
+                entity.getPromotionId(),
+                entity.getTargetType(),
+                entity.getApplicableProducts() != null ? List.copyOf(entity.getApplicableProducts()) : List.of(),
+                entity.getDiscountType(),
+                entity.getDiscountValue(),
+                entity.getMinQuantity(),
+                entity.getStartAt().toInstant().toEpochMilli(),
+                entity.getEndAt().toInstant().toEpochMilli()
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.modulith.poc.model.promotion.service;
+
+import com.example.modulith.poc.model.product.SkuCatalog;
+import com.example.modulith.poc.model.product.SkuInfo;
+import com.example.modulith.poc.model.promotion.BasketItem;
+import com.example.modulith.poc.model.promotion.BasketPricing;
+import com.example.modulith.poc.model.promotion.PromotionService;
+import com.example.modulith.poc.model.promotion.engine.PromotionLine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * プロモーションサービス実装
+ * <p>
+ * 明細の商品ID・カテゴリは呼び出し側が価格確定時に取得した値を使用し、評価はメモリ上の評価プランのみで行う。
+ * 商品IDが無い明細のみ、SKUカタログ（キャッシュ）から一括で取得する。
+ */
+@Service
+public class PromotionServiceImpl implements PromotionService {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(PromotionServiceImpl.class);
+
+    private final PromotionPlanner promotionPlanner;
+    private final SkuCatalog skuCatalog;
+
+    @Autowired
+    public PromotionServiceImpl(PromotionPlanner promotionPlanner, SkuCatalog skuCatalog) {
+        this.promotionPlanner = promotionPlanner;
+        this.skuCatalog = skuCatalog;
+    }
+
+    @Override
+    public BasketPricing price(List<BasketItem> items, OffsetDateTime at) {
+        if (items.isEmpty()) {
+            return new BasketPricing(List.of(), BigDecimal.ZERO);
+        }
+        if (!promotionPlanner.isReady()) {
+            LOGGER.warn("promotion plan is not ready yet");
+        }
+        List<UUID> unresolved = items.stream()
+                .filter(item -> item.productId() == null)
+                .map(BasketItem::skuId)
+                .distinct()
+                .toList();
+        Map<UUID, SkuInfo> skus = unresolved.isEmpty() ? Map.of() : skuCatalog.getAll(unresolved);
+        List<PromotionLine> lines = new ArrayList<>(items.size());
+        for (BasketItem item : items) {
+            if (item.productId() != null) {
+                lines.add(new PromotionLine(item.skuId(), item.productId(), item.category(),
+                        item.quantity(), item.unitPrice()));
+                continue;
+            }
+            SkuInfo sku = skus.get(item.skuId());
+            lines.add(new PromotionLine(
+                    item.skuId(),
+                    sku != null ? sku.productId() : null,
+                    sku != null ? sku.category() : null,
+                    item.quantity(),
+                    item.unitPrice()
+            ));
+        }
+        return promotionPlanner.plan().evaluate(lines, at.toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.modulith.poc.model.promotion.usage;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * クーポンごとの使用可能回数（ノードに割り当て済みの残り）
+ * <p>
+ * 残りをストライプに分けて保持し、スレッドごとに異なるストライプから減らすことで、
+ * 同じクーポンを同時に使用する注文が1つのカウンタで競合しないようにする。
+ * 自分のストライプが尽きた場合は他のストライプから取り、全て尽きた場合は割り当てを追加する必要がある。
+ * 上限が無いクーポンも期限付きで扱い、期限を過ぎると割り当てを要求させて上限の追加を確認する。
+ * 上限が無い間の使用は残りから取らないため、使用ごとに残りから取ったか（{@link Acquisition}）を呼び出し元で記録し、
+ * 取り消し時は残りから取った使用のみ {@link #release()} で戻す。
+ */
+public class CouponUsageCounter {
+
+    private static final int STRIPE_COUNT = 8;
+
+    private final AtomicInteger[] stripes = new AtomicInteger[STRIPE_COUNT];
+    /**
+     * 上限が無いとして扱う時刻（System.nanoTime）。0の場合は上限あり
+     */
+    private volatile long unlimitedUntil;
+    private volatile long exhaustedUntil;
+
+    public CouponUsageCounter() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * 1回分を使用する
+     *
+     * @return 使用の結果（上限が無い場合は常に {@link Acquisition#UNCOUNTED}）
+     */
+    public Acquisition tryAcquire() {
+        if (isUnlimited(System.nanoTime())) {
+            return Acquisition.UNCOUNTED;
+        }
+        int start = probe();
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            AtomicInteger stripe = stripes[(start + i) & (STRIPE_COUNT - 1)];
+            int remaining = stripe.get();
+            while (remaining > 0) {
+                if (stripe.compareAndSet(remaining, remaining - 1)) {
+                    return Acquisition.COUNTED;
+                }
+                remaining = stripe.get();
+            }
+        }
+        return Acquisition.REJECTED;
+    }
+
+    /**
+     * 取り消された1回分を戻す（このノードの残りとして再利用する）
+     * <p>
+     * {@link Acquisition#COUNTED} の使用の取り消しでのみ呼び出すこと。
+     * 残りから取っていない使用を戻すと、割り当てより多く使用できてしまう。
+     */
+    public void release() {
+        stripes[probe()].incrementAndGet();
+    }
+
+    /**
+     * 割り当てられた回数をストライプに分けて追加する
+     *
+     * @param permits 回数
+     */
+    public void add(int permits) {
+        int share = permits / STRIPE_COUNT;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            int amount = i == 0 ? share + permits % STRIPE_COUNT : share;
+            if (amount > 0) {
+                stripes[i].addAndGet(amount);
+            }
+        }
+        exhaustedUntil = 0;
+        unlimitedUntil = 0;
+    }
+
+    /**
+     * 残りを全て取り出す（終了時に割り当てを戻すために使用する）
+     *
+     * @return 残りの回数
+     */
+    public int drain() {
+        int drained = 0;
+        for (AtomicInteger stripe : stripes) {
+            drained += stripe.getAndSet(0);
+        }
+        return drained;
+    }
+
+    /**
+     * 指定時刻まで使用回数の上限が無いクーポンとする（以降は割り当てを要求し、上限が追加されていないか確認する）
+     *
+     * @param untilNanos 上限を再確認する時刻（System.nanoTime）
+     */
+    public void markUnlimited(long untilNanos) {
+        unlimitedUntil = untilNanos == 0 ? 1 : untilNanos;
+    }
+
+    /**
+     * 使用回数の上限が無いとして扱う期間か
+     */
+    public boolean isUnlimited(long nowNanos) {
+        long until = unlimitedUntil;
+        return until != 0 && nowNanos - until < 0;
+    }
+
+    /**
+     * 上限に達したため、指定時刻まで割り当てを要求しない
+     *
+     * @param untilNanos 再要求する時刻（System.nanoTime）
+     */
+    public void markExhausted(long untilNanos) {
+        exhaustedUntil = untilNanos;
+    }
+
+    /**
+     * 上限に達した直後で、割り当てを要求しない期間か
+     */
+    public boolean isExhausted(long nowNanos) {
+        long until = exhaustedUntil;
+        return until != 0 && nowNanos - until < 0;
+    }
+
+    private static int probe() {
+        int hash = Long.hashCode(Thread.currentThread().getId());
+        return (hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1);
+    }
+
+    /**
+     * 使用の結果
+     */
+    public enum Acquisition {
+        /**
+         * 残りから1回分を取って使用した
+         */
+        COUNTED,
+        /**
+         * 上限が無いため、残りから取らずに使用した
+         */
+        UNCOUNTED,
+        /**
+         * 残りが無いため使用できなかった
+         */
+        REJECTED
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.modulith.poc.model.user;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 認証済みのセッション
+ *
+ * @param sessionId セッションID
+ * @param userId    ユーザーID
+ * @param userRole  ユーザーロール（CUSTOMER, ADMIN, SUPPORT）
+ * @param expiresAt セッションの有効期限
+ */
+public record AuthenticatedSession(
+        UUID sessionId,
+        UUID userId,
+        String userRole,
+        OffsetDateTime expiresAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.modulith.poc.model.user;
+
+/**
+ * パスワードハッシュの受付拒否例外
+ * <p>
+ * ハッシュの計算待ちが上限に達している場合、または待ち時間が上限を超えた場合にスローされる（再試行を促す）。
+ */
+public class PasswordHashRejectedException extends RuntimeException {
+
+    public PasswordHashRejectedException(String message) {
+        super(message);
+    }
+}
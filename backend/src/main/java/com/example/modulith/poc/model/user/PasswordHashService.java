@@ -0,0 +1,34 @@
+package com.example.modulith.poc.model.user;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * パスワードハッシュサービスインターフェース
+ * <p>
+ * ユーザーモジュールの公開API。ハッシュの計算はCPU負荷が高いため、専用の上限付きスレッドプールで実行し、
+ * 呼び出し元（イベントループ・リクエストのスレッド）をブロックしない。
+ * 待ちが上限を超えた場合は {@link PasswordHashRejectedException} で完了する。
+ */
+public interface PasswordHashService {
+
+    /**
+     * パスワードのハッシュを求める（ユーザー登録・パスワード再設定で使用する）
+     *
+     * @param password パスワード
+     * @return users.password_hash に格納する値
+     */
+    CompletableFuture<String> hash(String password);
+
+    /**
+     * パスワードを照合する（ログインで使用する）
+     * <p>
+     * 一致し、ハッシュの形式・コストが現在の設定と異なる場合は、現在の設定で求め直したハッシュに置き換える。
+     *
+     * @param userId       ユーザーID
+     * @param password     入力されたパスワード
+     * @param passwordHash 格納されているハッシュ
+     * @return 一致したか
+     */
+    CompletableFuture<Boolean> verify(UUID userId, String password, String passwordHash);
+}
@@ -0,0 +1,46 @@
+package com.example.modulith.poc.model.user;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * セッション認証サービスインターフェース
+ * <p>
+ * ユーザーモジュールの公開API。アクセストークンのハッシュをキーとしたメモリ上のキャッシュで認証し、
+ * 要求ごとに user_sessions を読まない。無効なトークンも一定期間記録する。
+ * ログアウト・失効はDBへ記録し、全ノードのキャッシュから破棄する。
+ */
+public interface SessionAuthService {
+
+    /**
+     * アクセストークンを認証する
+     *
+     * @param accessToken アクセストークン
+     * @return 認証済みのセッション。存在しない・失効済み・有効期限切れの場合は空
+     */
+    Optional<AuthenticatedSession> authenticate(String accessToken);
+
+    /**
+     * 発行したセッションをキャッシュに登録する（ログイン・トークン更新でセッションを登録した後に呼ぶ）
+     *
+     * @param accessToken アクセストークン
+     * @param session     セッション
+     */
+    void register(String accessToken, AuthenticatedSession session);
+
+    /**
+     * セッションを失効させる（ログアウト）
+     *
+     * @param accessToken アクセストークン
+     * @return 失効させたか
+     */
+    boolean revoke(String accessToken);
+
+    /**
+     * ユーザーの全セッションを失効させる
+     *
+     * @param userId ユーザーID
+     * @return 失効させたセッション数
+     */
+    int revokeAll(UUID userId);
+}
@@ -0,0 +1,118 @@
+package com.example.modulith.poc.model.user.password;
+
+import com.example.modulith.poc.model.user.PasswordHashRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * パスワードハッシュ専用のスレッドプール
+ * <p>
+ * スレッド数と待ち行列の長さに上限を設け、待ち行列が一杯の場合は受け付けずに {@link PasswordHashRejectedException} で
+ * 完了する（ログインが集中しても他の処理のスレッドを消費しない）。待ち行列で {@code maxQueueWait} を超えて待った
+ * 処理は、呼び出し元がタイムアウトしている可能性が高いため計算せずに同じ例外で完了する。
+ */
+public class PasswordHashExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueWaitNanos;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashExecutor(int poolSize, int queueCapacity, Duration maxQueueWait) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+    }
+
+    /**
+     * 計算を受け付ける
+     *
+     * @param task 計算
+     * @return 計算結果。受け付けられない場合は {@link PasswordHashRejectedException} で完了する
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(task, result, submittedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            result.completeExceptionally(new PasswordHashRejectedException("password hash queue is full"));
+        }
+        return result;
+    }
+
+    /**
+     * 統計
+     */
+    public Stats stats() {
+        long count = completed.sum();
+        return new Stats(count, rejected.sum(), expired.sum(), failures.sum(),
+                count == 0 ? 0 : hashNanos.sum() / count / 1_000_000.0,
+                maxHashNanos.get() / 1_000_000.0,
+                count == 0 ? 0 : queueWaitNanos.sum() / count / 1_000_000.0,
+                executor.getQueue().size(), executor.getActiveCount());
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> void run(Supplier<T> task, CompletableFuture<T> result, long submittedAt) {
+        long startedAt = System.nanoTime();
+        if (startedAt - submittedAt > maxQueueWaitNanos) {
+            expired.increment();
+            result.completeExceptionally(new PasswordHashRejectedException("password hash waited too long"));
+            return;
+        }
+        try {
+            T value = task.get();
+            long elapsed = System.nanoTime() - startedAt;
+            completed.increment();
+            hashNanos.add(elapsed);
+            queueWaitNanos.add(startedAt - submittedAt);
+            maxHashNanos.accumulate(elapsed);
+            result.complete(value);
+        } catch (RuntimeException e) {
+            failures.increment();
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 統計
+     *
+     * @param completed          完了した計算の数
+     * @param rejected           待ち行列が一杯で受け付けなかった数
+     * @param expired            待ち時間が上限を超えて計算しなかった数
+     * @param failures           例外で終了した計算の数
+     * @param avgHashMillis      計算時間の平均（ミリ秒）
+     * @param maxHashMillis      計算時間の最大（ミリ秒）
+     * @param avgQueueWaitMillis 待ち時間の平均（ミリ秒）
+     * @param queueDepth         待ち行列の長さ
+     * @param active             計算中のスレッド数
+     */
+    public record Stats(long completed, long rejected, long expired, long failures, double avgHashMillis,
+                        double maxHashMillis, double avgQueueWaitMillis, int queueDepth, int active) {
+    }
+}
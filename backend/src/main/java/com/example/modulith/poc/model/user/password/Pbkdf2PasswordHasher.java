@@ -0,0 +1,107 @@
+package com.example.modulith.poc.model.user.password;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2（HMAC-SHA256）によるパスワードハッシュ
+ * <p>
+ * ハッシュは {@code pbkdf2-sha256$反復回数$ソルト$ハッシュ}（ソルト・ハッシュはBase64）の形式で、
+ * 反復回数を含むため、設定の反復回数を変更しても既存のハッシュを照合できる。
+ * 計算はCPU負荷が高いため、専用のスレッドプールから呼び出すこと。
+ */
+public class Pbkdf2PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * 現在の反復回数でハッシュを求める
+     *
+     * @param password パスワード
+     * @return ハッシュ
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(password, salt, iterations));
+    }
+
+    /**
+     * 照合する（比較は一定時間で行う）
+     *
+     * @param password     パスワード
+     * @param passwordHash ハッシュ
+     * @return 一致したか。形式が異なる場合はfalse
+     */
+    public boolean matches(String password, String passwordHash) {
+        Parsed parsed = parse(passwordHash);
+        if (parsed == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(parsed.hash(), derive(password, parsed.salt(), parsed.iterations()));
+    }
+
+    /**
+     * 現在の反復回数で求め直す必要があるか
+     *
+     * @param passwordHash ハッシュ
+     * @return 形式または反復回数が現在の設定と異なるか
+     */
+    public boolean needsRehash(String passwordHash) {
+        Parsed parsed = parse(passwordHash);
+        return parsed == null || parsed.iterations() != iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static Parsed parse(String passwordHash) {
+        if (passwordHash == null) {
+            return null;
+        }
+        String[] parts = passwordHash.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return null;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            if (iterations < 1) {
+                return null;
+            }
+            Base64.Decoder decoder = Base64.getDecoder();
+            return new Parsed(iterations, decoder.decode(parts[2]), decoder.decode(parts[3]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record Parsed(int iterations, byte[] salt, byte[] hash) {
+    }
+}
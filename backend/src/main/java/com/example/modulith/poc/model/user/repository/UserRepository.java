@@ -0,0 +1,32 @@
+package com.example.modulith.poc.model.user.repository;
+
+import com.example.modulith.poc.model.user.entity.UserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * ユーザーリポジトリ
+ */
+@Repository
+public interface UserRepository extends JpaRepository<UserEntity, UUID> {
+
+    /**
+     * パスワードのハッシュを置き換える（照合したハッシュから変更されていない場合のみ）
+     *
+     * @param userId      ユーザーID
+     * @param currentHash 照合したハッシュ
+     * @param newHash     新しいハッシュ
+     * @return 置き換えたか（1: 置き換えた、0: 既に変更されていた）
+     */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.passwordHash = :newHash " +
+            "WHERE u.userId = :userId AND u.passwordHash = :currentHash")
+    int replacePasswordHash(@Param("userId") UUID userId,
+                            @Param("currentHash") String currentHash,
+                            @Param("newHash") String newHash);
+}
@@ -0,0 +1,58 @@
+package com.example.modulith.poc.model.user.repository;
+
+import com.example.modulith.poc.model.user.entity.UserSessionEntity;
+import com.example.modulith.poc.model.user.session.SessionRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * ユーザーセッションリポジトリ
+ */
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSessionEntity, UUID> {
+
+    /**
+     * 有効なセッションをアクセストークンのハッシュで取得（失効済み・有効期限切れ・有効でないユーザーは含まない）
+     *
+     * @param accessTokenHash アクセストークンのハッシュ
+     * @param now             現在日時
+     * @return セッション
+     */
+    @Query("SELECT new com.example.modulith.poc.model.user.session.SessionRow(" +
+            "s.sessionId, u.userId, u.userRole, s.expiresAt) " +
+            "FROM UserSessionEntity s JOIN s.user u " +
+            "WHERE s.accessTokenHash = :accessTokenHash AND s.revokedAt IS NULL AND s.expiresAt > :now " +
+            "AND u.userStatus = com.example.modulith.poc.model.user.entity.UserStatus.ACTIVE")
+    Optional<SessionRow> findActiveByAccessTokenHash(@Param("accessTokenHash") String accessTokenHash,
+                                                      @Param("now") OffsetDateTime now);
+
+    /**
+     * ユーザーの失効していないセッションのアクセストークンのハッシュを取得
+     *
+     * @param userId ユーザーID
+     * @return アクセストークンのハッシュリスト
+     */
+    @Query("SELECT s.accessTokenHash FROM UserSessionEntity s WHERE s.user.userId = :userId AND s.revokedAt IS NULL")
+    List<String> findUnrevokedAccessTokenHashes(@Param("userId") UUID userId);
+
+    /**
+     * アクセストークンのハッシュのセッションを失効させる
+     *
+     * @param accessTokenHashes アクセストークンのハッシュリスト
+     * @param revokedAt         失効日時
+     * @return 失効させたセッション数
+     */
+    @Modifying
+    @Query("UPDATE UserSessionEntity s SET s.revokedAt = :revokedAt " +
+            "WHERE s.accessTokenHash IN :accessTokenHashes AND s.revokedAt IS NULL")
+    int revoke(@Param("accessTokenHashes") List<String> accessTokenHashes,
+               @Param("revokedAt") OffsetDateTime revokedAt);
+}
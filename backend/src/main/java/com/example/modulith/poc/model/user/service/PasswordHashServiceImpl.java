@@ -0,0 +1,120 @@
+package com.example.modulith.poc.model.user.service;
+
+import com.example.modulith.poc.core.metrics.MetricsSource;
+import com.example.modulith.poc.model.user.PasswordHashService;
+import com.example.modulith.poc.model.user.password.PasswordHashExecutor;
+import com.example.modulith.poc.model.user.password.Pbkdf2PasswordHasher;
+import com.example.modulith.poc.model.user.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * パスワードハッシュサービス実装
+ * <p>
+ * ハッシュの計算・照合は {@link PasswordHashExecutor} のスレッドで行う。
+ * 照合が一致したハッシュの反復回数が設定と異なる場合は、同じスレッドで求め直してDBのハッシュを置き換える
+ * （反復回数を変更した後、各ユーザーの次回のログインで順に移行される）。
+ * スレッドプールの統計（待ち行列の長さ・受付拒否数・計算時間）は {@code user.password-hash.*} として運用統計に公開する。
+ */
+@Service
+public class PasswordHashServiceImpl implements PasswordHashService, MetricsSource {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(PasswordHashServiceImpl.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transaction;
+    private final Pbkdf2PasswordHasher hasher;
+    private final PasswordHashExecutor executor;
+    private final LongAdder rehashed = new LongAdder();
+
+    @Autowired
+    public PasswordHashServiceImpl(UserRepository userRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${poc.user.password.iterations:600000}") int iterations,
+                                   @Value("${poc.user.password.pool-size:2}") int poolSize,
+                                   @Value("${poc.user.password.queue-capacity:64}") int queueCapacity,
+                                   @Value("${poc.user.password.max-queue-wait:PT2S}") Duration maxQueueWait) {
+        this.userRepository = userRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.hasher = new Pbkdf2PasswordHasher(iterations);
+        this.executor = new PasswordHashExecutor(poolSize, queueCapacity, maxQueueWait);
+    }
+
+    @Override
+    public CompletableFuture<String> hash(String password) {
+        return executor.submit(() -> hasher.hash(password));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verify(UUID userId, String password, String passwordHash) {
+        return executor.submit(() -> {
+            if (!hasher.matches(password, passwordHash)) {
+                return false;
+            }
+            if (hasher.needsRehash(passwordHash)) {
+                rehash(userId, password, passwordHash);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * ハッシュ専用スレッドプールの統計（計算時間・待ち時間・受付拒否数）
+     */
+    public PasswordHashExecutor.Stats getExecutorStats() {
+        return executor.stats();
+    }
+
+    /**
+     * ログイン時に求め直したハッシュの数
+     */
+    public long getRehashedCount() {
+        return rehashed.sum();
+    }
+
+    @Override
+    public void collect(Map<String, Number> metrics) {
+        PasswordHashExecutor.Stats stats = executor.stats();
+        metrics.put("user.password-hash.completed", stats.completed());
+        metrics.put("user.password-hash.rejected", stats.rejected());
+        metrics.put("user.password-hash.expired", stats.expired());
+        metrics.put("user.password-hash.failures", stats.failures());
+        metrics.put("user.password-hash.avg-hash-millis", stats.avgHashMillis());
+        metrics.put("user.password-hash.max-hash-millis", stats.maxHashMillis());
+        metrics.put("user.password-hash.avg-queue-wait-millis", stats.avgQueueWaitMillis());
+        metrics.put("user.password-hash.queue-depth", stats.queueDepth());
+        metrics.put("user.password-hash.active", stats.active());
+        metrics.put("user.password-hash.rehashed", rehashed.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void rehash(UUID userId, String password, String passwordHash) {
+        try {
+            String newHash = hasher.hash(password);
+            Integer replaced = transaction.execute(
+                    status -> userRepository.replacePasswordHash(userId, passwordHash, newHash));
+            if (replaced != null && replaced > 0) {
+                rehashed.increment();
+            }
+        } catch (RuntimeException e) {
+            // 照合は成功しているためログインは失敗させない（次回のログインで再試行される）
+            LOGGER.warn("failed to rehash password: userId={}", userId, e);
+        }
+    }
+}
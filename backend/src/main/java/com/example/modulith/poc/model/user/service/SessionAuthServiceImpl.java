@@ -0,0 +1,149 @@
+package com.example.modulith.poc.model.user.service;
+
+import com.example.modulith.poc.core.cache.CacheInvalidationChannel;
+import com.example.modulith.poc.core.cache.CacheInvalidationMessage;
+import com.example.modulith.poc.core.metrics.MetricsSource;
+import com.example.modulith.poc.model.user.AuthenticatedSession;
+import com.example.modulith.poc.model.user.SessionAuthService;
+import com.example.modulith.poc.model.user.repository.UserSessionRepository;
+import com.example.modulith.poc.model.user.session.AccessTokenHasher;
+import com.example.modulith.poc.model.user.session.SessionCache;
+import com.example.modulith.poc.model.user.session.SessionRow;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * セッション認証サービス実装
+ * <p>
+ * 認証は {@link SessionCache} から行い、キャッシュに無いトークンのみDBから読み込む。
+ * 失効はDBへ記録した後に自ノードのキャッシュから破棄し、{@link CacheInvalidationChannel} で他ノードへ伝える。
+ * 配信が届かなかった場合やDBを直接変更した場合も、キャッシュは最長 {@code max-ttl} で読み直される。
+ * キャッシュの統計（DBを読まずに認証した割合を含む）は {@code user.session-cache.*} として運用統計に公開する。
+ */
+@Service
+public class SessionAuthServiceImpl implements SessionAuthService, MetricsSource {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(SessionAuthServiceImpl.class);
+
+    /**
+     * 無効化の配信に使用するキャッシュ名（エンティティ名の代わりに設定する）
+     */
+    static final String CACHE_NAME = "user-sessions";
+
+    private final UserSessionRepository userSessionRepository;
+    private final CacheInvalidationChannel channel;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SessionCache cache;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    public SessionAuthServiceImpl(UserSessionRepository userSessionRepository,
+                                  CacheInvalidationChannel channel,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${poc.user.session-cache.max-ttl:PT5M}") Duration maxTtl,
+                                  @Value("${poc.user.session-cache.rejected-ttl:PT1M}") Duration rejectedTtl,
+                                  @Value("${poc.user.session-cache.max-sessions:200000}") int maxSessions,
+                                  @Value("${poc.user.session-cache.max-rejected:100000}") int maxRejected) {
+        this.userSessionRepository = userSessionRepository;
+        this.channel = channel;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = new SessionCache(maxTtl, rejectedTtl, maxSessions, maxRejected);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        channel.subscribe(this::onMessage);
+    }
+
+    @Override
+    public Optional<AuthenticatedSession> authenticate(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            return Optional.empty();
+        }
+        return cache.get(AccessTokenHasher.hash(accessToken), this::load);
+    }
+
+    @Override
+    public void register(String accessToken, AuthenticatedSession session) {
+        cache.register(AccessTokenHasher.hash(accessToken), session);
+    }
+
+    @Override
+    public boolean revoke(String accessToken) {
+        return revoke(List.of(AccessTokenHasher.hash(accessToken))) > 0;
+    }
+
+    @Override
+    public int revokeAll(UUID userId) {
+        List<String> tokenHashes = readOnlyTransaction.execute(
+                status -> userSessionRepository.findUnrevokedAccessTokenHashes(userId));
+        return tokenHashes.isEmpty() ? 0 : revoke(tokenHashes);
+    }
+
+    /**
+     * キャッシュの統計（認証がDBを読まずに行われている割合の確認に使用する）
+     */
+    public SessionCache.Stats getCacheStats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void collect(Map<String, Number> metrics) {
+        SessionCache.Stats stats = cache.stats();
+        metrics.put("user.session-cache.hits", stats.hits());
+        metrics.put("user.session-cache.rejected-hits", stats.rejectedHits());
+        metrics.put("user.session-cache.loads", stats.loads());
+        metrics.put("user.session-cache.invalidations", stats.invalidations());
+        metrics.put("user.session-cache.overflows", stats.overflows());
+        metrics.put("user.session-cache.sessions", stats.sessions());
+        metrics.put("user.session-cache.rejected", stats.rejected());
+        metrics.put("user.session-cache.hit-ratio", stats.hitRatio());
+    }
+
+    private int revoke(List<String> tokenHashes) {
+        Integer revoked = transaction.execute(
+                status -> userSessionRepository.revoke(tokenHashes, OffsetDateTime.now()));
+        // 失効済みのセッションも、キャッシュに残っている可能性があるため破棄する
+        for (String tokenHash : tokenHashes) {
+            cache.invalidate(tokenHash);
+            try {
+                channel.publish(new CacheInvalidationMessage(nodeId, CACHE_NAME, tokenHash));
+            } catch (RuntimeException e) {
+                // 失効は確定しているため失敗させない（他ノードのキャッシュは最長 max-ttl で読み直される）
+                LOGGER.warn("failed to publish session invalidation", e);
+            }
+        }
+        return revoked;
+    }
+
+    private AuthenticatedSession load(String tokenHash) {
+        return readOnlyTransaction.execute(status -> userSessionRepository
+                .findActiveByAccessTokenHash(tokenHash, OffsetDateTime.now())
+                .map(SessionRow::toSession)
+                .orElse(null));
+    }
+
+    private void onMessage(CacheInvalidationMessage message) {
+        if (!CACHE_NAME.equals(message.entityName()) || nodeId.equals(message.sourceNodeId())
+                || !(message.id() instanceof String tokenHash)) {
+            return;
+        }
+        cache.invalidate(tokenHash);
+    }
+}
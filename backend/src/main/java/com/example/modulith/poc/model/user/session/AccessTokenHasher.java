@@ -0,0 +1,32 @@
+package com.example.modulith.poc.model.user.session;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * アクセストークンのハッシュ（user_sessions.access_token_hash に格納する値）
+ * <p>
+ * トークンは十分な長さの乱数のため、ソルトなしのSHA-256とする（キャッシュ・DBのキーとして一意に求める必要がある）。
+ */
+public final class AccessTokenHasher {
+
+    private AccessTokenHasher() {
+    }
+
+    /**
+     * ハッシュを求める
+     *
+     * @param accessToken アクセストークン
+     * @return SHA-256の16進文字列
+     */
+    public static String hash(String accessToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.modulith.poc.model.user.session;
+
+import com.example.modulith.poc.model.user.AuthenticatedSession;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 認証済みセッションのキャッシュ
+ * <p>
+ * アクセストークンのハッシュをキーに、認証済みのセッションを有効期限まで（最長 {@code maxTtl}）保持する。
+ * 存在しない・失効済みのトークンは {@code rejectedTtl} の間記録し、同じトークンでDBを読まない。
+ * どちらも件数に上限があり、上限に達した場合は期限切れを除き、それでも空きが無い場合は記録しない（DBから読み続ける）。
+ * <p>
+ * 読み込み中に無効化された場合に失効前の内容を記録しないよう、無効化のたびに世代を進め、
+ * 読み込みの開始時から世代が変わっていなければ記録する。
+ */
+public class SessionCache {
+
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> rejected = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long maxTtlNanos;
+    private final long rejectedTtlNanos;
+    private final int maxSessions;
+    private final int maxRejected;
+    private volatile long nextSweepAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rejectedHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public SessionCache(Duration maxTtl, Duration rejectedTtl, int maxSessions, int maxRejected) {
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.rejectedTtlNanos = rejectedTtl.toNanos();
+        this.maxSessions = maxSessions;
+        this.maxRejected = maxRejected;
+        this.nextSweepAt = System.nanoTime();
+    }
+
+    /**
+     * セッションを取得する（キャッシュに無い場合は読み込んで記録する）
+     *
+     * @param tokenHash アクセストークンのハッシュ
+     * @param loader    DBから有効なセッションを読み込む処理（無い場合はnull）
+     * @return セッション。無効なトークンの場合は空
+     */
+    public Optional<AuthenticatedSession> get(String tokenHash, Function<String, AuthenticatedSession> loader) {
+        long now = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+        Entry entry = sessions.get(tokenHash);
+        if (entry != null) {
+            if (nowMillis >= entry.expiresAtMillis()) {
+                // 有効期限切れのトークンは再び有効にならないため、DBを読まずに無効として記録する
+                sessions.remove(tokenHash, entry);
+                reject(tokenHash, now, generation.get());
+                rejectedHits.increment();
+                return Optional.empty();
+            }
+            if (now - entry.cachedUntil() < 0) {
+                hits.increment();
+                return Optional.of(entry.session());
+            }
+            sessions.remove(tokenHash, entry);
+        }
+        Long rejectedUntil = rejected.get(tokenHash);
+        if (rejectedUntil != null) {
+            if (now - rejectedUntil < 0) {
+                rejectedHits.increment();
+                return Optional.empty();
+            }
+            rejected.remove(tokenHash, rejectedUntil);
+        }
+
+        long loadedGeneration = generation.get();
+        loads.increment();
+        AuthenticatedSession session = loader.apply(tokenHash);
+        if (session == null) {
+            reject(tokenHash, now, loadedGeneration);
+            return Optional.empty();
+        }
+        put(tokenHash, session, now, loadedGeneration);
+        return Optional.of(session);
+    }
+
+    /**
+     * 発行したセッションを記録する
+     *
+     * @param tokenHash アクセストークンのハッシュ
+     * @param session   セッション
+     */
+    public void register(String tokenHash, AuthenticatedSession session) {
+        rejected.remove(tokenHash);
+        put(tokenHash, session, System.nanoTime(), generation.get());
+    }
+
+    /**
+     * セッションを破棄する（失効時。他ノードからの無効化でも呼ばれる）
+     *
+     * @param tokenHash アクセストークンのハッシュ
+     */
+    public void invalidate(String tokenHash) {
+        generation.incrementAndGet();
+        sessions.remove(tokenHash);
+        invalidations.increment();
+    }
+
+    /**
+     * 統計
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), rejectedHits.sum(), loads.sum(), invalidations.sum(), overflows.sum(),
+                sessions.size(), rejected.size());
+    }
+
+    private void put(String tokenHash, AuthenticatedSession session, long now, long loadedGeneration) {
+        if (!hasRoom(sessions, maxSessions, now)) {
+            overflows.increment();
+            return;
+        }
+        Entry entry = new Entry(session, session.expiresAt().toInstant().toEpochMilli(), now + maxTtlNanos);
+        sessions.put(tokenHash, entry);
+        if (generation.get() != loadedGeneration) {
+            // 読み込み中に無効化された可能性があるため記録しない
+            sessions.remove(tokenHash, entry);
+        }
+    }
+
+    private void reject(String tokenHash, long now, long loadedGeneration) {
+        if (generation.get() != loadedGeneration) {
+            return;
+        }
+        if (!hasRoom(rejected, maxRejected, now)) {
+            overflows.increment();
+            return;
+        }
+        rejected.put(tokenHash, now + rejectedTtlNanos);
+    }
+
+    private boolean hasRoom(Map<String, ?> map, int max, long now) {
+        if (map.size() < max) {
+            return true;
+        }
+        sweep(now);
+        return map.size() < max;
+    }
+
+    /**
+     * 期限切れの記録を除く（上限に達した時のみ、最短でも記録の期間ごとに1回）
+     */
+    private void sweep(long now) {
+        long sweepAt = nextSweepAt;
+        if (now - sweepAt < 0) {
+            return;
+        }
+        nextSweepAt = now + Math.min(rejectedTtlNanos, maxTtlNanos);
+        long nowMillis = System.currentTimeMillis();
+        for (Iterator<Entry> iterator = sessions.values().iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (now - entry.cachedUntil() >= 0 || nowMillis >= entry.expiresAtMillis()) {
+                iterator.remove();
+            }
+        }
+        rejected.values().removeIf(until -> now - until >= 0);
+    }
+
+    /**
+     * 統計
+     *
+     * @param hits          キャッシュから認証した回数
+     * @param rejectedHits  記録済みの無効なトークンとして、DBを読まずに拒否した回数
+     * @param loads         DBから読み込んだ回数
+     * @param invalidations 失効による破棄の回数
+     * @param overflows     上限に達したため記録しなかった回数
+     * @param sessions      記録中のセッション数
+     * @param rejected      記録中の無効なトークン数
+     */
+    public record Stats(long hits, long rejectedHits, long loads, long invalidations, long overflows,
+                        int sessions, int rejected) {
+
+        /**
+         * DBを読まずに認証・拒否した割合
+         */
+        public double hitRatio() {
+            long total = hits + rejectedHits + loads;
+            return total == 0 ? 0 : (double) (hits + rejectedHits) / total;
+        }
+    }
+
+    private record Entry(AuthenticatedSession session, long expiresAtMillis, long cachedUntil) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.modulith.poc.model.user.session;
+
+import com.example.modulith.poc.model.user.AuthenticatedSession;
+import com.example.modulith.poc.model.user.entity.UserRole;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 認証に使用するセッションの項目（エンティティを生成せずに読み込む）
+ *
+ * @param sessionId セッションID
+ * @param userId    ユーザーID
+ * @param userRole  ユーザーロール
+ * @param expiresAt 有効期限
+ */
+public record SessionRow(
+        UUID sessionId,
+        UUID userId,
+        UserRole userRole,
+        OffsetDateTime expiresAt
+) {
+
+    public AuthenticatedSession toSession() {
+        return new AuthenticatedSession(sessionId, userId, userRole.name(), expiresAt);
+    }
+}
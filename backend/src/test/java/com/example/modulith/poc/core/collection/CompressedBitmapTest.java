@@ -0,0 +1,144 @@
+package com.example.modulith.poc.core.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 圧縮ビットマップの単体テスト
+ */
+class CompressedBitmapTest {
+
+    @Test
+    void shouldHandleEmptyBitmaps() {
+        CompressedBitmap empty = new CompressedBitmap();
+        CompressedBitmap other = bitmapOf(1, 2, 3);
+
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.cardinality()).isZero();
+        assertThat(CompressedBitmap.and(empty, other).isEmpty()).isTrue();
+        assertThat(CompressedBitmap.andCardinality(empty, other)).isZero();
+        assertThat(toList(CompressedBitmap.or(empty, other))).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void shouldRejectNegativeValueOnAddAndIgnoreItElsewhere() {
+        CompressedBitmap bitmap = bitmapOf(0);
+
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(bitmap.contains(-1)).isFalse();
+        bitmap.remove(-1);
+        assertThat(bitmap.cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepValuesAtContainerBoundaries() {
+        CompressedBitmap bitmap = bitmapOf(Integer.MAX_VALUE, 65_536, 65_535, 0);
+
+        assertThat(toList(bitmap)).containsExactly(0, 65_535, 65_536, Integer.MAX_VALUE);
+        bitmap.remove(65_535);
+        bitmap.remove(65_535);
+        assertThat(toList(bitmap)).containsExactly(0, 65_536, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void shouldSwitchRepresentationAroundArrayLimit() {
+        // 配列の上限（4096件）を超えてビットマップに切り替え、半分まで減らして配列に戻す
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = new BitSet();
+        for (int value = 0; value < 5_000; value++) {
+            bitmap.add(value * 3);
+            expected.set(value * 3);
+        }
+        long bitmapBytes = bitmap.sizeInBytes();
+        for (int value = 0; value < 4_000; value++) {
+            bitmap.remove(value * 3);
+            expected.clear(value * 3);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(bitmap.sizeInBytes()).isLessThan(bitmapBytes);
+        assertThat(toList(bitmap)).isEqualTo(expected.stream().boxed().toList());
+    }
+
+    @Test
+    void shouldRemoveEmptiedContainer() {
+        CompressedBitmap bitmap = bitmapOf(70_000);
+
+        bitmap.remove(70_000);
+
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.contains(70_000)).isFalse();
+    }
+
+    @Test
+    void shouldMatchBitSetForMixedContainers() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            CompressedBitmap a = randomBitmap(random, expectedA);
+            CompressedBitmap b = randomBitmap(random, expectedB);
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+
+            assertThat(toList(CompressedBitmap.and(a, b))).isEqualTo(and.stream().boxed().toList());
+            assertThat(CompressedBitmap.andCardinality(a, b)).isEqualTo(and.cardinality());
+            assertThat(toList(CompressedBitmap.or(a, b))).isEqualTo(or.stream().boxed().toList());
+            assertThat(a.cardinality()).isEqualTo(expectedA.cardinality());
+        }
+    }
+
+    @Test
+    void shouldNotShareContainersWithCopyOrUnion() {
+        CompressedBitmap original = bitmapOf(1, 2);
+        CompressedBitmap copy = original.copy();
+        CompressedBitmap union = CompressedBitmap.or(original, new CompressedBitmap());
+
+        copy.add(3);
+        union.remove(1);
+
+        assertThat(toList(original)).containsExactly(1, 2);
+        assertThat(toList(copy)).containsExactly(1, 2, 3);
+        assertThat(toList(union)).containsExactly(2);
+    }
+
+    /**
+     * 疎なコンテナと密なコンテナが混在するビットマップ
+     */
+    private static CompressedBitmap randomBitmap(Random random, BitSet expected) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int container = 0; container < 4; container++) {
+            int count = random.nextBoolean() ? random.nextInt(100) : 4_000 + random.nextInt(20_000);
+            for (int i = 0; i < count; i++) {
+                int value = (container << 16) | random.nextInt(1 << 16);
+                bitmap.add(value);
+                expected.set(value);
+            }
+        }
+        return bitmap;
+    }
+
+    private static CompressedBitmap bitmapOf(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    private static List<Integer> toList(CompressedBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
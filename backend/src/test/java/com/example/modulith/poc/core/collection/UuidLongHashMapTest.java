@@ -0,0 +1,113 @@
+package com.example.modulith.poc.core.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UUIDをキーとするハッシュマップの単体テスト
+ */
+class UuidLongHashMapTest {
+
+    @Test
+    void shouldReturnDefaultValueForMissingKey() {
+        UuidLongHashMap map = new UuidLongHashMap();
+
+        assertThat(map.get(UUID.randomUUID(), -1L)).isEqualTo(-1L);
+        assertThat(map.containsKey(UUID.randomUUID())).isFalse();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldPutOverwriteAndAddTo() {
+        UuidLongHashMap map = new UuidLongHashMap();
+        UUID key = UUID.randomUUID();
+
+        map.put(key, 10L);
+        map.put(key, 20L);
+        assertThat(map.addTo(key, 5L)).isEqualTo(25L);
+        assertThat(map.addTo(UUID.randomUUID(), -3L)).isEqualTo(-3L);
+
+        assertThat(map.get(key, 0L)).isEqualTo(25L);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAddValuesOfOtherMapOnAddAll() {
+        UUID shared = UUID.randomUUID();
+        UUID onlyOther = UUID.randomUUID();
+        UuidLongHashMap map = new UuidLongHashMap();
+        map.put(shared, 3L);
+        UuidLongHashMap other = new UuidLongHashMap();
+        other.put(shared, 4L);
+        other.put(onlyOther, 5L);
+
+        map.addAll(other);
+
+        assertThat(map.get(shared, 0L)).isEqualTo(7L);
+        assertThat(map.get(onlyOther, 0L)).isEqualTo(5L);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTreatZeroBitsAsOrdinaryKey() {
+        UuidLongHashMap map = new UuidLongHashMap();
+
+        map.put(0L, 0L, 7L);
+
+        assertThat(map.containsKey(new UUID(0L, 0L))).isTrue();
+        assertThat(map.get(new UUID(0L, 0L), -1L)).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldKeepEntriesReachableAfterRemovingCollidingKeys() {
+        // 同じスロットに集まるよう、下位bitが同じになるキーを大量に登録してから削除する
+        UuidLongHashMap map = new UuidLongHashMap(4);
+        Map<UUID, Long> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 5_000; i++) {
+            UUID key = new UUID(random.nextInt(64), random.nextInt(64));
+            long value = random.nextLong();
+            map.put(key, value);
+            expected.put(key, value);
+            if (random.nextInt(3) == 0) {
+                UUID removed = new UUID(random.nextInt(64), random.nextInt(64));
+                assertThat(map.remove(removed)).isEqualTo(expected.remove(removed) != null);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key, Long.MIN_VALUE)).isEqualTo(value));
+        Map<UUID, Long> iterated = new HashMap<>();
+        map.forEach((msb, lsb, value) -> iterated.put(new UUID(msb, lsb), value));
+        assertThat(iterated).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldRemoveMissingKeyWithoutChange() {
+        UuidLongHashMap map = new UuidLongHashMap();
+        map.put(UUID.randomUUID(), 1L);
+
+        assertThat(map.remove(UUID.randomUUID())).isFalse();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResetValuesOnClear() {
+        UuidLongHashMap map = new UuidLongHashMap();
+        UUID key = UUID.randomUUID();
+        map.put(key, 5L);
+
+        map.clear();
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.containsKey(key)).isFalse();
+        // 削除したスロットの値が残っていないこと
+        assertThat(map.addTo(key, 1L)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.modulith.poc.model.cart.store;
+
+import com.example.modulith.poc.model.cart.CartOwner;
+import com.example.modulith.poc.model.cart.entity.CartStatus;
+import com.example.modulith.poc.model.cart.repository.CartBulkWriteRepository;
+import com.example.modulith.poc.model.cart.repository.CartItemRepository;
+import com.example.modulith.poc.model.cart.repository.CartRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * カートストアの単体テスト（書き込み待ちの集約と、書き込み済みの内容との差分の書き込み）
+ */
+class CartStoreTest {
+
+    private static final CartOwner GUEST = CartOwner.guest("session-1");
+
+    private RecordingBulkWriteRepository bulkWriteRepository;
+    private CartStore store;
+
+    @BeforeEach
+    void setUp() {
+        bulkWriteRepository = new RecordingBulkWriteRepository();
+        // 定期的な書き込みは行わず、テストから flush() を呼び出す
+        store = new CartStore(mock(CartRepository.class), mock(CartItemRepository.class), bulkWriteRepository,
+                mock(PlatformTransactionManager.class), Duration.ofDays(7), 1_000, Duration.ofHours(1), 500,
+                Duration.ofHours(1), 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void shouldInsertNewCartWithItsLines() {
+        UUID skuId = UUID.randomUUID();
+
+        CartSnapshot snapshot = store.update(GUEST, state -> addLine(state, skuId, 2));
+        store.flush();
+
+        assertThat(bulkWriteRepository.insertCarts).extracting(CartBulkWriteRepository.CartRow::cartId)
+                .containsExactly(snapshot.cartId());
+        assertThat(bulkWriteRepository.insertItems).extracting(CartBulkWriteRepository.CartItemRow::skuId)
+                .containsExactly(skuId);
+        assertThat(bulkWriteRepository.updateCarts).isEmpty();
+        assertThat(bulkWriteRepository.updateItems).isEmpty();
+        assertThat(bulkWriteRepository.deleteItems).isEmpty();
+        assertThat(store.getDirtyCount()).isZero();
+    }
+
+    @Test
+    void shouldWriteOnlyChangedRowsAfterFirstFlush() {
+        UUID changed = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        UUID unchanged = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        store.update(GUEST, state -> {
+            addLine(state, changed, 1);
+            addLine(state, removed, 1);
+            return addLine(state, unchanged, 1);
+        });
+        store.flush();
+        bulkWriteRepository.clear();
+        UUID removedItemId = store.read(GUEST, state -> state.lineBySku(removed).cartItemId());
+
+        store.update(GUEST, state -> {
+            state.putLine(state.lineBySku(changed).withQuantity(5, OffsetDateTime.now()));
+            state.removeLine(removedItemId);
+            return addLine(state, added, 3);
+        });
+        store.flush();
+
+        assertThat(bulkWriteRepository.insertCarts).isEmpty();
+        assertThat(bulkWriteRepository.updateCarts).hasSize(1);
+        assertThat(bulkWriteRepository.insertItems).extracting(CartBulkWriteRepository.CartItemRow::skuId)
+                .containsExactly(added);
+        assertThat(bulkWriteRepository.updateItems).extracting(CartBulkWriteRepository.CartItemRow::skuId)
+                .containsExactly(changed);
+        assertThat(bulkWriteRepository.updateItems.get(0).quantity()).isEqualTo(5);
+        assertThat(bulkWriteRepository.deleteItems).containsExactly(removedItemId);
+        assertThat(bulkWriteRepository.writtenSkuIds()).doesNotContain(unchanged);
+    }
+
+    @Test
+    void shouldCoalesceConsecutiveUpdatesIntoOneWrite() {
+        UUID skuId = UUID.randomUUID();
+
+        for (int i = 0; i < 10; i++) {
+            store.update(GUEST, state -> addLine(state, skuId, 1));
+        }
+        assertThat(store.getDirtyCount()).isEqualTo(1);
+        store.flush();
+
+        assertThat(bulkWriteRepository.insertCarts).hasSize(1);
+        assertThat(bulkWriteRepository.insertItems).extracting(CartBulkWriteRepository.CartItemRow::quantity)
+                .containsExactly(10);
+        assertThat(store.getFlushedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotWriteWhenNothingChanged() {
+        CartSnapshot snapshot = store.update(GUEST, state -> false);
+        store.read(GUEST, CartState::lines);
+        store.flush();
+
+        assertThat(snapshot).isNull();
+        assertThat(store.getDirtyCount()).isZero();
+        assertThat(bulkWriteRepository.insertCarts).isEmpty();
+    }
+
+    @Test
+    void shouldRetryFailedFlushAsInsert() {
+        UUID skuId = UUID.randomUUID();
+        store.update(GUEST, state -> addLine(state, skuId, 1));
+        bulkWriteRepository.failures.set(1);
+
+        store.flush();
+        assertThat(store.getFlushFailureCount()).isEqualTo(1);
+        assertThat(store.getDirtyCount()).isEqualTo(1);
+        store.flush();
+
+        // 書き込めなかったカートはDBに無いため、再試行でも登録として書き込む
+        assertThat(bulkWriteRepository.insertCarts).hasSize(1);
+        assertThat(bulkWriteRepository.updateCarts).isEmpty();
+        assertThat(bulkWriteRepository.insertItems).hasSize(1);
+        assertThat(store.getDirtyCount()).isZero();
+    }
+
+    @Test
+    void shouldReplaceConvertedCartWithNewOneAfterFlush() {
+        UUID orderId = UUID.randomUUID();
+        CartSnapshot converted = store.update(GUEST, state -> {
+            addLine(state, UUID.randomUUID(), 1);
+            state.setCartStatus(CartStatus.CONVERTED, orderId);
+            return true;
+        });
+        store.flush();
+
+        CartSnapshot next = store.read(GUEST, CartState::snapshot);
+
+        assertThat(bulkWriteRepository.insertCarts).extracting(CartBulkWriteRepository.CartRow::convertedOrderId)
+                .containsExactly(orderId);
+        assertThat(next.cartId()).isNotEqualTo(converted.cartId());
+        assertThat(next.cartStatus()).isEqualTo(CartStatus.ACTIVE);
+        assertThat(next.lines()).isEmpty();
+    }
+
+    @Test
+    void shouldPersistFinalStateUnderConcurrentUpdatesAndFlushes() throws Exception {
+        UUID skuId = UUID.randomUUID();
+        int threads = 8;
+        int updatesPerThread = 500;
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            Future<?> flusher = executor.submit(() -> {
+                while (running.get()) {
+                    store.flush();
+                }
+            });
+            List<Callable<Void>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(() -> {
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        store.update(GUEST, state -> addLine(state, skuId, 1));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(writers)) {
+                future.get();
+            }
+            running.set(false);
+            flusher.get();
+            store.flush();
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        int expected = threads * updatesPerThread;
+        int quantity = store.read(GUEST, state -> state.lineBySku(skuId).quantity());
+        assertThat(quantity).isEqualTo(expected);
+        assertThat(store.getDirtyCount()).isZero();
+        // カートと明細の登録は1回のみで、最後に書き込んだ数量がメモリ上の数量と一致する
+        assertThat(bulkWriteRepository.insertCarts).hasSize(1);
+        assertThat(bulkWriteRepository.insertItems).hasSize(1);
+        List<CartBulkWriteRepository.CartItemRow> writes = new ArrayList<>(bulkWriteRepository.insertItems);
+        writes.addAll(bulkWriteRepository.updateItems);
+        assertThat(writes.get(writes.size() - 1).quantity()).isEqualTo(expected);
+    }
+
+    /**
+     * SKUの明細を追加する（既にある場合は数量を加算する）
+     */
+    private static boolean addLine(CartState state, UUID skuId, int quantity) {
+        OffsetDateTime now = OffsetDateTime.now();
+        CartLine existing = state.lineBySku(skuId);
+        state.putLine(existing != null
+                ? existing.withQuantity(existing.quantity() + quantity, now)
+                : new CartLine(UUID.randomUUID(), skuId, quantity, BigDecimal.valueOf(1_000), now, now));
+        return true;
+    }
+
+    /**
+     * 書き込んだ行を記録する一括書き込み（失敗させる回数を指定できる）
+     */
+    private static final class RecordingBulkWriteRepository extends CartBulkWriteRepository {
+        private final List<CartRow> insertCarts = new CopyOnWriteArrayList<>();
+        private final List<CartRow> updateCarts = new CopyOnWriteArrayList<>();
+        private final List<CartItemRow> insertItems = new CopyOnWriteArrayList<>();
+        private final List<CartItemRow> updateItems = new CopyOnWriteArrayList<>();
+        private final List<UUID> deleteItems = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        RecordingBulkWriteRepository() {
+            super(null);
+        }
+
+        @Override
+        public void insertCarts(List<CartRow> carts) {
+            if (failures.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                throw new IllegalStateException("db down");
+            }
+            insertCarts.addAll(carts);
+        }
+
+        @Override
+        public void updateCarts(List<CartRow> carts) {
+            updateCarts.addAll(carts);
+        }
+
+        @Override
+        public void insertItems(List<CartItemRow> items) {
+            insertItems.addAll(items);
+        }
+
+        @Override
+        public void updateItems(List<CartItemRow> items) {
+            updateItems.addAll(items);
+        }
+
+        @Override
+        public void deleteItems(List<UUID> cartItemIds) {
+            deleteItems.addAll(cartItemIds);
+        }
+
+        @Override
+        public List<UUID> findExpiredCartIds(OffsetDateTime expiredBefore, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public int deleteExpiredCarts(Collection<UUID> cartIds, OffsetDateTime expiredBefore) {
+            return 0;
+        }
+
+        List<UUID> writtenSkuIds() {
+            List<UUID> skuIds = new ArrayList<>();
+            insertItems.forEach(row -> skuIds.add(row.skuId()));
+            updateItems.forEach(row -> skuIds.add(row.skuId()));
+            return skuIds;
+        }
+
+        void clear() {
+            insertCarts.clear();
+            updateCarts.clear();
+            insertItems.clear();
+            updateItems.clear();
+            deleteItems.clear();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.modulith.poc.model.product;
+
+import com.example.modulith.poc.model.inventory.StockLevel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 商品詳細の組み立てに発行されるクエリ数がSKU数に依存しないことを計測する
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductDetailQueryCountTest {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ProductDetailQueryCountTest.class);
+
+    /**
+     * 商品1件・SKU一覧・在庫数（SKUをまとめて1回）
+     */
+    private static final long MAX_QUERIES = 3;
+
+    @Autowired
+    private ProductDetailService productDetailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 200})
+    void shouldAssembleDetailWithFixedNumberOfQueries(int skuCount) {
+        UUID productId = insertProduct(skuCount);
+
+        statistics.clear();
+        ProductDetail detail = productDetailService.getProductDetail(productId).orElseThrow();
+        long coldQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        ProductDetail cached = productDetailService.getProductDetail(productId).orElseThrow();
+        long warmQueries = statistics.getPrepareStatementCount();
+
+        LOGGER.info("product detail: skus={}, queries(cold)={}, queries(cached)={}",
+                skuCount, coldQueries, warmQueries);
+        assertThat(detail.skus()).hasSize(skuCount);
+        assertThat(detail.skus()).allSatisfy(sku -> assertThat(sku.stockLevel()).isEqualTo(StockLevel.IN_STOCK));
+        assertThat(coldQueries).isLessThanOrEqualTo(MAX_QUERIES);
+        assertThat(warmQueries).isZero();
+        assertThat(cached.etag()).isEqualTo(detail.etag());
+    }
+
+    private UUID insertProduct(int skuCount) {
+        UUID productId = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO products (product_id, product_code, product_name, category, "
+                        + "product_status, base_price, currency, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, 'ACTIVE', 5000, 'JPY', ?, ?)",
+                productId, "P-" + productId, "商品" + skuCount, "トップス", now, now);
+
+        List<Object[]> skus = new ArrayList<>(skuCount);
+        List<Object[]> inventories = new ArrayList<>(skuCount);
+        for (int i = 0; i < skuCount; i++) {
+            UUID skuId = UUID.randomUUID();
+            skus.add(new Object[]{skuId, productId, "S-" + skuId, now, now});
+            inventories.add(new Object[]{skuId, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO skus (sku_id, product_id, sku_code, sku_status, retail_price, "
+                + "created_at, updated_at) VALUES (?, ?, ?, 'ACTIVE', 5000, ?, ?)", skus);
+        jdbcTemplate.batchUpdate("INSERT INTO inventory (sku_id, quantity, version, bucket_count, "
+                + "created_at, updated_at) VALUES (?, 10, 1, 1, ?, ?)", inventories);
+        return productId;
+    }
+}
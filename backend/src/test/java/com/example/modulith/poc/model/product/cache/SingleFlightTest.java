@@ -0,0 +1,257 @@
+package com.example.modulith.poc.model.product.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 同一キーの読み込みの集約の単体テスト
+ */
+class SingleFlightTest {
+
+    @Test
+    void shouldLoadAgainAfterCompletion() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(flight.load("key", () -> "v" + calls.incrementAndGet())).isEqualTo("v1");
+        assertThat(flight.load("key", () -> "v" + calls.incrementAndGet())).isEqualTo("v2");
+        assertThat(flight.load("null", () -> null)).isNull();
+
+        assertThat(flight.stats().loads()).isEqualTo(3);
+        assertThat(flight.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLoadsOfSameKey() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> flight.load("key", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+            // 読み込み中に残りの呼び出しが全て待ち始めてから完了させる
+            waitUntil(() -> flight.stats().coalesced() == threads - 1);
+            release.countDown();
+
+            for (Future<String> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(flight.stats().inFlight()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRethrowSameFailureToAllWaitersAndReleaseKey() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        IllegalStateException failure = new IllegalStateException("db down");
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Throwable> owner = executor.submit(() -> catchFailure(() -> flight.load("key", () -> {
+                await(release);
+                throw failure;
+            })));
+            waitUntil(() -> flight.stats().inFlight() == 1);
+            Future<Throwable> waiter = executor.submit(() -> catchFailure(() -> flight.load("key", () -> "unused")));
+            waitUntil(() -> flight.stats().coalesced() == 1);
+            release.countDown();
+
+            assertThat(owner.get(10, TimeUnit.SECONDS)).isSameAs(failure);
+            assertThat(waiter.get(10, TimeUnit.SECONDS)).isSameAs(failure);
+            assertThat(flight.stats().failures()).isEqualTo(1);
+            assertThat(flight.load("key", () -> "recovered")).isEqualTo("recovered");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateErrorsAsIs() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flight.load("key", () -> {
+            throw new AssertionError("boom");
+        })).isInstanceOf(AssertionError.class).hasMessage("boom");
+        assertThat(flight.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldLoadAllDistinctKeysAndOmitMissingValues() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        List<List<String>> requested = new ArrayList<>();
+
+        Map<String, String> result = flight.loadAll(List.of("a", "b", "a", "missing"), keys -> {
+            requested.add(keys);
+            Map<String, String> loaded = new HashMap<>();
+            for (String key : keys) {
+                if (!key.equals("missing")) {
+                    loaded.put(key, key.toUpperCase());
+                }
+            }
+            // 担当外のキーを返しても結果に含めない
+            loaded.put("extra", "X");
+            return loaded;
+        });
+
+        assertThat(result).isEqualTo(Map.of("a", "A", "b", "B"));
+        assertThat(requested).hasSize(1);
+        assertThat(requested.get(0)).containsExactlyInAnyOrder("a", "b", "missing");
+        assertThat(flight.loadAll(List.of(), keys -> {
+            throw new AssertionError("キーが無い場合は読み込まないこと");
+        })).isEmpty();
+    }
+
+    @Test
+    void shouldReleaseAllOwnedKeysWhenLoadAllFails() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flight.loadAll(List.of("a", "b"), keys -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flight.stats().inFlight()).isZero();
+        assertThat(flight.loadAll(List.of("a"), keys -> Map.of("a", "A"))).containsEntry("a", "A");
+    }
+
+    @Test
+    void shouldNotDeadlockOnOverlappingLoadAll() throws Exception {
+        // キーが重なる呼び出しが、互いに相手の担当するキーを待っても完了すること
+        SingleFlight<Integer, Integer> flight = new SingleFlight<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<Integer, Integer>>> futures = new ArrayList<>();
+            for (int round = 0; round < 200; round++) {
+                for (int t = 0; t < 8; t++) {
+                    List<Integer> keys = new ArrayList<>();
+                    for (int k = 0; k < 10; k++) {
+                        keys.add((t % 2 == 0 ? k : 9 - k) + round % 3);
+                    }
+                    futures.add(executor.submit(() -> flight.loadAll(keys, owned -> {
+                        Map<Integer, Integer> loaded = new TreeMap<>();
+                        owned.forEach(key -> loaded.put(key, key * 10));
+                        return loaded;
+                    })));
+                }
+            }
+            for (Future<Map<Integer, Integer>> future : futures) {
+                Map<Integer, Integer> result = future.get(10, TimeUnit.SECONDS);
+                assertThat(result).hasSize(10);
+                result.forEach((key, value) -> assertThat(value).isEqualTo(key * 10));
+            }
+            assertThat(flight.stats().inFlight()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldShareAsyncLoadAndSkipRefreshWhileInFlight() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<String> first = flight.loadAsync("key", () -> {
+                await(release);
+                return "value";
+            }, executor);
+            CompletableFuture<String> second = flight.loadAsync("key", () -> "unused", executor);
+            flight.refresh("key", () -> "unused", executor);
+
+            assertThat(second).isSameAs(first);
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(flight.stats().refreshes()).isZero();
+
+            waitUntil(() -> flight.stats().inFlight() == 0);
+            flight.refresh("key", () -> "refreshed", executor);
+            waitUntil(() -> flight.stats().loads() == 2 && flight.stats().inFlight() == 0);
+            assertThat(flight.stats().refreshes()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldFailAndReleaseKeyWhenExecutorRejects() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        CompletableFuture<String> future = flight.loadAsync("key", () -> "value", command -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertThat(future).isCompletedExceptionally();
+        assertThat(flight.stats().inFlight()).isZero();
+        assertThat(flight.stats().failures()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCollectStatsWithPrefix() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        flight.load("key", () -> "value");
+        Map<String, Number> metrics = new TreeMap<>();
+
+        flight.stats().collect("product.detail.load", metrics);
+
+        assertThat(metrics).containsOnlyKeys("product.detail.load.loads", "product.detail.load.coalesced",
+                "product.detail.load.failures", "product.detail.load.refreshes", "product.detail.load.in-flight");
+        assertThat(metrics.get("product.detail.load.loads")).isEqualTo(1L);
+    }
+
+    private static Throwable catchFailure(Runnable runnable) {
+        try {
+            runnable.run();
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
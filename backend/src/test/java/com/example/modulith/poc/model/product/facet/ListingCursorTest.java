@@ -0,0 +1,85 @@
+package com.example.modulith.poc.model.product.facet;
+
+import com.example.modulith.poc.model.product.InvalidProductCursorException;
+import com.example.modulith.poc.model.product.ProductSort;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 商品一覧のシークカーソルの単体テスト
+ */
+class ListingCursorTest {
+
+    private static final List<ProductSort> SORT = List.of(
+            new ProductSort(ProductSort.Field.NAME, false),
+            new ProductSort(ProductSort.Field.PRICE, true),
+            new ProductSort(ProductSort.Field.CREATED_AT, false));
+
+    @Test
+    void shouldRoundTripKeysNamesAndProductId() {
+        ListingCursor cursor = new ListingCursor(SORT, new long[]{0L, Long.MIN_VALUE, 1_700_000_000_000L},
+                new String[]{"Ｔシャツ 白", null, null}, -1L, Long.MAX_VALUE);
+
+        ListingCursor decoded = ListingCursor.decode(cursor.encode(), SORT);
+
+        assertThat(decoded.sort()).isEqualTo(SORT);
+        assertThat(decoded.keys()[1]).isEqualTo(Long.MIN_VALUE);
+        assertThat(decoded.keys()[2]).isEqualTo(1_700_000_000_000L);
+        assertThat(decoded.names()[0]).isEqualTo("Ｔシャツ 白");
+        assertThat(decoded.msb()).isEqualTo(-1L);
+        assertThat(decoded.lsb()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldRoundTripMissingAndEmptyNames() {
+        List<ProductSort> byName = List.of(new ProductSort(ProductSort.Field.NAME, false));
+
+        assertThat(ListingCursor.decode(new ListingCursor(byName, new long[1], new String[]{null}, 0L, 0L).encode(),
+                byName).names()[0]).isNull();
+        assertThat(ListingCursor.decode(new ListingCursor(byName, new long[1], new String[]{""}, 0L, 0L).encode(),
+                byName).names()[0]).isEmpty();
+    }
+
+    @Test
+    void shouldEncodeAsUrlSafeText() {
+        String encoded = new ListingCursor(ProductSort.DEFAULT, new long[]{-1L}, new String[1], -1L, -1L).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void shouldRejectCursorOfDifferentSort() {
+        String encoded = new ListingCursor(ProductSort.DEFAULT, new long[]{1L}, new String[1], 1L, 1L).encode();
+
+        assertThatThrownBy(() -> ListingCursor.decode(encoded,
+                List.of(new ProductSort(ProductSort.Field.CREATED_AT, false))))
+                .isInstanceOf(InvalidProductCursorException.class);
+    }
+
+    @Test
+    void shouldRejectMalformedCursors() {
+        String valid = new ListingCursor(ProductSort.DEFAULT, new long[]{1L}, new String[1], 1L, 1L).encode();
+        byte[] bytes = Base64.getUrlDecoder().decode(valid);
+        byte[] otherVersion = bytes.clone();
+        otherVersion[0] = 2;
+        byte[] unknownField = bytes.clone();
+        unknownField[2] = 99;
+        byte[] trailing = Arrays.copyOf(bytes, bytes.length + 1);
+
+        for (String value : List.of("", "!!!", valid.substring(0, valid.length() - 4), encode(otherVersion),
+                encode(unknownField), encode(trailing))) {
+            assertThatThrownBy(() -> ListingCursor.decode(value, ProductSort.DEFAULT))
+                    .isInstanceOf(InvalidProductCursorException.class);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.modulith.poc.model.product.facet;
+
+import com.example.modulith.poc.model.product.InvalidProductCursorException;
+import com.example.modulith.poc.model.product.ProductFacets;
+import com.example.modulith.poc.model.product.ProductListingQuery;
+import com.example.modulith.poc.model.product.ProductSort;
+import com.example.modulith.poc.model.product.entity.ProductStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 商品一覧のファセットインデックスの単体テスト（絞り込み・ファセットの件数・並び替え済みの順列とカーソルによるページ送り）
+ */
+class ProductFacetIndexTest {
+
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final List<ProductSort> PRICE_ASC = List.of(new ProductSort(ProductSort.Field.PRICE, false));
+    private static final List<ProductSort> PRICE_DESC = List.of(new ProductSort(ProductSort.Field.PRICE, true));
+    private static final List<ProductSort> CREATED_DESC = ProductSort.DEFAULT;
+
+    private final Map<UUID, ProductFacetDocument> documents = new HashMap<>();
+
+    private final UUID productA = UUID.randomUUID();
+    private final UUID productB = UUID.randomUUID();
+    private final UUID productC = UUID.randomUUID();
+    private final UUID productD = UUID.randomUUID();
+    private final UUID productE = UUID.randomUUID();
+
+    @Test
+    void shouldCombineValuesWithOrWithinFieldAndAndAcrossFields() {
+        ProductFacetIndex index = fixture();
+
+        ProductFacetIndex.FacetHits hits = index.query(
+                filter(List.of("トップス", "パンツ"), List.of("ブランドA"), null, null), 10);
+
+        // 販売中以外の商品（D）は含まない
+        assertThat(hits.totalHits()).isEqualTo(2L);
+        assertThat(hits.productIds()).containsExactly(productA, productC);
+    }
+
+    @Test
+    void shouldCountEachFacetWithoutItsOwnFilter() {
+        ProductFacetIndex index = fixture();
+
+        ProductFacetIndex.FacetHits hits = index.query(filter(List.of("トップス"), List.of(), null, null), 10);
+
+        assertThat(hits.productIds()).containsExactly(productA, productB);
+        assertThat(hits.facets().categories()).containsExactlyInAnyOrder(
+                new ProductFacets.FacetCount("トップス", 2),
+                new ProductFacets.FacetCount("パンツ", 1),
+                new ProductFacets.FacetCount("シューズ", 1));
+        assertThat(hits.facets().brands()).containsExactlyInAnyOrder(
+                new ProductFacets.FacetCount("ブランドA", 1),
+                new ProductFacets.FacetCount("ブランドB", 1));
+        assertThat(hits.facets().priceRanges()).extracting(ProductFacets.PriceRangeCount::count)
+                .containsExactly(1, 1);
+    }
+
+    @Test
+    void shouldCompareEachPriceInBoundaryBuckets() {
+        ProductFacetIndex index = fixture();
+
+        // どちらの条件も価格帯の途中で区切られるため、境界の価格帯は価格を個別に比較する
+        ProductFacetIndex.FacetHits middle = index.query(
+                filter(List.of(), List.of(), BigDecimal.valueOf(4_500), BigDecimal.valueOf(6_000)), 10);
+        ProductFacetIndex.FacetHits upper = index.query(
+                filter(List.of(), List.of(), BigDecimal.valueOf(5_500), BigDecimal.valueOf(9_000)), 10);
+        ProductFacetIndex.FacetHits empty = index.query(
+                filter(List.of(), List.of(), BigDecimal.valueOf(6_000), BigDecimal.valueOf(5_000)), 10);
+
+        assertThat(middle.productIds()).containsExactly(productB, productE);
+        assertThat(upper.productIds()).containsExactly(productE, productC);
+        assertThat(empty.totalHits()).isZero();
+    }
+
+    @Test
+    void shouldReplaceFacetsOnReindexAndDropThemOnRemove() {
+        ProductFacetIndex index = fixture();
+        index.index(document(productB, "シューズ", "ブランドB", ProductStatus.ACTIVE, 1_000, 1));
+
+        ProductFacetIndex.FacetHits tops = index.query(filter(List.of("トップス"), List.of(), null, null), 10);
+        assertThat(tops.productIds()).containsExactly(productA);
+        assertThat(tops.facets().categories()).contains(new ProductFacets.FacetCount("シューズ", 2));
+
+        assertThat(index.remove(productA)).isTrue();
+        assertThat(index.remove(productA)).isFalse();
+
+        ProductFacetIndex.FacetHits removed = index.query(filter(List.of("トップス"), List.of(), null, null), 10);
+        assertThat(removed.totalHits()).isZero();
+        assertThat(removed.productIds()).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnNothingFromEmptyIndex() {
+        ProductFacetIndex index = new ProductFacetIndex(List.of(), 0);
+        index.finishBuild();
+
+        ProductFacetIndex.FacetHits hits = index.query(query(PRICE_ASC, 1, 10, null), 10);
+
+        assertThat(hits.totalHits()).isZero();
+        assertThat(hits.productIds()).isEmpty();
+        assertThat(hits.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldPageThroughSortedPermutationWithCursor() {
+        ProductFacetIndex index = indexOf(500, new Random(1));
+        index.finishBuild();
+
+        for (List<ProductSort> sort : List.of(PRICE_ASC, PRICE_DESC, CREATED_DESC)) {
+            assertThat(readAll(index, sort, 7)).isEqualTo(expectedOrder(sort));
+        }
+    }
+
+    @Test
+    void shouldReturnSameOrderBeforeFinishingBuild() {
+        // 一括登録の完了前はヒープで並び替える
+        ProductFacetIndex index = indexOf(300, new Random(2));
+
+        assertThat(readAll(index, PRICE_DESC, 11)).isEqualTo(expectedOrder(PRICE_DESC));
+    }
+
+    @Test
+    void shouldPageWithOffsetWhenCursorIsNotGiven() {
+        ProductFacetIndex index = indexOf(100, new Random(3));
+        index.finishBuild();
+        List<UUID> expected = expectedOrder(PRICE_ASC);
+
+        ProductFacetIndex.FacetHits third = index.query(query(PRICE_ASC, 3, 10, null), 10);
+        ProductFacetIndex.FacetHits beyond = index.query(query(PRICE_ASC, 1_000, 10, null), 10);
+
+        assertThat(third.productIds()).isEqualTo(expected.subList(20, 30));
+        assertThat(beyond.productIds()).isEmpty();
+        assertThat(beyond.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldKeepPermutationSortedAfterUpdatesAndRemovals() {
+        Random random = new Random(4);
+        ProductFacetIndex index = indexOf(400, random);
+        index.finishBuild();
+
+        List<UUID> productIds = new ArrayList<>(documents.keySet());
+        for (int i = 0; i < 200; i++) {
+            UUID productId = productIds.get(random.nextInt(productIds.size()));
+            if (random.nextInt(4) == 0 && documents.containsKey(productId)) {
+                assertThat(index.remove(productId)).isTrue();
+                documents.remove(productId);
+            } else {
+                // 価格・作成日時を変えて置き換える（削除済みの場合は再登録して文書IDを再利用する）
+                put(index, document(productId, random));
+            }
+        }
+
+        assertThat(index.remove(UUID.randomUUID())).isFalse();
+        assertThat(index.size()).isEqualTo(documents.size());
+        for (List<ProductSort> sort : List.of(PRICE_ASC, PRICE_DESC, CREATED_DESC)) {
+            assertThat(readAll(index, sort, 13)).isEqualTo(expectedOrder(sort));
+        }
+    }
+
+    @Test
+    void shouldRejectCursorOfAnotherSort() {
+        ProductFacetIndex index = indexOf(50, new Random(5));
+        index.finishBuild();
+        String cursor = index.query(query(PRICE_ASC, 1, 10, null), 10).nextCursor();
+
+        assertThatThrownBy(() -> index.query(query(PRICE_DESC, 1, 10, cursor), 10))
+                .isInstanceOf(InvalidProductCursorException.class);
+    }
+
+    @Test
+    void shouldPageConsistentlyWhileOtherProductsChange() throws Exception {
+        // 販売中の商品は変えずに、販売中以外の商品の登録・削除で順列の位置をずらしながらページを読む
+        Random random = new Random(6);
+        ProductFacetIndex index = indexOf(300, random);
+        index.finishBuild();
+        List<UUID> expected = expectedOrder(PRICE_ASC);
+        List<ProductFacetDocument> drafts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ProductFacetDocument draft = document(UUID.randomUUID(), random);
+            drafts.add(new ProductFacetDocument(draft.productId(), draft.productName(), draft.brand(),
+                    draft.category(), ProductStatus.DRAFT, draft.basePrice(), null, draft.createdAt()));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                Random writes = new Random(7);
+                while (running.get()) {
+                    ProductFacetDocument draft = drafts.get(writes.nextInt(drafts.size()));
+                    if (writes.nextBoolean()) {
+                        index.index(draft);
+                    } else {
+                        index.remove(draft.productId());
+                    }
+                }
+            });
+            List<Callable<List<UUID>>> readers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                readers.add(() -> readAll(index, PRICE_ASC, 9));
+            }
+            for (int round = 0; round < 5; round++) {
+                for (Future<List<UUID>> future : executor.invokeAll(readers)) {
+                    assertThat(future.get()).isEqualTo(expected);
+                }
+            }
+            running.set(false);
+            writer.get();
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * カーソルで全ページを読む
+     */
+    private static List<UUID> readAll(ProductFacetIndex index, List<ProductSort> sort, int pageSize) {
+        List<UUID> productIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductFacetIndex.FacetHits hits = index.query(query(sort, 1, pageSize, cursor), 10);
+            assertThat(hits.productIds().size()).isLessThanOrEqualTo(pageSize);
+            productIds.addAll(hits.productIds());
+            cursor = hits.nextCursor();
+        } while (cursor != null);
+        return productIds;
+    }
+
+    /**
+     * 販売中の商品の期待する並び順（同順位は商品IDを同じ向きで比較する）
+     */
+    private List<UUID> expectedOrder(List<ProductSort> sort) {
+        ProductSort first = sort.get(0);
+        Comparator<ProductFacetDocument> order = Comparator.comparingLong(document -> key(document, first.field()));
+        order = order.thenComparing(ProductFacetDocument::productId);
+        if (first.descending()) {
+            order = order.reversed();
+        }
+        return documents.values().stream()
+                .filter(document -> document.productStatus() == ProductStatus.ACTIVE)
+                .sorted(order)
+                .map(ProductFacetDocument::productId)
+                .toList();
+    }
+
+    private static long key(ProductFacetDocument document, ProductSort.Field field) {
+        return switch (field) {
+            case CREATED_AT -> document.createdAt().toInstant().toEpochMilli();
+            case PRICE -> document.price() == null ? -1L : document.price().movePointRight(2).longValueExact();
+            case NAME -> throw new IllegalArgumentException();
+        };
+    }
+
+    /**
+     * 価格帯は 3,000未満 / 3,000以上8,000未満 / 8,000以上
+     */
+    private ProductFacetIndex fixture() {
+        ProductFacetIndex index = new ProductFacetIndex(List.of(BigDecimal.valueOf(3_000), BigDecimal.valueOf(8_000)), 4);
+        index.index(document(productA, "トップス", "ブランドA", ProductStatus.ACTIVE, 2_000, 0));
+        index.index(document(productB, "トップス", "ブランドB", ProductStatus.ACTIVE, 5_000, 1));
+        index.index(document(productC, "パンツ", "ブランドA", ProductStatus.ACTIVE, 9_000, 2));
+        index.index(document(productD, "パンツ", "ブランドB", ProductStatus.DISCONTINUED, 4_000, 3));
+        index.index(document(productE, "シューズ", "ブランドC", ProductStatus.ACTIVE, 6_000, 4));
+        index.finishBuild();
+        return index;
+    }
+
+    private ProductFacetIndex indexOf(int count, Random random) {
+        ProductFacetIndex index = new ProductFacetIndex(List.of(BigDecimal.valueOf(3_000), BigDecimal.valueOf(8_000)), 4);
+        for (int i = 0; i < count; i++) {
+            put(index, document(UUID.randomUUID(), random));
+        }
+        return index;
+    }
+
+    private void put(ProductFacetIndex index, ProductFacetDocument document) {
+        index.index(document);
+        documents.put(document.productId(), document);
+    }
+
+    /**
+     * 価格・作成日時が重複しやすい商品（一部は販売中以外・価格なし）
+     */
+    private static ProductFacetDocument document(UUID productId, Random random) {
+        ProductStatus status = random.nextInt(10) == 0 ? ProductStatus.DISCONTINUED : ProductStatus.ACTIVE;
+        BigDecimal price = random.nextInt(20) == 0 ? null : BigDecimal.valueOf(1_000 + random.nextInt(20) * 500);
+        return new ProductFacetDocument(productId, "商品" + random.nextInt(50), "ブランド" + random.nextInt(3),
+                "カテゴリ" + random.nextInt(4), status, price, null, BASE_TIME.plusMinutes(random.nextInt(30)));
+    }
+
+    private static ProductFacetDocument document(UUID productId, String category, String brand,
+                                                 ProductStatus status, int price, int minutes) {
+        return new ProductFacetDocument(productId, "商品", brand, category, status, BigDecimal.valueOf(price), null,
+                BASE_TIME.plusMinutes(minutes));
+    }
+
+    private static ProductListingQuery filter(List<String> categories, List<String> brands,
+                                              BigDecimal minPrice, BigDecimal maxPrice) {
+        return new ProductListingQuery(categories, brands, minPrice, maxPrice, PRICE_ASC, 1, 10, null);
+    }
+
+    private static ProductListingQuery query(List<ProductSort> sort, int page, int pageSize, String cursor) {
+        return new ProductListingQuery(List.of(), List.of(), null, null, sort, page, pageSize, cursor);
+    }
+}
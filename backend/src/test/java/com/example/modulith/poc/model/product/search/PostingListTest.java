@@ -0,0 +1,101 @@
+package com.example.modulith.poc.model.product.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 圧縮ポスティングリストの単体テスト
+ */
+class PostingListTest {
+
+    @Test
+    void shouldReturnNothingFromEmptyList() {
+        PostingList.Cursor cursor = new PostingList().cursor();
+
+        assertThat(cursor.next()).isFalse();
+        assertThat(cursor.docId()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(new PostingList().cursor().advance(0)).isFalse();
+    }
+
+    @Test
+    void shouldRejectDocIdsNotAscending() {
+        PostingList list = new PostingList();
+        list.add(5, 1);
+
+        assertThatThrownBy(() -> list.add(5, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> list.add(4, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(list.docCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRoundTripDocIdsAndLargeValues() {
+        // 先頭の文書ID 0、可変長整数の5バイト目を使う差分・出現回数を含める
+        int[] docIds = {0, 1, 127, 128, 16_384, Integer.MAX_VALUE - 1};
+        int[] freqs = {1, 0, 300, Integer.MAX_VALUE, 2, 1};
+        PostingList list = new PostingList();
+        for (int i = 0; i < docIds.length; i++) {
+            list.add(docIds[i], freqs[i]);
+        }
+
+        PostingList.Cursor cursor = list.cursor();
+        for (int i = 0; i < docIds.length; i++) {
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.docId()).isEqualTo(docIds[i]);
+            assertThat(cursor.freq()).isEqualTo(freqs[i]);
+        }
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    void shouldAdvanceAcrossSkipBoundaries() {
+        PostingList list = new PostingList();
+        List<Integer> docIds = new ArrayList<>();
+        for (int docId = 0; docIds.size() < PostingList.SKIP_INTERVAL * 5 + 3; docId += 3) {
+            list.add(docId, docId % 7);
+            docIds.add(docId);
+        }
+
+        for (int target = 0; target <= docIds.get(docIds.size() - 1) + 1; target++) {
+            PostingList.Cursor cursor = list.cursor();
+            boolean found = cursor.advance(target);
+            Integer expected = firstAtLeast(docIds, target);
+            assertThat(found).isEqualTo(expected != null);
+            if (expected != null) {
+                assertThat(cursor.docId()).isEqualTo(expected);
+                assertThat(cursor.freq()).isEqualTo(expected % 7);
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepPositionWhenAdvancingBackwardsAndContinueWithNext() {
+        PostingList list = new PostingList();
+        for (int docId = 0; docId < 1_000; docId += 2) {
+            list.add(docId, 1);
+        }
+        PostingList.Cursor cursor = list.cursor();
+
+        assertThat(cursor.advance(501)).isTrue();
+        assertThat(cursor.docId()).isEqualTo(502);
+        assertThat(cursor.advance(10)).isTrue();
+        assertThat(cursor.docId()).isEqualTo(502);
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.docId()).isEqualTo(504);
+        assertThat(cursor.advance(10_000)).isFalse();
+        assertThat(cursor.advance(0)).isFalse();
+    }
+
+    private static Integer firstAtLeast(List<Integer> docIds, int target) {
+        for (int docId : docIds) {
+            if (docId >= target) {
+                return docId;
+            }
+        }
+        return null;
+    }
+}
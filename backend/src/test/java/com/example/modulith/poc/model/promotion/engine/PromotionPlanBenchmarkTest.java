@@ -0,0 +1,134 @@
+package com.example.modulith.poc.model.promotion.engine;
+
+import com.example.modulith.poc.model.promotion.BasketPricing;
+import com.example.modulith.poc.model.promotion.entity.PromotionDiscountType;
+import com.example.modulith.poc.model.promotion.entity.PromotionTargetType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 評価プランの1スレッドあたりの評価件数を計測する（{@code ./gradlew benchmark} で実行する）
+ * <p>
+ * プロモーション500件（うち全商品対象125件）、10明細のカートで、1秒あたりに評価できるカートの数をログに出力する。
+ */
+@Tag("benchmark")
+class PromotionPlanBenchmarkTest {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(PromotionPlanBenchmarkTest.class);
+
+    private static final int RULE_COUNT = 500;
+    private static final int GLOBAL_RULE_COUNT = 125;
+    private static final int LINES_PER_BASKET = 10;
+    private static final int BASKET_COUNT = 1_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+    private static final List<String> CATEGORIES = List.of("トップス", "ボトムス", "アウター", "シューズ", "バッグ");
+
+    @Test
+    void measureBasketEvaluationsPerSecond() {
+        Random random = new Random(42);
+        List<UUID> skuIds = randomIds(2_000);
+        List<UUID> productIds = randomIds(400);
+        PromotionPlan plan = PromotionPlan.compile(rules(random, skuIds, productIds));
+        List<List<PromotionLine>> baskets = baskets(random, skuIds, productIds);
+        long now = System.currentTimeMillis();
+
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += evaluateAll(plan, baskets, now);
+        }
+        long started = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            sink += evaluateAll(plan, baskets, now);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        long evaluations = (long) MEASURE_ROUNDS * BASKET_COUNT;
+        LOGGER.info("promotion plan: rules={}, global={}, lines={}, evaluations/s={}",
+                plan.ruleCount(), GLOBAL_RULE_COUNT, LINES_PER_BASKET,
+                evaluations * 1_000_000_000L / Math.max(elapsedNanos, 1));
+        assertThat(plan.ruleCount()).isEqualTo(RULE_COUNT);
+        // 全商品対象のプロモーションが常に有効なため、全明細に割引が付く
+        assertThat(sink).isEqualTo((long) (WARMUP_ROUNDS + MEASURE_ROUNDS) * BASKET_COUNT * LINES_PER_BASKET);
+    }
+
+    private static long evaluateAll(PromotionPlan plan, List<List<PromotionLine>> baskets, long atMillis) {
+        long discounted = 0;
+        for (List<PromotionLine> basket : baskets) {
+            BasketPricing pricing = plan.evaluate(basket, atMillis);
+            discounted += pricing.lines().stream().filter(line -> line.promotionId() != null).count();
+        }
+        return discounted;
+    }
+
+    private static List<PromotionRule> rules(Random random, List<UUID> skuIds, List<UUID> productIds) {
+        List<PromotionRule> rules = new ArrayList<>(RULE_COUNT);
+        for (int i = 0; i < RULE_COUNT; i++) {
+            PromotionTargetType targetType;
+            List<String> targets = new ArrayList<>();
+            if (i < GLOBAL_RULE_COUNT) {
+                targetType = PromotionTargetType.ALL;
+            } else {
+                targetType = switch (i % 3) {
+                    case 0 -> PromotionTargetType.SKU;
+                    case 1 -> PromotionTargetType.PRODUCT;
+                    default -> PromotionTargetType.CATEGORY;
+                };
+                for (int t = 0; t < 5; t++) {
+                    targets.add(switch (targetType) {
+                        case SKU -> skuIds.get(random.nextInt(skuIds.size())).toString();
+                        case PRODUCT -> productIds.get(random.nextInt(productIds.size())).toString();
+                        default -> CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+                    });
+                }
+            }
+            boolean percentage = random.nextBoolean();
+            rules.add(new PromotionRule(
+                    UUID.randomUUID(),
+                    targetType,
+                    targets,
+                    percentage ? PromotionDiscountType.PERCENTAGE : PromotionDiscountType.AMOUNT,
+                    BigDecimal.valueOf(percentage ? 1 + random.nextInt(30) : 100 + random.nextInt(500)),
+                    // 全商品対象の一部は必ず適用されるよう、数量の条件を付けない
+                    i < 10 ? 1 : 1 + random.nextInt(3),
+                    0L,
+                    Long.MAX_VALUE));
+        }
+        return rules;
+    }
+
+    private static List<List<PromotionLine>> baskets(Random random, List<UUID> skuIds, List<UUID> productIds) {
+        List<List<PromotionLine>> baskets = new ArrayList<>(BASKET_COUNT);
+        for (int b = 0; b < BASKET_COUNT; b++) {
+            List<PromotionLine> lines = new ArrayList<>(LINES_PER_BASKET);
+            for (int l = 0; l < LINES_PER_BASKET; l++) {
+                lines.add(new PromotionLine(
+                        skuIds.get(random.nextInt(skuIds.size())),
+                        productIds.get(random.nextInt(productIds.size())),
+                        CATEGORIES.get(random.nextInt(CATEGORIES.size())),
+                        1 + random.nextInt(3),
+                        BigDecimal.valueOf(1_000 + random.nextInt(9_000))));
+            }
+            baskets.add(lines);
+        }
+        return baskets;
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.modulith.poc.model.promotion.engine;
+
+import com.example.modulith.poc.model.promotion.BasketPricing;
+import com.example.modulith.poc.model.promotion.LineDiscount;
+import com.example.modulith.poc.model.promotion.entity.PromotionDiscountType;
+import com.example.modulith.poc.model.promotion.entity.PromotionTargetType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * プロモーションの評価プランの単体テスト
+ */
+class PromotionPlanTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final UUID SKU = UUID.randomUUID();
+    private static final UUID PRODUCT = UUID.randomUUID();
+    private static final String CATEGORY = "トップス";
+
+    @Test
+    void shouldReturnNoDiscountFromEmptyPlan() {
+        BasketPricing pricing = PromotionPlan.EMPTY.evaluate(List.of(line(SKU, 1, 1_000)), NOW);
+
+        assertThat(pricing.lines()).containsExactly(LineDiscount.none(SKU));
+        assertThat(pricing.totalDiscount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(PromotionPlan.EMPTY.evaluate(List.of(), NOW).lines()).isEmpty();
+    }
+
+    @Test
+    void shouldApplyLargestDiscountAcrossTargetTypes() {
+        PromotionRule global = percentage(PromotionTargetType.ALL, List.of(), 5);
+        PromotionRule bySku = amount(PromotionTargetType.SKU, List.of(SKU.toString()), 100);
+        PromotionRule byProduct = percentage(PromotionTargetType.PRODUCT, List.of(PRODUCT.toString()), 20);
+        PromotionRule byCategory = amount(PromotionTargetType.CATEGORY, List.of(CATEGORY), 150);
+        PromotionPlan plan = PromotionPlan.compile(List.of(global, bySku, byProduct, byCategory));
+
+        BasketPricing pricing = plan.evaluate(List.of(line(SKU, 2, 1_000)), NOW);
+
+        // 定率20%: 2,000 * 0.2 = 400、定額: 150 * 2 = 300
+        assertThat(pricing.lines().get(0).promotionId()).isEqualTo(byProduct.promotionId());
+        assertThat(pricing.totalDiscount()).isEqualByComparingTo("400");
+    }
+
+    @Test
+    void shouldSkipProductAndCategoryRulesWhenLineDoesNotCarryThem() {
+        PromotionRule byProduct = percentage(PromotionTargetType.PRODUCT, List.of(PRODUCT.toString()), 50);
+        PromotionRule byCategory = percentage(PromotionTargetType.CATEGORY, List.of(CATEGORY), 50);
+        PromotionPlan plan = PromotionPlan.compile(List.of(byProduct, byCategory));
+
+        BasketPricing pricing = plan.evaluate(List.of(new PromotionLine(SKU, null, null, 1, BigDecimal.valueOf(1_000))), NOW);
+
+        assertThat(pricing.lines()).containsExactly(LineDiscount.none(SKU));
+    }
+
+    @Test
+    void shouldPreferLowestPromotionIdOnTie() {
+        UUID lower = new UUID(0L, 1L);
+        UUID higher = new UUID(0L, 2L);
+        PromotionPlan plan = PromotionPlan.compile(List.of(
+                rule(higher, PromotionTargetType.ALL, List.of(), PromotionDiscountType.AMOUNT, 100, 1),
+                rule(lower, PromotionTargetType.ALL, List.of(), PromotionDiscountType.AMOUNT, 100, 1)));
+
+        assertThat(plan.evaluate(List.of(line(SKU, 1, 1_000)), NOW).lines().get(0).promotionId()).isEqualTo(lower);
+    }
+
+    @Test
+    void shouldHonourPeriodBoundsAndMinimumQuantity() {
+        PromotionRule rule = new PromotionRule(UUID.randomUUID(), PromotionTargetType.ALL, List.of(),
+                PromotionDiscountType.AMOUNT, BigDecimal.valueOf(10), 2, NOW, NOW + 100);
+        PromotionPlan plan = PromotionPlan.compile(List.of(rule));
+
+        // 開始日時は含み、終了日時は含まない
+        assertThat(plan.evaluate(List.of(line(SKU, 2, 100)), NOW).totalDiscount()).isEqualByComparingTo("20");
+        assertThat(plan.evaluate(List.of(line(SKU, 2, 100)), NOW - 1).totalDiscount()).isEqualByComparingTo("0");
+        assertThat(plan.evaluate(List.of(line(SKU, 2, 100)), NOW + 100).totalDiscount()).isEqualByComparingTo("0");
+        assertThat(plan.evaluate(List.of(line(SKU, 1, 100)), NOW).totalDiscount()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void shouldCapDiscountAtLineTotalAndRoundDown() {
+        PromotionPlan capped = PromotionPlan.compile(List.of(amount(PromotionTargetType.ALL, List.of(), 5_000)));
+        PromotionPlan rounded = PromotionPlan.compile(List.of(percentage(PromotionTargetType.ALL, List.of(), 15)));
+
+        assertThat(capped.evaluate(List.of(line(SKU, 1, 999)), NOW).totalDiscount()).isEqualByComparingTo("999");
+        // 333 * 0.15 = 49.95 は切り捨てて49
+        assertThat(rounded.evaluate(List.of(line(SKU, 1, 333)), NOW).totalDiscount()).isEqualByComparingTo("49");
+    }
+
+    @Test
+    void shouldIgnoreZeroDiscount() {
+        PromotionPlan plan = PromotionPlan.compile(List.of(percentage(PromotionTargetType.ALL, List.of(), 1)));
+
+        // 50 * 0.01 = 0.5 は切り捨てて0のため、適用しない
+        assertThat(plan.evaluate(List.of(line(SKU, 1, 50)), NOW).lines()).containsExactly(LineDiscount.none(SKU));
+    }
+
+    @Test
+    void shouldCountAndSkipUnparsableTargets() {
+        PromotionRule rule = amount(PromotionTargetType.SKU, List.of("not-a-uuid", SKU.toString(), ""), 100);
+
+        PromotionPlan plan = PromotionPlan.compile(List.of(rule));
+
+        assertThat(plan.ruleCount()).isEqualTo(1);
+        assertThat(plan.invalidTargetCount()).isEqualTo(2);
+        assertThat(plan.evaluate(List.of(line(SKU, 1, 1_000)), NOW).totalDiscount()).isEqualByComparingTo("100");
+    }
+
+    private static PromotionLine line(UUID skuId, int quantity, long unitPrice) {
+        return new PromotionLine(skuId, PRODUCT, CATEGORY, quantity, BigDecimal.valueOf(unitPrice));
+    }
+
+    private static PromotionRule percentage(PromotionTargetType targetType, List<String> targets, long percent) {
+        return rule(UUID.randomUUID(), targetType, targets, PromotionDiscountType.PERCENTAGE, percent, 1);
+    }
+
+    private static PromotionRule amount(PromotionTargetType targetType, List<String> targets, long amount) {
+        return rule(UUID.randomUUID(), targetType, targets, PromotionDiscountType.AMOUNT, amount, 1);
+    }
+
+    private static PromotionRule rule(UUID promotionId, PromotionTargetType targetType, List<String> targets,
+                                      PromotionDiscountType discountType, long value, int minQuantity) {
+        return new PromotionRule(promotionId, targetType, targets, discountType, BigDecimal.valueOf(value),
+                minQuantity, 0L, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.modulith.poc.model.promotion.usage;
+
+import com.example.modulith.poc.model.promotion.usage.CouponUsageCounter.Acquisition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * クーポンの使用可能回数の単体テスト
+ */
+class CouponUsageCounterTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    void shouldRejectWithoutAllocation() {
+        CouponUsageCounter counter = new CouponUsageCounter();
+
+        assertThat(counter.tryAcquire()).isEqualTo(Acquisition.REJECTED);
+        assertThat(counter.drain()).isZero();
+    }
+
+    @Test
+    void shouldUseAllPermitsFromOtherStripes() {
+        // ストライプ数より少ない割り当ても、自分のストライプが空なら他のストライプから取る
+        for (int permits : new int[]{1, 3, 8, 13}) {
+            CouponUsageCounter counter = new CouponUsageCounter();
+            counter.add(permits);
+
+            int acquired = 0;
+            while (counter.tryAcquire() == Acquisition.COUNTED) {
+                acquired++;
+            }
+
+            assertThat(acquired).isEqualTo(permits);
+        }
+    }
+
+    @Test
+    void shouldReuseReleasedPermitAndDrainRemaining() {
+        CouponUsageCounter counter = new CouponUsageCounter();
+        counter.add(2);
+        assertThat(counter.tryAcquire()).isEqualTo(Acquisition.COUNTED);
+
+        counter.release();
+
+        assertThat(counter.drain()).isEqualTo(2);
+        assertThat(counter.tryAcquire()).isEqualTo(Acquisition.REJECTED);
+    }
+
+    @Test
+    void shouldTreatCouponAsUnlimitedUntilRecheck() {
+        CouponUsageCounter counter = new CouponUsageCounter();
+        long now = System.nanoTime();
+
+        counter.markUnlimited(now + HOUR);
+
+        assertThat(counter.isUnlimited(now)).isTrue();
+        assertThat(counter.isUnlimited(now + HOUR)).isFalse();
+        // 上限が無い間の使用は割り当てから取らない
+        assertThat(counter.tryAcquire()).isEqualTo(Acquisition.UNCOUNTED);
+        assertThat(counter.drain()).isZero();
+    }
+
+    @Test
+    void shouldRequireAllocationAfterUnlimitedPeriodExpires() {
+        CouponUsageCounter counter = new CouponUsageCounter();
+
+        counter.markUnlimited(System.nanoTime() - 1);
+
+        assertThat(counter.tryAcquire()).isEqualTo(Acquisition.REJECTED);
+    }
+
+    @Test
+    void shouldReturnOnlyCountedUsesWhenAllocatedAfterUnlimitedPeriod() {
+        CouponUsageCounter counter = new CouponUsageCounter();
+        counter.markUnlimited(System.nanoTime() + HOUR);
+        Acquisition beforeAllocation = counter.tryAcquire();
+        counter.add(1);
+        Acquisition afterAllocation = counter.tryAcquire();
+
+        // 呼び出し元は残りから取った使用の取り消しのみ戻す
+        for (Acquisition acquisition : List.of(beforeAllocation, afterAllocation)) {
+            if (acquisition == Acquisition.COUNTED) {
+                counter.release();
+            }
+        }
+
+        assertThat(beforeAllocation).isEqualTo(Acquisition.UNCOUNTED);
+        assertThat(afterAllocation).isEqualTo(Acquisition.COUNTED);
+        assertThat(counter.drain()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldClearUnlimitedAndExhaustedOnAllocation() {
+        CouponUsageCounter counter = new CouponUsageCounter();
+        long now = System.nanoTime();
+        counter.markUnlimited(now + HOUR);
+        counter.markExhausted(now + HOUR);
+        assertThat(counter.isExhausted(now)).isTrue();
+
+        counter.add(1);
+
+        assertThat(counter.isUnlimited(now)).isFalse();
+        assertThat(counter.isExhausted(now)).isFalse();
+        assertThat(counter.tryAcquire()).isEqualTo(Acquisition.COUNTED);
+        assertThat(counter.tryAcquire()).isEqualTo(Acquisition.REJECTED);
+    }
+
+    @Test
+    void shouldEndExhaustedPeriodAtGivenTime() {
+        CouponUsageCounter counter = new CouponUsageCounter();
+        long now = System.nanoTime();
+
+        counter.markExhausted(now + 10);
+
+        assertThat(counter.isExhausted(now)).isTrue();
+        assertThat(counter.isExhausted(now + 10)).isFalse();
+    }
+
+    @Test
+    void shouldNeverGrantMoreThanAllocatedUnderContention() throws Exception {
+        int permits = 10_000;
+        int threads = 16;
+        CouponUsageCounter counter = new CouponUsageCounter();
+        counter.add(permits);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    start.await();
+                    int acquired = 0;
+                    int released = 0;
+                    while (counter.tryAcquire() == Acquisition.COUNTED) {
+                        acquired++;
+                        // 一部を取り消して他のスレッドに再利用させる
+                        if (acquired % 10 == 0) {
+                            counter.release();
+                            released++;
+                        }
+                    }
+                    return acquired - released;
+                });
+            }
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (Callable<Integer> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            int used = 0;
+            for (Future<Integer> future : futures) {
+                used += future.get();
+            }
+
+            assertThat(used + counter.drain()).isEqualTo(permits);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.modulith.poc.model.user.session;
+
+import com.example.modulith.poc.model.user.AuthenticatedSession;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 認証済みセッションのキャッシュの単体テスト
+ */
+class SessionCacheTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void shouldLoadOnceAndServeFromCache() {
+        SessionCache cache = new SessionCache(HOUR, HOUR, 10, 10);
+        AuthenticatedSession session = session(OffsetDateTime.now().plusHours(1));
+        CountingLoader loader = new CountingLoader(token -> session);
+
+        assertThat(cache.get("token", loader)).contains(session);
+        assertThat(cache.get("token", loader)).contains(session);
+
+        assertThat(loader.calls.get()).isEqualTo(1);
+        SessionCache.Stats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.loads()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldRememberUnknownTokenWithoutReloading() {
+        SessionCache cache = new SessionCache(HOUR, HOUR, 10, 10);
+        CountingLoader loader = new CountingLoader(token -> null);
+
+        assertThat(cache.get("unknown", loader)).isEmpty();
+        assertThat(cache.get("unknown", loader)).isEmpty();
+
+        assertThat(loader.calls.get()).isEqualTo(1);
+        assertThat(cache.stats().rejectedHits()).isEqualTo(1);
+        assertThat(cache.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCachedSessionPastItsExpiry() {
+        SessionCache cache = new SessionCache(HOUR, HOUR, 10, 10);
+        cache.register("token", session(OffsetDateTime.now().minusSeconds(1)));
+        CountingLoader loader = new CountingLoader(token -> {
+            throw new AssertionError("期限切れのトークンでDBを読まないこと");
+        });
+
+        assertThat(cache.get("token", loader)).isEmpty();
+        assertThat(cache.get("token", loader)).isEmpty();
+
+        assertThat(cache.stats().sessions()).isZero();
+        assertThat(cache.stats().rejectedHits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReloadEveryTimeWhenMaxTtlIsZero() {
+        SessionCache cache = new SessionCache(Duration.ZERO, HOUR, 10, 10);
+        AuthenticatedSession session = session(OffsetDateTime.now().plusHours(1));
+        CountingLoader loader = new CountingLoader(token -> session);
+
+        cache.get("token", loader);
+        cache.get("token", loader);
+
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidateAndAcceptRegisteredToken() {
+        SessionCache cache = new SessionCache(HOUR, HOUR, 10, 10);
+        AuthenticatedSession session = session(OffsetDateTime.now().plusHours(1));
+        CountingLoader loader = new CountingLoader(token -> null);
+        assertThat(cache.get("token", loader)).isEmpty();
+
+        // 無効として記録したトークンも、発行時の記録で有効になる
+        cache.register("token", session);
+        assertThat(cache.get("token", loader)).contains(session);
+
+        cache.invalidate("token");
+        assertThat(cache.get("token", loader)).isEmpty();
+        assertThat(loader.calls.get()).isEqualTo(2);
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheSessionInvalidatedWhileLoading() {
+        SessionCache cache = new SessionCache(HOUR, HOUR, 10, 10);
+        AuthenticatedSession session = session(OffsetDateTime.now().plusHours(1));
+        CountingLoader loader = new CountingLoader(token -> {
+            cache.invalidate(token);
+            return session;
+        });
+
+        assertThat(cache.get("token", loader)).contains(session);
+
+        assertThat(cache.stats().sessions()).isZero();
+        cache.get("token", loader);
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStopRecordingWhenFull() {
+        SessionCache cache = new SessionCache(HOUR, HOUR, 1, 1);
+        AuthenticatedSession session = session(OffsetDateTime.now().plusHours(1));
+
+        assertThat(cache.get("a", token -> session)).contains(session);
+        assertThat(cache.get("b", token -> session)).contains(session);
+        assertThat(cache.get("c", token -> null)).isEmpty();
+        assertThat(cache.get("d", token -> null)).isEmpty();
+
+        SessionCache.Stats stats = cache.stats();
+        assertThat(stats.sessions()).isEqualTo(1);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.overflows()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotServeRevokedSessionToConcurrentReaders() throws Exception {
+        // 失効（DB更新→無効化）と並行して読み込んだ失効前のセッションが、失効後に記録されて残らないこと
+        AuthenticatedSession session = session(OffsetDateTime.now().plusHours(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 50; round++) {
+                SessionCache cache = new SessionCache(HOUR, HOUR, 100, 100);
+                AtomicBoolean revoked = new AtomicBoolean();
+                AtomicBoolean running = new AtomicBoolean(true);
+                Function<String, AuthenticatedSession> loader = token -> revoked.get() ? null : session;
+                List<Callable<Void>> readers = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    readers.add(() -> {
+                        while (running.get()) {
+                            cache.get("token", loader);
+                            cache.invalidate("other");
+                        }
+                        return null;
+                    });
+                }
+                List<Future<Void>> futures = new ArrayList<>();
+                for (Callable<Void> reader : readers) {
+                    futures.add(executor.submit(reader));
+                }
+                revoked.set(true);
+                cache.invalidate("token");
+                running.set(false);
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+
+                Optional<AuthenticatedSession> afterRevoke = cache.get("token", loader);
+                assertThat(afterRevoke).isEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static AuthenticatedSession session(OffsetDateTime expiresAt) {
+        return new AuthenticatedSession(UUID.randomUUID(), UUID.randomUUID(), "CUSTOMER", expiresAt);
+    }
+
+    /**
+     * 呼び出し回数を数える読み込み処理
+     */
+    private static final class CountingLoader implements Function<String, AuthenticatedSession> {
+        private final Function<String, AuthenticatedSession> delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(Function<String, AuthenticatedSession> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public AuthenticatedSession apply(String token) {
+            calls.incrementAndGet();
+            return delegate.apply(token);
+        }
+    }
+}
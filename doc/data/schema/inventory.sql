@@ -59,6 +59,8 @@ CREATE TABLE inventory (
     sku_id UUID PRIMARY KEY REFERENCES skus(sku_id),
     quantity INTEGER NOT NULL DEFAULT 0 CHECK (quantity >= 0), -- 利用可能在庫数
     version INTEGER NOT NULL DEFAULT 1, -- 楽観ロック用
+    bucket_count INTEGER NOT NULL DEFAULT 1 CHECK (bucket_count >= 1), -- 在庫バケット数（2以上でシャーディング）
+    low_stock_threshold INTEGER CHECK (low_stock_threshold >= 0), -- 在庫僅少しきい値（NULLは既定値）
     created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
@@ -66,8 +68,26 @@ CREATE TABLE inventory (
 CREATE INDEX idx_inventory_quantity ON inventory(quantity) WHERE quantity > 0;
 
 COMMENT ON TABLE inventory IS 'SKUごとの在庫数。コンカレンシー対策で楽観ロック使用';
-COMMENT ON COLUMN inventory.quantity IS '販売可能な在庫数。負数禁止';
+COMMENT ON COLUMN inventory.quantity IS '販売可能な在庫数。負数禁止。シャーディング時は0でinventory_bucketsの合計が在庫数';
 COMMENT ON COLUMN inventory.version IS '楽観ロック用バージョン（在庫競合検出）';
+COMMENT ON COLUMN inventory.bucket_count IS '在庫バケット数。1は通常モード、2以上はinventory_bucketsに分割して保持';
+
+-- ----------------------------------------------------------------------------
+-- inventory_buckets: 在庫バケット（ホットSKU用シャーディング）
+-- ----------------------------------------------------------------------------
+CREATE TABLE inventory_buckets (
+    bucket_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    sku_id UUID NOT NULL REFERENCES inventory(sku_id),
+    bucket_no INTEGER NOT NULL,
+    quantity INTEGER NOT NULL DEFAULT 0 CHECK (quantity >= 0), -- バケット単位で負数禁止
+    version INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (sku_id, bucket_no)
+);
+
+COMMENT ON TABLE inventory_buckets IS 'ホットSKUの在庫を分割保持するバケット。在庫ロックの書き込みを分散する';
+COMMENT ON COLUMN inventory_buckets.bucket_no IS 'バケット番号（0始まり）。注文IDのハッシュでロック先を決定';
 
 -- ----------------------------------------------------------------------------
 -- inventory_transactions: 在庫トランザクション履歴
@@ -79,7 +99,7 @@ CREATE TABLE inventory_transactions (
     quantity_change INTEGER NOT NULL, -- 増減量（+/-）
     quantity_before INTEGER NOT NULL,
     quantity_after INTEGER NOT NULL,
-    reference_type VARCHAR(50), -- ORDER, MANUAL
+    reference_type VARCHAR(50), -- ORDER, RECEIVING, MANUAL
     reference_id UUID, -- 関連エンティティのID
     reason TEXT,
     created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -96,3 +116,40 @@ CREATE INDEX idx_inventory_transactions_reference ON inventory_transactions(refe
 COMMENT ON TABLE inventory_transactions IS '在庫トランザクション履歴。すべての在庫増減を記録';
 COMMENT ON COLUMN inventory_transactions.quantity_change IS '在庫増減量（入庫: +、出庫: -）';
 COMMENT ON COLUMN inventory_transactions.reference_id IS '関連する注文等のID';
+
+-- ----------------------------------------------------------------------------
+-- inventory_receiving_imports: 入庫ファイル取込
+-- ----------------------------------------------------------------------------
+CREATE TABLE inventory_receiving_imports (
+    import_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    file_name VARCHAR(1000) NOT NULL,
+    file_format VARCHAR(20) NOT NULL, -- CSV, JSON_LINES
+    file_size BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING', -- RUNNING, COMPLETED, FAILED
+    byte_offset BIGINT NOT NULL DEFAULT 0, -- 次に読み込む行の先頭バイト位置（チェックポイント）
+    line_no BIGINT NOT NULL DEFAULT 0, -- 読み込み済みの行数
+    received_lines BIGINT NOT NULL DEFAULT 0,
+    received_quantity BIGINT NOT NULL DEFAULT 0,
+    error_lines BIGINT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    version INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE inventory_receiving_imports IS '入庫ファイルの一括取込。チェックポイントはバッチの反映と同一トランザクションで更新';
+
+-- ----------------------------------------------------------------------------
+-- inventory_receiving_errors: 入庫ファイル取込エラー行
+-- ----------------------------------------------------------------------------
+CREATE TABLE inventory_receiving_errors (
+    error_id UUID PRIMARY KEY,
+    import_id UUID NOT NULL REFERENCES inventory_receiving_imports(import_id),
+    line_no BIGINT NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_inventory_receiving_errors_import ON inventory_receiving_errors(import_id, line_no);
+
+COMMENT ON TABLE inventory_receiving_errors IS '入庫ファイル取込で反映できなかった行と理由';
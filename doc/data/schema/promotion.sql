@@ -2,6 +2,35 @@
 -- プロモーションドメイン DDL
 -- ============================================================================
 
+-- ----------------------------------------------------------------------------
+-- promotions: プロモーション
+-- ----------------------------------------------------------------------------
+CREATE TABLE promotions (
+    promotion_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    promotion_name VARCHAR(255) NOT NULL,
+    
+    -- 対象
+    target_type VARCHAR(20) NOT NULL DEFAULT 'ALL', -- ALL, SKU, PRODUCT, CATEGORY
+    applicable_products JSONB, -- target_type に応じたSKU ID・商品ID・カテゴリの配列
+    
+    -- 割引設定
+    discount_type VARCHAR(20) NOT NULL, -- PERCENTAGE, AMOUNT（1点あたり）
+    discount_value DECIMAL(10, 2) NOT NULL CHECK (discount_value > 0),
+    min_quantity INTEGER NOT NULL DEFAULT 1 CHECK (min_quantity > 0),
+    
+    start_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    promotion_status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE', -- ACTIVE, INACTIVE, ENDED
+    
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_promotions_updated_at ON promotions(updated_at);
+
+COMMENT ON TABLE promotions IS 'プロモーション。アプリケーションが有効なプロモーションを評価プランにしてメモリに保持する';
+
 -- ----------------------------------------------------------------------------
 -- coupons: クーポン
 -- ----------------------------------------------------------------------------
@@ -15,6 +44,9 @@ CREATE TABLE coupons (
     -- 使用制限
     valid_from TIMESTAMP WITH TIME ZONE NOT NULL,
     valid_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    usage_limit INTEGER CHECK (usage_limit >= 0), -- NULLは無制限
+    allocated_count INTEGER NOT NULL DEFAULT 0, -- ノードに割り当て済みの回数
+    used_count INTEGER NOT NULL DEFAULT 0,
     
     coupon_status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE', -- ACTIVE, EXPIRED, CANCELLED
     
@@ -27,3 +59,17 @@ CREATE INDEX idx_coupons_status ON coupons(coupon_status);
 CREATE INDEX idx_coupons_valid ON coupons(valid_from, valid_until) WHERE coupon_status = 'ACTIVE';
 
 COMMENT ON TABLE coupons IS 'クーポンマスタ。簡易的な定率割引クーポンを管理';
+
+-- ----------------------------------------------------------------------------
+-- coupon_usages: クーポン使用履歴
+-- ----------------------------------------------------------------------------
+CREATE TABLE coupon_usages (
+    usage_id UUID PRIMARY KEY,
+    coupon_id UUID NOT NULL REFERENCES coupons(coupon_id),
+    order_id UUID NOT NULL,
+    used_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_coupon_usages_coupon_order ON coupon_usages(coupon_id, order_id);
+
+COMMENT ON TABLE coupon_usages IS 'クーポン使用履歴。アプリケーションがまとめて書き込むため、注文の確定から数秒遅れて反映される';